@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+import net.ltgt.gradle.errorprone.errorprone
+
+plugins {
+  id("java")
+  id("idea")
+  alias(libs.plugins.jmh)
+}
+
+dependencies {
+  jmh(project(":server"))
+  jmh(libs.bundles.iceberg)
+  jmh(libs.bundles.jersey)
+  jmh(libs.commons.io)
+  jmh(libs.guava)
+  jmh(libs.jackson.databind)
+  jmh(libs.jmh.core)
+  jmh(libs.servlet)
+
+  jmhAnnotationProcessor(libs.jmh.generator.annprocess)
+}
+
+// Run all benchmarks with `./gradlew :benchmarks:jmh`, or a subset of them with
+// `./gradlew :benchmarks:jmh -PjmhIncludes=LoadTable`.
+jmh {
+  jmhVersion.set(libs.versions.jmh.get())
+  if (project.hasProperty("jmhIncludes")) {
+    includes.set(listOf(project.property("jmhIncludes").toString()))
+  }
+  profilers.add("gc")
+  resultFormat.set("JSON")
+  resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
+// The classes generated by JMH don't pass the strict lint and error-prone checks.
+gradle.projectsEvaluated {
+  tasks.named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone.isEnabled.set(false)
+    options.compilerArgs.remove("-Werror")
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.benchmark;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.iceberg.IcebergTableOps;
+import com.datastrato.aurora.web.IcebergExceptionMapper;
+import com.datastrato.aurora.web.IcebergObjectMapperProvider;
+import com.datastrato.aurora.web.metrics.IcebergMetricsManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.catalog.Catalog;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.rest.requests.CreateNamespaceRequest;
+import org.apache.iceberg.rest.requests.CreateTableRequest;
+import org.apache.iceberg.types.Types;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+
+/** Shared setup of the benchmarks, all of them run against the memory catalog backend. */
+final class BenchmarkUtils {
+
+  static final Namespace NAMESPACE = Namespace.of("bench");
+  static final String TABLE_NAME_PREFIX = "table_";
+  private static final URI BASE_URI = URI.create("http://localhost/");
+  private static final HttpServletRequest UNSUPPORTED_SERVLET_REQUEST =
+      (HttpServletRequest)
+          Proxy.newProxyInstance(
+              HttpServletRequest.class.getClassLoader(),
+              new Class<?>[] {HttpServletRequest.class},
+              (proxy, method, args) -> {
+                switch (method.getName()) {
+                  case "hashCode":
+                    return System.identityHashCode(proxy);
+                  case "equals":
+                    return proxy == args[0];
+                  case "toString":
+                    return "UnsupportedServletRequest";
+                  default:
+                    throw new UnsupportedOperationException(method.getName());
+                }
+              });
+
+  private BenchmarkUtils() {}
+
+  /** Exposes the catalog of the table ops, so the setup can commit snapshots directly. */
+  static class BenchmarkTableOps extends IcebergTableOps {
+    BenchmarkTableOps(IcebergServerConfig config) {
+      super(config);
+    }
+
+    Catalog catalog() {
+      return catalog;
+    }
+  }
+
+  static Schema createSchema(int width) {
+    List<Types.NestedField> fields = new ArrayList<>(width);
+    for (int i = 1; i <= width; i++) {
+      fields.add(Types.NestedField.optional(i, "field_" + i, Types.StringType.get()));
+    }
+    return new Schema(fields);
+  }
+
+  static TableIdentifier tableIdentifier(int index) {
+    return TableIdentifier.of(NAMESPACE, TABLE_NAME_PREFIX + index);
+  }
+
+  /**
+   * Create the benchmark namespace with the tables, the first table gets the snapshots.
+   *
+   * @param tableOps the table ops to create tables with
+   * @param schemaWidth the number of columns of each table
+   * @param snapshotCount the number of snapshots of the first table
+   * @param namespaceSize the number of tables in the namespace
+   */
+  static void createTables(
+      BenchmarkTableOps tableOps, int schemaWidth, int snapshotCount, int namespaceSize) {
+    tableOps.createNamespace(CreateNamespaceRequest.builder().withNamespace(NAMESPACE).build());
+    Schema schema = createSchema(schemaWidth);
+    for (int i = 0; i < namespaceSize; i++) {
+      tableOps.createTable(
+          NAMESPACE,
+          CreateTableRequest.builder()
+              .withName(TABLE_NAME_PREFIX + i)
+              .withSchema(schema)
+              .build());
+    }
+
+    Table table = tableOps.catalog().loadTable(tableIdentifier(0));
+    for (int i = 0; i < snapshotCount; i++) {
+      table
+          .newFastAppend()
+          .appendFile(
+              DataFiles.builder(PartitionSpec.unpartitioned())
+                  .withPath(table.location() + "/data/file_" + i + ".parquet")
+                  .withFileSizeInBytes(1024)
+                  .withRecordCount(1)
+                  .build())
+          .commit();
+    }
+  }
+
+  /** Build the Jersey application of the Iceberg REST server, without a HTTP container. */
+  static ApplicationHandler createApplicationHandler(
+      IcebergTableOps tableOps, IcebergMetricsManager metricsManager, Object... resources) {
+    ResourceConfig config = new ResourceConfig();
+    config.packages("com.datastrato.aurora.web.rest");
+    config.register(IcebergObjectMapperProvider.class).register(JacksonFeature.class);
+    config.register(IcebergExceptionMapper.class);
+    for (Object resource : resources) {
+      config.register(resource);
+    }
+    config.register(
+        new AbstractBinder() {
+          @Override
+          protected void configure() {
+            bind(tableOps).to(IcebergTableOps.class).ranked(1);
+            bind(metricsManager).to(IcebergMetricsManager.class).ranked(1);
+            // The resources keep a servlet request field, there is no servlet container here.
+            bind(UNSUPPORTED_SERVLET_REQUEST).to(HttpServletRequest.class);
+          }
+        });
+    return new ApplicationHandler(config);
+  }
+
+  static ContainerRequest createRequest(
+      ApplicationHandler handler, String method, String path, byte[] body) {
+    ContainerRequest request =
+        new ContainerRequest(
+            BASE_URI,
+            BASE_URI.resolve(path),
+            method,
+            null,
+            new MapPropertiesDelegate(),
+            handler.getConfiguration());
+    request.header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+    if (body != null) {
+      request.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+      request.setEntityStream(new ByteArrayInputStream(body));
+    }
+    return request;
+  }
+
+  static ContainerResponse apply(ApplicationHandler handler, ContainerRequest request) {
+    try {
+      return handler.apply(request, NullOutputStream.INSTANCE).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      throw new UncheckedIOException(new IOException(e.getCause()));
+    }
+  }
+
+  /** Discards the response bytes, so only the serialization itself is measured. */
+  static final class NullOutputStream extends OutputStream {
+    static final NullOutputStream INSTANCE = new NullOutputStream();
+
+    @Override
+    public void write(int b) {}
+
+    @Override
+    public void write(byte[] b, int off, int len) {}
+  }
+}
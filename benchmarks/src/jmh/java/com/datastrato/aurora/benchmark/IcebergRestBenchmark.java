@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.benchmark;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.web.IcebergObjectMapper;
+import com.datastrato.aurora.web.metrics.IcebergMetricsManager;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.HttpHeaders;
+import org.apache.iceberg.MetadataUpdate;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.rest.requests.UpdateTableRequest;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the REST endpoints end to end through the Jersey application, including the request
+ * parsing and the response serialization, but without the network and the HTTP container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class IcebergRestBenchmark {
+
+  private static final String TABLES_PATH =
+      "v1/namespaces/" + BenchmarkUtils.NAMESPACE + "/tables";
+
+  @Param({"10", "1000"})
+  private int schemaWidth;
+
+  @Param({"1", "100"})
+  private int snapshotCount;
+
+  @Param({"10", "1000"})
+  private int namespaceSize;
+
+  private BenchmarkUtils.BenchmarkTableOps tableOps;
+  private IcebergMetricsManager metricsManager;
+  private ApplicationHandler handler;
+  private String tablePath;
+  private String entityTag;
+  private long updateVersion;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    IcebergServerConfig config = new IcebergServerConfig();
+    tableOps = new BenchmarkUtils.BenchmarkTableOps(config);
+    metricsManager = new IcebergMetricsManager(config);
+    BenchmarkUtils.createTables(tableOps, schemaWidth, snapshotCount, namespaceSize);
+    handler = BenchmarkUtils.createApplicationHandler(tableOps, metricsManager);
+    tablePath = TABLES_PATH + "/" + BenchmarkUtils.tableIdentifier(0).name();
+  }
+
+  @Setup(Level.Iteration)
+  public void loadEntityTag() {
+    ContainerResponse response = get(tablePath);
+    entityTag = response.getEntityTag().toString();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    tableOps.close();
+    metricsManager.close();
+  }
+
+  @Benchmark
+  public ContainerResponse loadTable() {
+    return get(tablePath);
+  }
+
+  @Benchmark
+  public ContainerResponse loadTableWithRefSnapshots() {
+    return get(tablePath + "?snapshots=refs");
+  }
+
+  @Benchmark
+  public ContainerResponse loadTableNotModified() {
+    ContainerRequest request =
+        BenchmarkUtils.createRequest(handler, HttpMethod.GET, tablePath, null);
+    request.header(HttpHeaders.IF_NONE_MATCH, entityTag);
+    return BenchmarkUtils.apply(handler, request);
+  }
+
+  @Benchmark
+  public ContainerResponse updateTable() throws JsonProcessingException {
+    TableMetadata base = tableOps.loadTable(BenchmarkUtils.tableIdentifier(0)).tableMetadata();
+    UpdateTableRequest updateTableRequest =
+        UpdateTableRequest.builderFor(base)
+            .update(
+                new MetadataUpdate.SetProperties(
+                    ImmutableMap.of("benchmark.version", String.valueOf(updateVersion++))))
+            .build();
+    byte[] body = IcebergObjectMapper.getInstance().writeValueAsBytes(updateTableRequest);
+    return BenchmarkUtils.apply(
+        handler, BenchmarkUtils.createRequest(handler, HttpMethod.POST, tablePath, body));
+  }
+
+  @Benchmark
+  public ContainerResponse listTable() {
+    return get(TABLES_PATH);
+  }
+
+  private ContainerResponse get(String path) {
+    return BenchmarkUtils.apply(
+        handler, BenchmarkUtils.createRequest(handler, HttpMethod.GET, path, null));
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.benchmark;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.iceberg.SnapshotMode;
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.iceberg.MetadataUpdate;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.rest.requests.UpdateTableRequest;
+import org.apache.iceberg.rest.responses.ListTablesResponse;
+import org.apache.iceberg.rest.responses.LoadTableResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the catalog operations behind loadTable, updateTable and listTables. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class IcebergTableOpsBenchmark {
+
+  @Param({"10", "1000"})
+  private int schemaWidth;
+
+  @Param({"1", "100"})
+  private int snapshotCount;
+
+  @Param({"10", "1000"})
+  private int namespaceSize;
+
+  @Param({"false", "true"})
+  private boolean metadataCacheEnabled;
+
+  private BenchmarkUtils.BenchmarkTableOps tableOps;
+  private TableIdentifier tableIdentifier;
+  private long updateVersion;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    IcebergServerConfig config =
+        new IcebergServerConfig(
+            ImmutableMap.of(
+                IcebergServerConfig.TABLE_METADATA_CACHE_ENABLED.getKey(),
+                String.valueOf(metadataCacheEnabled)));
+    tableOps = new BenchmarkUtils.BenchmarkTableOps(config);
+    BenchmarkUtils.createTables(tableOps, schemaWidth, snapshotCount, namespaceSize);
+    tableIdentifier = BenchmarkUtils.tableIdentifier(0);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    tableOps.close();
+  }
+
+  @Benchmark
+  public LoadTableResponse loadTable() {
+    return tableOps.loadTable(tableIdentifier);
+  }
+
+  @Benchmark
+  public LoadTableResponse loadTableWithRefSnapshots() {
+    return tableOps.loadTable(tableIdentifier, SnapshotMode.REFS);
+  }
+
+  @Benchmark
+  public LoadTableResponse updateTable() {
+    TableMetadata base = tableOps.loadTable(tableIdentifier).tableMetadata();
+    UpdateTableRequest request =
+        UpdateTableRequest.builderFor(base)
+            .update(
+                new MetadataUpdate.SetProperties(
+                    ImmutableMap.of("benchmark.version", String.valueOf(updateVersion++))))
+            .build();
+    return tableOps.updateTable(tableIdentifier, request);
+  }
+
+  @Benchmark
+  public ListTablesResponse listTable() {
+    return tableOps.listTable(BenchmarkUtils.NAMESPACE);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.benchmark;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.iceberg.IcebergTableOps;
+import com.datastrato.aurora.iceberg.ListingPage;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.iceberg.CatalogProperties;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.rest.requests.CreateNamespaceRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a page of listTables on the Jdbc backend over sqlite, with the keyset query of the paged
+ * listing and with the full listing of the namespace. The catalog rows are inserted directly, the
+ * listing doesn't read the table metadata.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class JdbcListTablesBenchmark {
+  private static final String CATALOG_NAME = "jdbc";
+
+  @Param({"1000000"})
+  private int tableCount;
+
+  @Param({"100", "1000"})
+  private int pageSize;
+
+  @Param({"false", "true"})
+  private boolean pagedListing;
+
+  private File catalogDir;
+  private IcebergTableOps tableOps;
+  private String middlePageToken;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException, SQLException {
+    catalogDir = Files.createTempDirectory("jdbc-list-tables-benchmark").toFile();
+    String uri = "jdbc:sqlite:" + new File(catalogDir, "catalog.db").getAbsolutePath();
+    IcebergServerConfig config =
+        new IcebergServerConfig(
+            ImmutableMap.<String, String>builder()
+                .put(IcebergServerConfig.CATALOG_BACKEND.getKey(), "jdbc")
+                .put(CatalogProperties.URI, uri)
+                .put(CatalogProperties.WAREHOUSE_LOCATION, catalogDir.getAbsolutePath())
+                .put(IcebergServerConfig.JDBC_DRIVER.getKey(), "org.sqlite.JDBC")
+                .put(IcebergServerConfig.JDBC_USER.getKey(), "iceberg")
+                .put(IcebergServerConfig.JDBC_PASSWORD.getKey(), "iceberg")
+                .put(
+                    IcebergServerConfig.JDBC_PAGED_LISTING_ENABLED.getKey(),
+                    String.valueOf(pagedListing))
+                .build());
+    tableOps = new IcebergTableOps(config);
+    tableOps.createNamespace(
+        CreateNamespaceRequest.builder().withNamespace(BenchmarkUtils.NAMESPACE).build());
+    insertTables(uri);
+    middlePageToken =
+        ListingPage.encodePageToken(
+            ListingPage.Kind.TABLES, BenchmarkUtils.NAMESPACE, tableName(tableCount / 2));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    tableOps.close();
+    FileUtils.deleteDirectory(catalogDir);
+  }
+
+  @Benchmark
+  public ListingPage<TableIdentifier> listFirstPage() {
+    return tableOps.listTable(BenchmarkUtils.NAMESPACE, "", Optional.of(pageSize));
+  }
+
+  @Benchmark
+  public ListingPage<TableIdentifier> listMiddlePage() {
+    return tableOps.listTable(BenchmarkUtils.NAMESPACE, middlePageToken, Optional.of(pageSize));
+  }
+
+  private void insertTables(String uri) throws SQLException {
+    try (Connection connection = DriverManager.getConnection(uri);
+        PreparedStatement statement =
+            connection.prepareStatement(
+                "INSERT INTO iceberg_tables (catalog_name, table_namespace, table_name,"
+                    + " metadata_location) VALUES (?, ?, ?, ?)")) {
+      connection.setAutoCommit(false);
+      for (int i = 0; i < tableCount; i++) {
+        String name = tableName(i);
+        statement.setString(1, CATALOG_NAME);
+        statement.setString(2, BenchmarkUtils.NAMESPACE.toString());
+        statement.setString(3, name);
+        statement.setString(4, catalogDir.getAbsolutePath() + "/" + name + "/metadata.json");
+        statement.addBatch();
+        if (i % 10000 == 9999) {
+          statement.executeBatch();
+        }
+      }
+      statement.executeBatch();
+      connection.commit();
+    }
+  }
+
+  // Pad the index, so the tables are listed in the order of the index.
+  private static String tableName(int index) {
+    return String.format("%s%07d", BenchmarkUtils.TABLE_NAME_PREFIX, index);
+  }
+}
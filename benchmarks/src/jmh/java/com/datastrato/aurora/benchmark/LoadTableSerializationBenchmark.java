@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.benchmark;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.web.IcebergRestUtils;
+import com.datastrato.aurora.web.metrics.IcebergMetricsManager;
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.GET;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.rest.responses.LoadTableResponse;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the serialization of large loadTable responses by the Jersey JSON provider, run it with
+ * the GC profiler to see the allocation rate per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class LoadTableSerializationBenchmark {
+
+  // Each column of the generated schema takes about 64 bytes of JSON.
+  private static final int COLUMNS_PER_MEGABYTE = 1024 * 1024 / 64;
+
+  @Param({"1", "10"})
+  private int metadataMegabytes;
+
+  private IcebergMetricsManager metricsManager;
+  private ApplicationHandler handler;
+
+  /** Serves the same response on every request. */
+  @Path("/serialization")
+  public static class SerializationResource {
+    private final LoadTableResponse response;
+
+    SerializationResource(LoadTableResponse response) {
+      this.response = response;
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response loadTable() {
+      return IcebergRestUtils.ok(response);
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    TableMetadata tableMetadata =
+        TableMetadata.newTableMetadata(
+            BenchmarkUtils.createSchema(metadataMegabytes * COLUMNS_PER_MEGABYTE),
+            PartitionSpec.unpartitioned(),
+            "file:/tmp/benchmark/wide_table",
+            ImmutableMap.of());
+    LoadTableResponse response =
+        LoadTableResponse.builder().withTableMetadata(tableMetadata).build();
+
+    IcebergServerConfig config = new IcebergServerConfig();
+    metricsManager = new IcebergMetricsManager(config);
+    handler =
+        BenchmarkUtils.createApplicationHandler(
+            new BenchmarkUtils.BenchmarkTableOps(config),
+            metricsManager,
+            new SerializationResource(response));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    metricsManager.close();
+  }
+
+  @Benchmark
+  public ContainerResponse loadTable() {
+    return BenchmarkUtils.apply(
+        handler, BenchmarkUtils.createRequest(handler, HttpMethod.GET, "serialization", null));
+  }
+}
@@ -393,15 +393,18 @@ tasks {
     destinationDirectory.set(projectDir.dir("distribution"))
   }
 
+  // The benchmarks are not shipped with the distribution.
+  val distributionProjects = subprojects.filter { it.name != "benchmarks" }
+
   register("copySubprojectDependencies", Copy::class) {
-    subprojects.forEach() {
+    distributionProjects.forEach() {
       from(it.configurations.runtimeClasspath)
       into("distribution/package/libs")
     }
   }
 
   register("copySubprojectLib", Copy::class) {
-    subprojects.forEach() {
+    distributionProjects.forEach() {
       dependsOn("${it.name}:build")
       from("${it.name}/build/libs")
       into("distribution/package/libs")
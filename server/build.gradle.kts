@@ -11,6 +11,7 @@ plugins {
 
 dependencies {
   implementation(libs.bundles.jetty)
+  implementation(libs.bundles.jetty.http2)
   implementation(libs.bundles.jersey)
   implementation(libs.bundles.log4j)
   implementation(libs.bundles.gravitino)
@@ -32,6 +33,7 @@ dependencies {
   implementation(libs.bundles.jersey)
   implementation(libs.bundles.log4j)
   implementation(libs.commons.collections4)
+  implementation(libs.commons.dbcp2)
   implementation(libs.commons.io)
   implementation(libs.commons.lang3)
   implementation(libs.guava)
@@ -64,6 +66,8 @@ dependencies {
   implementation(libs.jackson.datatype.jdk8)
   implementation(libs.jackson.datatype.jsr310)
   implementation(libs.sqlite.jdbc)
+  // The ALPN providers of JDK 9+ and JDK 8u252+ for HTTP/2 over TLS, Jetty picks the one working.
+  runtimeOnly(libs.bundles.jetty.alpn)
 
   annotationProcessor(libs.lombok)
 
@@ -81,6 +85,8 @@ dependencies {
   testCompileOnly(libs.lombok)
 
   testImplementation(libs.commons.io)
+  testImplementation(libs.h2db)
+  testImplementation(libs.jetty.http2.client)
   testImplementation(libs.jersey.test.framework.core) {
     exclude(group = "org.junit.jupiter")
   }
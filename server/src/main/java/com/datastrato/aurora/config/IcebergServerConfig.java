@@ -4,9 +4,16 @@
  */
 package com.datastrato.aurora.config;
 
+import com.datastrato.aurora.web.metrics.DropNewestOverflowPolicy;
 import com.datastrato.aurora.web.metrics.IcebergMetricsManager;
+import com.datastrato.aurora.web.metrics.JdbcMetricsStore;
+import com.datastrato.aurora.web.metrics.LocalFileMetricsStore;
+import com.datastrato.aurora.web.metrics.SampleOverflowPolicy;
+import com.datastrato.aurora.web.metrics.SpillOverflowPolicy;
 import java.util.Map;
+import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.iceberg.CatalogProperties;
 
 public class IcebergServerConfig extends Config {
 
@@ -72,6 +79,16 @@ public class IcebergServerConfig extends Config {
           .booleanConf()
           .createWithDefault(true);
 
+  public static final ConfigEntry<Boolean> JDBC_PAGED_LISTING_ENABLED =
+      new ConfigBuilder("jdbc-paged-listing-enabled")
+          .doc(
+              "Whether the Jdbc backend reads a page of the paginated table listing with a keyset"
+                  + " query, the listing index is created with the catalog tables if jdbc-init is"
+                  + " true")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .booleanConf()
+          .createWithDefault(false);
+
   public static final ConfigEntry<String> ICEBERG_METRICS_STORE =
       new ConfigBuilder(IcebergMetricsManager.ICEBERG_METRICS_STORE)
           .doc("The store to save Iceberg metrics")
@@ -95,6 +112,432 @@ public class IcebergServerConfig extends Config {
           .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
           .createWithDefault(1000);
 
+  public static final ConfigEntry<String> ICEBERG_METRICS_QUEUE_OVERFLOW_POLICY =
+      new ConfigBuilder(IcebergMetricsManager.ICEBERG_METRICS_QUEUE_OVERFLOW_POLICY)
+          .doc(
+              "The policy for Iceberg metrics which don't fit into the full metrics queue,"
+                  + " drop-newest, drop-oldest, sample, spill or a full qualified class name")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .stringConf()
+          .checkValue(StringUtils::isNotBlank, ConfigConstants.NOT_BLANK_ERROR_MSG)
+          .createWithDefault(DropNewestOverflowPolicy.DROP_NEWEST_POLICY_NAME);
+
+  public static final ConfigEntry<Integer> ICEBERG_METRICS_QUEUE_SAMPLE_INTERVAL =
+      new ConfigBuilder(SampleOverflowPolicy.ICEBERG_METRICS_QUEUE_SAMPLE_INTERVAL)
+          .doc(
+              "Keep one of every such number of Iceberg metrics overflowing the queue, used by the"
+                  + " sample overflow policy")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(10);
+
+  public static final ConfigEntry<String> ICEBERG_METRICS_QUEUE_SPILL_DIR =
+      new ConfigBuilder(SpillOverflowPolicy.ICEBERG_METRICS_QUEUE_SPILL_DIR)
+          .doc(
+              "The directory to spill Iceberg metrics overflowing the queue, used by the spill"
+                  + " overflow policy")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .stringConf()
+          .checkValue(StringUtils::isNotBlank, ConfigConstants.NOT_BLANK_ERROR_MSG)
+          .create();
+
+  public static final ConfigEntry<Long> ICEBERG_METRICS_QUEUE_SPILL_MAX_BYTES =
+      new ConfigBuilder(SpillOverflowPolicy.ICEBERG_METRICS_QUEUE_SPILL_MAX_BYTES)
+          .doc("The max bytes of the spilled Iceberg metrics, the more metrics are dropped")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(256L * 1024 * 1024);
+
+  public static final ConfigEntry<Integer> ICEBERG_METRICS_WRITE_BATCH_SIZE =
+      new ConfigBuilder(IcebergMetricsManager.ICEBERG_METRICS_WRITE_BATCH_SIZE)
+          .doc("The max number of Iceberg metrics written to the metrics store in one batch")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(100);
+
+  public static final ConfigEntry<Long> ICEBERG_METRICS_WRITE_LINGER_MS =
+      new ConfigBuilder(IcebergMetricsManager.ICEBERG_METRICS_WRITE_LINGER_MS)
+          .doc(
+              "The max time in milliseconds to wait for more Iceberg metrics before writing a"
+                  + " batch, 0 means writing the metrics already in the queue without waiting")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value >= 0, ConfigConstants.NON_NEGATIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(50L);
+
+  public static final ConfigEntry<String> ICEBERG_METRICS_STORE_JDBC_URI =
+      new ConfigBuilder(JdbcMetricsStore.ICEBERG_METRICS_STORE_JDBC_URI)
+          .doc("The JDBC uri of the database to save Iceberg metrics, used by the jdbc store")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .stringConf()
+          .checkValue(StringUtils::isNotBlank, ConfigConstants.NOT_BLANK_ERROR_MSG)
+          .create();
+
+  public static final ConfigEntry<Optional<String>> ICEBERG_METRICS_STORE_JDBC_USER =
+      new ConfigBuilder(JdbcMetricsStore.ICEBERG_METRICS_STORE_JDBC_USER)
+          .doc("The username of the database to save Iceberg metrics")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .stringConf()
+          .createWithOptional();
+
+  public static final ConfigEntry<Optional<String>> ICEBERG_METRICS_STORE_JDBC_PASSWORD =
+      new ConfigBuilder(JdbcMetricsStore.ICEBERG_METRICS_STORE_JDBC_PASSWORD)
+          .doc("The password of the database to save Iceberg metrics")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .stringConf()
+          .createWithOptional();
+
+  public static final ConfigEntry<Optional<String>> ICEBERG_METRICS_STORE_JDBC_DRIVER =
+      new ConfigBuilder(JdbcMetricsStore.ICEBERG_METRICS_STORE_JDBC_DRIVER)
+          .doc("The JDBC driver class of the database to save Iceberg metrics")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .stringConf()
+          .createWithOptional();
+
+  public static final ConfigEntry<String> ICEBERG_METRICS_STORE_LOCAL_DIR =
+      new ConfigBuilder(LocalFileMetricsStore.ICEBERG_METRICS_STORE_LOCAL_DIR)
+          .doc("The directory to save Iceberg metrics segments, used by the local-file store")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .stringConf()
+          .checkValue(StringUtils::isNotBlank, ConfigConstants.NOT_BLANK_ERROR_MSG)
+          .create();
+
+  public static final ConfigEntry<Integer> ICEBERG_METRICS_STORE_LOCAL_MAP_BYTES =
+      new ConfigBuilder(LocalFileMetricsStore.ICEBERG_METRICS_STORE_LOCAL_MAP_BYTES)
+          .doc("The bytes of an Iceberg metrics segment mapped into memory at a time")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(16 * 1024 * 1024);
+
+  public static final ConfigEntry<Boolean> TABLE_METADATA_CACHE_ENABLED =
+      new ConfigBuilder("table-metadata-cache-enabled")
+          .doc(
+              "Whether to cache the table metadata served by loadTable, and the metadata trimmed"
+                  + " to the referenced snapshots, the metadata committed by other servers is"
+                  + " visible after the cache entry expires")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .booleanConf()
+          .createWithDefault(false);
+
+  public static final ConfigEntry<Integer> TABLE_METADATA_CACHE_MAX_SIZE =
+      new ConfigBuilder("table-metadata-cache-max-size")
+          .doc("The maximum number of tables kept in the table metadata cache")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(1000);
+
+  public static final ConfigEntry<Long> TABLE_METADATA_CACHE_EXPIRE_SECONDS =
+      new ConfigBuilder("table-metadata-cache-expire-seconds")
+          .doc("The seconds a table metadata cache entry is kept after it's loaded")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(60L);
+
+  public static final ConfigEntry<Boolean> BACKEND_EXECUTOR_ENABLED =
+      new ConfigBuilder("backend-executor-enabled")
+          .doc(
+              "Whether to run the table and namespace operations in a bounded executor of the"
+                  + " catalog backend instead of the HTTP worker threads")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .booleanConf()
+          .createWithDefault(false);
+
+  public static final ConfigEntry<Integer> BACKEND_EXECUTOR_THREADS =
+      new ConfigBuilder("backend-executor-threads")
+          .doc("The number of threads calling the catalog backend")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(64);
+
+  public static final ConfigEntry<Integer> BACKEND_EXECUTOR_QUEUE_SIZE =
+      new ConfigBuilder("backend-executor-queue-size")
+          .doc(
+              "The maximum number of operations waiting for a backend thread, the more operations"
+                  + " are rejected with 503")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(1000);
+
+  public static final ConfigEntry<Integer> HIVE_CLIENT_POOL_SIZE =
+      new ConfigBuilder(CatalogProperties.CLIENT_POOL_SIZE)
+          .doc("The number of Hive metastore clients kept by the pool of the Hive backend")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(CatalogProperties.CLIENT_POOL_SIZE_DEFAULT);
+
+  public static final ConfigEntry<Long> HIVE_CLIENT_POOL_EVICTION_INTERVAL_MS =
+      new ConfigBuilder(CatalogProperties.CLIENT_POOL_CACHE_EVICTION_INTERVAL_MS)
+          .doc(
+              "The milliseconds an idle Hive metastore client pool is cached before it's closed,"
+                  + " the pool is cached per user of the backend")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(CatalogProperties.CLIENT_POOL_CACHE_EVICTION_INTERVAL_MS_DEFAULT);
+
+  public static final ConfigEntry<Integer> HIVE_CLIENT_POOL_WARMUP_CLIENTS =
+      new ConfigBuilder("hive-client-pool-warmup-clients")
+          .doc(
+              "The number of Hive metastore clients opened when the server starts, 0 opens the"
+                  + " clients on the first requests, it's capped by the pool size")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value >= 0, ConfigConstants.NON_NEGATIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(0);
+
+  public static final ConfigEntry<Long> HIVE_CLIENT_POOL_WARMUP_TIMEOUT_MS =
+      new ConfigBuilder("hive-client-pool-warmup-timeout-ms")
+          .doc("The max milliseconds to wait for opening the Hive clients when warming up")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(30000L);
+
+  public static final ConfigEntry<Boolean> JDBC_POOL_ENABLED =
+      new ConfigBuilder("jdbc-pool-enabled")
+          .doc(
+              "Whether the Jdbc backend borrows the connections from a pooled data source with"
+                  + " validation and idle eviction instead of the built-in client pool of Iceberg")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .booleanConf()
+          .createWithDefault(false);
+
+  public static final ConfigEntry<Integer> JDBC_POOL_MAX_TOTAL =
+      new ConfigBuilder("jdbc-pool-max-total")
+          .doc("The max number of connections of the Jdbc pool")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(8);
+
+  public static final ConfigEntry<Integer> JDBC_POOL_MIN_IDLE =
+      new ConfigBuilder("jdbc-pool-min-idle")
+          .doc("The min number of idle connections kept by the Jdbc pool")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value >= 0, ConfigConstants.NON_NEGATIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(0);
+
+  public static final ConfigEntry<Integer> JDBC_POOL_MAX_IDLE =
+      new ConfigBuilder("jdbc-pool-max-idle")
+          .doc("The max number of idle connections kept by the Jdbc pool")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value >= 0, ConfigConstants.NON_NEGATIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(8);
+
+  public static final ConfigEntry<Long> JDBC_POOL_MAX_WAIT_MS =
+      new ConfigBuilder("jdbc-pool-max-wait-ms")
+          .doc("The max milliseconds to wait for a connection when the Jdbc pool is exhausted")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(10000L);
+
+  public static final ConfigEntry<Optional<String>> JDBC_POOL_VALIDATION_QUERY =
+      new ConfigBuilder("jdbc-pool-validation-query")
+          .doc(
+              "The query validating the connections on borrowing and while idle, the connections"
+                  + " are validated by the Jdbc driver if it's not set")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .stringConf()
+          .createWithOptional();
+
+  public static final ConfigEntry<Long> JDBC_POOL_EVICTION_INTERVAL_MS =
+      new ConfigBuilder("jdbc-pool-eviction-interval-ms")
+          .doc("The milliseconds between the runs evicting the idle connections of the Jdbc pool")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(60000L);
+
+  public static final ConfigEntry<Long> JDBC_POOL_MIN_EVICTABLE_IDLE_MS =
+      new ConfigBuilder("jdbc-pool-min-evictable-idle-ms")
+          .doc("The milliseconds a connection stays idle in the Jdbc pool before it's evictable")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(300000L);
+
+  public static final ConfigEntry<Integer> JDBC_POOL_STATEMENT_CACHE_SIZE =
+      new ConfigBuilder("jdbc-pool-statement-cache-size")
+          .doc("The number of prepared statements cached per pooled connection, 0 disables it")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value >= 0, ConfigConstants.NON_NEGATIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(64);
+
+  public static final ConfigEntry<Boolean> WARMUP_ENABLED =
+      new ConfigBuilder("warmup-enabled")
+          .doc(
+              "Whether to load the configured and the recorded hot tables before the server"
+                  + " accepts requests, opening the backend connections and the serializers")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .booleanConf()
+          .createWithDefault(false);
+
+  public static final ConfigEntry<Optional<String>> WARMUP_TABLES =
+      new ConfigBuilder("warmup-tables")
+          .doc("The comma separated tables loaded by the warm-up, like `db.table1,db.table2`")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .stringConf()
+          .createWithOptional();
+
+  public static final ConfigEntry<Optional<String>> WARMUP_HOT_TABLES_FILE =
+      new ConfigBuilder("warmup-hot-tables-file")
+          .doc(
+              "The file recording the most loaded tables when the server stops, the recorded"
+                  + " tables are loaded by the warm-up of the next start")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .stringConf()
+          .createWithOptional();
+
+  public static final ConfigEntry<Integer> WARMUP_HOT_TABLES_NUM =
+      new ConfigBuilder("warmup-hot-tables-num")
+          .doc("The number of the most loaded tables recorded for the warm-up")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(100);
+
+  public static final ConfigEntry<Integer> WARMUP_THREADS =
+      new ConfigBuilder("warmup-threads")
+          .doc("The number of threads loading the tables for the warm-up")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(8);
+
+  public static final ConfigEntry<Long> WARMUP_TIMEOUT_MS =
+      new ConfigBuilder("warmup-timeout-ms")
+          .doc("The max milliseconds of the warm-up, the server starts anyway when it's exceeded")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(60000L);
+
+  public static final ConfigEntry<Integer> LIST_MAX_PAGE_SIZE =
+      new ConfigBuilder("list-max-page-size")
+          .doc(
+              "The max number of tables or namespaces in a page of the paginated listing, it's"
+                  + " the page size of the requests without pageSize")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(1000);
+
+  public static final ConfigEntry<Integer> BULK_LOAD_THREADS =
+      new ConfigBuilder("bulk-load-threads")
+          .doc("The number of threads loading the tables of the bulk loadTables requests")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(16);
+
+  public static final ConfigEntry<Integer> BULK_LOAD_MAX_TABLES =
+      new ConfigBuilder("bulk-load-max-tables")
+          .doc("The max number of tables in a bulk loadTables request")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(100);
+
+  public static final ConfigEntry<Integer> BULK_LOAD_QUEUE_SIZE =
+      new ConfigBuilder("bulk-load-queue-size")
+          .doc(
+              "The max number of tables of the bulk loadTables requests waiting or being loaded,"
+                  + " the more requests are rejected with 503. It's at least the max tables of a"
+                  + " bulk loadTables request")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(1000);
+
+  public static final ConfigEntry<Integer> TRANSACTION_COMMIT_THREADS =
+      new ConfigBuilder("transaction-commit-threads")
+          .doc(
+              "The number of threads committing the tables of a transaction concurrently, on the"
+                  + " backends without atomic transactions")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(8);
+
+  public static final ConfigEntry<Integer> TRANSACTION_MAX_TABLES =
+      new ConfigBuilder("transaction-max-tables")
+          .doc("The max number of tables in a transaction commit request")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(100);
+
+  public static final ConfigEntry<Integer> TRANSACTION_COMMIT_QUEUE_SIZE =
+      new ConfigBuilder("transaction-commit-queue-size")
+          .doc(
+              "The max number of tables of the transactions waiting or being committed"
+                  + " concurrently, the more transactions are rejected with 503. It's at least the"
+                  + " max tables of a transaction")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(1000);
+
+  public static final ConfigEntry<Boolean> COMMIT_RETRY_ENABLED =
+      new ConfigBuilder("commit-retry-enabled")
+          .doc(
+              "Whether to rebase the appends to the main branch conflicting with another writer on"
+                  + " the server, instead of failing them with 409. A rebased append is committed"
+                  + " as a new snapshot of the same data files, its snapshot id in the response"
+                  + " differs from the one of the snapshot sent by the client, which is kept in the"
+                  + " rebased-snapshot-id summary property")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .booleanConf()
+          .createWithDefault(false);
+
+  public static final ConfigEntry<Integer> COMMIT_RETRY_MAX_ATTEMPTS =
+      new ConfigBuilder("commit-retry-max-attempts")
+          .doc("The max number of attempts to rebase a conflicting append")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(3);
+
+  public static final ConfigEntry<Long> COMMIT_RETRY_MIN_WAIT_MS =
+      new ConfigBuilder("commit-retry-min-wait-ms")
+          .doc("The base milliseconds of the jittered exponential backoff between the attempts")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value >= 0, ConfigConstants.NON_NEGATIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(50L);
+
+  public static final ConfigEntry<Long> COMMIT_RETRY_MAX_WAIT_MS =
+      new ConfigBuilder("commit-retry-max-wait-ms")
+          .doc("The max milliseconds of the backoff between the attempts")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value >= 0, ConfigConstants.NON_NEGATIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(1000L);
+
+  public static final ConfigEntry<Long> COMMIT_RETRY_MAX_TOTAL_WAIT_MS =
+      new ConfigBuilder("commit-retry-max-total-wait-ms")
+          .doc(
+              "The max milliseconds of all the backoffs of an append, the attempts stop once the"
+                  + " next backoff exceeds it. The request holds its thread while waiting, keep it"
+                  + " well below the timeouts of the clients")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value >= 0, ConfigConstants.NON_NEGATIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(2000L);
+
   public String getJdbcDriver() {
     return get(JDBC_DRIVER);
   }
@@ -9,10 +9,12 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Sets;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.net.ssl.SSLContext;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -96,6 +98,139 @@ public final class JettyServerConfig {
           .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
           .createWithDefault(100);
 
+  public static final ConfigEntry<String> WEBSERVER_EXECUTION_MODE =
+      new ConfigBuilder("executionMode")
+          .doc(
+              "The threads to handle the requests of Jetty webserver, platform uses a bounded"
+                  + " thread pool, virtual uses a virtual thread per task and requires Java 21 or"
+                  + " later")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .stringConf()
+          .checkValue(
+              value -> ExecutionMode.fromString(value).isPresent(),
+              "The value must be one of platform, virtual")
+          .createWithDefault(ExecutionMode.PLATFORM.getName());
+
+  public static final ConfigEntry<Boolean> ENABLE_CONCURRENCY_LIMIT =
+      new ConfigBuilder("enableConcurrencyLimit")
+          .doc(
+              "Enable limiting the Iceberg REST requests handled concurrently, including the"
+                  + " asynchronous requests not holding a thread of the thread pool. The limit is"
+                  + " always enabled in virtual execution mode, in place of the thread cap")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .booleanConf()
+          .createWithDefault(false);
+
+  public static final ConfigEntry<Integer> WEBSERVER_MAX_CONCURRENT_REQUESTS =
+      new ConfigBuilder("maxConcurrentRequests")
+          .doc(
+              "The maximum number of requests handled concurrently if the concurrency limit is"
+                  + " enabled")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(1000);
+
+  public static final ConfigEntry<Long> WEBSERVER_CONCURRENCY_LIMIT_WAIT_MS =
+      new ConfigBuilder("concurrencyLimitWaitMs")
+          .doc(
+              "The max time in milliseconds a request waits for the concurrency limit before it's"
+                  + " rejected with 503")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value >= 0, ConfigConstants.NON_NEGATIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(10 * 1000L);
+
+  public static final ConfigEntry<Boolean> ENABLE_ADMISSION_CONTROL =
+      new ConfigBuilder("enableAdmissionControl")
+          .doc(
+              "Enable capping the concurrent read and commit requests separately, the excess"
+                  + " requests are rejected with 503 immediately")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .booleanConf()
+          .createWithDefault(false);
+
+  public static final ConfigEntry<Integer> ADMISSION_MAX_READ_REQUESTS =
+      new ConfigBuilder("admissionMaxReadRequests")
+          .doc("The maximum number of concurrent read requests admitted")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(256);
+
+  public static final ConfigEntry<Integer> ADMISSION_MAX_COMMIT_REQUESTS =
+      new ConfigBuilder("admissionMaxCommitRequests")
+          .doc("The maximum number of concurrent commit requests admitted")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(64);
+
+  public static final ConfigEntry<Long> ADMISSION_RETRY_AFTER_SECONDS =
+      new ConfigBuilder("admissionRetryAfterSeconds")
+          .doc("The Retry-After seconds of the responses to the rejected requests")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value >= 0, ConfigConstants.NON_NEGATIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(1L);
+
+  public static final ConfigEntry<Boolean> ENABLE_RATE_LIMIT =
+      new ConfigBuilder("enableRateLimit")
+          .doc(
+              "Enable throttling the requests of each client and of each namespace with token"
+                  + " buckets, the throttled requests are rejected with 429")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .booleanConf()
+          .createWithDefault(false);
+
+  public static final ConfigEntry<Integer> RATE_LIMIT_CLIENT_PERMITS_PER_SECOND =
+      new ConfigBuilder("rateLimitClientPermitsPerSecond")
+          .doc("The requests per second allowed for a client, identified by principal or address")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(100);
+
+  public static final ConfigEntry<Integer> RATE_LIMIT_CLIENT_BURST =
+      new ConfigBuilder("rateLimitClientBurst")
+          .doc("The maximum requests a client can send at once after being idle")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(200);
+
+  public static final ConfigEntry<Integer> RATE_LIMIT_NAMESPACE_PERMITS_PER_SECOND =
+      new ConfigBuilder("rateLimitNamespacePermitsPerSecond")
+          .doc("The requests per second allowed under a first level namespace of a catalog")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(500);
+
+  public static final ConfigEntry<Integer> RATE_LIMIT_NAMESPACE_BURST =
+      new ConfigBuilder("rateLimitNamespaceBurst")
+          .doc("The maximum requests under a namespace at once after being idle")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(1000);
+
+  public static final ConfigEntry<Integer> RATE_LIMIT_MAX_KEYS =
+      new ConfigBuilder("rateLimitMaxKeys")
+          .doc("The maximum clients and the maximum namespaces tracked, the idlest are evicted")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(10000);
+
+  public static final ConfigEntry<Long> RATE_LIMIT_IDLE_EXPIRE_SECONDS =
+      new ConfigBuilder("rateLimitIdleExpireSeconds")
+          .doc("The seconds after which an idle client or namespace is no longer tracked")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .longConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(600L);
+
   public static final ConfigEntry<Boolean> ENABLE_HTTPS =
       new ConfigBuilder("enableHttps")
           .doc("Enable https")
@@ -111,6 +246,68 @@ public final class JettyServerConfig {
           .checkValue(value -> value >= 0, ConfigConstants.NON_NEGATIVE_NUMBER_ERROR_MSG)
           .createWithDefault(DEFAULT_ICEBERG_REST_SERVICE_HTTPS_PORT);
 
+  public static final ConfigEntry<Boolean> ENABLE_HTTP2_CLEARTEXT =
+      new ConfigBuilder("enableHttp2Cleartext")
+          .doc(
+              "Enable HTTP/2 cleartext (h2c) on the http port, besides HTTP/1.1. The clients with"
+                  + " prior knowledge or the HTTP/1.1 upgrade could multiplex requests on a"
+                  + " connection")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .booleanConf()
+          .createWithDefault(false);
+
+  public static final ConfigEntry<Boolean> ENABLE_HTTP2 =
+      new ConfigBuilder("enableHttp2")
+          .doc(
+              "Enable HTTP/2 negotiated by ALPN on the https port, besides HTTP/1.1. Requires TLS"
+                  + " 1.2 or later")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .booleanConf()
+          .createWithDefault(false);
+
+  public static final ConfigEntry<Integer> HTTP2_MAX_CONCURRENT_STREAMS =
+      new ConfigBuilder("http2MaxConcurrentStreams")
+          .doc("The maximum number of concurrent requests multiplexed on an HTTP/2 connection")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value > 0, ConfigConstants.POSITIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(128);
+
+  public static final ConfigEntry<Boolean> ENABLE_COMPRESSION =
+      new ConfigBuilder("enableCompression")
+          .doc("Enable gzip compression of the responses if the client accepts it")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .booleanConf()
+          .createWithDefault(false);
+
+  public static final ConfigEntry<Integer> COMPRESSION_MIN_SIZE =
+      new ConfigBuilder("compressionMinSize")
+          .doc(
+              "The minimum size in bytes of a response to compress, the smaller responses cost more"
+                  + " CPU than the bytes saved")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(value -> value >= 0, ConfigConstants.NON_NEGATIVE_NUMBER_ERROR_MSG)
+          .createWithDefault(2048);
+
+  public static final ConfigEntry<String> COMPRESSION_MIME_TYPES =
+      new ConfigBuilder("compressionMimeTypes")
+          .doc("A comma separated list of MIME types of the responses to compress")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .stringConf()
+          .checkValue(StringUtils::isNotBlank, ConfigConstants.NOT_BLANK_ERROR_MSG)
+          .createWithDefault("application/json");
+
+  public static final ConfigEntry<Integer> COMPRESSION_LEVEL =
+      new ConfigBuilder("compressionLevel")
+          .doc("The gzip compression level from 1 to 9, or -1 for the default level 6")
+          .version(ConfigConstants.VERSION_0_1_0)
+          .intConf()
+          .checkValue(
+              value -> value == -1 || (value >= 1 && value <= 9),
+              "The value must be -1 or between 1 and 9")
+          .createWithDefault(-1);
+
   public static final ConfigEntry<String> SSL_KEYSTORE_PATH =
       new ConfigBuilder("keyStorePath")
           .doc("Path to the key store file")
@@ -290,7 +487,44 @@ public final class JettyServerConfig {
 
   private final int threadPoolWorkQueueSize;
 
+  private final ExecutionMode executionMode;
+
+  private final boolean enableConcurrencyLimit;
+
+  private final int maxConcurrentRequests;
+
+  private final long concurrencyLimitWaitMs;
+
+  private final boolean enableAdmissionControl;
+
+  private final int admissionMaxReadRequests;
+
+  private final int admissionMaxCommitRequests;
+
+  private final long admissionRetryAfterSeconds;
+
+  private final boolean enableRateLimit;
+
+  private final int rateLimitClientPermitsPerSecond;
+
+  private final int rateLimitClientBurst;
+
+  private final int rateLimitNamespacePermitsPerSecond;
+
+  private final int rateLimitNamespaceBurst;
+
+  private final int rateLimitMaxKeys;
+
+  private final long rateLimitIdleExpireSeconds;
+
   private final int httpsPort;
+  private final boolean enableCompression;
+  private final int compressionMinSize;
+  private final Set<String> compressionMimeTypes;
+  private final int compressionLevel;
+  private final boolean enableHttp2Cleartext;
+  private final boolean enableHttp2;
+  private final int http2MaxConcurrentStreams;
   private final String keyStorePath;
   private final String keyStorePassword;
   private final String managerPassword;
@@ -344,9 +578,40 @@ public final class JettyServerConfig {
     this.requestHeaderSize = internalConfig.get(WEBSERVER_REQUEST_HEADER_SIZE);
     this.responseHeaderSize = internalConfig.get(WEBSERVER_RESPONSE_HEADER_SIZE);
     this.threadPoolWorkQueueSize = internalConfig.get(WEBSERVER_THREAD_POOL_WORK_QUEUE_SIZE);
+    this.executionMode =
+        ExecutionMode.fromString(internalConfig.get(WEBSERVER_EXECUTION_MODE)).get();
+    this.enableConcurrencyLimit =
+        executionMode == ExecutionMode.VIRTUAL || internalConfig.get(ENABLE_CONCURRENCY_LIMIT);
+    this.maxConcurrentRequests = internalConfig.get(WEBSERVER_MAX_CONCURRENT_REQUESTS);
+    this.concurrencyLimitWaitMs = internalConfig.get(WEBSERVER_CONCURRENCY_LIMIT_WAIT_MS);
+    this.enableAdmissionControl = internalConfig.get(ENABLE_ADMISSION_CONTROL);
+    this.admissionMaxReadRequests = internalConfig.get(ADMISSION_MAX_READ_REQUESTS);
+    this.admissionMaxCommitRequests = internalConfig.get(ADMISSION_MAX_COMMIT_REQUESTS);
+    this.admissionRetryAfterSeconds = internalConfig.get(ADMISSION_RETRY_AFTER_SECONDS);
+    this.enableRateLimit = internalConfig.get(ENABLE_RATE_LIMIT);
+    this.rateLimitClientPermitsPerSecond =
+        internalConfig.get(RATE_LIMIT_CLIENT_PERMITS_PER_SECOND);
+    this.rateLimitClientBurst = internalConfig.get(RATE_LIMIT_CLIENT_BURST);
+    this.rateLimitNamespacePermitsPerSecond =
+        internalConfig.get(RATE_LIMIT_NAMESPACE_PERMITS_PER_SECOND);
+    this.rateLimitNamespaceBurst = internalConfig.get(RATE_LIMIT_NAMESPACE_BURST);
+    this.rateLimitMaxKeys = internalConfig.get(RATE_LIMIT_MAX_KEYS);
+    this.rateLimitIdleExpireSeconds = internalConfig.get(RATE_LIMIT_IDLE_EXPIRE_SECONDS);
 
     this.enableHttps = internalConfig.get(ENABLE_HTTPS);
     this.httpsPort = internalConfig.get(WEBSERVER_HTTPS_PORT);
+    this.enableHttp2Cleartext = internalConfig.get(ENABLE_HTTP2_CLEARTEXT);
+    this.enableCompression = internalConfig.get(ENABLE_COMPRESSION);
+    this.compressionMinSize = internalConfig.get(COMPRESSION_MIN_SIZE);
+    this.compressionMimeTypes =
+        Collections.unmodifiableSet(
+            Arrays.stream(internalConfig.get(COMPRESSION_MIME_TYPES).split(SPLITTER))
+                .map(String::trim)
+                .filter(StringUtils::isNotBlank)
+                .collect(Collectors.toSet()));
+    this.compressionLevel = internalConfig.get(COMPRESSION_LEVEL);
+    this.enableHttp2 = internalConfig.get(ENABLE_HTTP2);
+    this.http2MaxConcurrentStreams = internalConfig.get(HTTP2_MAX_CONCURRENT_STREAMS);
     this.tlsProtocol = internalConfig.get(SSL_PROTOCOL);
     this.enableCipherAlgorithms =
         Collections.unmodifiableSet(
@@ -431,6 +696,66 @@ public final class JettyServerConfig {
     return threadPoolWorkQueueSize;
   }
 
+  public ExecutionMode getExecutionMode() {
+    return executionMode;
+  }
+
+  public boolean isEnableConcurrencyLimit() {
+    return enableConcurrencyLimit;
+  }
+
+  public int getMaxConcurrentRequests() {
+    return maxConcurrentRequests;
+  }
+
+  public long getConcurrencyLimitWaitMs() {
+    return concurrencyLimitWaitMs;
+  }
+
+  public boolean isEnableAdmissionControl() {
+    return enableAdmissionControl;
+  }
+
+  public int getAdmissionMaxReadRequests() {
+    return admissionMaxReadRequests;
+  }
+
+  public int getAdmissionMaxCommitRequests() {
+    return admissionMaxCommitRequests;
+  }
+
+  public long getAdmissionRetryAfterSeconds() {
+    return admissionRetryAfterSeconds;
+  }
+
+  public boolean isEnableRateLimit() {
+    return enableRateLimit;
+  }
+
+  public int getRateLimitClientPermitsPerSecond() {
+    return rateLimitClientPermitsPerSecond;
+  }
+
+  public int getRateLimitClientBurst() {
+    return rateLimitClientBurst;
+  }
+
+  public int getRateLimitNamespacePermitsPerSecond() {
+    return rateLimitNamespacePermitsPerSecond;
+  }
+
+  public int getRateLimitNamespaceBurst() {
+    return rateLimitNamespaceBurst;
+  }
+
+  public int getRateLimitMaxKeys() {
+    return rateLimitMaxKeys;
+  }
+
+  public long getRateLimitIdleExpireSeconds() {
+    return rateLimitIdleExpireSeconds;
+  }
+
   public int getIdleTimeout() {
     return idleTimeout;
   }
@@ -439,6 +764,34 @@ public final class JettyServerConfig {
     return httpsPort;
   }
 
+  public boolean isEnableCompression() {
+    return enableCompression;
+  }
+
+  public int getCompressionMinSize() {
+    return compressionMinSize;
+  }
+
+  public Set<String> getCompressionMimeTypes() {
+    return compressionMimeTypes;
+  }
+
+  public int getCompressionLevel() {
+    return compressionLevel;
+  }
+
+  public boolean isEnableHttp2Cleartext() {
+    return enableHttp2Cleartext;
+  }
+
+  public boolean isEnableHttp2() {
+    return enableHttp2;
+  }
+
+  public int getHttp2MaxConcurrentStreams() {
+    return http2MaxConcurrentStreams;
+  }
+
   public String getKeyStorePath() {
     return keyStorePath;
   }
@@ -560,4 +913,29 @@ public final class JettyServerConfig {
     }
     return Sets.newHashSet(context.getServerSocketFactory().getSupportedCipherSuites());
   }
+
+  /** The threads to handle the requests of Jetty webserver. */
+  public enum ExecutionMode {
+    PLATFORM("platform"),
+    VIRTUAL("virtual");
+
+    private final String name;
+
+    ExecutionMode(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public static Optional<ExecutionMode> fromString(String name) {
+      for (ExecutionMode mode : values()) {
+        if (mode.name.equalsIgnoreCase(name)) {
+          return Optional.of(mode);
+        }
+      }
+      return Optional.empty();
+    }
+  }
 }
@@ -0,0 +1,171 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.iceberg.AppendFiles;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataOperations;
+import org.apache.iceberg.HasTableOperations;
+import org.apache.iceberg.MetadataUpdate;
+import org.apache.iceberg.MetadataUpdate.AddSnapshot;
+import org.apache.iceberg.MetadataUpdate.SetSnapshotRef;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.SnapshotRef;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.catalog.Catalog;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.exceptions.CommitFailedException;
+import org.apache.iceberg.io.FileIO;
+import org.apache.iceberg.rest.requests.UpdateTableRequest;
+import org.apache.iceberg.rest.requests.UpdateTableRequest.UpdateRequirement;
+import org.apache.iceberg.rest.requests.UpdateTableRequest.UpdateRequirement.AssertRefSnapshotID;
+import org.apache.iceberg.rest.responses.LoadTableResponse;
+import org.apache.iceberg.util.SnapshotUtil;
+
+/**
+ * An update of a table only appending a snapshot of new data files to the main branch. If another
+ * writer moves the branch first, the requirement on the branch head fails, but the append doesn't
+ * conflict with the other writer. The append is rebased by adding the same data files onto the
+ * current head, the other requirements are validated against the current metadata.
+ *
+ * <p>The snapshot of the client can't be committed as it is, its manifest list keeps the manifests
+ * of the old head and not the ones of the other writer. So the rebased snapshot has a new id, and
+ * the manifest list and manifests written by the client are left unreferenced. The id of the
+ * client's snapshot is kept in the summary of the rebased snapshot, so a replay of the same request
+ * isn't appended twice.
+ */
+final class AppendOnlyCommit {
+  static final String REBASED_SNAPSHOT_ID_PROP = "rebased-snapshot-id";
+
+  // The summary properties computed by the snapshot producer, the others are kept by the rebase.
+  private static final List<String> PRODUCED_SUMMARY_PREFIXES =
+      ImmutableList.of(
+          "added-",
+          "deleted-",
+          "removed-",
+          "total-",
+          "changed-partition-count",
+          "partitions.",
+          "partition-summaries-included");
+
+  private final UpdateTableRequest request;
+  private final Snapshot snapshot;
+  private boolean committed;
+
+  private AppendOnlyCommit(UpdateTableRequest request, Snapshot snapshot) {
+    this.request = request;
+    this.snapshot = snapshot;
+  }
+
+  /**
+   * Get the append of the update if it only appends a snapshot to the main branch.
+   *
+   * @param request the update of the table
+   * @return the append, or empty if the update does more than an append
+   */
+  static Optional<AppendOnlyCommit> of(UpdateTableRequest request) {
+    List<MetadataUpdate> updates = request.updates();
+    if (updates.size() != 2) {
+      return Optional.empty();
+    }
+    AddSnapshot addSnapshot = null;
+    SetSnapshotRef setSnapshotRef = null;
+    for (MetadataUpdate update : updates) {
+      if (update instanceof AddSnapshot) {
+        addSnapshot = (AddSnapshot) update;
+      } else if (update instanceof SetSnapshotRef) {
+        setSnapshotRef = (SetSnapshotRef) update;
+      }
+    }
+    if (addSnapshot == null
+        || setSnapshotRef == null
+        || !DataOperations.APPEND.equals(addSnapshot.snapshot().operation())
+        || !SnapshotRef.MAIN_BRANCH.equals(setSnapshotRef.name())
+        || setSnapshotRef.snapshotId() != addSnapshot.snapshot().snapshotId()) {
+      return Optional.empty();
+    }
+    return Optional.of(new AppendOnlyCommit(request, addSnapshot.snapshot()));
+  }
+
+  /**
+   * Append the data files of the snapshot to the current head of the main branch.
+   *
+   * @param catalog the catalog of the table
+   * @param tableIdentifier the table
+   * @return the metadata of the table with the rebased snapshot
+   * @throws CommitFailedException if the other requirements fail on the current metadata, or the
+   *     snapshot isn't an append of data files only
+   */
+  LoadTableResponse rebase(Catalog catalog, TableIdentifier tableIdentifier) {
+    Table table = catalog.loadTable(tableIdentifier);
+    TableMetadata base = ((HasTableOperations) table).operations().current();
+    if (isCommitted(base)) {
+      this.committed = true;
+      throw new CommitFailedException(
+          "Cannot rebase snapshot %s, it's already in table %s",
+          snapshot.snapshotId(), tableIdentifier);
+    }
+    for (UpdateRequirement requirement : request.requirements()) {
+      if (!isMainBranchRequirement(requirement)) {
+        requirement.validate(base);
+      }
+    }
+
+    FileIO io = table.io();
+    if (!Iterables.isEmpty(snapshot.removedDataFiles(io))
+        || !Iterables.isEmpty(snapshot.addedDeleteFiles(io))) {
+      throw new CommitFailedException(
+          "Cannot rebase snapshot %s, it doesn't only append data files", snapshot.snapshotId());
+    }
+    AppendFiles append = table.newFastAppend();
+    for (DataFile dataFile : snapshot.addedDataFiles(io)) {
+      append.appendFile(dataFile);
+    }
+    for (Map.Entry<String, String> property : snapshot.summary().entrySet()) {
+      if (PRODUCED_SUMMARY_PREFIXES.stream().noneMatch(property.getKey()::startsWith)) {
+        append.set(property.getKey(), property.getValue());
+      }
+    }
+    append.set(REBASED_SNAPSHOT_ID_PROP, String.valueOf(snapshot.snapshotId()));
+    append.commit();
+    return LoadTableResponse.builder()
+        .withTableMetadata(((HasTableOperations) table).operations().current())
+        .build();
+  }
+
+  /** Whether the last rebase found the snapshot already committed, retrying it can't succeed. */
+  boolean isCommitted() {
+    return committed;
+  }
+
+  // The snapshot is committed as it is, or rebased onto the main branch by an earlier request.
+  private boolean isCommitted(TableMetadata base) {
+    if (base.snapshot(snapshot.snapshotId()) != null) {
+      return true;
+    }
+    SnapshotRef main = base.ref(SnapshotRef.MAIN_BRANCH);
+    if (main == null) {
+      return false;
+    }
+    String snapshotId = String.valueOf(snapshot.snapshotId());
+    for (Snapshot ancestor : SnapshotUtil.ancestorsOf(main.snapshotId(), base::snapshot)) {
+      if (snapshotId.equals(ancestor.summary().get(REBASED_SNAPSHOT_ID_PROP))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isMainBranchRequirement(UpdateRequirement requirement) {
+    return requirement instanceof AssertRefSnapshotID
+        && SnapshotRef.MAIN_BRANCH.equals(((AssertRefSnapshotID) requirement).refName());
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Count the loads of each table, the most loaded tables are saved to a file when the server stops
+ * and preloaded by the warm-up of the next start. The tables loaded after tracking the max number
+ * of tables are not counted.
+ */
+public class HotTableRecorder {
+  private static final Logger LOG = LoggerFactory.getLogger(HotTableRecorder.class);
+
+  private final int maxTrackedTables;
+  private final Map<TableIdentifier, LongAdder> loadCounts = new ConcurrentHashMap<>();
+
+  public HotTableRecorder(int maxTrackedTables) {
+    this.maxTrackedTables = maxTrackedTables;
+  }
+
+  public void record(TableIdentifier tableIdentifier) {
+    LongAdder count = loadCounts.get(tableIdentifier);
+    if (count == null) {
+      if (loadCounts.size() >= maxTrackedTables) {
+        return;
+      }
+      count = loadCounts.computeIfAbsent(tableIdentifier, k -> new LongAdder());
+    }
+    count.increment();
+  }
+
+  /** Get the most loaded tables, the most loaded first. */
+  public List<TableIdentifier> getHotTables(int limit) {
+    // Snapshot the counts, they may change while sorting.
+    return loadCounts.entrySet().stream()
+        .map(entry -> new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().sum()))
+        .sorted(Map.Entry.<TableIdentifier, Long>comparingByValue().reversed())
+        .limit(limit)
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toList());
+  }
+
+  /** Save the most loaded tables to the file, one table identifier per line. */
+  public void save(Path file, int limit) throws IOException {
+    List<String> lines =
+        getHotTables(limit).stream().map(TableIdentifier::toString).collect(Collectors.toList());
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    Files.write(tempFile, lines, StandardCharsets.UTF_8);
+    Files.move(
+        tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /** Load the tables saved by {@link #save}, a missing or unreadable file has no tables. */
+  public static List<TableIdentifier> load(Path file) {
+    if (!Files.exists(file)) {
+      return Collections.emptyList();
+    }
+    try {
+      return Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+          .map(String::trim)
+          .filter(line -> !line.isEmpty())
+          .map(TableIdentifier::parse)
+          .collect(Collectors.toList());
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to load the hot tables from {}.", file, e);
+      return Collections.emptyList();
+    }
+  }
+}
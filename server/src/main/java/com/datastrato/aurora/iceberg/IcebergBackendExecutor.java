@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The executor calling the catalog backend for the REST operations. If it's enabled, the operations
+ * run in a bounded thread pool dedicated to the backend, so the slow metastore calls don't hold the
+ * HTTP worker threads, otherwise they run in the calling thread. An operation not fitting into the
+ * full queue is rejected with {@link RejectedExecutionException}.
+ */
+public class IcebergBackendExecutor implements Executor, AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(IcebergBackendExecutor.class);
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+  private final String backendType;
+  private final Optional<ThreadPoolExecutor> threadPool;
+  private final LongAdder rejectedCount = new LongAdder();
+
+  /** Run the operations in the calling thread. */
+  public IcebergBackendExecutor(String backendType) {
+    this.backendType = backendType;
+    this.threadPool = Optional.empty();
+  }
+
+  public IcebergBackendExecutor(
+      String backendType, int threads, int queueSize, MetricsSource metricsSource) {
+    this.backendType = backendType;
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("iceberg-backend-" + backendType.toLowerCase(Locale.ROOT) + "-%d")
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    this.threadPool = Optional.of(executor);
+    metricsSource.registerGauge(
+        MetricNames.BACKEND_EXECUTOR_ACTIVE_THREAD_NUM, executor::getActiveCount);
+    metricsSource.registerGauge(
+        MetricNames.BACKEND_EXECUTOR_QUEUE_DEPTH, () -> executor.getQueue().size());
+    metricsSource.registerGauge(MetricNames.BACKEND_EXECUTOR_REJECTED_COUNT, rejectedCount::sum);
+  }
+
+  @Override
+  public void execute(Runnable operation) {
+    if (!threadPool.isPresent()) {
+      operation.run();
+      return;
+    }
+    try {
+      threadPool.get().execute(operation);
+    } catch (RejectedExecutionException e) {
+      rejectedCount.increment();
+      throw e;
+    }
+  }
+
+  public String getBackendType() {
+    return backendType;
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    if (!threadPool.isPresent()) {
+      return;
+    }
+    ThreadPoolExecutor executor = threadPool.get();
+    executor.shutdown();
+    if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      LOG.warn("The {} backend operations are not finished, interrupt them.", backendType);
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.exceptions.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The executor running the operation of each table of a bulk request in parallel. A request is
+ * admitted only if all of its tables fit into the bounded queue, otherwise the whole request is
+ * rejected with {@link ServiceUnavailableException}, which is responded with 503 and Retry-After.
+ */
+class IcebergBulkExecutor implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(IcebergBulkExecutor.class);
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+  private final String name;
+  private final ThreadPoolExecutor threadPool;
+  // The tables admitted and not finished, never more than the queue holds.
+  private final Semaphore permits;
+  private final LongAdder rejectedCount = new LongAdder();
+
+  IcebergBulkExecutor(
+      String name,
+      int threads,
+      int queueSize,
+      MetricsSource metricsSource,
+      String queueDepthMetric,
+      String rejectedCountMetric) {
+    this.name = name;
+    this.threadPool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("iceberg-" + name + "-%d")
+                .build());
+    threadPool.allowCoreThreadTimeOut(true);
+    this.permits = new Semaphore(queueSize);
+    metricsSource.registerGauge(queueDepthMetric, () -> threadPool.getQueue().size());
+    metricsSource.registerGauge(rejectedCountMetric, rejectedCount::sum);
+  }
+
+  /**
+   * Run the operation of the tables in parallel, a table failing doesn't fail the others.
+   *
+   * @param tableIdentifiers the tables, at most the queue size
+   * @param operation the operation of a table
+   * @return the results of the tables, in the order of the identifiers
+   * @throws ServiceUnavailableException if the tables don't fit into the queue
+   */
+  <T> List<TableResult<T>> run(
+      Collection<TableIdentifier> tableIdentifiers, Function<TableIdentifier, T> operation) {
+    if (!permits.tryAcquire(tableIdentifiers.size())) {
+      rejectedCount.increment();
+      throw new ServiceUnavailableException(
+          "Too many tables of the %s requests in flight, please retry later", name);
+    }
+    List<CompletableFuture<TableResult<T>>> futures = new ArrayList<>(tableIdentifiers.size());
+    for (TableIdentifier tableIdentifier : tableIdentifiers) {
+      futures.add(submit(tableIdentifier, operation));
+    }
+    return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+  }
+
+  private <T> CompletableFuture<TableResult<T>> submit(
+      TableIdentifier tableIdentifier, Function<TableIdentifier, T> operation) {
+    try {
+      return CompletableFuture.supplyAsync(
+          () -> {
+            try {
+              return TableResult.success(tableIdentifier, operation.apply(tableIdentifier));
+            } catch (RuntimeException e) {
+              return TableResult.<T>failure(tableIdentifier, e);
+            } finally {
+              permits.release();
+            }
+          },
+          threadPool);
+    } catch (RejectedExecutionException e) {
+      // The permits keep the queue from filling up, only a closed executor rejects the tables.
+      permits.release();
+      return CompletableFuture.completedFuture(
+          TableResult.<T>failure(
+              tableIdentifier,
+              new ServiceUnavailableException("The %s executor is closed", name)));
+    }
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    threadPool.shutdown();
+    if (!threadPool.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      LOG.warn("The {} operations are not finished, interrupt them.", name);
+      threadPool.shutdownNow();
+    }
+  }
+}
@@ -5,15 +5,19 @@
 package com.datastrato.aurora.iceberg;
 
 import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.metrics.source.IcebergCatalogMetricsSource;
+import com.datastrato.aurora.metrics.source.MetricsSource;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 import org.apache.hadoop.hdfs.HdfsConfiguration;
 import org.apache.iceberg.CatalogProperties;
 import org.apache.iceberg.catalog.Catalog;
 import org.apache.iceberg.hive.HiveCatalog;
 import org.apache.iceberg.inmemory.InMemoryCatalog;
 import org.apache.iceberg.jdbc.JdbcCatalog;
+import org.apache.iceberg.jdbc.JdbcClientPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,16 +33,37 @@ public class IcebergCatalogUtil {
     return memoryCatalog;
   }
 
-  private static HiveCatalog loadHiveCatalog(Map<String, String> properties) {
+  private static HiveCatalog loadHiveCatalog(
+      Map<String, String> properties, MetricsSource metricsSource) {
+    IcebergServerConfig icebergConfig = new IcebergServerConfig(properties);
+    int poolSize = icebergConfig.get(IcebergServerConfig.HIVE_CLIENT_POOL_SIZE);
+    Map<String, String> resultProperties = new HashMap<>(properties);
+    resultProperties.put(CatalogProperties.CLIENT_POOL_SIZE, String.valueOf(poolSize));
+    long evictionIntervalMs =
+        icebergConfig.get(IcebergServerConfig.HIVE_CLIENT_POOL_EVICTION_INTERVAL_MS);
+    resultProperties.put(
+        CatalogProperties.CLIENT_POOL_CACHE_EVICTION_INTERVAL_MS,
+        String.valueOf(evictionIntervalMs));
+
     HiveCatalog hiveCatalog = new HiveCatalog();
     HdfsConfiguration hdfsConfiguration = new HdfsConfiguration();
-    properties.forEach(hdfsConfiguration::set);
+    resultProperties.forEach(hdfsConfiguration::set);
     hiveCatalog.setConf(hdfsConfiguration);
-    hiveCatalog.initialize("hive", properties);
+    hiveCatalog.initialize("hive", resultProperties);
+
+    MeteredHiveClientPool clientPool =
+        MeteredHiveClientPool.install(hiveCatalog, poolSize, metricsSource);
+    int warmUpClients =
+        Math.min(poolSize, icebergConfig.get(IcebergServerConfig.HIVE_CLIENT_POOL_WARMUP_CLIENTS));
+    if (clientPool != null && warmUpClients > 0) {
+      clientPool.warmUp(
+          warmUpClients, icebergConfig.get(IcebergServerConfig.HIVE_CLIENT_POOL_WARMUP_TIMEOUT_MS));
+    }
     return hiveCatalog;
   }
 
-  private static JdbcCatalog loadJdbcCatalog(Map<String, String> properties) {
+  private static JdbcCatalog loadJdbcCatalog(
+      Map<String, String> properties, MetricsSource metricsSource) {
     IcebergServerConfig icebergConfig = new IcebergServerConfig(properties);
     String driverClassName = icebergConfig.getJdbcDriver();
 
@@ -51,9 +76,27 @@ public class IcebergCatalogUtil {
     } catch (ClassNotFoundException e) {
       throw new IllegalArgumentException("Couldn't load jdbc driver " + driverClassName);
     }
-    JdbcCatalog jdbcCatalog =
-        new JdbcCatalog(
-            null, null, Boolean.parseBoolean(properties.getOrDefault("jdbc-init", "true")));
+    Function<Map<String, String>, JdbcClientPool> clientPoolBuilder = null;
+    if (icebergConfig.get(IcebergServerConfig.JDBC_POOL_ENABLED)) {
+      clientPoolBuilder =
+          catalogProperties ->
+              new PooledJdbcClientPool(
+                  catalogProperties.get(CatalogProperties.URI),
+                  catalogProperties,
+                  icebergConfig,
+                  metricsSource);
+    }
+    boolean initializeCatalogTables =
+        Boolean.parseBoolean(properties.getOrDefault("jdbc-init", "true"));
+    JdbcCatalog jdbcCatalog;
+    if (icebergConfig.get(IcebergServerConfig.JDBC_PAGED_LISTING_ENABLED)) {
+      // Migrate the schema only if the server manages the catalog tables.
+      jdbcCatalog =
+          new PagedJdbcCatalog(
+              clientPoolBuilder, initializeCatalogTables, initializeCatalogTables);
+    } else {
+      jdbcCatalog = new JdbcCatalog(null, clientPoolBuilder, initializeCatalogTables);
+    }
     HdfsConfiguration hdfsConfiguration = new HdfsConfiguration();
     properties.forEach(hdfsConfiguration::set);
     jdbcCatalog.setConf(hdfsConfiguration);
@@ -66,14 +109,19 @@ public class IcebergCatalogUtil {
   }
 
   public static Catalog loadCatalogBackend(String catalogType, Map<String, String> properties) {
+    return loadCatalogBackend(catalogType, properties, new IcebergCatalogMetricsSource());
+  }
+
+  public static Catalog loadCatalogBackend(
+      String catalogType, Map<String, String> properties, MetricsSource metricsSource) {
     LOG.info("Load catalog backend of {}", catalogType);
     switch (IcebergCatalogBackend.valueOf(catalogType.toUpperCase())) {
       case MEMORY:
         return loadMemoryCatalog(properties);
       case HIVE:
-        return loadHiveCatalog(properties);
+        return loadHiveCatalog(properties, metricsSource);
       case JDBC:
-        return loadJdbcCatalog(properties);
+        return loadJdbcCatalog(properties, metricsSource);
       default:
         throw new RuntimeException(
             catalogType
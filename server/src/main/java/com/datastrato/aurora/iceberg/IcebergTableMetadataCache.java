@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.catalog.TableIdentifier;
+
+/**
+ * A bounded cache of the table metadata served by loadTable. Each entry is versioned by the
+ * metadata file location it was read from, so a stale load racing with a commit can't replace the
+ * newer metadata. Commits, drops and renames on this server invalidate entries eagerly, changes
+ * made by other servers become visible once the entry expires.
+ *
+ * <p>An invalidation also bumps the generation of the table, a load started before it doesn't put
+ * its metadata, which may belong to a dropped or renamed table. The generations are striped by the
+ * hash of the identifier, a collision only skips a put.
+ */
+public class IcebergTableMetadataCache {
+  private static final int GENERATION_STRIPES = 1024;
+
+  private final Cache<TableIdentifier, TableMetadata> cache;
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+  public IcebergTableMetadataCache(long maxSize, Duration expireAfterWrite) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+  }
+
+  public Optional<TableMetadata> get(TableIdentifier tableIdentifier) {
+    return Optional.ofNullable(cache.getIfPresent(tableIdentifier));
+  }
+
+  /**
+   * Get the generation of the table, it should be read before reading the metadata to put.
+   *
+   * @param tableIdentifier the table
+   * @return the generation of the table
+   */
+  public long generation(TableIdentifier tableIdentifier) {
+    return generations.get(stripe(tableIdentifier));
+  }
+
+  /**
+   * Put the metadata of the table, unless the table is invalidated since the generation was read.
+   *
+   * @param tableIdentifier the table
+   * @param tableMetadata the metadata of the table
+   * @param generation the generation of the table before the metadata was read
+   */
+  public void put(TableIdentifier tableIdentifier, TableMetadata tableMetadata, long generation) {
+    // Staged tables are not committed yet, there is no metadata file to version the entry.
+    if (tableMetadata.metadataFileLocation() == null) {
+      return;
+    }
+    // Checked under the lock of the entry, an invalidation bumps the generation before removing it.
+    cache
+        .asMap()
+        .compute(
+            tableIdentifier,
+            (identifier, cached) -> {
+              if (generation(identifier) != generation) {
+                return cached;
+              }
+              return cached == null ? tableMetadata : newerOf(cached, tableMetadata);
+            });
+  }
+
+  public void invalidate(TableIdentifier tableIdentifier) {
+    generations.incrementAndGet(stripe(tableIdentifier));
+    cache.invalidate(tableIdentifier);
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  private static int stripe(TableIdentifier tableIdentifier) {
+    return Math.floorMod(tableIdentifier.hashCode(), GENERATION_STRIPES);
+  }
+
+  private static TableMetadata newerOf(TableMetadata cached, TableMetadata loaded) {
+    if (cached.metadataFileLocation().equals(loaded.metadataFileLocation())) {
+      return cached;
+    }
+    return loaded.lastUpdatedMillis() >= cached.lastUpdatedMillis() ? loaded : cached;
+  }
+}
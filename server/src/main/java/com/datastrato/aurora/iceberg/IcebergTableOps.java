@@ -4,15 +4,42 @@
  */
 package com.datastrato.aurora.iceberg;
 
+import com.codahale.metrics.Counter;
 import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.IcebergCatalogMetricsSource;
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import javax.ws.rs.NotSupportedException;
+import org.apache.iceberg.SnapshotRef;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.TableMetadataParser;
 import org.apache.iceberg.catalog.Catalog;
 import org.apache.iceberg.catalog.Namespace;
 import org.apache.iceberg.catalog.SupportsNamespaces;
 import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.exceptions.CommitFailedException;
+import org.apache.iceberg.jdbc.JdbcCatalog;
 import org.apache.iceberg.rest.CatalogHandlers;
 import org.apache.iceberg.rest.requests.CreateNamespaceRequest;
 import org.apache.iceberg.rest.requests.CreateTableRequest;
@@ -25,16 +52,43 @@ import org.apache.iceberg.rest.responses.ListNamespacesResponse;
 import org.apache.iceberg.rest.responses.ListTablesResponse;
 import org.apache.iceberg.rest.responses.LoadTableResponse;
 import org.apache.iceberg.rest.responses.UpdateNamespacePropertiesResponse;
+import org.apache.iceberg.util.JsonUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class IcebergTableOps implements AutoCloseable {
   public static final Logger LOG = LoggerFactory.getLogger(IcebergTableOps.class);
+  // Bound the memory of counting the table loads on a catalog with many tables.
+  private static final int MAX_RECORDED_HOT_TABLES = 10000;
 
   protected Catalog catalog;
   private SupportsNamespaces asNamespaceCatalog;
   private final String catalogType;
   // private String catalogUri = null;
+  private final IcebergCatalogMetricsSource metricsSource;
+  private Optional<IcebergTableMetadataCache> tableMetadataCache = Optional.empty();
+  // The metadata with only the ref snapshots, keyed by the metadata file location it comes from.
+  private Optional<Cache<String, TableMetadata>> refSnapshotMetadata = Optional.empty();
+  // Concurrent loads of a table share one read of its metadata file.
+  private final SingleFlight<TableIdentifier, LoadTableResponse> tableLoads = new SingleFlight<>();
+  private final IcebergBackendExecutor backendExecutor;
+  private final Optional<HotTableRecorder> hotTableRecorder;
+  private final Optional<Path> hotTablesFile;
+  private final int hotTablesNum;
+  private final int listMaxPageSize;
+  private final IcebergBulkExecutor bulkLoadExecutor;
+  private final int bulkLoadMaxTables;
+  private final Optional<JdbcTransactionCommitter> transactionCommitter;
+  private final IcebergBulkExecutor transactionCommitExecutor;
+  private final int transactionMaxTables;
+  private final boolean commitRetryEnabled;
+  private final int commitRetryMaxAttempts;
+  private final long commitRetryMinWaitMs;
+  private final long commitRetryMaxWaitMs;
+  private final long commitRetryMaxTotalWaitMs;
+  private final Counter commitRetryCount;
+  private final Counter commitRetryRebasedCount;
+  private final Counter commitRetryExhaustedCount;
 
   public IcebergTableOps(IcebergServerConfig icebergConfig) {
     this.catalogType = icebergConfig.get(IcebergServerConfig.CATALOG_BACKEND);
@@ -42,10 +96,89 @@ public class IcebergTableOps implements AutoCloseable {
       icebergConfig.get(IcebergServerConfig.CATALOG_WAREHOUSE);
       // this.catalogUri = icebergConfig.get(IcebergServerConfig.CATALOG_URI);
     }
-    catalog = IcebergCatalogUtil.loadCatalogBackend(catalogType, icebergConfig.getAllConfig());
+    this.metricsSource = new IcebergCatalogMetricsSource();
+    catalog =
+        IcebergCatalogUtil.loadCatalogBackend(
+            catalogType, icebergConfig.getAllConfig(), metricsSource);
     if (catalog instanceof SupportsNamespaces) {
       asNamespaceCatalog = (SupportsNamespaces) catalog;
     }
+
+    metricsSource.registerGauge(
+        MetricNames.TABLE_LOAD_COALESCED_COUNT, tableLoads::getCoalescedCount);
+    if (icebergConfig.get(IcebergServerConfig.TABLE_METADATA_CACHE_ENABLED)) {
+      // The metadata files are immutable, the trimmed metadata of a location never changes.
+      this.refSnapshotMetadata =
+          Optional.of(
+              CacheBuilder.newBuilder()
+                  .maximumSize(
+                      icebergConfig.get(IcebergServerConfig.TABLE_METADATA_CACHE_MAX_SIZE))
+                  .expireAfterAccess(
+                      icebergConfig.get(IcebergServerConfig.TABLE_METADATA_CACHE_EXPIRE_SECONDS),
+                      TimeUnit.SECONDS)
+                  .build());
+      IcebergTableMetadataCache cache =
+          new IcebergTableMetadataCache(
+              icebergConfig.get(IcebergServerConfig.TABLE_METADATA_CACHE_MAX_SIZE),
+              Duration.ofSeconds(
+                  icebergConfig.get(IcebergServerConfig.TABLE_METADATA_CACHE_EXPIRE_SECONDS)));
+      metricsSource.registerGauge(
+          MetricNames.TABLE_METADATA_CACHE_HIT_COUNT, () -> cache.stats().hitCount());
+      metricsSource.registerGauge(
+          MetricNames.TABLE_METADATA_CACHE_MISS_COUNT, () -> cache.stats().missCount());
+      metricsSource.registerGauge(
+          MetricNames.TABLE_METADATA_CACHE_EVICTION_COUNT, () -> cache.stats().evictionCount());
+      metricsSource.registerGauge(MetricNames.TABLE_METADATA_CACHE_SIZE, cache::size);
+      this.tableMetadataCache = Optional.of(cache);
+    }
+    if (icebergConfig.get(IcebergServerConfig.BACKEND_EXECUTOR_ENABLED)) {
+      this.backendExecutor =
+          new IcebergBackendExecutor(
+              catalogType,
+              icebergConfig.get(IcebergServerConfig.BACKEND_EXECUTOR_THREADS),
+              icebergConfig.get(IcebergServerConfig.BACKEND_EXECUTOR_QUEUE_SIZE),
+              metricsSource);
+    } else {
+      this.backendExecutor = new IcebergBackendExecutor(catalogType);
+    }
+    this.hotTablesNum = icebergConfig.get(IcebergServerConfig.WARMUP_HOT_TABLES_NUM);
+    this.listMaxPageSize = icebergConfig.get(IcebergServerConfig.LIST_MAX_PAGE_SIZE);
+    this.hotTablesFile =
+        icebergConfig.get(IcebergServerConfig.WARMUP_HOT_TABLES_FILE).map(Paths::get);
+    this.hotTableRecorder =
+        hotTablesFile.map(file -> new HotTableRecorder(MAX_RECORDED_HOT_TABLES));
+    this.bulkLoadMaxTables = icebergConfig.get(IcebergServerConfig.BULK_LOAD_MAX_TABLES);
+    this.bulkLoadExecutor =
+        newBulkExecutor(
+            "bulk-load",
+            icebergConfig.get(IcebergServerConfig.BULK_LOAD_THREADS),
+            icebergConfig.get(IcebergServerConfig.BULK_LOAD_QUEUE_SIZE),
+            bulkLoadMaxTables,
+            MetricNames.BULK_LOAD_QUEUE_DEPTH,
+            MetricNames.BULK_LOAD_REJECTED_COUNT);
+    this.transactionMaxTables = icebergConfig.get(IcebergServerConfig.TRANSACTION_MAX_TABLES);
+    this.transactionCommitExecutor =
+        newBulkExecutor(
+            "transaction-commit",
+            icebergConfig.get(IcebergServerConfig.TRANSACTION_COMMIT_THREADS),
+            icebergConfig.get(IcebergServerConfig.TRANSACTION_COMMIT_QUEUE_SIZE),
+            transactionMaxTables,
+            MetricNames.TRANSACTION_COMMIT_QUEUE_DEPTH,
+            MetricNames.TRANSACTION_COMMIT_REJECTED_COUNT);
+    this.transactionCommitter =
+        catalog instanceof JdbcCatalog
+            ? JdbcTransactionCommitter.create((JdbcCatalog) catalog)
+            : Optional.empty();
+    this.commitRetryEnabled = icebergConfig.get(IcebergServerConfig.COMMIT_RETRY_ENABLED);
+    this.commitRetryMaxAttempts = icebergConfig.get(IcebergServerConfig.COMMIT_RETRY_MAX_ATTEMPTS);
+    this.commitRetryMinWaitMs = icebergConfig.get(IcebergServerConfig.COMMIT_RETRY_MIN_WAIT_MS);
+    this.commitRetryMaxWaitMs = icebergConfig.get(IcebergServerConfig.COMMIT_RETRY_MAX_WAIT_MS);
+    this.commitRetryMaxTotalWaitMs =
+        icebergConfig.get(IcebergServerConfig.COMMIT_RETRY_MAX_TOTAL_WAIT_MS);
+    this.commitRetryCount = metricsSource.getCounter(MetricNames.COMMIT_RETRY_COUNT);
+    this.commitRetryRebasedCount = metricsSource.getCounter(MetricNames.COMMIT_RETRY_REBASED_COUNT);
+    this.commitRetryExhaustedCount =
+        metricsSource.getCounter(MetricNames.COMMIT_RETRY_EXHAUSTED_COUNT);
   }
 
   public IcebergTableOps() {
@@ -82,6 +215,36 @@ public class IcebergTableOps implements AutoCloseable {
     return CatalogHandlers.listNamespaces(asNamespaceCatalog, parent);
   }
 
+  /**
+   * List a page of the child namespaces, ordered by the namespace string.
+   *
+   * @param parent the parent namespace
+   * @param pageToken the token of the page, empty for the first page
+   * @param pageSize the max number of namespaces, capped by the max page size
+   * @return the page of namespaces
+   */
+  public ListingPage<Namespace> listNamespace(
+      Namespace parent, String pageToken, Optional<Integer> pageSize) {
+    validateNamespace(Optional.empty());
+    int limit = resolvePageSize(pageSize);
+    Optional<String> afterNamespace =
+        ListingPage.decodePageToken(pageToken, ListingPage.Kind.NAMESPACES, parent);
+    List<Namespace> namespaces;
+    if (catalog instanceof SupportsPagedListing) {
+      namespaces =
+          ((SupportsPagedListing) catalog).listNamespaces(parent, afterNamespace, limit + 1);
+    } else {
+      namespaces =
+          ListingPage.slice(
+              asNamespaceCatalog.listNamespaces(parent),
+              Namespace::toString,
+              afterNamespace,
+              limit + 1);
+    }
+    return ListingPage.of(
+        namespaces, limit, Namespace::toString, ListingPage.Kind.NAMESPACES, parent);
+  }
+
   public UpdateNamespacePropertiesResponse updateNamespaceProperties(
       Namespace namespace, UpdateNamespacePropertiesRequest updateNamespacePropertiesRequest) {
     validateNamespace(Optional.of(namespace));
@@ -94,19 +257,76 @@ public class IcebergTableOps implements AutoCloseable {
     if (request.stageCreate()) {
       return CatalogHandlers.stageTableCreate(catalog, namespace, request);
     }
-    return CatalogHandlers.createTable(catalog, namespace, request);
+    TableIdentifier tableIdentifier = TableIdentifier.of(namespace, request.name());
+    long generation = getTableGeneration(tableIdentifier);
+    LoadTableResponse response = CatalogHandlers.createTable(catalog, namespace, request);
+    tableChanged(tableIdentifier, response, generation);
+    return response;
   }
 
   public void dropTable(TableIdentifier tableIdentifier) {
-    CatalogHandlers.dropTable(catalog, tableIdentifier);
+    try {
+      CatalogHandlers.dropTable(catalog, tableIdentifier);
+    } finally {
+      invalidateTableMetadata(tableIdentifier);
+    }
   }
 
   public void purgeTable(TableIdentifier tableIdentifier) {
-    CatalogHandlers.purgeTable(catalog, tableIdentifier);
+    try {
+      CatalogHandlers.purgeTable(catalog, tableIdentifier);
+    } finally {
+      invalidateTableMetadata(tableIdentifier);
+    }
   }
 
   public LoadTableResponse loadTable(TableIdentifier tableIdentifier) {
-    return CatalogHandlers.loadTable(catalog, tableIdentifier);
+    hotTableRecorder.ifPresent(recorder -> recorder.record(tableIdentifier));
+    if (tableMetadataCache.isPresent()) {
+      Optional<TableMetadata> tableMetadata = tableMetadataCache.get().get(tableIdentifier);
+      if (tableMetadata.isPresent()) {
+        return LoadTableResponse.builder().withTableMetadata(tableMetadata.get()).build();
+      }
+    }
+    return tableLoads.execute(
+        tableIdentifier,
+        () -> {
+          // A drop or rename of the table while loading it stops caching the loaded metadata.
+          long generation = getTableGeneration(tableIdentifier);
+          LoadTableResponse response = CatalogHandlers.loadTable(catalog, tableIdentifier);
+          cacheTableMetadata(tableIdentifier, response, generation);
+          return response;
+        });
+  }
+
+  public LoadTableResponse loadTable(TableIdentifier tableIdentifier, SnapshotMode snapshotMode) {
+    LoadTableResponse response = loadTable(tableIdentifier);
+    if (snapshotMode == SnapshotMode.ALL) {
+      return response;
+    }
+    return LoadTableResponse.builder()
+        .withTableMetadata(getRefSnapshotMetadata(response.tableMetadata()))
+        .addAllConfig(response.config())
+        .build();
+  }
+
+  /**
+   * Load the tables in parallel, a table failing to load doesn't fail the others.
+   *
+   * @param tableIdentifiers the tables to load, at most the max tables of a bulk load
+   * @param snapshotMode the snapshots returned with the table metadata
+   * @return the results of the tables, in the order of the identifiers
+   */
+  public List<TableResult<LoadTableResponse>> loadTables(
+      List<TableIdentifier> tableIdentifiers, SnapshotMode snapshotMode) {
+    Preconditions.checkArgument(!tableIdentifiers.isEmpty(), "No table to load");
+    Preconditions.checkArgument(
+        tableIdentifiers.size() <= bulkLoadMaxTables,
+        "Too many tables to load: %s, the max is %s",
+        tableIdentifiers.size(),
+        bulkLoadMaxTables);
+    return bulkLoadExecutor.run(
+        tableIdentifiers, tableIdentifier -> loadTable(tableIdentifier, snapshotMode));
   }
 
   public boolean tableExists(TableIdentifier tableIdentifier) {
@@ -117,13 +337,262 @@ public class IcebergTableOps implements AutoCloseable {
     return CatalogHandlers.listTables(catalog, namespace);
   }
 
+  /**
+   * List a page of the tables of the namespace, ordered by the table name.
+   *
+   * @param namespace the namespace of the tables
+   * @param pageToken the token of the page, empty for the first page
+   * @param pageSize the max number of tables, capped by the max page size
+   * @return the page of tables
+   */
+  public ListingPage<TableIdentifier> listTable(
+      Namespace namespace, String pageToken, Optional<Integer> pageSize) {
+    int limit = resolvePageSize(pageSize);
+    Optional<String> afterName =
+        ListingPage.decodePageToken(pageToken, ListingPage.Kind.TABLES, namespace);
+    List<TableIdentifier> tables;
+    if (catalog instanceof SupportsPagedListing) {
+      tables = ((SupportsPagedListing) catalog).listTables(namespace, afterName, limit + 1);
+    } else {
+      // The backend can't list a page, only the page is kept from the full listing.
+      tables =
+          ListingPage.slice(
+              catalog.listTables(namespace), TableIdentifier::name, afterName, limit + 1);
+    }
+    return ListingPage.of(tables, limit, TableIdentifier::name, ListingPage.Kind.TABLES, namespace);
+  }
+
   public void renameTable(RenameTableRequest renameTableRequest) {
-    CatalogHandlers.renameTable(catalog, renameTableRequest);
+    try {
+      CatalogHandlers.renameTable(catalog, renameTableRequest);
+    } finally {
+      invalidateTableMetadata(renameTableRequest.source());
+      invalidateTableMetadata(renameTableRequest.destination());
+    }
   }
 
   public LoadTableResponse updateTable(
       TableIdentifier tableIdentifier, UpdateTableRequest updateTableRequest) {
-    return CatalogHandlers.updateTable(catalog, tableIdentifier, updateTableRequest);
+    long generation = getTableGeneration(tableIdentifier);
+    LoadTableResponse response;
+    try {
+      response = CatalogHandlers.updateTable(catalog, tableIdentifier, updateTableRequest);
+    } catch (CommitFailedException e) {
+      // The cached metadata may be as stale as the one the client committed against.
+      invalidateTableMetadata(tableIdentifier);
+      Optional<AppendOnlyCommit> append =
+          commitRetryEnabled ? AppendOnlyCommit.of(updateTableRequest) : Optional.empty();
+      if (!append.isPresent()) {
+        throw e;
+      }
+      generation = getTableGeneration(tableIdentifier);
+      response = rebaseAppend(tableIdentifier, append.get(), e);
+    }
+    tableChanged(tableIdentifier, response, generation);
+    return response;
+  }
+
+  // Rebase the append onto the current metadata, instead of letting the client reload the metadata
+  // and retry it.
+  private LoadTableResponse rebaseAppend(
+      TableIdentifier tableIdentifier, AppendOnlyCommit append, CommitFailedException conflict) {
+    CommitFailedException failure = conflict;
+    long remainingWaitMs = commitRetryMaxTotalWaitMs;
+    for (int attempt = 0; attempt < commitRetryMaxAttempts; attempt++) {
+      if (attempt > 0) {
+        // The request holds its thread and the permits of the filters while waiting.
+        long waitMs = getRetryWaitMs(attempt);
+        if (waitMs > remainingWaitMs || !sleep(waitMs)) {
+          break;
+        }
+        remainingWaitMs -= waitMs;
+      }
+      commitRetryCount.inc();
+      try {
+        LoadTableResponse response = append.rebase(catalog, tableIdentifier);
+        commitRetryRebasedCount.inc();
+        LOG.info("Rebased the append to table {} after {} attempts.", tableIdentifier, attempt + 1);
+        return response;
+      } catch (CommitFailedException e) {
+        failure = e;
+        invalidateTableMetadata(tableIdentifier);
+        if (append.isCommitted()) {
+          // A replay of a committed append, it would be appended twice.
+          throw e;
+        }
+      }
+    }
+    commitRetryExhaustedCount.inc();
+    throw failure;
+  }
+
+  // The exponential backoff with a random half, so the conflicting writers don't retry together.
+  private long getRetryWaitMs(int attempt) {
+    long maxWaitMs =
+        Math.min(commitRetryMaxWaitMs, commitRetryMinWaitMs << Math.min(attempt - 1, 20));
+    return maxWaitMs / 2 + ThreadLocalRandom.current().nextLong(maxWaitMs / 2 + 1);
+  }
+
+  private static boolean sleep(long waitMs) {
+    try {
+      Thread.sleep(waitMs);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Commit the changes of many tables. The Jdbc backend commits them atomically in one database
+   * transaction, all of them fail if any fails. The other backends commit the tables concurrently,
+   * and each table is committed or fails independently.
+   *
+   * @param tableChanges the changes of the tables, at most the max tables of a transaction
+   * @return the results of the tables with the new metadata locations, in the order of the changes
+   */
+  public List<TableResult<String>> commitTransaction(
+      Map<TableIdentifier, UpdateTableRequest> tableChanges) {
+    Preconditions.checkArgument(!tableChanges.isEmpty(), "No table to commit");
+    Preconditions.checkArgument(
+        tableChanges.size() <= transactionMaxTables,
+        "Too many tables to commit: %s, the max is %s",
+        tableChanges.size(),
+        transactionMaxTables);
+    if (transactionCommitter.isPresent()) {
+      try {
+        return transactionCommitter.get().commit(tableChanges);
+      } finally {
+        tableChanges.keySet().forEach(this::invalidateTableMetadata);
+      }
+    }
+    return transactionCommitExecutor.run(
+        tableChanges.keySet(),
+        tableIdentifier ->
+            updateTable(tableIdentifier, tableChanges.get(tableIdentifier))
+                .tableMetadata()
+                .metadataFileLocation());
+  }
+
+  /** Whether the transactions of {@link #commitTransaction} are atomic on the backend. */
+  public boolean isAtomicTransaction() {
+    return transactionCommitter.isPresent();
+  }
+
+  public MetricsSource getMetricsSource() {
+    return metricsSource;
+  }
+
+  public IcebergBackendExecutor getBackendExecutor() {
+    return backendExecutor;
+  }
+
+  /** Get the tables recorded as the most loaded ones by the last run of the server. */
+  public List<TableIdentifier> getRecordedHotTables() {
+    return hotTablesFile.map(HotTableRecorder::load).orElse(Collections.emptyList());
+  }
+
+  private TableMetadata getRefSnapshotMetadata(TableMetadata tableMetadata) {
+    String location = tableMetadata.metadataFileLocation();
+    if (location == null || !refSnapshotMetadata.isPresent()) {
+      return retainRefSnapshots(tableMetadata);
+    }
+    Cache<String, TableMetadata> cache = refSnapshotMetadata.get();
+    TableMetadata trimmed = cache.getIfPresent(location);
+    if (trimmed == null) {
+      trimmed = retainRefSnapshots(tableMetadata);
+      cache.put(location, trimmed);
+    }
+    return trimmed;
+  }
+
+  /**
+   * Remove the snapshots not referenced by any branch or tag. The metadata builder can't drop
+   * snapshots without recording a new metadata version, so the snapshots are filtered on the JSON
+   * representation and the result keeps the metadata file location of the original metadata.
+   */
+  @VisibleForTesting
+  static TableMetadata retainRefSnapshots(TableMetadata tableMetadata) {
+    Set<Long> refSnapshotIds =
+        tableMetadata.refs().values().stream()
+            .map(SnapshotRef::snapshotId)
+            .collect(Collectors.toSet());
+    if (tableMetadata.snapshots().stream()
+        .allMatch(snapshot -> refSnapshotIds.contains(snapshot.snapshotId()))) {
+      return tableMetadata;
+    }
+
+    try {
+      ObjectNode node =
+          (ObjectNode) JsonUtil.mapper().readTree(TableMetadataParser.toJson(tableMetadata));
+      ArrayNode refSnapshots = JsonUtil.mapper().createArrayNode();
+      for (JsonNode snapshot : node.get("snapshots")) {
+        if (refSnapshotIds.contains(snapshot.get("snapshot-id").asLong())) {
+          refSnapshots.add(snapshot);
+        }
+      }
+      node.set("snapshots", refSnapshots);
+      return TableMetadataParser.fromJson(tableMetadata.metadataFileLocation(), node);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private long getTableGeneration(TableIdentifier tableIdentifier) {
+    return tableMetadataCache.map(cache -> cache.generation(tableIdentifier)).orElse(0L);
+  }
+
+  private void cacheTableMetadata(
+      TableIdentifier tableIdentifier, LoadTableResponse response, long generation) {
+    tableMetadataCache.ifPresent(
+        cache -> cache.put(tableIdentifier, response.tableMetadata(), generation));
+  }
+
+  private void invalidateTableMetadata(TableIdentifier tableIdentifier) {
+    tableLoads.forget(tableIdentifier);
+    tableMetadataCache.ifPresent(cache -> cache.invalidate(tableIdentifier));
+  }
+
+  private int resolvePageSize(Optional<Integer> pageSize) {
+    pageSize.ifPresent(
+        size -> Preconditions.checkArgument(size > 0, "Invalid page size: %s", size));
+    return Math.min(pageSize.orElse(listMaxPageSize), listMaxPageSize);
+  }
+
+  private IcebergBulkExecutor newBulkExecutor(
+      String name,
+      int threads,
+      int queueSize,
+      int maxTables,
+      String queueDepthMetric,
+      String rejectedCountMetric) {
+    // A request with more tables than the queue holds would always be rejected.
+    Preconditions.checkArgument(
+        queueSize >= maxTables,
+        "The %s queue size %s is less than the max tables of a request %s",
+        name,
+        queueSize,
+        maxTables);
+    return new IcebergBulkExecutor(
+        name, threads, queueSize, metricsSource, queueDepthMetric, rejectedCountMetric);
+  }
+
+  private void saveHotTables() {
+    if (!hotTableRecorder.isPresent()) {
+      return;
+    }
+    try {
+      hotTableRecorder.get().save(hotTablesFile.get(), hotTablesNum);
+    } catch (IOException e) {
+      LOG.warn("Failed to save the hot tables to {}.", hotTablesFile.get(), e);
+    }
+  }
+
+  // A load in flight may have read the metadata before the change, the later loads don't share it.
+  private void tableChanged(
+      TableIdentifier tableIdentifier, LoadTableResponse response, long generation) {
+    tableLoads.forget(tableIdentifier);
+    cacheTableMetadata(tableIdentifier, response, generation);
   }
 
   /*
@@ -136,6 +605,11 @@ public class IcebergTableOps implements AutoCloseable {
 
   @Override
   public void close() throws Exception {
+    // Finish the operations in flight before closing the catalog they use.
+    backendExecutor.close();
+    bulkLoadExecutor.close();
+    transactionCommitExecutor.close();
+    saveHotTables();
     if (catalog instanceof AutoCloseable) {
       // JdbcCatalog need close.
       ((AutoCloseable) catalog).close();
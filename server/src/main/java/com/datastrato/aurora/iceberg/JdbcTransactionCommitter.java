@@ -0,0 +1,284 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Joiner;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.iceberg.HasTableOperations;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.TableMetadataParser;
+import org.apache.iceberg.TableOperations;
+import org.apache.iceberg.TableProperties;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.exceptions.CommitFailedException;
+import org.apache.iceberg.exceptions.CommitStateUnknownException;
+import org.apache.iceberg.jdbc.JdbcCatalog;
+import org.apache.iceberg.jdbc.JdbcClientPool;
+import org.apache.iceberg.jdbc.UncheckedInterruptedException;
+import org.apache.iceberg.jdbc.UncheckedSQLException;
+import org.apache.iceberg.rest.requests.UpdateTableRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Commit the changes of many tables of a {@link JdbcCatalog} atomically. The new metadata of every
+ * table is written first, then the metadata locations of all the tables are swapped in one database
+ * transaction, each one only if the table still has the metadata the changes are based on. If any
+ * table fails, none of the tables is changed.
+ */
+final class JdbcTransactionCommitter {
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcTransactionCommitter.class);
+  // The field of JdbcCatalog keeping the connection pool, it's not exposed by Iceberg.
+  private static final String CONNECTIONS_FIELD = "connections";
+
+  // The same swap of the metadata location as the commit of a single table by JdbcCatalog.
+  private static final String UPDATE_METADATA_LOCATION_SQL =
+      "UPDATE iceberg_tables SET metadata_location = ?, previous_metadata_location = ?"
+          + " WHERE catalog_name = ? AND table_namespace = ? AND table_name = ?"
+          + " AND metadata_location = ?";
+
+  private final JdbcCatalog catalog;
+  private final JdbcClientPool connections;
+
+  @VisibleForTesting
+  JdbcTransactionCommitter(JdbcCatalog catalog, JdbcClientPool connections) {
+    this.catalog = catalog;
+    this.connections = connections;
+  }
+
+  /**
+   * Create the committer of the Jdbc catalog.
+   *
+   * @param catalog the initialized Jdbc catalog
+   * @return the committer, or empty if the pool of this Iceberg version can't be accessed
+   */
+  static Optional<JdbcTransactionCommitter> create(JdbcCatalog catalog) {
+    try {
+      Field field = JdbcCatalog.class.getDeclaredField(CONNECTIONS_FIELD);
+      field.setAccessible(true);
+      return Optional.of(
+          new JdbcTransactionCommitter(catalog, (JdbcClientPool) field.get(catalog)));
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOG.warn("Couldn't access the Jdbc connection pool, the transactions aren't atomic.", e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Commit the changes of the tables atomically.
+   *
+   * @param tableChanges the changes of the tables
+   * @return the new metadata locations of the tables, or the failures of all the tables. If the
+   *     transaction may have been committed, every table fails with {@link
+   *     CommitStateUnknownException}, the clients mustn't clean up the files of the changes.
+   */
+  List<TableResult<String>> commit(Map<TableIdentifier, UpdateTableRequest> tableChanges) {
+    List<PendingCommit> pendingCommits = new ArrayList<>(tableChanges.size());
+    for (Map.Entry<TableIdentifier, UpdateTableRequest> entry : tableChanges.entrySet()) {
+      try {
+        pendingCommits.add(prepare(entry.getKey(), entry.getValue()));
+      } catch (RuntimeException e) {
+        deleteNewMetadata(pendingCommits);
+        return abort(tableChanges, entry.getKey(), e);
+      }
+    }
+
+    List<PendingCommit> changedTables =
+        pendingCommits.stream().filter(PendingCommit::isChanged).collect(Collectors.toList());
+    Optional<TableIdentifier> conflictingTable;
+    try {
+      // Not retried on a broken connection, the transaction may be committed.
+      conflictingTable =
+          connections.run(connection -> swapMetadata(connection, changedTables), false);
+    } catch (CommitStateUnknownException e) {
+      // The new metadata of all the tables may be committed, it must not be deleted.
+      return tableChanges.keySet().stream()
+          .map(identifier -> TableResult.<String>failure(identifier, e))
+          .collect(Collectors.toList());
+    } catch (SQLException e) {
+      deleteNewMetadata(pendingCommits);
+      return abort(
+          tableChanges,
+          changedTables.get(0).identifier,
+          new UncheckedSQLException(e, "Failed to commit the transaction"));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      deleteNewMetadata(pendingCommits);
+      return abort(
+          tableChanges,
+          changedTables.get(0).identifier,
+          new UncheckedInterruptedException(e, "Interrupted in committing the transaction"));
+    }
+
+    if (conflictingTable.isPresent()) {
+      deleteNewMetadata(pendingCommits);
+      return abort(
+          tableChanges,
+          conflictingTable.get(),
+          new CommitFailedException(
+              "Table %s has been updated concurrently", conflictingTable.get()));
+    }
+    return pendingCommits.stream()
+        .map(commit -> TableResult.success(commit.identifier, commit.getMetadataLocation()))
+        .collect(Collectors.toList());
+  }
+
+  private PendingCommit prepare(TableIdentifier identifier, UpdateTableRequest request) {
+    Table table = catalog.loadTable(identifier);
+    TableOperations ops = ((HasTableOperations) table).operations();
+    TableMetadata base = ops.current();
+    request.requirements().forEach(requirement -> requirement.validate(base));
+    TableMetadata.Builder builder = TableMetadata.buildFrom(base);
+    request.updates().forEach(update -> update.applyTo(builder));
+    TableMetadata updated = builder.build();
+    if (updated.changes().isEmpty()) {
+      return new PendingCommit(identifier, ops, base, null);
+    }
+    String newMetadataLocation = ops.metadataFileLocation(newMetadataFileName(base));
+    TableMetadataParser.write(updated, ops.io().newOutputFile(newMetadataLocation));
+    return new PendingCommit(identifier, ops, base, newMetadataLocation);
+  }
+
+  private Optional<TableIdentifier> swapMetadata(
+      Connection connection, List<PendingCommit> changedTables) throws SQLException {
+    if (changedTables.isEmpty()) {
+      return Optional.empty();
+    }
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    try {
+      try (PreparedStatement statement =
+          connection.prepareStatement(UPDATE_METADATA_LOCATION_SQL)) {
+        for (PendingCommit commit : changedTables) {
+          statement.setString(1, commit.newMetadataLocation);
+          statement.setString(2, commit.base.metadataFileLocation());
+          statement.setString(3, catalog.name());
+          statement.setString(4, Joiner.on('.').join(commit.identifier.namespace().levels()));
+          statement.setString(5, commit.identifier.name());
+          statement.setString(6, commit.base.metadataFileLocation());
+          if (statement.executeUpdate() != 1) {
+            connection.rollback();
+            return Optional.of(commit.identifier);
+          }
+        }
+      } catch (SQLException | RuntimeException e) {
+        connection.rollback();
+        throw e;
+      }
+      try {
+        connection.commit();
+      } catch (SQLException e) {
+        throw new CommitStateUnknownException(e);
+      }
+      return Optional.empty();
+    } finally {
+      restoreAutoCommit(connection, autoCommit);
+    }
+  }
+
+  // A failure here mustn't hide the result of the transaction, which is already known.
+  private static void restoreAutoCommit(Connection connection, boolean autoCommit) {
+    try {
+      connection.setAutoCommit(autoCommit);
+    } catch (SQLException e) {
+      LOG.warn("Failed to restore the auto commit of the Jdbc connection.", e);
+    }
+  }
+
+  // Only for the transactions known to be rolled back.
+  private static List<TableResult<String>> abort(
+      Map<TableIdentifier, UpdateTableRequest> tableChanges,
+      TableIdentifier failedTable,
+      RuntimeException failure) {
+    return tableChanges.keySet().stream()
+        .map(
+            identifier ->
+                identifier.equals(failedTable)
+                    ? TableResult.<String>failure(identifier, failure)
+                    : TableResult.<String>failure(
+                        identifier,
+                        new CommitFailedException(
+                            "The transaction is aborted as table %s failed to commit: %s",
+                            failedTable,
+                            failure.getMessage())))
+        .collect(Collectors.toList());
+  }
+
+  private static void deleteNewMetadata(List<PendingCommit> pendingCommits) {
+    for (PendingCommit commit : pendingCommits) {
+      if (commit.isChanged()) {
+        try {
+          commit.ops.io().deleteFile(commit.newMetadataLocation);
+        } catch (RuntimeException e) {
+          LOG.warn("Failed to delete the uncommitted metadata {}.", commit.newMetadataLocation, e);
+        }
+      }
+    }
+  }
+
+  // The same name as the metadata files written by the catalogs, with the next version.
+  private static String newMetadataFileName(TableMetadata base) {
+    String codecName =
+        base.property(
+            TableProperties.METADATA_COMPRESSION, TableProperties.METADATA_COMPRESSION_DEFAULT);
+    String fileExtension =
+        TableMetadataParser.getFileExtension(TableMetadataParser.Codec.fromName(codecName));
+    return String.format(
+        "%05d-%s%s",
+        parseVersion(base.metadataFileLocation()) + 1, UUID.randomUUID(), fileExtension);
+  }
+
+  @VisibleForTesting
+  static int parseVersion(String metadataLocation) {
+    if (metadataLocation == null) {
+      return -1;
+    }
+    String fileName = metadataLocation.substring(metadataLocation.lastIndexOf('/') + 1);
+    int versionEnd = fileName.indexOf('-');
+    try {
+      return versionEnd < 0 ? -1 : Integer.parseInt(fileName.substring(0, versionEnd));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static final class PendingCommit {
+    private final TableIdentifier identifier;
+    private final TableOperations ops;
+    private final TableMetadata base;
+    // Null if the changes don't change the metadata.
+    private final String newMetadataLocation;
+
+    private PendingCommit(
+        TableIdentifier identifier,
+        TableOperations ops,
+        TableMetadata base,
+        String newMetadataLocation) {
+      this.identifier = identifier;
+      this.ops = ops;
+      this.base = base;
+      this.newMetadataLocation = newMetadataLocation;
+    }
+
+    private boolean isChanged() {
+      return newMetadataLocation != null;
+    }
+
+    private String getMetadataLocation() {
+      return isChanged() ? newMetadataLocation : base.metadataFileLocation();
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import com.google.common.base.Preconditions;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.rest.RESTUtil;
+
+/**
+ * A page of listed items with the token of the next page. The token is the opaque encoding of the
+ * listing and the key of the last item, the next page starts after it. A token is only accepted
+ * by the listing it comes from.
+ */
+public final class ListingPage<T> {
+  // The encoded namespace has no separator, the key after it may have.
+  private static final String TOKEN_SEPARATOR = ":";
+
+  /** What is listed, the child namespaces or the tables of a namespace. */
+  public enum Kind {
+    NAMESPACES,
+    TABLES
+  }
+
+  private final List<T> items;
+  private final Optional<String> nextPageToken;
+
+  private ListingPage(List<T> items, Optional<String> nextPageToken) {
+    this.items = items;
+    this.nextPageToken = nextPageToken;
+  }
+
+  /**
+   * Create a page from the items listed with one more than the page size, the extra item tells
+   * there is a next page.
+   *
+   * @param items the items listed with the limit of pageSize + 1
+   * @param pageSize the page size
+   * @param keyFunction the function getting the key of an item
+   * @param kind the kind of the listing
+   * @param namespace the namespace listed
+   * @return the page of at most pageSize items
+   */
+  static <T> ListingPage<T> of(
+      List<T> items,
+      int pageSize,
+      Function<T, String> keyFunction,
+      Kind kind,
+      Namespace namespace) {
+    if (items.size() <= pageSize) {
+      return new ListingPage<>(items, Optional.empty());
+    }
+    List<T> pageItems = items.subList(0, pageSize);
+    String lastKey = keyFunction.apply(pageItems.get(pageSize - 1));
+    return new ListingPage<>(pageItems, Optional.of(encodePageToken(kind, namespace, lastKey)));
+  }
+
+  /**
+   * Keep the items of a page from all the listed items, for the backends can't list a page.
+   *
+   * @param items all the listed items
+   * @param keyFunction the function getting the key of an item
+   * @param afterKey the key of the last item of the previous page, empty for the first page
+   * @param limit the max number of items
+   * @return the items after afterKey ordered by the key
+   */
+  static <T> List<T> slice(
+      Collection<T> items, Function<T, String> keyFunction, Optional<String> afterKey, int limit) {
+    return items.stream()
+        .filter(
+            item -> !afterKey.isPresent() || keyFunction.apply(item).compareTo(afterKey.get()) > 0)
+        .sorted(Comparator.comparing(keyFunction))
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  public List<T> getItems() {
+    return items;
+  }
+
+  public Optional<String> getNextPageToken() {
+    return nextPageToken;
+  }
+
+  public static String encodePageToken(Kind kind, Namespace namespace, String key) {
+    String token = String.join(TOKEN_SEPARATOR, getListing(kind, namespace), key);
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(token.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode the key of the page token, an empty token starts from the first page.
+   *
+   * @param pageToken the page token of the request
+   * @param kind the kind of the listing
+   * @param namespace the namespace listed
+   * @return the key to list after, empty for the first page
+   * @throws IllegalArgumentException if the token is malformed or comes from another listing
+   */
+  static Optional<String> decodePageToken(String pageToken, Kind kind, Namespace namespace) {
+    if (pageToken.isEmpty()) {
+      return Optional.empty();
+    }
+    String token;
+    try {
+      token = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid page token: " + pageToken, e);
+    }
+    String listing = getListing(kind, namespace);
+    Preconditions.checkArgument(
+        token.startsWith(listing + TOKEN_SEPARATOR),
+        "Invalid page token: %s, it's not a token of listing the %s of namespace %s",
+        pageToken,
+        kind.name().toLowerCase(Locale.ROOT),
+        namespace);
+    return Optional.of(token.substring(listing.length() + TOKEN_SEPARATOR.length()));
+  }
+
+  private static String getListing(Kind kind, Namespace namespace) {
+    return kind.name().toLowerCase(Locale.ROOT)
+        + TOKEN_SEPARATOR
+        + RESTUtil.encodeNamespace(namespace);
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.lang.reflect.Field;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.hive.metastore.IMetaStoreClient;
+import org.apache.iceberg.ClientPool;
+import org.apache.iceberg.hive.HiveCatalog;
+import org.apache.thrift.TException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wrap the metastore client pool of a {@link HiveCatalog} to measure the time waiting for a client
+ * and count the checkouts finding all the clients in use. The checkout wait is the time from asking
+ * the pool for a client to running the action with it, including opening a new client.
+ */
+final class MeteredHiveClientPool implements ClientPool<IMetaStoreClient, TException> {
+  private static final Logger LOG = LoggerFactory.getLogger(MeteredHiveClientPool.class);
+  // The field of HiveCatalog keeping the client pool, it's not exposed by Iceberg.
+  private static final String CLIENT_POOL_FIELD = "clients";
+
+  private final ClientPool<IMetaStoreClient, TException> delegate;
+  private final int poolSize;
+  private final Timer checkoutWait;
+  private final Counter exhaustedCount;
+  private final AtomicInteger inUseClients = new AtomicInteger();
+  private final AtomicInteger waitingCheckouts = new AtomicInteger();
+
+  @VisibleForTesting
+  MeteredHiveClientPool(
+      ClientPool<IMetaStoreClient, TException> delegate,
+      int poolSize,
+      MetricsSource metricsSource) {
+    this.delegate = delegate;
+    this.poolSize = poolSize;
+    this.checkoutWait = metricsSource.getTimer(MetricNames.HIVE_CLIENT_POOL_CHECKOUT_WAIT);
+    this.exhaustedCount = metricsSource.getCounter(MetricNames.HIVE_CLIENT_POOL_EXHAUSTED_COUNT);
+    metricsSource.registerGauge(MetricNames.HIVE_CLIENT_POOL_IN_USE_NUM, inUseClients::get);
+    metricsSource.registerGauge(MetricNames.HIVE_CLIENT_POOL_WAITING_NUM, waitingCheckouts::get);
+  }
+
+  /**
+   * Replace the client pool of the Hive catalog with a metered one.
+   *
+   * @param hiveCatalog the initialized Hive catalog
+   * @param poolSize the number of clients of the pool
+   * @param metricsSource the metrics source to register the pool metrics
+   * @return the metered pool, or null if the pool of this Iceberg version can't be replaced
+   */
+  @SuppressWarnings("unchecked")
+  static MeteredHiveClientPool install(
+      HiveCatalog hiveCatalog, int poolSize, MetricsSource metricsSource) {
+    try {
+      Field field = HiveCatalog.class.getDeclaredField(CLIENT_POOL_FIELD);
+      field.setAccessible(true);
+      MeteredHiveClientPool pool =
+          new MeteredHiveClientPool(
+              (ClientPool<IMetaStoreClient, TException>) field.get(hiveCatalog),
+              poolSize,
+              metricsSource);
+      field.set(hiveCatalog, pool);
+      return pool;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOG.warn("Couldn't meter the Hive metastore client pool, the pool metrics are missing.", e);
+      return null;
+    }
+  }
+
+  @Override
+  public <R> R run(Action<R, IMetaStoreClient, TException> action)
+      throws TException, InterruptedException {
+    Checkout<R> checkout = new Checkout<>(action);
+    try {
+      return delegate.run(checkout);
+    } finally {
+      checkout.finish();
+    }
+  }
+
+  @Override
+  public <R> R run(Action<R, IMetaStoreClient, TException> action, boolean retry)
+      throws TException, InterruptedException {
+    Checkout<R> checkout = new Checkout<>(action);
+    try {
+      return delegate.run(checkout, retry);
+    } finally {
+      checkout.finish();
+    }
+  }
+
+  /**
+   * Open the clients ahead of the requests by checking them out at the same time, so the first
+   * requests don't wait for the connections to the metastore.
+   *
+   * @param clients the number of clients to open
+   * @param timeoutMillis the max time to wait for the clients
+   */
+  void warmUp(int clients, long timeoutMillis) {
+    CountDownLatch opened = new CountDownLatch(clients);
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            clients,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("hive-client-pool-warmup-%d")
+                .build());
+    try {
+      for (int i = 0; i < clients; i++) {
+        executor.execute(
+            () -> {
+              try {
+                // Hold the client until all are opened, so each checkout opens a new one.
+                run(
+                    client -> {
+                      opened.countDown();
+                      awaitQuietly(opened, timeoutMillis);
+                      return null;
+                    });
+              } catch (TException | RuntimeException e) {
+                LOG.warn("Open Hive metastore client failed when warming up.", e);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+      }
+      if (awaitQuietly(opened, timeoutMillis)) {
+        LOG.info("Opened {} Hive metastore clients.", clients);
+      } else {
+        LOG.warn(
+            "Opened {} of {} Hive metastore clients in {} ms.",
+            clients - opened.getCount(),
+            clients,
+            timeoutMillis);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static boolean awaitQuietly(CountDownLatch latch, long timeoutMillis) {
+    try {
+      return latch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /** An action of the pool, the wait ends once the pool runs it with a client. */
+  private final class Checkout<R> implements Action<R, IMetaStoreClient, TException> {
+    private final Action<R, IMetaStoreClient, TException> action;
+    private final long startNanos;
+    // Only accessed by the thread running the checkout, the retries run the action again.
+    private boolean waiting = true;
+
+    Checkout(Action<R, IMetaStoreClient, TException> action) {
+      this.action = action;
+      this.startNanos = System.nanoTime();
+      if (inUseClients.get() >= poolSize) {
+        exhaustedCount.inc();
+      }
+      waitingCheckouts.incrementAndGet();
+    }
+
+    @Override
+    public R run(IMetaStoreClient client) throws TException {
+      stopWaiting();
+      inUseClients.incrementAndGet();
+      try {
+        return action.run(client);
+      } finally {
+        inUseClients.decrementAndGet();
+      }
+    }
+
+    void finish() {
+      if (waiting) {
+        // The pool failed before running the action, like failing to open a client.
+        waiting = false;
+        waitingCheckouts.decrementAndGet();
+      }
+    }
+
+    private void stopWaiting() {
+      if (waiting) {
+        waiting = false;
+        waitingCheckouts.decrementAndGet();
+        checkoutWait.update(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+}
@@ -0,0 +1,234 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Joiner;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.iceberg.CatalogProperties;
+import org.apache.iceberg.ClientPool;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.exceptions.NoSuchNamespaceException;
+import org.apache.iceberg.jdbc.JdbcCatalog;
+import org.apache.iceberg.jdbc.JdbcClientPool;
+import org.apache.iceberg.jdbc.UncheckedInterruptedException;
+import org.apache.iceberg.jdbc.UncheckedSQLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Jdbc catalog listing a page of tables with a keyset query over the {@code iceberg_tables}
+ * table of {@link JdbcCatalog}, instead of reading all the tables of the namespace. The query is
+ * served by an index on (catalog_name, table_namespace, table_name), which is created by the
+ * migration step if no index or primary key of the table starts with these columns.
+ */
+public class PagedJdbcCatalog extends JdbcCatalog implements SupportsPagedListing {
+  private static final Logger LOG = LoggerFactory.getLogger(PagedJdbcCatalog.class);
+
+  // The schema of the catalog table created by JdbcCatalog.
+  private static final String CATALOG_TABLE_NAME = "iceberg_tables";
+  private static final String CATALOG_NAME = "catalog_name";
+  private static final String TABLE_NAMESPACE = "table_namespace";
+  private static final String TABLE_NAME = "table_name";
+  private static final List<String> LISTING_INDEX_COLUMNS =
+      Arrays.asList(CATALOG_NAME, TABLE_NAMESPACE, TABLE_NAME);
+  @VisibleForTesting static final String LISTING_INDEX_NAME = "iceberg_tables_listing_idx";
+
+  private static final String CREATE_LISTING_INDEX_SQL =
+      "CREATE INDEX "
+          + LISTING_INDEX_NAME
+          + " ON "
+          + CATALOG_TABLE_NAME
+          + " ("
+          + String.join(", ", LISTING_INDEX_COLUMNS)
+          + ")";
+  private static final String LIST_TABLES_SQL =
+      "SELECT "
+          + TABLE_NAME
+          + " FROM "
+          + CATALOG_TABLE_NAME
+          + " WHERE "
+          + CATALOG_NAME
+          + " = ? AND "
+          + TABLE_NAMESPACE
+          + " = ? ORDER BY "
+          + TABLE_NAME;
+  private static final String LIST_TABLES_AFTER_SQL =
+      "SELECT "
+          + TABLE_NAME
+          + " FROM "
+          + CATALOG_TABLE_NAME
+          + " WHERE "
+          + CATALOG_NAME
+          + " = ? AND "
+          + TABLE_NAMESPACE
+          + " = ? AND "
+          + TABLE_NAME
+          + " > ? ORDER BY "
+          + TABLE_NAME;
+
+  private final AtomicReference<JdbcClientPool> connections;
+  private final boolean migrateSchema;
+  private String catalogName;
+
+  /**
+   * Create the catalog, the pool is built when it's initialized.
+   *
+   * @param clientPoolBuilder the builder of the connection pool, null for the built-in pool
+   * @param initializeCatalogTables whether to create the catalog tables
+   * @param migrateSchema whether to create the index of the paged listing
+   */
+  public PagedJdbcCatalog(
+      Function<Map<String, String>, JdbcClientPool> clientPoolBuilder,
+      boolean initializeCatalogTables,
+      boolean migrateSchema) {
+    this(new AtomicReference<>(), clientPoolBuilder, initializeCatalogTables, migrateSchema);
+  }
+
+  private PagedJdbcCatalog(
+      AtomicReference<JdbcClientPool> connections,
+      Function<Map<String, String>, JdbcClientPool> clientPoolBuilder,
+      boolean initializeCatalogTables,
+      boolean migrateSchema) {
+    // Keep the pool built for JdbcCatalog, it's not exposed by JdbcCatalog.
+    super(
+        null,
+        properties -> {
+          JdbcClientPool pool =
+              clientPoolBuilder == null
+                  ? new JdbcClientPool(properties.get(CatalogProperties.URI), properties)
+                  : clientPoolBuilder.apply(properties);
+          connections.set(pool);
+          return pool;
+        },
+        initializeCatalogTables);
+    this.connections = connections;
+    this.migrateSchema = migrateSchema;
+  }
+
+  @Override
+  public void initialize(String name, Map<String, String> properties) {
+    super.initialize(name, properties);
+    this.catalogName = name;
+    if (migrateSchema) {
+      run(
+          connection -> {
+            if (!hasListingIndex(connection.getMetaData())) {
+              try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_LISTING_INDEX_SQL);
+              }
+              LOG.info("Created index {} for the paged listing.", LISTING_INDEX_NAME);
+            }
+            return null;
+          });
+    }
+  }
+
+  @Override
+  public List<TableIdentifier> listTables(
+      Namespace namespace, Optional<String> afterName, int limit) {
+    if (!namespaceExists(namespace)) {
+      throw new NoSuchNamespaceException("Namespace does not exist: %s", namespace);
+    }
+    String namespaceName = Joiner.on('.').join(namespace.levels());
+    return run(
+        connection -> {
+          try (PreparedStatement statement =
+              connection.prepareStatement(
+                  afterName.isPresent() ? LIST_TABLES_AFTER_SQL : LIST_TABLES_SQL)) {
+            statement.setString(1, catalogName);
+            statement.setString(2, namespaceName);
+            if (afterName.isPresent()) {
+              statement.setString(3, afterName.get());
+            }
+            statement.setMaxRows(limit);
+            statement.setFetchSize(limit);
+            List<TableIdentifier> tables = new ArrayList<>(limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+              while (resultSet.next()) {
+                tables.add(TableIdentifier.of(namespace, resultSet.getString(TABLE_NAME)));
+              }
+            }
+            return tables;
+          }
+        });
+  }
+
+  /**
+   * The namespaces are few compared to the tables, and a page of the child namespaces can't be read
+   * by a keyset query, as JdbcCatalog keeps only the full names of the namespaces. The page is kept
+   * from all the child namespaces.
+   */
+  @Override
+  public List<Namespace> listNamespaces(
+      Namespace parent, Optional<String> afterNamespace, int limit) {
+    return ListingPage.slice(listNamespaces(parent), Namespace::toString, afterNamespace, limit);
+  }
+
+  private static boolean hasListingIndex(DatabaseMetaData metaData) throws SQLException {
+    // The databases keeping the unquoted names in upper case report the table in upper case.
+    for (String tableName :
+        Arrays.asList(CATALOG_TABLE_NAME, CATALOG_TABLE_NAME.toUpperCase(Locale.ROOT))) {
+      Map<String, Map<Integer, String>> indexColumns = new HashMap<>();
+      try (ResultSet resultSet = metaData.getPrimaryKeys(null, null, tableName)) {
+        while (resultSet.next()) {
+          indexColumns
+              .computeIfAbsent("PRIMARY KEY", k -> new TreeMap<>())
+              .put(resultSet.getInt("KEY_SEQ"), resultSet.getString("COLUMN_NAME"));
+        }
+      }
+      try (ResultSet resultSet = metaData.getIndexInfo(null, null, tableName, false, false)) {
+        while (resultSet.next()) {
+          String indexName = resultSet.getString("INDEX_NAME");
+          String columnName = resultSet.getString("COLUMN_NAME");
+          if (indexName != null && columnName != null) {
+            indexColumns
+                .computeIfAbsent(indexName, k -> new TreeMap<>())
+                .put((int) resultSet.getShort("ORDINAL_POSITION"), columnName);
+          }
+        }
+      }
+      for (Map<Integer, String> columns : indexColumns.values()) {
+        List<String> names =
+            columns.values().stream()
+                .map(column -> column.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+        if (names.size() >= LISTING_INDEX_COLUMNS.size()
+            && names.subList(0, LISTING_INDEX_COLUMNS.size()).equals(LISTING_INDEX_COLUMNS)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private <R> R run(ClientPool.Action<R, Connection, SQLException> action) {
+    try {
+      return connections.get().run(action);
+    } catch (SQLException e) {
+      throw new UncheckedSQLException(e, "Failed to query the Jdbc catalog %s", catalogName);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new UncheckedInterruptedException(e, "Interrupted in the Jdbc catalog query");
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import com.google.common.annotations.VisibleForTesting;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.iceberg.jdbc.JdbcCatalog;
+import org.apache.iceberg.jdbc.JdbcClientPool;
+import org.apache.iceberg.jdbc.UncheckedSQLException;
+
+/**
+ * The connection pool of the Jdbc backend borrowing the connections from a pooled {@link
+ * BasicDataSource}, which validates the connections, evicts the idle ones and caches the prepared
+ * statements. The connection is borrowed for one action and returned right after it, the wait of
+ * borrowing is exported as a timer.
+ */
+class PooledJdbcClientPool extends JdbcClientPool {
+  private final BasicDataSource dataSource;
+  private final Timer checkoutWait;
+  private final Counter borrowFailureCount;
+
+  PooledJdbcClientPool(
+      String dbUrl,
+      Map<String, String> properties,
+      IcebergServerConfig icebergConfig,
+      MetricsSource metricsSource) {
+    // The pool of the parent class is never used, the connections come from the data source.
+    super(1, dbUrl, properties);
+    this.dataSource = new BasicDataSource();
+    dataSource.setUrl(dbUrl);
+    // Pass the "jdbc." properties to the driver like the built-in pool of JdbcCatalog.
+    properties.forEach(
+        (key, value) -> {
+          if (key.startsWith(JdbcCatalog.PROPERTY_PREFIX)) {
+            dataSource.addConnectionProperty(
+                key.substring(JdbcCatalog.PROPERTY_PREFIX.length()), value);
+          }
+        });
+    dataSource.setMaxTotal(icebergConfig.get(IcebergServerConfig.JDBC_POOL_MAX_TOTAL));
+    dataSource.setMinIdle(icebergConfig.get(IcebergServerConfig.JDBC_POOL_MIN_IDLE));
+    dataSource.setMaxIdle(icebergConfig.get(IcebergServerConfig.JDBC_POOL_MAX_IDLE));
+    dataSource.setMaxWait(
+        Duration.ofMillis(icebergConfig.get(IcebergServerConfig.JDBC_POOL_MAX_WAIT_MS)));
+    icebergConfig
+        .get(IcebergServerConfig.JDBC_POOL_VALIDATION_QUERY)
+        .ifPresent(dataSource::setValidationQuery);
+    dataSource.setTestOnBorrow(true);
+    dataSource.setTestWhileIdle(true);
+    dataSource.setDurationBetweenEvictionRuns(
+        Duration.ofMillis(icebergConfig.get(IcebergServerConfig.JDBC_POOL_EVICTION_INTERVAL_MS)));
+    dataSource.setMinEvictableIdle(
+        Duration.ofMillis(icebergConfig.get(IcebergServerConfig.JDBC_POOL_MIN_EVICTABLE_IDLE_MS)));
+    int statementCacheSize = icebergConfig.get(IcebergServerConfig.JDBC_POOL_STATEMENT_CACHE_SIZE);
+    if (statementCacheSize > 0) {
+      dataSource.setPoolPreparedStatements(true);
+      dataSource.setMaxOpenPreparedStatements(statementCacheSize);
+    }
+
+    this.checkoutWait = metricsSource.getTimer(MetricNames.JDBC_POOL_CHECKOUT_WAIT);
+    this.borrowFailureCount = metricsSource.getCounter(MetricNames.JDBC_POOL_BORROW_FAILURE_COUNT);
+    metricsSource.registerGauge(MetricNames.JDBC_POOL_ACTIVE_NUM, dataSource::getNumActive);
+    metricsSource.registerGauge(MetricNames.JDBC_POOL_IDLE_NUM, dataSource::getNumIdle);
+  }
+
+  @Override
+  public <R> R run(Action<R, Connection, SQLException> action)
+      throws SQLException, InterruptedException {
+    return run(action, true);
+  }
+
+  @Override
+  public <R> R run(Action<R, Connection, SQLException> action, boolean retry)
+      throws SQLException, InterruptedException {
+    Connection connection = borrow();
+    try {
+      return action.run(connection);
+    } catch (SQLNonTransientConnectionException e) {
+      // The connection is broken, drop it from the pool instead of returning it.
+      Connection broken = connection;
+      connection = null;
+      dataSource.invalidateConnection(broken);
+      if (!retry) {
+        throw e;
+      }
+      try (Connection retryConnection = borrow()) {
+        return action.run(retryConnection);
+      }
+    } finally {
+      if (connection != null) {
+        connection.close();
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    super.close();
+    try {
+      dataSource.close();
+    } catch (SQLException e) {
+      throw new UncheckedSQLException(e, "Failed to close the Jdbc connection pool");
+    }
+  }
+
+  @VisibleForTesting
+  BasicDataSource getDataSource() {
+    return dataSource;
+  }
+
+  private Connection borrow() throws SQLException {
+    long startNanos = System.nanoTime();
+    try {
+      return dataSource.getConnection();
+    } catch (SQLException e) {
+      borrowFailureCount.inc();
+      throw e;
+    } finally {
+      checkoutWait.update(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+}
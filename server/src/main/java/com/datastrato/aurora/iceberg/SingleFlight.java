@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesce the concurrent calls with the same key, the first call runs the loader and the calls
+ * arriving while it's in flight share its result or its exception. Nothing is kept once the call
+ * finishes, a later call runs the loader again.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the results
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlightCalls = new ConcurrentHashMap<>();
+  private final LongAdder coalescedCount = new LongAdder();
+
+  public V execute(K key, Supplier<V> loader) {
+    CompletableFuture<V> call = new CompletableFuture<>();
+    CompletableFuture<V> inFlightCall = inFlightCalls.putIfAbsent(key, call);
+    if (inFlightCall != null) {
+      coalescedCount.increment();
+      return await(inFlightCall);
+    }
+    try {
+      V value = loader.get();
+      call.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      call.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlightCalls.remove(key, call);
+    }
+  }
+
+  /**
+   * Stop sharing the call in flight for the key, the calls arriving later run the loader again. It
+   * should be called once the value of the key is changed, so a later call doesn't get the value
+   * read before the change.
+   *
+   * @param key the key of the call
+   */
+  public void forget(K key) {
+    inFlightCalls.remove(key);
+  }
+
+  public long getCoalescedCount() {
+    return coalescedCount.sum();
+  }
+
+  private static <V> V await(CompletableFuture<V> call) {
+    try {
+      return call.join();
+    } catch (CompletionException e) {
+      // Rethrow the exception of the loader as is, like NoSuchTableException.
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+}
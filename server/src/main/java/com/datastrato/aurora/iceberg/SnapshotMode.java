@@ -0,0 +1,23 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import java.util.Locale;
+
+/** The snapshots to return when loading a table, see the `snapshots` parameter of loadTable. */
+public enum SnapshotMode {
+  /** Return all snapshots of the table. */
+  ALL,
+  /** Return only the snapshots referenced by branches or tags. */
+  REFS;
+
+  public static SnapshotMode fromString(String mode) {
+    try {
+      return SnapshotMode.valueOf(mode.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid snapshots mode: " + mode, e);
+    }
+  }
+}
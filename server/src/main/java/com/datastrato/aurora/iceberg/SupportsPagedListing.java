@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import java.util.List;
+import java.util.Optional;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.catalog.TableIdentifier;
+
+/**
+ * A catalog backend listing the tables and namespaces page by page, so a page is read from the
+ * backend without listing all of them. The pages are keyset paginated, the items are ordered by
+ * their keys and a page starts after the key of the last item of the previous page.
+ */
+public interface SupportsPagedListing {
+
+  /**
+   * List the tables of the namespace ordered by the table name.
+   *
+   * @param namespace the namespace of the tables
+   * @param afterName the name of the last table of the previous page, empty for the first page
+   * @param limit the max number of tables to list
+   * @return the tables named after afterName
+   */
+  List<TableIdentifier> listTables(Namespace namespace, Optional<String> afterName, int limit);
+
+  /**
+   * List the child namespaces of the parent ordered by the namespace string.
+   *
+   * @param parent the parent namespace, the empty namespace lists the top level ones
+   * @param afterNamespace the string of the last namespace of the previous page, empty for the
+   *     first page
+   * @param limit the max number of namespaces to list
+   * @return the namespaces whose string is after afterNamespace
+   */
+  List<Namespace> listNamespaces(Namespace parent, Optional<String> afterNamespace, int limit);
+}
@@ -0,0 +1,50 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.iceberg;
+
+import com.google.common.base.Preconditions;
+import java.util.Optional;
+import org.apache.iceberg.catalog.TableIdentifier;
+
+/**
+ * The result of an operation on one table of a batch, either the response of the table or the
+ * exception failing it. The other tables of the batch aren't affected by the failure.
+ *
+ * @param <T> the type of the response
+ */
+public final class TableResult<T> {
+
+  private final TableIdentifier identifier;
+  private final Optional<T> response;
+  private final Optional<RuntimeException> failure;
+
+  private TableResult(
+      TableIdentifier identifier, Optional<T> response, Optional<RuntimeException> failure) {
+    this.identifier = identifier;
+    this.response = response;
+    this.failure = failure;
+  }
+
+  public static <T> TableResult<T> success(TableIdentifier identifier, T response) {
+    Preconditions.checkNotNull(response, "The response of table %s is null", identifier);
+    return new TableResult<>(identifier, Optional.of(response), Optional.empty());
+  }
+
+  public static <T> TableResult<T> failure(TableIdentifier identifier, RuntimeException failure) {
+    return new TableResult<>(identifier, Optional.empty(), Optional.of(failure));
+  }
+
+  public TableIdentifier getIdentifier() {
+    return identifier;
+  }
+
+  public Optional<T> getResponse() {
+    return response;
+  }
+
+  public Optional<RuntimeException> getFailure() {
+    return failure;
+  }
+}
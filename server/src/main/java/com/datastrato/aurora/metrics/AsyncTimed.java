@@ -0,0 +1,23 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Time a resource method suspending its request, from the start of the method until the response
+ * is written. The {@code Timed} annotation of metrics-jersey2 stops the timer when the method
+ * returns, which only measures the dispatch of a suspended request.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AsyncTimed {
+  /** The absolute name of the timer. */
+  String name();
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Timer;
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import java.util.concurrent.TimeUnit;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+/**
+ * Update the timers of the resource methods annotated with {@link AsyncTimed}. The request is
+ * finished once the response is written, after the request is resumed in another thread, so the
+ * timer measures the wait for the backend executor and the operation too.
+ */
+public class AsyncTimedApplicationListener implements ApplicationEventListener {
+  private final MetricsSource metricsSource;
+  private final Clock clock;
+
+  public AsyncTimedApplicationListener(MetricsSource metricsSource, Clock clock) {
+    this.metricsSource = metricsSource;
+    this.clock = clock;
+  }
+
+  @Override
+  public void onEvent(ApplicationEvent event) {}
+
+  @Override
+  public RequestEventListener onRequest(RequestEvent requestEvent) {
+    return new TimerRequestEventListener();
+  }
+
+  private class TimerRequestEventListener implements RequestEventListener {
+    private Timer timer;
+    private long startTick;
+
+    @Override
+    public void onEvent(RequestEvent event) {
+      switch (event.getType()) {
+        case RESOURCE_METHOD_START:
+          ResourceMethod method = event.getUriInfo().getMatchedResourceMethod();
+          AsyncTimed asyncTimed =
+              method == null
+                  ? null
+                  : method.getInvocable().getDefinitionMethod().getAnnotation(AsyncTimed.class);
+          if (asyncTimed != null) {
+            timer = metricsSource.getTimer(asyncTimed.name());
+            startTick = clock.getTick();
+          }
+          break;
+        case FINISHED:
+          if (timer != null) {
+            timer.update(clock.getTick() - startTick, TimeUnit.NANOSECONDS);
+          }
+          break;
+        default:
+          break;
+      }
+    }
+  }
+}
@@ -8,6 +8,55 @@ package com.datastrato.aurora.metrics;
 public class MetricNames {
   public static final String HTTP_PROCESS_DURATION = "http-request-duration-seconds";
   public static final String SERVER_IDLE_THREAD_NUM = "http-server.idle-thread.num";
+  public static final String SERVER_IN_FLIGHT_REQUEST_NUM = "http-server.in-flight-request.num";
+  public static final String SERVER_WAITING_REQUEST_NUM = "http-server.waiting-request.num";
+  // Formatted with the operation class of the admission control, like read and commit.
+  public static final String SERVER_ADMISSION_IN_FLIGHT_REQUEST_NUM_FORMAT =
+      "http-server.admission.%s.in-flight-request.num";
+  public static final String SERVER_ADMISSION_REJECTED_REQUEST_COUNT_FORMAT =
+      "http-server.admission.%s.rejected-request.count";
+  // Formatted with the key scope of the rate limit, like client and namespace, and the key.
+  public static final String RATE_LIMIT_THROTTLED_COUNT_FORMAT = "%s.%s.throttled.count";
+  public static final String RATE_LIMIT_TRACKED_KEY_NUM_FORMAT = "%s.tracked-key.num";
+  public static final String SERVER_COMPRESSED_RESPONSE_COUNT =
+      "http-server.compression.response.count";
+  public static final String SERVER_COMPRESSION_UNCOMPRESSED_BYTES =
+      "http-server.compression.uncompressed-bytes";
+  public static final String SERVER_COMPRESSION_COMPRESSED_BYTES =
+      "http-server.compression.compressed-bytes";
+  public static final String SERVER_COMPRESSION_RATIO = "http-server.compression.ratio";
+  public static final String SERVER_COMPRESSION_CPU_MILLIS = "http-server.compression.cpu-millis";
+  public static final String TABLE_METADATA_CACHE_HIT_COUNT = "table-metadata-cache.hit.count";
+  public static final String TABLE_METADATA_CACHE_MISS_COUNT = "table-metadata-cache.miss.count";
+  public static final String TABLE_METADATA_CACHE_EVICTION_COUNT =
+      "table-metadata-cache.eviction.count";
+  public static final String TABLE_METADATA_CACHE_SIZE = "table-metadata-cache.size";
+  public static final String TABLE_LOAD_COALESCED_COUNT = "table-load.coalesced.count";
+  public static final String BACKEND_EXECUTOR_ACTIVE_THREAD_NUM =
+      "backend-executor.active-thread.num";
+  public static final String BACKEND_EXECUTOR_QUEUE_DEPTH = "backend-executor.queue.depth";
+  public static final String BACKEND_EXECUTOR_REJECTED_COUNT = "backend-executor.rejected.count";
+  public static final String BULK_LOAD_QUEUE_DEPTH = "bulk-load.queue.depth";
+  public static final String BULK_LOAD_REJECTED_COUNT = "bulk-load.rejected.count";
+  public static final String TRANSACTION_COMMIT_QUEUE_DEPTH = "transaction-commit.queue.depth";
+  public static final String TRANSACTION_COMMIT_REJECTED_COUNT =
+      "transaction-commit.rejected.count";
+  public static final String COMMIT_RETRY_COUNT = "commit-retry.count";
+  public static final String COMMIT_RETRY_REBASED_COUNT = "commit-retry.rebased.count";
+  public static final String COMMIT_RETRY_EXHAUSTED_COUNT = "commit-retry.exhausted.count";
+  public static final String HIVE_CLIENT_POOL_CHECKOUT_WAIT = "hive-client-pool.checkout-wait";
+  public static final String HIVE_CLIENT_POOL_EXHAUSTED_COUNT = "hive-client-pool.exhausted.count";
+  public static final String HIVE_CLIENT_POOL_IN_USE_NUM = "hive-client-pool.in-use.num";
+  public static final String HIVE_CLIENT_POOL_WAITING_NUM = "hive-client-pool.waiting.num";
+  public static final String JDBC_POOL_CHECKOUT_WAIT = "jdbc-pool.checkout-wait";
+  public static final String JDBC_POOL_BORROW_FAILURE_COUNT = "jdbc-pool.borrow-failure.count";
+  public static final String JDBC_POOL_ACTIVE_NUM = "jdbc-pool.active.num";
+  public static final String JDBC_POOL_IDLE_NUM = "jdbc-pool.idle.num";
+  public static final String METRICS_QUEUE_DEPTH = "metrics-queue.depth";
+  public static final String METRICS_QUEUE_DROPPED_COUNT = "metrics-queue.dropped.count";
+  public static final String METRICS_QUEUE_SPILLED_COUNT = "metrics-queue.spilled.count";
+  public static final String METRICS_QUEUE_SPILLED_BYTES = "metrics-queue.spilled.bytes";
+  public static final String METRICS_QUEUE_REPLAYED_COUNT = "metrics-queue.replayed.count";
 
   private MetricNames() {}
 }
@@ -159,7 +159,11 @@ public class MetricsSystem implements Closeable {
         new MapperConfig(
             MetricsSource.ICEBERG_REST_SERVER_METRIC_NAME + ".*.*",
             MetricsSource.ICEBERG_REST_SERVER_METRIC_NAME + "_${1}",
-            ImmutableMap.of("operation", "${0}")));
+            ImmutableMap.of("operation", "${0}")),
+        new MapperConfig(
+            MetricsSource.RATE_LIMIT_METRIC_NAME + ".*.*.throttled.count",
+            MetricsSource.RATE_LIMIT_METRIC_NAME + "_throttled_count",
+            ImmutableMap.of("scope", "${0}", "key", "${1}")));
   }
 
   private void registerMetricsToPrometheusRegistry() {
@@ -7,8 +7,11 @@ package com.datastrato.aurora.metrics.source;
 import com.codahale.metrics.Clock;
 import com.codahale.metrics.SlidingTimeWindowArrayReservoir;
 import com.codahale.metrics.jersey2.InstrumentedResourceMethodApplicationListener;
+import com.datastrato.aurora.metrics.AsyncTimedApplicationListener;
 import com.datastrato.aurora.metrics.MetricNames;
 import com.datastrato.aurora.server.JettyServer;
+import com.datastrato.aurora.web.filter.AdmissionControlFilter;
+import com.datastrato.aurora.web.filter.AdmissionControlFilter.OperationClass;
 import java.util.concurrent.TimeUnit;
 import org.glassfish.jersey.server.ResourceConfig;
 
@@ -23,7 +26,39 @@ public class HttpServerMetricsSource extends MetricsSource {
             () ->
                 new SlidingTimeWindowArrayReservoir(
                     getTimeSlidingWindowSeconds(), TimeUnit.SECONDS)));
+    // The suspended requests are timed until their responses are written.
+    resourceConfig.register(new AsyncTimedApplicationListener(this, Clock.defaultClock()));
     registerGauge(
         MetricNames.SERVER_IDLE_THREAD_NUM, () -> server.getThreadPool().getIdleThreads());
+    registerGauge(MetricNames.SERVER_IN_FLIGHT_REQUEST_NUM, server::getInFlightRequests);
+    registerGauge(MetricNames.SERVER_WAITING_REQUEST_NUM, server::getWaitingRequests);
+    registerGauge(MetricNames.SERVER_COMPRESSED_RESPONSE_COUNT, server::getCompressedResponses);
+    registerGauge(MetricNames.SERVER_COMPRESSION_UNCOMPRESSED_BYTES, server::getUncompressedBytes);
+    registerGauge(MetricNames.SERVER_COMPRESSION_COMPRESSED_BYTES, server::getCompressedBytes);
+    // The compressed size divided by the uncompressed size of all the compressed responses.
+    registerGauge(
+        MetricNames.SERVER_COMPRESSION_RATIO,
+        () -> {
+          long uncompressedBytes = server.getUncompressedBytes();
+          return uncompressedBytes == 0
+              ? 1.0
+              : (double) server.getCompressedBytes() / uncompressedBytes;
+        });
+    registerGauge(
+        MetricNames.SERVER_COMPRESSION_CPU_MILLIS,
+        () -> TimeUnit.NANOSECONDS.toMillis(server.getCompressionNanos()));
+  }
+
+  public void registerAdmissionControlGauges(AdmissionControlFilter admissionControlFilter) {
+    for (OperationClass operationClass : OperationClass.values()) {
+      registerGauge(
+          String.format(
+              MetricNames.SERVER_ADMISSION_IN_FLIGHT_REQUEST_NUM_FORMAT, operationClass.getName()),
+          () -> admissionControlFilter.getInFlightRequests(operationClass));
+      registerGauge(
+          String.format(
+              MetricNames.SERVER_ADMISSION_REJECTED_REQUEST_COUNT_FORMAT, operationClass.getName()),
+          () -> admissionControlFilter.getRejectedCount(operationClass));
+    }
   }
 }
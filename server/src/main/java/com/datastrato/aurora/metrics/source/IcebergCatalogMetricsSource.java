@@ -0,0 +1,12 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.metrics.source;
+
+/** Metrics about the Iceberg catalog backend, registered by {@code IcebergTableOps}. */
+public class IcebergCatalogMetricsSource extends MetricsSource {
+  public IcebergCatalogMetricsSource() {
+    super(MetricsSource.ICEBERG_CATALOG_METRIC_NAME);
+  }
+}
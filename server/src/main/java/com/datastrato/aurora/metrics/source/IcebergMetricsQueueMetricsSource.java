@@ -0,0 +1,12 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.metrics.source;
+
+/** Metrics about the Iceberg metrics queue, registered by {@code IcebergMetricsManager}. */
+public class IcebergMetricsQueueMetricsSource extends MetricsSource {
+  public IcebergMetricsQueueMetricsSource() {
+    super(MetricsSource.ICEBERG_METRICS_QUEUE_METRIC_NAME);
+  }
+}
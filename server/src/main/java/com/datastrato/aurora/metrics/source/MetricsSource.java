@@ -23,6 +23,9 @@ public abstract class MetricsSource {
   // metrics source name
   public static final String ICEBERG_REST_SERVER_METRIC_NAME = "iceberg-rest-server";
   public static final String JVM_METRIC_NAME = "jvm";
+  public static final String ICEBERG_CATALOG_METRIC_NAME = "iceberg-catalog";
+  public static final String ICEBERG_METRICS_QUEUE_METRIC_NAME = "iceberg-metrics-queue";
+  public static final String RATE_LIMIT_METRIC_NAME = "rate-limit";
   private final MetricRegistry metricRegistry;
   private final String metricsSourceName;
   private final int timeSlidingWindowSeconds = 60;
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.metrics.source;
+
+import com.datastrato.aurora.metrics.MetricNames;
+import com.google.common.annotations.VisibleForTesting;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Metrics about the rate limit, registered by {@code IcebergRESTServer}. The throttled counter of a
+ * key is created when the key is throttled the first time, and removed when the key is evicted by
+ * the rate limit, so the number of the counters is bounded by the keys tracked.
+ */
+public class RateLimitMetricsSource extends MetricsSource {
+  public RateLimitMetricsSource() {
+    super(MetricsSource.RATE_LIMIT_METRIC_NAME);
+  }
+
+  public void incThrottledCount(String scope, String key) {
+    getCounter(getThrottledCounterName(scope, key)).inc();
+  }
+
+  public void removeThrottledCount(String scope, String key) {
+    getMetricRegistry().remove(getThrottledCounterName(scope, key));
+  }
+
+  @VisibleForTesting
+  static String getThrottledCounterName(String scope, String key) {
+    return String.format(MetricNames.RATE_LIMIT_THROTTLED_COUNT_FORMAT, scope, escapeKey(key));
+  }
+
+  /**
+   * The key is a label of the Prometheus metric, it mustn't contain the separator of the names. The
+   * other bytes are escaped as '_' and two hex digits, '_' included, so distinct keys never share a
+   * counter, like "10.0.0.1" which is escaped as "10_2e0_2e0_2e1" and "10_0_0_1".
+   */
+  @VisibleForTesting
+  static String escapeKey(String key) {
+    StringBuilder escaped = new StringBuilder(key.length());
+    for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+      if ((b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '-') {
+        escaped.append((char) b);
+      } else {
+        escaped.append('_').append(String.format("%02x", b & 0xFF));
+      }
+    }
+    return escaped.toString();
+  }
+}
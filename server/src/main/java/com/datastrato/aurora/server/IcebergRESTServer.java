@@ -5,14 +5,19 @@
 package com.datastrato.aurora.server;
 
 import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.config.JettyServerConfig;
 import com.datastrato.aurora.iceberg.IcebergTableOps;
 import com.datastrato.aurora.metrics.MetricsSystem;
 import com.datastrato.aurora.metrics.source.HttpServerMetricsSource;
 import com.datastrato.aurora.metrics.source.JVMMetricsSource;
 import com.datastrato.aurora.metrics.source.MetricsSource;
+import com.datastrato.aurora.metrics.source.RateLimitMetricsSource;
 import com.datastrato.aurora.web.IcebergExceptionMapper;
 import com.datastrato.aurora.web.IcebergObjectMapperProvider;
+import com.datastrato.aurora.web.filter.AdmissionControlFilter;
+import com.datastrato.aurora.web.filter.RateLimitFilter;
 import com.datastrato.aurora.web.metrics.IcebergMetricsManager;
+import com.google.common.annotations.VisibleForTesting;
 import java.io.File;
 import java.util.Properties;
 import javax.servlet.Servlet;
@@ -62,7 +67,9 @@ public class IcebergRESTServer extends ResourceConfig {
     metricsSystem.register(httpServerMetricsSource);
 
     icebergTableOps = new IcebergTableOps(serverConfig);
+    metricsSystem.register(icebergTableOps.getMetricsSource());
     icebergMetricsManager = new IcebergMetricsManager(serverConfig);
+    metricsSystem.register(icebergMetricsManager.getMetricsSource());
     config.register(
         new AbstractBinder() {
           @Override
@@ -74,11 +81,49 @@ public class IcebergRESTServer extends ResourceConfig {
 
     Servlet servlet = new ServletContainer(config);
     server.addServlet(servlet, ICEBERG_SPEC);
+    JettyServerConfig jettyServerConfig = JettyServerConfig.fromConfig(serverConfig);
+    // The custom filters, like the authentication filters, run first, so the rate limit knows the
+    // principal of the client.
     server.addCustomFilters(ICEBERG_SPEC);
+    if (jettyServerConfig.isEnableRateLimit()) {
+      RateLimitMetricsSource rateLimitMetricsSource = new RateLimitMetricsSource();
+      // Throttle a runaway client before it takes the admission permits of the others.
+      server.addFilter(
+          new RateLimitFilter(
+              jettyServerConfig.getRateLimitClientPermitsPerSecond(),
+              jettyServerConfig.getRateLimitClientBurst(),
+              jettyServerConfig.getRateLimitNamespacePermitsPerSecond(),
+              jettyServerConfig.getRateLimitNamespaceBurst(),
+              jettyServerConfig.getRateLimitMaxKeys(),
+              jettyServerConfig.getRateLimitIdleExpireSeconds(),
+              rateLimitMetricsSource),
+          ICEBERG_SPEC);
+      metricsSystem.register(rateLimitMetricsSource);
+    }
+    if (jettyServerConfig.isEnableAdmissionControl()) {
+      AdmissionControlFilter admissionControlFilter =
+          new AdmissionControlFilter(
+              jettyServerConfig.getAdmissionMaxReadRequests(),
+              jettyServerConfig.getAdmissionMaxCommitRequests(),
+              jettyServerConfig.getAdmissionRetryAfterSeconds());
+      // Shed the excess requests before they wait for the concurrency limit.
+      server.addFilter(admissionControlFilter, ICEBERG_SPEC);
+      httpServerMetricsSource.registerAdmissionControlGauges(admissionControlFilter);
+    }
+    server.addConcurrencyLimitFilter(ICEBERG_SPEC);
   }
 
   public void start() {
     icebergMetricsManager.start();
+    if (serverConfig.get(IcebergServerConfig.WARMUP_ENABLED)) {
+      try {
+        // Warm up before the connectors accept requests.
+        new IcebergServerWarmUp(icebergTableOps, serverConfig).run();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+    }
     if (server != null) {
       try {
         server.start();
@@ -89,6 +134,11 @@ public class IcebergRESTServer extends ResourceConfig {
     }
   }
 
+  @VisibleForTesting
+  int getLocalPort() {
+    return server.getLocalPort();
+  }
+
   public void join() {
     server.join();
   }
@@ -0,0 +1,116 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.server;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.iceberg.IcebergTableOps;
+import com.datastrato.aurora.web.IcebergObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Splitter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.rest.responses.LoadTableResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Warm up the server before it accepts requests. It lists the namespaces to open the backend
+ * connections, then loads the configured tables and the hot tables recorded by the last run, and
+ * serializes the responses to initialize the Jackson serializers. The failures are logged and don't
+ * stop the server from starting.
+ */
+final class IcebergServerWarmUp {
+  private static final Logger LOG = LoggerFactory.getLogger(IcebergServerWarmUp.class);
+
+  private final IcebergTableOps icebergTableOps;
+  private final Set<TableIdentifier> tables = new LinkedHashSet<>();
+  private final int threads;
+  private final long timeoutMillis;
+  private final ObjectMapper objectMapper = IcebergObjectMapper.getInstance();
+
+  IcebergServerWarmUp(IcebergTableOps icebergTableOps, IcebergServerConfig serverConfig) {
+    this.icebergTableOps = icebergTableOps;
+    serverConfig
+        .get(IcebergServerConfig.WARMUP_TABLES)
+        .ifPresent(
+            value ->
+                Splitter.on(',')
+                    .trimResults()
+                    .omitEmptyStrings()
+                    .split(value)
+                    .forEach(table -> tables.add(TableIdentifier.parse(table))));
+    tables.addAll(icebergTableOps.getRecordedHotTables());
+    this.threads = serverConfig.get(IcebergServerConfig.WARMUP_THREADS);
+    this.timeoutMillis = serverConfig.get(IcebergServerConfig.WARMUP_TIMEOUT_MS);
+  }
+
+  /**
+   * Run the warm-up, it returns after loading all the tables or the timeout.
+   *
+   * @return the number of the loaded tables
+   * @throws InterruptedException if it's interrupted when waiting for the tables
+   */
+  int run() throws InterruptedException {
+    long startNanos = System.nanoTime();
+    try {
+      objectMapper.writeValueAsBytes(icebergTableOps.listNamespace(Namespace.empty()));
+    } catch (JsonProcessingException | RuntimeException e) {
+      LOG.warn("Failed to list the namespaces when warming up.", e);
+    }
+
+    AtomicInteger loadedTables = new AtomicInteger();
+    if (!tables.isEmpty()) {
+      ExecutorService executor =
+          Executors.newFixedThreadPool(
+              Math.min(threads, tables.size()),
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("iceberg-warmup-%d")
+                  .build());
+      for (TableIdentifier table : tables) {
+        executor.execute(
+            () -> {
+              if (loadTable(table)) {
+                loadedTables.incrementAndGet();
+              }
+            });
+      }
+      executor.shutdown();
+      if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        LOG.warn("The warm-up isn't finished in {} ms, start the server anyway.", timeoutMillis);
+        executor.shutdownNow();
+      }
+    }
+    LOG.info(
+        "Warmed up {} of {} tables in {} ms.",
+        loadedTables.get(),
+        tables.size(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    return loadedTables.get();
+  }
+
+  Set<TableIdentifier> getTables() {
+    return tables;
+  }
+
+  private boolean loadTable(TableIdentifier table) {
+    try {
+      LoadTableResponse response = icebergTableOps.loadTable(table);
+      objectMapper.writeValueAsBytes(response);
+      return true;
+    } catch (JsonProcessingException | RuntimeException e) {
+      LOG.warn("Failed to load table {} when warming up.", table, e);
+      return false;
+    }
+  }
+}
@@ -9,10 +9,14 @@ import com.codahale.metrics.servlets.MetricsServlet;
 import com.datastrato.aurora.config.IcebergServerConfig;
 import com.datastrato.aurora.config.JettyServerConfig;
 import com.datastrato.aurora.metrics.MetricsSystem;
+import com.datastrato.aurora.web.filter.ConcurrencyLimitFilter;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import java.net.BindException;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -21,6 +25,11 @@ import javax.servlet.DispatcherType;
 import javax.servlet.Filter;
 import javax.servlet.Servlet;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
@@ -58,6 +67,10 @@ public final class JettyServer {
 
   private String serverName;
 
+  private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+  private Optional<MeteredGzipHandler> gzipHandler = Optional.empty();
+
   public JettyServer() {}
 
   public synchronized void initialize(
@@ -65,11 +78,27 @@ public final class JettyServer {
     this.serverConfig = JettyServerConfig.fromConfig(icebergServerConfig);
     this.serverName = serverName;
 
-    ThreadPool threadPool =
-        createThreadPool(
-            serverConfig.getMinThreads(),
-            serverConfig.getMaxThreads(),
-            serverConfig.getThreadPoolWorkQueueSize());
+    ThreadPool threadPool;
+    if (serverConfig.getExecutionMode() == JettyServerConfig.ExecutionMode.VIRTUAL) {
+      Preconditions.checkArgument(
+          VirtualThreadPool.isSupported(),
+          "The virtual execution mode requires Java 21 or later, current Java version is %s",
+          System.getProperty("java.version"));
+      // The thread cap no longer applies, the concurrency limit is enabled instead.
+      threadPool = new VirtualThreadPool(serverName, serverConfig.getStopTimeout());
+    } else {
+      threadPool =
+          createThreadPool(
+              serverConfig.getMinThreads(),
+              serverConfig.getMaxThreads(),
+              serverConfig.getThreadPoolWorkQueueSize());
+    }
+    LOG.info("{} web server uses {} threads.", serverName, serverConfig.getExecutionMode());
+    concurrencyLimitFilter =
+        serverConfig.isEnableConcurrencyLimit()
+            ? new ConcurrencyLimitFilter(
+                serverConfig.getMaxConcurrentRequests(), serverConfig.getConcurrencyLimitWaitMs())
+            : new ConcurrencyLimitFilter();
 
     // Create and config Jetty Server
     server = new Server(threadPool);
@@ -118,7 +147,9 @@ public final class JettyServer {
               serverConfig.isEnableClientAuth(),
               serverConfig.getTrustStorePath(),
               serverConfig.getTrustStorePassword(),
-              serverConfig.getTrustStoreType());
+              serverConfig.getTrustStoreType(),
+              serverConfig.isEnableHttp2(),
+              serverConfig.getHttp2MaxConcurrentStreams());
       server.addConnector(httpsConnector);
     } else {
       // Create and set Http ServerConnector
@@ -129,7 +160,9 @@ public final class JettyServer {
               serverConfig.getResponseHeaderSize(),
               serverConfig.getHost(),
               serverConfig.getHttpPort(),
-              serverConfig.getIdleTimeout());
+              serverConfig.getIdleTimeout(),
+              serverConfig.isEnableHttp2Cleartext(),
+              serverConfig.getHttp2MaxConcurrentStreams());
       server.addConnector(httpConnector);
     }
 
@@ -146,7 +179,14 @@ public final class JettyServer {
     }
 
     HandlerCollection handlers = new HandlerCollection();
-    handlers.addHandler(servletContextHandler);
+    if (serverConfig.isEnableCompression()) {
+      MeteredGzipHandler handler = createGzipHandler();
+      handler.setHandler(servletContextHandler);
+      handlers.addHandler(handler);
+      gzipHandler = Optional.of(handler);
+    } else {
+      handlers.addHandler(servletContextHandler);
+    }
     server.setHandler(handlers);
   }
 
@@ -213,13 +253,23 @@ public final class JettyServer {
     }
   }
 
+  /**
+   * Add a servlet supporting asynchronous requests, the Iceberg REST resources may respond in the
+   * backend executor. The filters of its path should support asynchronous requests too.
+   *
+   * @param servlet the servlet to add
+   * @param pathSpec the path of the servlet
+   */
   public void addServlet(Servlet servlet, String pathSpec) {
-    servletContextHandler.addServlet(new ServletHolder(servlet), pathSpec);
+    ServletHolder servletHolder = new ServletHolder(servlet);
+    servletHolder.setAsyncSupported(true);
+    servletContextHandler.addServlet(servletHolder, pathSpec);
   }
 
   public void addFilter(Filter filter, String pathSpec) {
-    servletContextHandler.addFilter(
-        new FilterHolder(filter), pathSpec, EnumSet.allOf(DispatcherType.class));
+    FilterHolder filterHolder = new FilterHolder(filter);
+    filterHolder.setAsyncSupported(true);
+    servletContextHandler.addFilter(filterHolder, pathSpec, EnumSet.allOf(DispatcherType.class));
   }
 
   private void initializeBasicServletContextHandler() {
@@ -228,22 +278,42 @@ public final class JettyServer {
     servletContextHandler.addServlet(DefaultServlet.class, "/");
   }
 
+  private MeteredGzipHandler createGzipHandler() {
+    MeteredGzipHandler handler = new MeteredGzipHandler();
+    handler.setMinGzipSize(serverConfig.getCompressionMinSize());
+    handler.setIncludedMimeTypes(serverConfig.getCompressionMimeTypes().toArray(new String[0]));
+    // Both loadTable and the commits return the table metadata.
+    handler.setIncludedMethods(HttpMethod.GET.asString(), HttpMethod.POST.asString());
+    handler.setCompressionLevel(serverConfig.getCompressionLevel());
+    return handler;
+  }
+
   private ServerConnector createHttpServerConnector(
       Server server,
       int reqHeaderSize,
       int respHeaderSize,
       String host,
       int port,
-      int idleTimeout) {
+      int idleTimeout,
+      boolean enableHttp2Cleartext,
+      int http2MaxConcurrentStreams) {
     HttpConfiguration httpConfig = new HttpConfiguration();
     httpConfig.setRequestHeaderSize(reqHeaderSize);
     httpConfig.setResponseHeaderSize(respHeaderSize);
     httpConfig.setSendServerVersion(true);
     httpConfig.setIdleTimeout(idleTimeout);
 
-    HttpConnectionFactory httpConnectionFactory = new HttpConnectionFactory(httpConfig);
+    List<ConnectionFactory> connectionFactories = new ArrayList<>();
+    connectionFactories.add(new HttpConnectionFactory(httpConfig));
+    if (enableHttp2Cleartext) {
+      // HTTP/1.1 stays the default protocol, h2c is used by prior knowledge or the upgrade.
+      HTTP2CServerConnectionFactory h2cConnectionFactory =
+          new HTTP2CServerConnectionFactory(httpConfig);
+      h2cConnectionFactory.setMaxConcurrentStreams(http2MaxConcurrentStreams);
+      connectionFactories.add(h2cConnectionFactory);
+    }
     ServerConnector connector =
-        createServerConnector(server, new ConnectionFactory[] {httpConnectionFactory});
+        createServerConnector(server, connectionFactories.toArray(new ConnectionFactory[0]));
     connector.setHost(host);
     connector.setPort(port);
     connector.setReuseAddress(true);
@@ -276,7 +346,9 @@ public final class JettyServer {
       boolean isEnableClientAuth,
       String trustStorePath,
       String trustStorePassword,
-      String trustStoreType) {
+      String trustStoreType,
+      boolean enableHttp2,
+      int http2MaxConcurrentStreams) {
     HttpConfiguration httpConfig = new HttpConfiguration();
     httpConfig.setSecureScheme(HTTPS);
     httpConfig.setRequestHeaderSize(reqHeaderSize);
@@ -303,11 +375,32 @@ public final class JettyServer {
     SecureRequestCustomizer src = new SecureRequestCustomizer();
     httpConfig.addCustomizer(src);
     HttpConnectionFactory httpConnectionFactory = new HttpConnectionFactory(httpConfig);
-    SslConnectionFactory sslConnectionFactory =
-        new SslConnectionFactory(sslContextFactory, HTTP_PROTOCOL);
-    ServerConnector connector =
-        createServerConnector(
-            server, new ConnectionFactory[] {sslConnectionFactory, httpConnectionFactory});
+    ConnectionFactory[] connectionFactories;
+    if (enableHttp2) {
+      // Order the ciphers allowed by HTTP/2 first, or the browsers and clients may reject the
+      // negotiated cipher.
+      sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+      HTTP2ServerConnectionFactory http2ConnectionFactory =
+          new HTTP2ServerConnectionFactory(httpConfig);
+      http2ConnectionFactory.setMaxConcurrentStreams(http2MaxConcurrentStreams);
+      // The clients not supporting ALPN fall back to HTTP/1.1.
+      ALPNServerConnectionFactory alpnConnectionFactory = new ALPNServerConnectionFactory();
+      alpnConnectionFactory.setDefaultProtocol(HTTP_PROTOCOL);
+      SslConnectionFactory sslConnectionFactory =
+          new SslConnectionFactory(sslContextFactory, alpnConnectionFactory.getProtocol());
+      connectionFactories =
+          new ConnectionFactory[] {
+            sslConnectionFactory,
+            alpnConnectionFactory,
+            http2ConnectionFactory,
+            httpConnectionFactory
+          };
+    } else {
+      SslConnectionFactory sslConnectionFactory =
+          new SslConnectionFactory(sslContextFactory, HTTP_PROTOCOL);
+      connectionFactories = new ConnectionFactory[] {sslConnectionFactory, httpConnectionFactory};
+    }
+    ServerConnector connector = createServerConnector(server, connectionFactories);
     connector.setHost(host);
     connector.setPort(port);
     connector.setReuseAddress(true);
@@ -354,10 +447,57 @@ public final class JettyServer {
     return threadPool;
   }
 
+  /** Returns the port the connector listens on, the configured port may be 0 for any port. */
+  @VisibleForTesting
+  int getLocalPort() {
+    return getConnector().getLocalPort();
+  }
+
+  @VisibleForTesting
+  ServerConnector getConnector() {
+    return (ServerConnector) server.getConnectors()[0];
+  }
+
   public ThreadPool getThreadPool() {
     return server.getThreadPool();
   }
 
+  /**
+   * Add the filter tracking the requests in flight, which also limits the concurrent requests if
+   * it's enabled. It should be added after the filters rejecting the requests early.
+   *
+   * @param pathSpec the path of the requests to track
+   */
+  public void addConcurrencyLimitFilter(String pathSpec) {
+    FilterHolder filterHolder = new FilterHolder(concurrencyLimitFilter);
+    filterHolder.setAsyncSupported(true);
+    servletContextHandler.addFilter(filterHolder, pathSpec, EnumSet.of(DispatcherType.REQUEST));
+  }
+
+  public int getInFlightRequests() {
+    return concurrencyLimitFilter.getInFlightRequests();
+  }
+
+  public int getWaitingRequests() {
+    return concurrencyLimitFilter.getWaitingRequests();
+  }
+
+  public long getCompressedResponses() {
+    return gzipHandler.map(MeteredGzipHandler::getCompressedResponses).orElse(0L);
+  }
+
+  public long getUncompressedBytes() {
+    return gzipHandler.map(MeteredGzipHandler::getUncompressedBytes).orElse(0L);
+  }
+
+  public long getCompressedBytes() {
+    return gzipHandler.map(MeteredGzipHandler::getCompressedBytes).orElse(0L);
+  }
+
+  public long getCompressionNanos() {
+    return gzipHandler.map(MeteredGzipHandler::getCompressionNanos).orElse(0L);
+  }
+
   public void addCustomFilters(String pathSpec) {
     for (String filterName : serverConfig.getCustomFilters()) {
       if (StringUtils.isBlank(filterName)) {
@@ -365,6 +505,8 @@ public final class JettyServer {
       }
       FilterHolder filterHolder = new FilterHolder();
       filterHolder.setClassName(filterName);
+      // The custom filters, like the authentication filters, only act before the resources.
+      filterHolder.setAsyncSupported(true);
       for (Map.Entry<String, String> entry :
           serverConfig.getAllWithPrefix(String.format("%s.param.", filterName)).entrySet()) {
         filterHolder.setInitParameter(entry.getKey(), entry.getValue());
@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HttpOutput;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.util.Callback;
+
+/**
+ * A {@link GzipHandler} counting the bytes before and after compression and the time spent
+ * compressing. The bytes are counted by output interceptors around the gzip interceptor, the
+ * compression time is the time spent in the gzip interceptor excluding the writes to the network.
+ * It's exact for the blocking writes of the Iceberg REST responses.
+ */
+final class MeteredGzipHandler extends GzipHandler {
+  private static final String STATS_ATTRIBUTE = MeteredGzipHandler.class.getName() + ".stats";
+
+  private final LongAdder compressedResponses = new LongAdder();
+  private final LongAdder uncompressedBytes = new LongAdder();
+  private final LongAdder compressedBytes = new LongAdder();
+  private final LongAdder compressionNanos = new LongAdder();
+
+  @Override
+  public void setHandler(Handler handler) {
+    // GzipHandler installs its interceptor before calling the wrapped handler, so the interceptor
+    // installed by the wrapper sees the uncompressed bytes.
+    HandlerWrapper uncompressedCounter =
+        new HandlerWrapper() {
+          @Override
+          public void handle(
+              String target,
+              Request baseRequest,
+              HttpServletRequest request,
+              HttpServletResponse response)
+              throws IOException, ServletException {
+            ResponseStats stats = (ResponseStats) baseRequest.getAttribute(STATS_ATTRIBUTE);
+            if (stats != null) {
+              HttpOutput out = baseRequest.getResponse().getHttpOutput();
+              out.setInterceptor(new CountingInterceptor(out.getInterceptor(), stats, false));
+            }
+            super.handle(target, baseRequest, request, response);
+          }
+        };
+    uncompressedCounter.setHandler(handler);
+    super.setHandler(uncompressedCounter);
+  }
+
+  @Override
+  public void handle(
+      String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+      throws IOException, ServletException {
+    ResponseStats stats = new ResponseStats(baseRequest);
+    baseRequest.setAttribute(STATS_ATTRIBUTE, stats);
+    HttpOutput out = baseRequest.getResponse().getHttpOutput();
+    out.setInterceptor(new CountingInterceptor(out.getInterceptor(), stats, true));
+    super.handle(target, baseRequest, request, response);
+  }
+
+  long getCompressedResponses() {
+    return compressedResponses.sum();
+  }
+
+  long getUncompressedBytes() {
+    return uncompressedBytes.sum();
+  }
+
+  long getCompressedBytes() {
+    return compressedBytes.sum();
+  }
+
+  long getCompressionNanos() {
+    return compressionNanos.sum();
+  }
+
+  private final class ResponseStats {
+    private final Request baseRequest;
+    private long uncompressed;
+    private long compressed;
+    private long uncompressedWriteNanos;
+    private long compressedWriteNanos;
+
+    ResponseStats(Request baseRequest) {
+      this.baseRequest = baseRequest;
+    }
+
+    void complete() {
+      String contentEncoding =
+          baseRequest.getResponse().getHeader(HttpHeader.CONTENT_ENCODING.asString());
+      if (contentEncoding == null || !contentEncoding.contains("gzip")) {
+        return;
+      }
+      compressedResponses.increment();
+      uncompressedBytes.add(uncompressed);
+      compressedBytes.add(compressed);
+      compressionNanos.add(Math.max(0, uncompressedWriteNanos - compressedWriteNanos));
+    }
+  }
+
+  private static final class CountingInterceptor implements HttpOutput.Interceptor {
+    private final HttpOutput.Interceptor next;
+    private final ResponseStats stats;
+    // Whether the interceptor is next to the network, sees the compressed bytes.
+    private final boolean compressed;
+
+    CountingInterceptor(HttpOutput.Interceptor next, ResponseStats stats, boolean compressed) {
+      this.next = next;
+      this.stats = stats;
+      this.compressed = compressed;
+    }
+
+    @Override
+    public void write(ByteBuffer content, boolean last, Callback callback) {
+      int bytes = content == null ? 0 : content.remaining();
+      long start = System.nanoTime();
+      try {
+        next.write(content, last, callback);
+      } finally {
+        long elapsed = System.nanoTime() - start;
+        if (compressed) {
+          stats.compressed += bytes;
+          stats.compressedWriteNanos += elapsed;
+        } else {
+          stats.uncompressed += bytes;
+          stats.uncompressedWriteNanos += elapsed;
+          // The gzip interceptor writes its last compressed bytes within the last write to it.
+          if (last) {
+            stats.complete();
+          }
+        }
+      }
+    }
+
+    @Override
+    public HttpOutput.Interceptor getNextInterceptor() {
+      return next;
+    }
+
+    @Override
+    public boolean isOptimizedForDirectBuffers() {
+      return next.isOptimizedForDirectBuffers();
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.server;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+/**
+ * A Jetty thread pool starting a virtual thread per task, so a request blocked on the catalog
+ * backend doesn't hold a platform thread. The number of threads is unbounded, the concurrency of
+ * the requests is limited by {@link com.datastrato.aurora.web.filter.ConcurrencyLimitFilter}.
+ *
+ * <p>The virtual threads are created by reflection because the project targets Java 8, starting
+ * the pool fails on a JVM older than Java 21.
+ */
+final class VirtualThreadPool extends AbstractLifeCycle implements ThreadPool {
+
+  private final String name;
+  private final long stopTimeoutMillis;
+  private final AtomicInteger threads = new AtomicInteger();
+  private volatile ExecutorService executor;
+
+  VirtualThreadPool(String name, long stopTimeoutMillis) {
+    this.name = name;
+    this.stopTimeoutMillis = stopTimeoutMillis;
+  }
+
+  @Override
+  protected void doStart() throws Exception {
+    executor = newVirtualThreadPerTaskExecutor(name + "-virtual-");
+    super.doStart();
+  }
+
+  @Override
+  protected void doStop() throws Exception {
+    ExecutorService executorService = executor;
+    if (executorService != null) {
+      executorService.shutdown();
+      if (!executorService.awaitTermination(stopTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        executorService.shutdownNow();
+      }
+    }
+    super.doStop();
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    executor.execute(
+        () -> {
+          threads.incrementAndGet();
+          try {
+            task.run();
+          } finally {
+            threads.decrementAndGet();
+          }
+        });
+  }
+
+  @Override
+  public void join() throws InterruptedException {
+    ExecutorService executorService = executor;
+    if (executorService != null) {
+      while (!executorService.awaitTermination(1, TimeUnit.DAYS)) {
+        // Wait until the pool is stopped.
+      }
+    }
+  }
+
+  @Override
+  public int getThreads() {
+    return threads.get();
+  }
+
+  @Override
+  public int getIdleThreads() {
+    // A virtual thread exits once its task is done, it's never idle.
+    return 0;
+  }
+
+  @Override
+  public boolean isLowOnThreads() {
+    return false;
+  }
+
+  /**
+   * Whether the running JVM supports the virtual threads. They are a preview feature of Java 19 and
+   * 20, creating a builder fails there unless the preview features are enabled.
+   */
+  static boolean isSupported() {
+    try {
+      Thread.class.getMethod("ofVirtual").invoke(null);
+      return true;
+    } catch (ReflectiveOperationException e) {
+      return false;
+    }
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder =
+          builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+      ThreadFactory threadFactory =
+          (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      return (ExecutorService)
+          Executors.class
+              .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+              .invoke(null, threadFactory);
+    } catch (ReflectiveOperationException e) {
+      throw new UnsupportedOperationException(
+          "The virtual execution mode requires Java 21 or later, current Java version is "
+              + System.getProperty("java.version"),
+          e);
+    }
+  }
+}
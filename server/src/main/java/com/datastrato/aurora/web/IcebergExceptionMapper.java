@@ -21,6 +21,7 @@ package com.datastrato.aurora.web;
 
 import com.google.common.collect.ImmutableMap;
 import java.util.Map;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.ext.ExceptionMapper;
@@ -65,11 +66,20 @@ public class IcebergExceptionMapper implements ExceptionMapper<Exception> {
           .put(ServiceUnavailableException.class, 503)
           .build();
 
+  /**
+   * Get the HTTP status of the exception, the unexpected exceptions are internal server errors.
+   *
+   * @param ex the exception
+   * @return the HTTP status
+   */
+  public static int getErrorCode(Exception ex) {
+    return EXCEPTION_ERROR_CODES.getOrDefault(
+        ex.getClass(), Status.INTERNAL_SERVER_ERROR.getStatusCode());
+  }
+
   @Override
   public Response toResponse(Exception ex) {
-    int status =
-        EXCEPTION_ERROR_CODES.getOrDefault(
-            ex.getClass(), Status.INTERNAL_SERVER_ERROR.getStatusCode());
+    int status = getErrorCode(ex);
     if (status == Status.INTERNAL_SERVER_ERROR.getStatusCode()) {
       LOG.warn("Iceberg REST server unexpected exception:", ex);
     } else {
@@ -79,6 +89,12 @@ public class IcebergExceptionMapper implements ExceptionMapper<Exception> {
           ex.getClass(),
           ex.getMessage());
     }
-    return IcebergRestUtils.errorResponse(ex, status);
+    Response response = IcebergRestUtils.errorResponse(ex, status);
+    if (status == Status.SERVICE_UNAVAILABLE.getStatusCode()) {
+      return Response.fromResponse(response)
+          .header(HttpHeaders.RETRY_AFTER, IcebergRestUtils.DEFAULT_RETRY_AFTER_SECONDS)
+          .build();
+    }
+    return response;
   }
 }
@@ -4,22 +4,51 @@
  */
 package com.datastrato.aurora.web;
 
+import com.datastrato.aurora.iceberg.IcebergBackendExecutor;
+import com.datastrato.aurora.iceberg.SnapshotMode;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import org.apache.iceberg.exceptions.ServiceUnavailableException;
 import org.apache.iceberg.rest.responses.ErrorResponse;
+import org.apache.iceberg.rest.responses.ErrorResponseParser;
 
 public class IcebergRestUtils {
 
+  /** The seconds for the clients to wait before retrying the requests rejected with 503. */
+  public static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+
+  // Iceberg has no exception for 429, the type only describes the error to the clients.
+  private static final String TOO_MANY_REQUESTS_ERROR_TYPE = "TooManyRequestsException";
+
   private IcebergRestUtils() {}
 
   public static <T> Response ok(T t) {
     return Response.status(Response.Status.OK).entity(t).type(MediaType.APPLICATION_JSON).build();
   }
 
+  public static <T> Response ok(T t, EntityTag entityTag) {
+    return Response.status(Response.Status.OK)
+        .entity(t)
+        .type(MediaType.APPLICATION_JSON)
+        .tag(entityTag)
+        .build();
+  }
+
   public static Response okWithoutContent() {
     return Response.status(Response.Status.OK).build();
   }
@@ -33,17 +62,168 @@ public class IcebergRestUtils {
   }
 
   public static Response errorResponse(Exception ex, int httpStatus) {
+    return Response.status(httpStatus)
+        .entity(toErrorResponse(ex, httpStatus))
+        .type(MediaType.APPLICATION_JSON)
+        .build();
+  }
+
+  /**
+   * Build the error response of an operation failing in a batch, with the HTTP status the operation
+   * would get alone.
+   *
+   * @param ex the exception failing the operation
+   * @return the error response
+   */
+  public static ErrorResponse toErrorResponse(Exception ex) {
+    return toErrorResponse(ex, IcebergExceptionMapper.getErrorCode(ex));
+  }
+
+  public static ErrorResponse toErrorResponse(Exception ex, int httpStatus) {
+    return ErrorResponse.builder()
+        .responseCode(httpStatus)
+        .withType(ex.getClass().getSimpleName())
+        .withMessage(ex.getMessage())
+        .withStackTrace(ex)
+        .build();
+  }
+
+  /**
+   * Build the response of a suspended request in the backend executor, and resume the request with
+   * it. The exceptions are mapped by {@link IcebergExceptionMapper}, an operation rejected by the
+   * full backend executor is responded with 503.
+   *
+   * @param asyncResponse the suspended request
+   * @param backendExecutor the executor calling the catalog backend
+   * @param handler the function building the response
+   */
+  public static void resumeAsync(
+      AsyncResponse asyncResponse,
+      IcebergBackendExecutor backendExecutor,
+      Supplier<Response> handler) {
+    try {
+      backendExecutor.execute(
+          () -> {
+            try {
+              asyncResponse.resume(handler.get());
+            } catch (Throwable e) {
+              asyncResponse.resume(e);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      asyncResponse.resume(
+          new ServiceUnavailableException(
+              "Too many %s backend operations, please retry later",
+              backendExecutor.getBackendType()));
+    }
+  }
+
+  /**
+   * Reject a request with 503 outside of the resources, like in a servlet filter. The body is the
+   * error response of {@link ServiceUnavailableException}, which the Iceberg REST client raises.
+   *
+   * @param response the servlet response, not committed yet
+   * @param message the error message
+   * @param retryAfterSeconds the value of the Retry-After header
+   * @throws IOException if writing the response fails
+   */
+  public static void sendServiceUnavailable(
+      HttpServletResponse response, String message, long retryAfterSeconds) throws IOException {
+    sendError(
+        response,
+        HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+        ServiceUnavailableException.class.getSimpleName(),
+        message,
+        retryAfterSeconds);
+  }
+
+  /**
+   * Reject a throttled request with 429 outside of the resources, like in a servlet filter. The
+   * Iceberg REST client retries it after the Retry-After seconds.
+   *
+   * @param response the servlet response, not committed yet
+   * @param message the error message
+   * @param retryAfterSeconds the value of the Retry-After header
+   * @throws IOException if writing the response fails
+   */
+  public static void sendTooManyRequests(
+      HttpServletResponse response, String message, long retryAfterSeconds) throws IOException {
+    sendError(
+        response,
+        Status.TOO_MANY_REQUESTS.getStatusCode(),
+        TOO_MANY_REQUESTS_ERROR_TYPE,
+        message,
+        retryAfterSeconds);
+  }
+
+  private static void sendError(
+      HttpServletResponse response,
+      int httpStatus,
+      String errorType,
+      String message,
+      long retryAfterSeconds)
+      throws IOException {
     ErrorResponse errorResponse =
         ErrorResponse.builder()
             .responseCode(httpStatus)
-            .withType(ex.getClass().getSimpleName())
-            .withMessage(ex.getMessage())
-            .withStackTrace(ex)
+            .withType(errorType)
+            .withMessage(message)
             .build();
-    return Response.status(httpStatus)
-        .entity(errorResponse)
-        .type(MediaType.APPLICATION_JSON)
-        .build();
+    response.setStatus(httpStatus);
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    response.setContentType(MediaType.APPLICATION_JSON);
+    response
+        .getOutputStream()
+        .write(ErrorResponseParser.toJson(errorResponse).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Generate a strong entity tag for the table metadata. Every commit writes a new metadata file,
+   * so the metadata file location identifies the version of the table.
+   *
+   * @param metadataLocation the location of the current table metadata file
+   * @return the entity tag of the table metadata
+   */
+  public static EntityTag generateETag(String metadataLocation) {
+    return new EntityTag(
+        Hashing.sha256().hashString(metadataLocation, StandardCharsets.UTF_8).toString());
+  }
+
+  /**
+   * Generate a strong entity tag for the table metadata loaded with the snapshot mode, the
+   * representations with different snapshots must have different entity tags.
+   *
+   * @param metadataLocation the location of the current table metadata file
+   * @param snapshotMode the snapshots returned with the table metadata
+   * @return the entity tag of the table metadata
+   */
+  public static EntityTag generateETag(String metadataLocation, SnapshotMode snapshotMode) {
+    if (snapshotMode == SnapshotMode.ALL) {
+      return generateETag(metadataLocation);
+    }
+    return generateETag(
+        metadataLocation + "#snapshots=" + snapshotMode.name().toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * Parse an ISO-8601 instant of a query parameter, like `2024-01-01T00:00:00Z`.
+   *
+   * @param name the name of the query parameter
+   * @param value the value of the query parameter, may be null
+   * @param defaultValue the instant if the query parameter is absent
+   * @return the parsed instant
+   * @throws IllegalArgumentException if the value is not a valid instant
+   */
+  public static Instant parseInstant(String name, String value, Instant defaultValue) {
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Instant.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException(
+          String.format("Invalid %s: %s, should be an ISO-8601 instant", name, value), e);
+    }
   }
 
   public static Instant calculateNewTimestamp(Instant currentTimestamp, int hours) {
@@ -0,0 +1,122 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.filter;
+
+import com.datastrato.aurora.web.IcebergRestUtils;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Cap the concurrent requests of each operation class, and reject the excess requests immediately
+ * with 503 and Retry-After instead of queueing them. Reads and commits have separate caps, so a
+ * thundering herd of loadTable calls doesn't starve the commits.
+ */
+public class AdmissionControlFilter implements Filter {
+
+  /** The class of an Iceberg REST operation, each class has its own concurrency cap. */
+  public enum OperationClass {
+    /** The operations not changing the catalog, including the metrics reports and bulk loads. */
+    READ("read"),
+    /** The operations changing the catalog, like creating tables and committing table updates. */
+    COMMIT("commit");
+
+    private final String name;
+
+    OperationClass(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+  }
+
+  private static final String METRICS_PATH_SUFFIX = "/metrics";
+  private static final String BULK_LOAD_PATH_SUFFIX = "/tables/load";
+  private static final String NAMESPACES_PATH = "/namespaces/";
+
+  private final Map<OperationClass, Semaphore> permits = new EnumMap<>(OperationClass.class);
+  private final Map<OperationClass, LongAdder> rejectedCounts = new EnumMap<>(OperationClass.class);
+  private final Map<OperationClass, Integer> maxRequests = new EnumMap<>(OperationClass.class);
+  private final long retryAfterSeconds;
+
+  public AdmissionControlFilter(
+      int maxReadRequests, int maxCommitRequests, long retryAfterSeconds) {
+    Preconditions.checkArgument(maxReadRequests > 0, "maxReadRequests should be positive");
+    Preconditions.checkArgument(maxCommitRequests > 0, "maxCommitRequests should be positive");
+    maxRequests.put(OperationClass.READ, maxReadRequests);
+    maxRequests.put(OperationClass.COMMIT, maxCommitRequests);
+    for (OperationClass operationClass : OperationClass.values()) {
+      permits.put(operationClass, new Semaphore(maxRequests.get(operationClass)));
+      rejectedCounts.put(operationClass, new LongAdder());
+    }
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  @Override
+  public void init(FilterConfig filterConfig) {}
+
+  @Override
+  public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+    OperationClass operationClass = classify((HttpServletRequest) request);
+    Semaphore semaphore = permits.get(operationClass);
+    if (!semaphore.tryAcquire()) {
+      rejectedCounts.get(operationClass).increment();
+      IcebergRestUtils.sendServiceUnavailable(
+          (HttpServletResponse) response,
+          String.format(
+              "Too many concurrent %s requests, please retry later", operationClass.getName()),
+          retryAfterSeconds);
+      return;
+    }
+    // An asynchronous request holds the permit until its response is complete.
+    FilterUtils.doFilter(request, response, chain, semaphore::release);
+  }
+
+  @Override
+  public void destroy() {}
+
+  public int getInFlightRequests(OperationClass operationClass) {
+    return maxRequests.get(operationClass) - permits.get(operationClass).availablePermits();
+  }
+
+  public long getRejectedCount(OperationClass operationClass) {
+    return rejectedCounts.get(operationClass).sum();
+  }
+
+  @VisibleForTesting
+  static OperationClass classify(HttpServletRequest request) {
+    String method = request.getMethod();
+    if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+      return OperationClass.READ;
+    }
+    // Reporting metrics is a POST, but it only enqueues the report.
+    String uri = request.getRequestURI();
+    if (uri != null && uri.endsWith(METRICS_PATH_SUFFIX)) {
+      return OperationClass.READ;
+    }
+    // Loading tables in bulk is a POST too, unlike updating a table named "load" of a namespace.
+    if (uri != null
+        && uri.endsWith(BULK_LOAD_PATH_SUFFIX)
+        && uri.contains(NAMESPACES_PATH) == false) {
+      return OperationClass.READ;
+    }
+    return OperationClass.COMMIT;
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.filter;
+
+import com.datastrato.aurora.web.IcebergRestUtils;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Track the requests in flight and optionally limit how many of them are handled concurrently. A
+ * request waits up to the wait time for a permit, then it's rejected with 503, which the Iceberg
+ * REST client retries as a {@code ServiceUnavailableException}. An asynchronous request is in
+ * flight until its response is complete.
+ */
+public class ConcurrencyLimitFilter implements Filter {
+
+  private final Optional<Semaphore> permits;
+  private final long waitMillis;
+  private final AtomicInteger inFlightRequests = new AtomicInteger();
+  private final AtomicInteger waitingRequests = new AtomicInteger();
+
+  /** Only track the requests in flight, the concurrency is limited by the thread pool. */
+  public ConcurrencyLimitFilter() {
+    this.permits = Optional.empty();
+    this.waitMillis = 0;
+  }
+
+  public ConcurrencyLimitFilter(int maxConcurrentRequests, long waitMillis) {
+    Preconditions.checkArgument(
+        maxConcurrentRequests > 0,
+        "maxConcurrentRequests should be positive, but got %s",
+        maxConcurrentRequests);
+    this.permits = Optional.of(new Semaphore(maxConcurrentRequests, true));
+    this.waitMillis = waitMillis;
+  }
+
+  @Override
+  public void init(FilterConfig filterConfig) {}
+
+  @Override
+  public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+    if (!acquire()) {
+      IcebergRestUtils.sendServiceUnavailable(
+          (HttpServletResponse) response,
+          "Too many concurrent requests, please retry later",
+          IcebergRestUtils.DEFAULT_RETRY_AFTER_SECONDS);
+      return;
+    }
+    inFlightRequests.incrementAndGet();
+    FilterUtils.doFilter(
+        request,
+        response,
+        chain,
+        () -> {
+          inFlightRequests.decrementAndGet();
+          permits.ifPresent(Semaphore::release);
+        });
+  }
+
+  @Override
+  public void destroy() {}
+
+  public int getInFlightRequests() {
+    return inFlightRequests.get();
+  }
+
+  public int getWaitingRequests() {
+    return waitingRequests.get();
+  }
+
+  private boolean acquire() {
+    if (!permits.isPresent()) {
+      return true;
+    }
+    Semaphore semaphore = permits.get();
+    if (semaphore.tryAcquire()) {
+      return true;
+    }
+    waitingRequests.incrementAndGet();
+    try {
+      return semaphore.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      waitingRequests.decrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.filter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+final class FilterUtils {
+
+  private FilterUtils() {}
+
+  /**
+   * Pass the request down the chain, and run the callback once the response is complete. The
+   * response of an asynchronous request is completed by the backend executor after the chain
+   * returns, so the callback is run by the async listener then.
+   *
+   * @param request the request to pass
+   * @param response the response to pass
+   * @param chain the filter chain
+   * @param onComplete the callback run exactly once
+   * @throws IOException if the chain fails
+   * @throws ServletException if the chain fails
+   */
+  static void doFilter(
+      ServletRequest request, ServletResponse response, FilterChain chain, Runnable onComplete)
+      throws IOException, ServletException {
+    AtomicBoolean completed = new AtomicBoolean();
+    Runnable completeOnce =
+        () -> {
+          if (completed.compareAndSet(false, true)) {
+            onComplete.run();
+          }
+        };
+    boolean async = false;
+    try {
+      chain.doFilter(request, response);
+      async = request.isAsyncStarted() && addCompletionListener(request, completeOnce);
+    } finally {
+      if (!async) {
+        completeOnce.run();
+      }
+    }
+  }
+
+  private static boolean addCompletionListener(ServletRequest request, Runnable onComplete) {
+    try {
+      request.getAsyncContext().addListener(new CompletionListener(onComplete));
+      return true;
+    } catch (IllegalStateException e) {
+      // The asynchronous request is already complete.
+      return false;
+    }
+  }
+
+  private static final class CompletionListener implements AsyncListener {
+    private final Runnable onComplete;
+
+    CompletionListener(Runnable onComplete) {
+      this.onComplete = onComplete;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      onComplete.run();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      onComplete.run();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      onComplete.run();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {}
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.filter;
+
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.RateLimitMetricsSource;
+import com.datastrato.aurora.web.IcebergRestUtils;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Throttle the requests of each client and of each namespace with token buckets, the throttled
+ * requests are rejected with 429 and Retry-After. A client is identified by its principal or its
+ * remote address, a namespace by the catalog prefix and its first level, so a client listing the
+ * tables in a loop can't take over the server.
+ *
+ * <p>The principal is only known after the authentication filters, this filter must be added after
+ * them. The clients without a principal behind the same proxy share the bucket of its address.
+ *
+ * <p>The buckets are kept in a cache bounded by the max keys, the idle keys are evicted and their
+ * throttled counters are removed.
+ */
+public class RateLimitFilter implements Filter {
+
+  /** The scope of a rate limit key, each scope has its own rate and burst. */
+  public enum KeyScope {
+    /** The requests of a client, identified by its principal or remote address. */
+    CLIENT("client"),
+    /** The requests under a namespace, identified by the catalog prefix and its first level. */
+    NAMESPACE("namespace");
+
+    private final String name;
+
+    KeyScope(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+  }
+
+  private static final Pattern NAMESPACE_PATH_PATTERN =
+      Pattern.compile("/v1/(?:([^/]+)/)?namespaces/([^/]+)");
+  // The separator of the namespace levels in the path, see Iceberg RESTUtil.
+  private static final String NAMESPACE_LEVEL_SEPARATOR = "\u001f";
+
+  private final Map<KeyScope, Cache<String, TokenBucket>> buckets = new EnumMap<>(KeyScope.class);
+  private final Map<KeyScope, Integer> permitsPerSecond = new EnumMap<>(KeyScope.class);
+  private final Map<KeyScope, Integer> bursts = new EnumMap<>(KeyScope.class);
+  private final RateLimitMetricsSource metricsSource;
+  private final Ticker ticker;
+
+  public RateLimitFilter(
+      int clientPermitsPerSecond,
+      int clientBurst,
+      int namespacePermitsPerSecond,
+      int namespaceBurst,
+      int maxKeys,
+      long idleExpireSeconds,
+      RateLimitMetricsSource metricsSource) {
+    this(
+        clientPermitsPerSecond,
+        clientBurst,
+        namespacePermitsPerSecond,
+        namespaceBurst,
+        maxKeys,
+        idleExpireSeconds,
+        metricsSource,
+        Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  RateLimitFilter(
+      int clientPermitsPerSecond,
+      int clientBurst,
+      int namespacePermitsPerSecond,
+      int namespaceBurst,
+      int maxKeys,
+      long idleExpireSeconds,
+      RateLimitMetricsSource metricsSource,
+      Ticker ticker) {
+    Preconditions.checkArgument(maxKeys > 0, "maxKeys should be positive");
+    Preconditions.checkArgument(idleExpireSeconds > 0, "idleExpireSeconds should be positive");
+    permitsPerSecond.put(KeyScope.CLIENT, clientPermitsPerSecond);
+    permitsPerSecond.put(KeyScope.NAMESPACE, namespacePermitsPerSecond);
+    bursts.put(KeyScope.CLIENT, clientBurst);
+    bursts.put(KeyScope.NAMESPACE, namespaceBurst);
+    this.metricsSource = metricsSource;
+    this.ticker = ticker;
+    for (KeyScope scope : KeyScope.values()) {
+      Cache<String, TokenBucket> cache =
+          CacheBuilder.newBuilder()
+              .maximumSize(maxKeys)
+              .expireAfterAccess(idleExpireSeconds, TimeUnit.SECONDS)
+              .ticker(ticker)
+              .<String, TokenBucket>removalListener(
+                  notification ->
+                      metricsSource.removeThrottledCount(scope.getName(), notification.getKey()))
+              .build();
+      buckets.put(scope, cache);
+      metricsSource.registerGauge(
+          String.format(MetricNames.RATE_LIMIT_TRACKED_KEY_NUM_FORMAT, scope.getName()),
+          cache::size);
+    }
+  }
+
+  @Override
+  public void init(FilterConfig filterConfig) {}
+
+  @Override
+  public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+    HttpServletRequest httpRequest = (HttpServletRequest) request;
+    if (tryAcquire(KeyScope.CLIENT, getClientKey(httpRequest), (HttpServletResponse) response)
+        && tryAcquire(
+            KeyScope.NAMESPACE, getNamespaceKey(httpRequest), (HttpServletResponse) response)) {
+      chain.doFilter(request, response);
+    }
+  }
+
+  @Override
+  public void destroy() {}
+
+  @VisibleForTesting
+  long getTrackedKeys(KeyScope scope) {
+    Cache<String, TokenBucket> cache = buckets.get(scope);
+    cache.cleanUp();
+    return cache.size();
+  }
+
+  @VisibleForTesting
+  static String getClientKey(HttpServletRequest request) {
+    Principal principal = request.getUserPrincipal();
+    if (principal != null && principal.getName() != null) {
+      return principal.getName();
+    }
+    return request.getRemoteAddr();
+  }
+
+  /** Returns the namespace key of the request, or null if it's not under a namespace. */
+  @VisibleForTesting
+  static String getNamespaceKey(HttpServletRequest request) {
+    String uri = request.getRequestURI();
+    if (uri == null) {
+      return null;
+    }
+    Matcher matcher = NAMESPACE_PATH_PATTERN.matcher(uri);
+    if (!matcher.find()) {
+      return null;
+    }
+    String namespace;
+    try {
+      namespace = URLDecoder.decode(matcher.group(2), StandardCharsets.UTF_8.name());
+    } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+      namespace = matcher.group(2);
+    }
+    int separator = namespace.indexOf(NAMESPACE_LEVEL_SEPARATOR);
+    String firstLevel = separator < 0 ? namespace : namespace.substring(0, separator);
+    String prefix = matcher.group(1);
+    return prefix == null ? firstLevel : prefix + "/" + firstLevel;
+  }
+
+  private boolean tryAcquire(KeyScope scope, String key, HttpServletResponse response)
+      throws IOException {
+    if (key == null) {
+      return true;
+    }
+    TokenBucket bucket = getBucket(scope, key);
+    long waitNanos = bucket.tryAcquire(now());
+    if (waitNanos == 0) {
+      return true;
+    }
+    metricsSource.incThrottledCount(scope.getName(), key);
+    long retryAfterSeconds =
+        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    IcebergRestUtils.sendTooManyRequests(
+        response,
+        String.format("Too many requests of %s %s, please retry later", scope.getName(), key),
+        retryAfterSeconds);
+    return false;
+  }
+
+  private TokenBucket getBucket(KeyScope scope, String key) {
+    Cache<String, TokenBucket> cache = buckets.get(scope);
+    // Only a new key takes the lock of the cache, the existing keys are looked up without it.
+    TokenBucket bucket = cache.getIfPresent(key);
+    if (bucket != null) {
+      return bucket;
+    }
+    TokenBucket newBucket =
+        new TokenBucket(permitsPerSecond.get(scope), bursts.get(scope), now());
+    TokenBucket existingBucket = cache.asMap().putIfAbsent(key, newBucket);
+    return existingBucket == null ? newBucket : existingBucket;
+  }
+
+  private long now() {
+    return ticker.read();
+  }
+}
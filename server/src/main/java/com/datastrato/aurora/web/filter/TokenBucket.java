@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.filter;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket. It's kept as the time the bucket would be full again, the generic cell
+ * rate algorithm, so taking a token is a single compare-and-set of one long.
+ */
+final class TokenBucket {
+  private final long nanosPerToken;
+  private final long capacityNanos;
+  // The time when the bucket is full, the bucket is full if it's before now.
+  private final AtomicLong fullAtNanos;
+
+  TokenBucket(int permitsPerSecond, int burst, long nowNanos) {
+    Preconditions.checkArgument(permitsPerSecond > 0, "permitsPerSecond should be positive");
+    Preconditions.checkArgument(burst > 0, "burst should be positive");
+    this.nanosPerToken = Math.max(1, TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    this.capacityNanos = nanosPerToken * burst;
+    this.fullAtNanos = new AtomicLong(nowNanos);
+  }
+
+  /**
+   * Take a token from the bucket.
+   *
+   * @param nowNanos the current time in nanoseconds, from {@link System#nanoTime()}
+   * @return 0 if a token is taken, otherwise the nanoseconds until a token is available
+   */
+  long tryAcquire(long nowNanos) {
+    while (true) {
+      long fullAt = fullAtNanos.get();
+      long nextFullAt = Math.max(fullAt, nowNanos) + nanosPerToken;
+      long deficitNanos = nextFullAt - nowNanos - capacityNanos;
+      if (deficitNanos > 0) {
+        return deficitNanos;
+      }
+      if (fullAtNanos.compareAndSet(fullAt, nextFullAt)) {
+        return 0;
+      }
+    }
+  }
+}
@@ -0,0 +1,27 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import org.apache.iceberg.metrics.MetricsReport;
+
+/** Drop the report rejected by the full queue, the queued reports are kept. */
+public class DropNewestOverflowPolicy implements MetricsQueueOverflowPolicy {
+  public static final String DROP_NEWEST_POLICY_NAME = "drop-newest";
+
+  @Override
+  public void init(
+      Map<String, String> properties,
+      BlockingQueue<MetricsReport> queue,
+      MetricsSource metricsSource) {}
+
+  @Override
+  public boolean onOverflow(MetricsReport metricsReport) {
+    return true;
+  }
+}
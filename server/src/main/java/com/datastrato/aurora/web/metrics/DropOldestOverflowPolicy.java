@@ -0,0 +1,38 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import org.apache.iceberg.metrics.MetricsReport;
+
+/** Evict the oldest queued report to make room for the rejected one, favoring recent metrics. */
+public class DropOldestOverflowPolicy implements MetricsQueueOverflowPolicy {
+  public static final String DROP_OLDEST_POLICY_NAME = "drop-oldest";
+
+  private BlockingQueue<MetricsReport> queue;
+
+  @Override
+  public void init(
+      Map<String, String> properties,
+      BlockingQueue<MetricsReport> queue,
+      MetricsSource metricsSource) {
+    this.queue = queue;
+  }
+
+  @Override
+  public boolean onOverflow(MetricsReport metricsReport) {
+    return replaceOldest(queue, metricsReport);
+  }
+
+  // Other request threads may take the freed slot first, so the new report is dropped if it still
+  // doesn't fit after evicting one report.
+  static boolean replaceOldest(BlockingQueue<MetricsReport> queue, MetricsReport metricsReport) {
+    boolean evicted = queue.poll() != null;
+    return queue.offer(metricsReport) == false || evicted;
+  }
+}
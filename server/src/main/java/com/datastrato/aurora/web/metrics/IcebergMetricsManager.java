@@ -5,14 +5,21 @@
 
 package com.datastrato.aurora.web.metrics;
 
+import com.codahale.metrics.Counter;
 import com.datastrato.aurora.config.IcebergServerConfig;
 import com.datastrato.aurora.iceberg.IcebergTableOps;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.IcebergMetricsQueueMetricsSource;
+import com.datastrato.aurora.metrics.source.MetricsSource;
 import com.datastrato.aurora.web.IcebergRestUtils;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -28,6 +35,9 @@ public class IcebergMetricsManager {
   public static final String ICEBERG_METRICS_STORE = "metricsStore";
   public static final String ICEBERG_METRICS_STORE_RETAIN_DAYS = "metricsStoreRetainDays";
   public static final String ICEBERG_METRICS_QUEUE_CAPACITY = "metricsQueueCapacity";
+  public static final String ICEBERG_METRICS_QUEUE_OVERFLOW_POLICY = "metricsQueueOverflowPolicy";
+  public static final String ICEBERG_METRICS_WRITE_BATCH_SIZE = "metricsWriteBatchSize";
+  public static final String ICEBERG_METRICS_WRITE_LINGER_MS = "metricsWriteLingerMs";
 
   // Register IcebergMetricsStore's short name to its full qualified class name in the map. So
   // that user doesn't need to specify the full qualified class name when creating an
@@ -35,11 +45,35 @@ public class IcebergMetricsManager {
   private static final ImmutableMap<String, String> ICEBERG_METRICS_STORE_NAMES =
       ImmutableMap.of(
           DummyMetricsStore.ICEBERG_METRICS_STORE_DUMMY_NAME,
-          DummyMetricsStore.class.getCanonicalName());
+          DummyMetricsStore.class.getCanonicalName(),
+          JdbcMetricsStore.ICEBERG_METRICS_STORE_JDBC_NAME,
+          JdbcMetricsStore.class.getCanonicalName(),
+          LocalFileMetricsStore.ICEBERG_METRICS_STORE_LOCAL_FILE_NAME,
+          LocalFileMetricsStore.class.getCanonicalName());
+
+  private static final ImmutableMap<String, String> ICEBERG_METRICS_QUEUE_OVERFLOW_POLICY_NAMES =
+      ImmutableMap.of(
+          DropNewestOverflowPolicy.DROP_NEWEST_POLICY_NAME,
+          DropNewestOverflowPolicy.class.getCanonicalName(),
+          DropOldestOverflowPolicy.DROP_OLDEST_POLICY_NAME,
+          DropOldestOverflowPolicy.class.getCanonicalName(),
+          SampleOverflowPolicy.SAMPLE_POLICY_NAME,
+          SampleOverflowPolicy.class.getCanonicalName(),
+          SpillOverflowPolicy.SPILL_POLICY_NAME,
+          SpillOverflowPolicy.class.getCanonicalName());
+
+  // The interval for the writer thread to replay the reports deferred by the overflow policy when
+  // no report arrives.
+  private static final long REPLAY_INTERVAL_MS = 1000;
 
   private final IcebergMetricsFormatter icebergMetricsFormatter;
   private final IcebergMetricsStore icebergMetricsStore;
+  private final MetricsQueueOverflowPolicy overflowPolicy;
+  private final IcebergMetricsQueueMetricsSource metricsSource;
+  private final Counter droppedCounter;
   private final int retainDays;
+  private final int writeBatchSize;
+  private final long writeLingerNanos;
 
   private BlockingQueue<MetricsReport> queue;
   private Thread metricsWriterThread;
@@ -71,8 +105,26 @@ public class IcebergMetricsManager {
                       .build()));
     }
 
+    writeBatchSize = icebergConfig.get(IcebergServerConfig.ICEBERG_METRICS_WRITE_BATCH_SIZE);
+    writeLingerNanos =
+        TimeUnit.MILLISECONDS.toNanos(
+            icebergConfig.get(IcebergServerConfig.ICEBERG_METRICS_WRITE_LINGER_MS));
+
     int queueCapacity = icebergConfig.get(IcebergServerConfig.ICEBERG_METRICS_QUEUE_CAPACITY);
     queue = new LinkedBlockingQueue(queueCapacity);
+    metricsSource = new IcebergMetricsQueueMetricsSource();
+    metricsSource.registerGauge(MetricNames.METRICS_QUEUE_DEPTH, queue::size);
+    droppedCounter = metricsSource.getCounter(MetricNames.METRICS_QUEUE_DROPPED_COUNT);
+    overflowPolicy =
+        loadOverflowPolicy(
+            icebergConfig.get(IcebergServerConfig.ICEBERG_METRICS_QUEUE_OVERFLOW_POLICY));
+    try {
+      overflowPolicy.init(icebergConfig.getAllConfig(), queue, metricsSource);
+    } catch (IOException e) {
+      LOG.warn("Iceberg metrics queue overflow policy init failed.", e);
+      throw new RuntimeException(e);
+    }
+
     metricsWriterThread = new Thread(() -> writeMetrics());
     metricsWriterThread.setName("Iceberg-metrics-writer");
     metricsWriterThread.setDaemon(true);
@@ -101,11 +153,13 @@ public class IcebergMetricsManager {
 
   public void recordMetric(MetricsReport metricsReport) {
     if (isClosed) {
+      droppedCounter.inc();
       logMetrics("Drop Iceberg metrics because Iceberg Metrics Manager is closed.", metricsReport);
       return;
     }
-    if (queue.offer(metricsReport) == false) {
-      logMetrics("Drop Iceberg metrics because metrics queue is full.", metricsReport);
+    // Format nothing on overflow, it happens in bursts when logging costs more than the write.
+    if (queue.offer(metricsReport) == false && overflowPolicy.onOverflow(metricsReport)) {
+      droppedCounter.inc();
     }
   }
 
@@ -129,6 +183,60 @@ public class IcebergMetricsManager {
         LOG.warn("Iceberg metrics manager is interrupted while join metrics writer thread.");
       }
     }
+
+    try {
+      overflowPolicy.close();
+    } catch (IOException e) {
+      LOG.warn("Close Iceberg metrics queue overflow policy failed.", e);
+    }
+  }
+
+  /**
+   * Aggregate the scan metrics of a table recorded in the time window.
+   *
+   * @param tableName the table name the scan reports were recorded with
+   * @param from the inclusive start of the time window
+   * @param to the exclusive end of the time window
+   * @return the summary of the scan metrics
+   * @throws UnsupportedOperationException if the metrics store doesn't support query
+   */
+  public ScanMetricsSummary summarizeScanMetrics(String tableName, Instant from, Instant to) {
+    try {
+      return getMetricsQuery().summarizeScanMetrics(tableName, from, to);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Aggregate the scan metrics of the tables scanning the most data files in the time window.
+   *
+   * @param from the inclusive start of the time window
+   * @param to the exclusive end of the time window
+   * @param limit the max number of tables to return
+   * @return the summaries of the scan metrics
+   * @throws UnsupportedOperationException if the metrics store doesn't support query
+   */
+  public List<ScanMetricsSummary> summarizeScanMetrics(Instant from, Instant to, int limit) {
+    try {
+      return getMetricsQuery().summarizeScanMetrics(from, to, limit);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private SupportsMetricsQuery getMetricsQuery() {
+    if (icebergMetricsStore instanceof SupportsMetricsQuery) {
+      return (SupportsMetricsQuery) icebergMetricsStore;
+    }
+    throw new UnsupportedOperationException(
+        "Iceberg metrics store "
+            + icebergMetricsStore.getClass().getSimpleName()
+            + " doesn't support query");
+  }
+
+  public MetricsSource getMetricsSource() {
+    return metricsSource;
   }
 
   @VisibleForTesting
@@ -137,19 +245,29 @@ public class IcebergMetricsManager {
   }
 
   private void writeMetrics() {
+    List<MetricsReport> batch = new ArrayList<>(writeBatchSize);
     while (Thread.currentThread().isInterrupted() == false) {
-      MetricsReport metricsReport;
       try {
-        metricsReport = queue.take();
+        MetricsReport metricsReport = queue.poll(REPLAY_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (metricsReport != null) {
+          batch.add(metricsReport);
+          fillBatch(batch);
+        }
       } catch (InterruptedException e) {
         LOG.warn("Iceberg Metrics writer thread is interrupted.");
         break;
       }
-      if (metricsReport != null) {
-        doRecordMetric(metricsReport);
+      if (!batch.isEmpty()) {
+        doRecordMetrics(batch);
+        batch.clear();
       }
+      replayOverflowMetrics();
     }
 
+    batch.forEach(
+        metricsReport ->
+            logMetrics(
+                "Drop Iceberg metrics because it's time to close metrics store.", metricsReport));
     MetricsReport metricsReport = queue.poll();
     while (metricsReport != null) {
       logMetrics("Drop Iceberg metrics because it's time to close metrics store.", metricsReport);
@@ -157,6 +275,26 @@ public class IcebergMetricsManager {
     }
   }
 
+  // Group the reports arriving within the linger time after the first one into one batch, so the
+  // store writes them with one round-trip.
+  private void fillBatch(List<MetricsReport> batch) throws InterruptedException {
+    long deadline = System.nanoTime() + writeLingerNanos;
+    while (batch.size() < writeBatchSize) {
+      if (queue.drainTo(batch, writeBatchSize - batch.size()) > 0) {
+        continue;
+      }
+      long remainingNanos = deadline - System.nanoTime();
+      if (remainingNanos <= 0) {
+        return;
+      }
+      MetricsReport metricsReport = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+      if (metricsReport == null) {
+        return;
+      }
+      batch.add(metricsReport);
+    }
+  }
+
   private IcebergMetricsStore loadIcebergMetricsStore(String metricsStoreName) {
     if (metricsStoreName == null) {
       metricsStoreName = DummyMetricsStore.ICEBERG_METRICS_STORE_DUMMY_NAME;
@@ -174,15 +312,37 @@ public class IcebergMetricsManager {
     }
   }
 
+  private MetricsQueueOverflowPolicy loadOverflowPolicy(String policyName) {
+    String policyClass =
+        ICEBERG_METRICS_QUEUE_OVERFLOW_POLICY_NAMES.getOrDefault(policyName, policyName);
+    LOG.info("Load Iceberg metrics queue overflow policy: {}.", policyClass);
+    try {
+      return (MetricsQueueOverflowPolicy)
+          Class.forName(policyClass).getDeclaredConstructor().newInstance();
+    } catch (Exception e) {
+      LOG.error(
+          "Failed to create Iceberg metrics queue overflow policy by name {}.", policyName, e);
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void replayOverflowMetrics() {
+    try {
+      overflowPolicy.replay();
+    } catch (Exception e) {
+      LOG.warn("Replay the overflowed Iceberg metrics failed.", e);
+    }
+  }
+
   private void logMetrics(String message, MetricsReport metricsReport) {
     LOG.info("{} {}.", message, icebergMetricsFormatter.toPrintableString(metricsReport));
   }
 
-  private void doRecordMetric(MetricsReport metricsReport) {
+  private void doRecordMetrics(List<MetricsReport> metricsReports) {
     try {
-      icebergMetricsStore.recordMetric(metricsReport);
+      icebergMetricsStore.recordMetrics(metricsReports);
     } catch (Exception e) {
-      LOG.warn("Write Iceberg metrics failed.", e);
+      LOG.warn("Write {} Iceberg metrics failed.", metricsReports.size(), e);
     }
   }
 }
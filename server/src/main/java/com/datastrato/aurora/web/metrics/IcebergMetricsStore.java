@@ -7,6 +7,7 @@ package com.datastrato.aurora.web.metrics;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import org.apache.iceberg.metrics.MetricsReport;
 
@@ -29,6 +30,19 @@ public interface IcebergMetricsStore {
    */
   void recordMetric(MetricsReport metricsReport) throws IOException;
 
+  /**
+   * Record a batch of metrics reports, the store could override it to save the batch with one IO
+   * round-trip. The list is reused by the caller after this method returns.
+   *
+   * @param metricsReports the metrics to be saved
+   * @throws IOException if IO error happens
+   */
+  default void recordMetrics(List<MetricsReport> metricsReports) throws IOException {
+    for (MetricsReport metricsReport : metricsReports) {
+      recordMetric(metricsReport);
+    }
+  }
+
   /**
    * Clean the expired Iceberg metrics
    *
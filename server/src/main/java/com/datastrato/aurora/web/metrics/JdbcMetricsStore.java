@@ -0,0 +1,514 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.iceberg.metrics.CommitMetricsResult;
+import org.apache.iceberg.metrics.CommitReport;
+import org.apache.iceberg.metrics.CommitReportParser;
+import org.apache.iceberg.metrics.CounterResult;
+import org.apache.iceberg.metrics.MetricsReport;
+import org.apache.iceberg.metrics.ScanMetricsResult;
+import org.apache.iceberg.metrics.ScanReport;
+import org.apache.iceberg.metrics.ScanReportParser;
+import org.apache.iceberg.metrics.TimerResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Save Iceberg metrics to a relational database through JDBC. The reports are partitioned by the
+ * UTC day they are recorded in, each day has its own scan and commit tables like
+ * `iceberg_scan_metrics_20240101`, so cleaning the expired metrics drops whole tables.
+ *
+ * <p>The writer keeps one connection. Each query opens its own connection and doesn't take the lock
+ * of the writer, so a long query doesn't stall the writer and overflow the metrics queue. The
+ * database must be shared by the connections, an in-memory database of the driver isn't.
+ */
+public class JdbcMetricsStore implements IcebergMetricsStore, SupportsMetricsQuery {
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcMetricsStore.class);
+
+  public static final String ICEBERG_METRICS_STORE_JDBC_NAME = "jdbc";
+  public static final String ICEBERG_METRICS_STORE_JDBC_URI = "metricsStoreJdbcUri";
+  public static final String ICEBERG_METRICS_STORE_JDBC_USER = "metricsStoreJdbcUser";
+  public static final String ICEBERG_METRICS_STORE_JDBC_PASSWORD = "metricsStoreJdbcPassword";
+  public static final String ICEBERG_METRICS_STORE_JDBC_DRIVER = "metricsStoreJdbcDriver";
+
+  static final String SCAN_METRICS_TABLE_PREFIX = "iceberg_scan_metrics_";
+  static final String COMMIT_METRICS_TABLE_PREFIX = "iceberg_commit_metrics_";
+
+  private static final DateTimeFormatter PARTITION_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+  private static final String PARTITION_TABLES_LIKE = "iceberg_%_metrics_%";
+  // The names are kept in lower case, the unquoted names in the SQL don't depend on the case.
+  private static final Pattern PARTITION_TABLE_PATTERN =
+      Pattern.compile("^iceberg_(scan|commit)_metrics_(\\d{8})$");
+
+  private static final String CREATE_SCAN_METRICS_TABLE_SQL =
+      "CREATE TABLE %s ("
+          + "timestamp_ms BIGINT NOT NULL,"
+          + "table_name VARCHAR(1024) NOT NULL,"
+          + "snapshot_id BIGINT,"
+          + "total_planning_duration_ms BIGINT,"
+          + "result_data_files BIGINT,"
+          + "result_delete_files BIGINT,"
+          + "total_data_manifests BIGINT,"
+          + "skipped_data_files BIGINT,"
+          + "skipped_data_manifests BIGINT,"
+          + "total_file_size_bytes BIGINT,"
+          + "report TEXT NOT NULL)";
+  private static final String INSERT_SCAN_METRICS_SQL =
+      "INSERT INTO %s (timestamp_ms, table_name, snapshot_id, total_planning_duration_ms,"
+          + " result_data_files, result_delete_files, total_data_manifests, skipped_data_files,"
+          + " skipped_data_manifests, total_file_size_bytes, report)"
+          + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String CREATE_COMMIT_METRICS_TABLE_SQL =
+      "CREATE TABLE %s ("
+          + "timestamp_ms BIGINT NOT NULL,"
+          + "table_name VARCHAR(1024) NOT NULL,"
+          + "snapshot_id BIGINT,"
+          + "sequence_number BIGINT,"
+          + "operation VARCHAR(64),"
+          + "total_duration_ms BIGINT,"
+          + "attempts BIGINT,"
+          + "added_data_files BIGINT,"
+          + "added_records BIGINT,"
+          + "report TEXT NOT NULL)";
+  private static final String INSERT_COMMIT_METRICS_SQL =
+      "INSERT INTO %s (timestamp_ms, table_name, snapshot_id, sequence_number, operation,"
+          + " total_duration_ms, attempts, added_data_files, added_records, report)"
+          + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String CREATE_INDEX_SQL = "CREATE INDEX %s_idx ON %s (table_name)";
+
+  // Aggregate the scans of the window, %s is the union of the scans in the partition tables.
+  private static final String AGGREGATE_SCAN_METRICS_SQL =
+      "SELECT table_name, COUNT(*), MAX(total_planning_duration_ms), SUM(result_data_files),"
+          + " SUM(result_delete_files), SUM(total_file_size_bytes), SUM(total_data_manifests),"
+          + " SUM(skipped_data_manifests) FROM (%s) scans GROUP BY table_name"
+          + " ORDER BY SUM(result_data_files) DESC LIMIT ?";
+
+  // The nearest-rank percentiles of the planning duration, the percentile p is the smallest
+  // duration whose rank is not less than p * count.
+  private static final String PLANNING_DURATION_PERCENTILES_SQL =
+      "SELECT table_name,"
+          + " MIN(CASE WHEN rn >= 0.5 * cnt THEN duration END),"
+          + " MIN(CASE WHEN rn >= 0.9 * cnt THEN duration END),"
+          + " MIN(CASE WHEN rn >= 0.99 * cnt THEN duration END)"
+          + " FROM (SELECT table_name, total_planning_duration_ms AS duration,"
+          + " ROW_NUMBER() OVER"
+          + " (PARTITION BY table_name ORDER BY total_planning_duration_ms) AS rn,"
+          + " COUNT(*) OVER (PARTITION BY table_name) AS cnt"
+          + " FROM (%s) scans"
+          + " WHERE total_planning_duration_ms IS NOT NULL AND table_name IN (%s)) ranked"
+          + " GROUP BY table_name";
+
+  private volatile String jdbcUri;
+  private volatile Properties connectionProperties;
+  private Connection connection;
+  // The partition tables known to exist, so the writer checks the database only once a day.
+  private final Set<String> partitionTables = new HashSet<>();
+
+  @Override
+  public void init(Map<String, String> properties) throws IOException {
+    IcebergServerConfig config = new IcebergServerConfig(properties);
+    this.jdbcUri = config.get(IcebergServerConfig.ICEBERG_METRICS_STORE_JDBC_URI);
+    Optional<String> driver = config.get(IcebergServerConfig.ICEBERG_METRICS_STORE_JDBC_DRIVER);
+    if (driver.isPresent()) {
+      try {
+        Class.forName(driver.get());
+      } catch (ClassNotFoundException e) {
+        throw new IllegalArgumentException("Couldn't load jdbc driver " + driver.get(), e);
+      }
+    }
+
+    this.connectionProperties = new Properties();
+    config
+        .get(IcebergServerConfig.ICEBERG_METRICS_STORE_JDBC_USER)
+        .ifPresent(user -> connectionProperties.setProperty("user", user));
+    config
+        .get(IcebergServerConfig.ICEBERG_METRICS_STORE_JDBC_PASSWORD)
+        .ifPresent(password -> connectionProperties.setProperty("password", password));
+
+    synchronized (this) {
+      try {
+        getConnection();
+      } catch (SQLException e) {
+        throw new IOException("Failed to connect to the Iceberg metrics database " + jdbcUri, e);
+      }
+    }
+  }
+
+  @Override
+  public void recordMetric(MetricsReport metricsReport) throws IOException {
+    List<MetricsReport> metricsReports = new ArrayList<>(1);
+    metricsReports.add(metricsReport);
+    recordMetrics(metricsReports);
+  }
+
+  @Override
+  public void recordMetrics(List<MetricsReport> metricsReports) throws IOException {
+    recordMetrics(metricsReports, Instant.now());
+  }
+
+  @VisibleForTesting
+  synchronized void recordMetrics(List<MetricsReport> metricsReports, Instant recordTime)
+      throws IOException {
+    String partition = PARTITION_FORMATTER.format(recordTime);
+    String scanTable = SCAN_METRICS_TABLE_PREFIX + partition;
+    String commitTable = COMMIT_METRICS_TABLE_PREFIX + partition;
+    long timestamp = recordTime.toEpochMilli();
+
+    try {
+      Connection conn = getConnection();
+      createPartitionTableIfNotExists(conn, scanTable, CREATE_SCAN_METRICS_TABLE_SQL);
+      createPartitionTableIfNotExists(conn, commitTable, CREATE_COMMIT_METRICS_TABLE_SQL);
+
+      conn.setAutoCommit(false);
+      try (PreparedStatement scanStatement =
+              conn.prepareStatement(String.format(INSERT_SCAN_METRICS_SQL, scanTable));
+          PreparedStatement commitStatement =
+              conn.prepareStatement(String.format(INSERT_COMMIT_METRICS_SQL, commitTable))) {
+        int scanCount = 0;
+        int commitCount = 0;
+        for (MetricsReport metricsReport : metricsReports) {
+          if (metricsReport instanceof ScanReport) {
+            addScanReport(scanStatement, timestamp, (ScanReport) metricsReport);
+            scanCount++;
+          } else if (metricsReport instanceof CommitReport) {
+            addCommitReport(commitStatement, timestamp, (CommitReport) metricsReport);
+            commitCount++;
+          } else {
+            LOG.warn("Skip unsupported Iceberg metrics report {}.", metricsReport.getClass());
+          }
+        }
+        if (scanCount > 0) {
+          scanStatement.executeBatch();
+        }
+        if (commitCount > 0) {
+          commitStatement.executeBatch();
+        }
+        conn.commit();
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      closeConnection();
+      throw new IOException("Failed to write Iceberg metrics to " + jdbcUri, e);
+    }
+  }
+
+  @Override
+  public synchronized void clean(Instant expireTime) throws IOException {
+    LocalDate expireDay = expireTime.atZone(ZoneOffset.UTC).toLocalDate();
+    try {
+      Connection conn = getConnection();
+      for (String table : listPartitionTables(conn)) {
+        Matcher matcher = PARTITION_TABLE_PATTERN.matcher(table);
+        if (matcher.matches() == false) {
+          continue;
+        }
+        // Only drop the partitions whose whole day is before the expire time.
+        LocalDate day = LocalDate.parse(matcher.group(2), DateTimeFormatter.BASIC_ISO_DATE);
+        if (day.isBefore(expireDay)) {
+          LOG.info("Drop expired Iceberg metrics table {}.", table);
+          try (Statement statement = conn.createStatement()) {
+            statement.executeUpdate("DROP TABLE " + table);
+          }
+          partitionTables.remove(table);
+        }
+      }
+    } catch (SQLException e) {
+      closeConnection();
+      throw new IOException("Failed to clean Iceberg metrics in " + jdbcUri, e);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    closeConnection();
+  }
+
+  @Override
+  public ScanMetricsSummary summarizeScanMetrics(String tableName, Instant from, Instant to)
+      throws IOException {
+    List<ScanMetricsSummary> summaries = summarizeScanMetrics(Optional.of(tableName), from, to, 1);
+    return summaries.isEmpty() ? ScanMetricsSummary.builder(tableName).build() : summaries.get(0);
+  }
+
+  @Override
+  public List<ScanMetricsSummary> summarizeScanMetrics(Instant from, Instant to, int limit)
+      throws IOException {
+    return summarizeScanMetrics(Optional.empty(), from, to, limit);
+  }
+
+  private List<ScanMetricsSummary> summarizeScanMetrics(
+      Optional<String> tableName, Instant from, Instant to, int limit) throws IOException {
+    try (Connection conn = DriverManager.getConnection(jdbcUri, connectionProperties)) {
+      List<String> scanTables = listScanTables(conn, from, to);
+      if (scanTables.isEmpty()) {
+        return Collections.emptyList();
+      }
+      String scansSql = unionScans(scanTables, tableName.isPresent());
+
+      Map<String, ScanMetricsSummary.Builder> builders = new LinkedHashMap<>();
+      Map<String, Long> maxDurations = new HashMap<>();
+      try (PreparedStatement statement =
+          conn.prepareStatement(String.format(AGGREGATE_SCAN_METRICS_SQL, scansSql))) {
+        int index = setScanParameters(statement, 1, scanTables.size(), tableName, from, to);
+        statement.setInt(index, limit);
+        try (ResultSet resultSet = statement.executeQuery()) {
+          while (resultSet.next()) {
+            String name = resultSet.getString(1);
+            builders.put(
+                name,
+                ScanMetricsSummary.builder(name)
+                    .withScanCount(resultSet.getLong(2))
+                    .withTotalResultDataFiles(resultSet.getLong(4))
+                    .withTotalResultDeleteFiles(resultSet.getLong(5))
+                    .withTotalFileSizeInBytes(resultSet.getLong(6))
+                    .withTotalDataManifests(resultSet.getLong(7))
+                    .withTotalSkippedDataManifests(resultSet.getLong(8)));
+            maxDurations.put(name, getNullableLong(resultSet, 3));
+          }
+        }
+      }
+      if (builders.isEmpty()) {
+        return Collections.emptyList();
+      }
+
+      String placeholders = String.join(",", Collections.nCopies(builders.size(), "?"));
+      try (PreparedStatement statement =
+          conn.prepareStatement(
+              String.format(PLANNING_DURATION_PERCENTILES_SQL, scansSql, placeholders))) {
+        int index = setScanParameters(statement, 1, scanTables.size(), tableName, from, to);
+        for (String name : builders.keySet()) {
+          statement.setString(index++, name);
+        }
+        try (ResultSet resultSet = statement.executeQuery()) {
+          while (resultSet.next()) {
+            String name = resultSet.getString(1);
+            builders
+                .get(name)
+                .withPlanningDurationPercentiles(
+                    getNullableLong(resultSet, 2),
+                    getNullableLong(resultSet, 3),
+                    getNullableLong(resultSet, 4),
+                    maxDurations.get(name));
+          }
+        }
+      }
+
+      return builders.values().stream()
+          .map(ScanMetricsSummary.Builder::build)
+          .collect(Collectors.toList());
+    } catch (SQLException e) {
+      throw new IOException("Failed to query Iceberg metrics in " + jdbcUri, e);
+    }
+  }
+
+  // The scan partition tables which may have scans recorded in the time window.
+  private List<String> listScanTables(Connection conn, Instant from, Instant to)
+      throws SQLException {
+    LocalDate fromDay = from.atZone(ZoneOffset.UTC).toLocalDate();
+    LocalDate toDay = to.atZone(ZoneOffset.UTC).toLocalDate();
+    List<String> scanTables = new ArrayList<>();
+    for (String table : listPartitionTables(conn)) {
+      Matcher matcher = PARTITION_TABLE_PATTERN.matcher(table);
+      if (matcher.matches() && "scan".equals(matcher.group(1))) {
+        LocalDate day = LocalDate.parse(matcher.group(2), DateTimeFormatter.BASIC_ISO_DATE);
+        if (day.isBefore(fromDay) == false && day.isAfter(toDay) == false) {
+          scanTables.add(table);
+        }
+      }
+    }
+    return scanTables;
+  }
+
+  private static String unionScans(List<String> scanTables, boolean filterTableName) {
+    String condition =
+        filterTableName
+            ? " WHERE timestamp_ms >= ? AND timestamp_ms < ? AND table_name = ?"
+            : " WHERE timestamp_ms >= ? AND timestamp_ms < ?";
+    return scanTables.stream()
+        .map(
+            table ->
+                "SELECT table_name, total_planning_duration_ms, result_data_files,"
+                    + " result_delete_files, total_file_size_bytes, total_data_manifests,"
+                    + " skipped_data_manifests FROM "
+                    + table
+                    + condition)
+        .collect(Collectors.joining(" UNION ALL "));
+  }
+
+  private static int setScanParameters(
+      PreparedStatement statement,
+      int index,
+      int scanTableCount,
+      Optional<String> tableName,
+      Instant from,
+      Instant to)
+      throws SQLException {
+    for (int i = 0; i < scanTableCount; i++) {
+      statement.setLong(index++, from.toEpochMilli());
+      statement.setLong(index++, to.toEpochMilli());
+      if (tableName.isPresent()) {
+        statement.setString(index++, tableName.get());
+      }
+    }
+    return index;
+  }
+
+  private static Long getNullableLong(ResultSet resultSet, int index) throws SQLException {
+    long value = resultSet.getLong(index);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  @VisibleForTesting
+  synchronized List<String> listPartitionTables() throws SQLException {
+    return listPartitionTables(getConnection());
+  }
+
+  private List<String> listPartitionTables(Connection conn) throws SQLException {
+    List<String> tables = new ArrayList<>();
+    DatabaseMetaData metaData = conn.getMetaData();
+    // The databases keeping the unquoted names in upper case, like H2 and Oracle, report the
+    // tables in upper case and match the pattern case sensitively.
+    String pattern =
+        metaData.storesUpperCaseIdentifiers()
+            ? PARTITION_TABLES_LIKE.toUpperCase(Locale.ROOT)
+            : PARTITION_TABLES_LIKE;
+    try (ResultSet resultSet = metaData.getTables(null, null, pattern, new String[] {"TABLE"})) {
+      while (resultSet.next()) {
+        String table = resultSet.getString("TABLE_NAME").toLowerCase(Locale.ROOT);
+        if (PARTITION_TABLE_PATTERN.matcher(table).matches()) {
+          tables.add(table);
+        }
+      }
+    }
+    return tables;
+  }
+
+  private void createPartitionTableIfNotExists(Connection conn, String table, String createSql)
+      throws SQLException {
+    if (partitionTables.contains(table)) {
+      return;
+    }
+    if (listPartitionTables(conn).contains(table) == false) {
+      try (Statement statement = conn.createStatement()) {
+        statement.executeUpdate(String.format(createSql, table));
+        statement.executeUpdate(String.format(CREATE_INDEX_SQL, table, table));
+      } catch (SQLException e) {
+        // Another server may have created the table at the same time.
+        if (listPartitionTables(conn).contains(table) == false) {
+          throw e;
+        }
+      }
+    }
+    partitionTables.add(table);
+  }
+
+  private static void addScanReport(
+      PreparedStatement statement, long timestamp, ScanReport scanReport) throws SQLException {
+    ScanMetricsResult metrics = scanReport.scanMetrics();
+    statement.setLong(1, timestamp);
+    statement.setString(2, scanReport.tableName());
+    statement.setLong(3, scanReport.snapshotId());
+    setDurationMillis(statement, 4, metrics.totalPlanningDuration());
+    setCounter(statement, 5, metrics.resultDataFiles());
+    setCounter(statement, 6, metrics.resultDeleteFiles());
+    setCounter(statement, 7, metrics.totalDataManifests());
+    setCounter(statement, 8, metrics.skippedDataFiles());
+    setCounter(statement, 9, metrics.skippedDataManifests());
+    setCounter(statement, 10, metrics.totalFileSizeInBytes());
+    statement.setString(11, ScanReportParser.toJson(scanReport));
+    statement.addBatch();
+  }
+
+  private static void addCommitReport(
+      PreparedStatement statement, long timestamp, CommitReport commitReport)
+      throws SQLException {
+    CommitMetricsResult metrics = commitReport.commitMetrics();
+    statement.setLong(1, timestamp);
+    statement.setString(2, commitReport.tableName());
+    statement.setLong(3, commitReport.snapshotId());
+    statement.setLong(4, commitReport.sequenceNumber());
+    statement.setString(5, commitReport.operation());
+    setDurationMillis(statement, 6, metrics.totalDuration());
+    setCounter(statement, 7, metrics.attempts());
+    setCounter(statement, 8, metrics.addedDataFiles());
+    setCounter(statement, 9, metrics.addedRecords());
+    statement.setString(10, CommitReportParser.toJson(commitReport));
+    statement.addBatch();
+  }
+
+  private static void setCounter(PreparedStatement statement, int index, CounterResult counter)
+      throws SQLException {
+    if (counter == null) {
+      statement.setNull(index, Types.BIGINT);
+    } else {
+      statement.setLong(index, counter.value());
+    }
+  }
+
+  private static void setDurationMillis(PreparedStatement statement, int index, TimerResult timer)
+      throws SQLException {
+    if (timer == null) {
+      statement.setNull(index, Types.BIGINT);
+    } else {
+      statement.setLong(index, timer.totalDuration().toMillis());
+    }
+  }
+
+  private Connection getConnection() throws SQLException {
+    if (connection == null || connection.isClosed()) {
+      connection = DriverManager.getConnection(jdbcUri, connectionProperties);
+    }
+    return connection;
+  }
+
+  private void closeConnection() {
+    if (connection != null) {
+      try {
+        connection.close();
+      } catch (SQLException e) {
+        LOG.warn("Close Iceberg metrics database connection failed.", e);
+      }
+      connection = null;
+    }
+  }
+}
@@ -0,0 +1,354 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.iceberg.metrics.MetricsReport;
+import org.apache.iceberg.metrics.ScanReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Save Iceberg metrics to append-only segment files in a local directory, one segment per UTC
+ * hour. The reports are encoded by {@link MetricsReportCodec} and appended through a memory
+ * mapped region of the segment, each record is prefixed by its length and a zero length marks the
+ * end of the segment. The length is written after the record, and reopening a segment stops at the
+ * first record which can't be decoded, so a record torn by a crash is overwritten by the next
+ * append instead of hiding the records after it. Cleaning the expired metrics deletes whole
+ * segments.
+ *
+ * <p>The queries only take the lock of the writer to list the segments and the end of the segment
+ * being written, the records are decoded without it. A segment deleted by the cleaning while it's
+ * read is skipped.
+ */
+public class LocalFileMetricsStore implements IcebergMetricsStore, SupportsMetricsQuery {
+  private static final Logger LOG = LoggerFactory.getLogger(LocalFileMetricsStore.class);
+
+  public static final String ICEBERG_METRICS_STORE_LOCAL_FILE_NAME = "local-file";
+  public static final String ICEBERG_METRICS_STORE_LOCAL_DIR = "metricsStoreLocalDir";
+  public static final String ICEBERG_METRICS_STORE_LOCAL_MAP_BYTES = "metricsStoreLocalMapBytes";
+
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final DateTimeFormatter SEGMENT_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyyMMddHH").withZone(ZoneOffset.UTC);
+  private static final Pattern SEGMENT_PATTERN = Pattern.compile("^metrics-(\\d{10})\\.seg$");
+  private static final int LENGTH_BYTES = Integer.BYTES;
+
+  private Path directory;
+  private int mapBytes;
+  private final MetricsReportCodec.Output output = new MetricsReportCodec.Output();
+  private Segment segment;
+
+  @Override
+  public void init(Map<String, String> properties) throws IOException {
+    IcebergServerConfig config = new IcebergServerConfig(properties);
+    this.directory = Paths.get(config.get(IcebergServerConfig.ICEBERG_METRICS_STORE_LOCAL_DIR));
+    this.mapBytes = config.get(IcebergServerConfig.ICEBERG_METRICS_STORE_LOCAL_MAP_BYTES);
+    Files.createDirectories(directory);
+  }
+
+  @Override
+  public void recordMetric(MetricsReport metricsReport) throws IOException {
+    recordMetrics(Collections.singletonList(metricsReport));
+  }
+
+  @Override
+  public void recordMetrics(List<MetricsReport> metricsReports) throws IOException {
+    recordMetrics(metricsReports, Instant.now());
+  }
+
+  @VisibleForTesting
+  synchronized void recordMetrics(List<MetricsReport> metricsReports, Instant recordTime)
+      throws IOException {
+    String segmentName = segmentName(recordTime);
+    if (segment == null || segment.name.equals(segmentName) == false) {
+      closeSegment();
+      segment = new Segment(directory.resolve(segmentName), segmentName, mapBytes);
+    }
+
+    long timestampMillis = recordTime.toEpochMilli();
+    for (MetricsReport metricsReport : metricsReports) {
+      if (MetricsReportCodec.isSupported(metricsReport) == false) {
+        LOG.warn("Skip unsupported Iceberg metrics report {}.", metricsReport.getClass());
+        continue;
+      }
+      output.reset();
+      MetricsReportCodec.encode(metricsReport, timestampMillis, output);
+      segment.append(output.bytes(), output.size());
+    }
+  }
+
+  @Override
+  public synchronized void clean(Instant expireTime) throws IOException {
+    for (Path path : listSegments()) {
+      Matcher matcher = SEGMENT_PATTERN.matcher(path.getFileName().toString());
+      if (matcher.matches() == false) {
+        continue;
+      }
+      // Only delete the segments whose whole hour is before the expire time.
+      Instant segmentEnd =
+          SEGMENT_FORMATTER
+              .parse(matcher.group(1), Instant::from)
+              .plus(Duration.of(1, ChronoUnit.HOURS));
+      if (segmentEnd.isAfter(expireTime) == false) {
+        if (segment != null && segment.path.equals(path)) {
+          closeSegment();
+        }
+        LOG.info("Delete expired Iceberg metrics segment {}.", path);
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    closeSegment();
+  }
+
+  @Override
+  public ScanMetricsSummary summarizeScanMetrics(String tableName, Instant from, Instant to)
+      throws IOException {
+    return aggregateScanMetrics(from, to).summarize(tableName);
+  }
+
+  @Override
+  public List<ScanMetricsSummary> summarizeScanMetrics(Instant from, Instant to, int limit)
+      throws IOException {
+    return aggregateScanMetrics(from, to).summarizeTopTables(limit);
+  }
+
+  @VisibleForTesting
+  List<MetricsReportCodec.Record> readMetrics() throws IOException {
+    List<MetricsReportCodec.Record> records = new ArrayList<>();
+    readMetrics(Instant.MIN, Instant.MAX, records::add);
+    return records;
+  }
+
+  private ScanMetricsAggregator aggregateScanMetrics(Instant from, Instant to)
+      throws IOException {
+    ScanMetricsAggregator aggregator = new ScanMetricsAggregator();
+    readMetrics(
+        from,
+        to,
+        record -> {
+          if (record.metricsReport() instanceof ScanReport) {
+            aggregator.add((ScanReport) record.metricsReport());
+          }
+        });
+    return aggregator;
+  }
+
+  /**
+   * Read the metrics reports recorded in the time window, in the order they were recorded.
+   *
+   * @param from the inclusive start of the time window
+   * @param to the exclusive end of the time window
+   * @param consumer the consumer of the reports with the time they were recorded
+   * @throws IOException if IO error happens
+   */
+  @VisibleForTesting
+  void readMetrics(
+      Instant from, Instant to, Consumer<MetricsReportCodec.Record> consumer) throws IOException {
+    long fromMillis = toEpochMilli(from);
+    long toMillis = toEpochMilli(to);
+    List<Path> segments;
+    Path writingPath;
+    long writingEnd;
+    synchronized (this) {
+      segments = listSegments();
+      writingPath = segment == null ? null : segment.path;
+      writingEnd = segment == null ? 0 : segment.end;
+    }
+    Collections.sort(segments);
+    for (Path path : segments) {
+      Matcher matcher = SEGMENT_PATTERN.matcher(path.getFileName().toString());
+      if (matcher.matches() == false) {
+        continue;
+      }
+      Instant segmentStart = SEGMENT_FORMATTER.parse(matcher.group(1), Instant::from);
+      if (segmentStart.isBefore(to) == false
+          || segmentStart.plus(Duration.of(1, ChronoUnit.HOURS)).isAfter(from) == false) {
+        continue;
+      }
+
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        // Only the records appended before the listing are complete in the segment being written.
+        long size =
+            path.equals(writingPath) ? Math.min(writingEnd, channel.size()) : channel.size();
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        int length;
+        while ((length = nextRecordLength(buffer)) > 0) {
+          ByteBuffer slice = buffer.slice();
+          slice.limit(length);
+          MetricsReportCodec.Record record;
+          try {
+            record = MetricsReportCodec.decode(slice);
+          } catch (IllegalArgumentException e) {
+            LOG.warn("Skip the corrupted tail of Iceberg metrics segment {}.", path, e);
+            break;
+          }
+          if (record.timestampMillis() >= fromMillis && record.timestampMillis() < toMillis) {
+            consumer.accept(record);
+          }
+          buffer.position(buffer.position() + length);
+        }
+      } catch (NoSuchFileException e) {
+        LOG.debug("Iceberg metrics segment {} is deleted while reading it.", path);
+      }
+    }
+  }
+
+  private static long toEpochMilli(Instant instant) {
+    if (instant.equals(Instant.MIN)) {
+      return Long.MIN_VALUE;
+    }
+    if (instant.equals(Instant.MAX)) {
+      return Long.MAX_VALUE;
+    }
+    return instant.toEpochMilli();
+  }
+
+  @VisibleForTesting
+  static String segmentName(Instant recordTime) {
+    return "metrics-" + SEGMENT_FORMATTER.format(recordTime) + SEGMENT_SUFFIX;
+  }
+
+  private List<Path> listSegments() throws IOException {
+    List<Path> segments = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+      stream.forEach(segments::add);
+    }
+    return segments;
+  }
+
+  private void closeSegment() {
+    if (segment != null) {
+      segment.close();
+      segment = null;
+    }
+  }
+
+  // Returns the length of the record at the position of the buffer, or 0 at the end of segment.
+  private static int nextRecordLength(ByteBuffer buffer) {
+    if (buffer.remaining() < LENGTH_BYTES) {
+      return 0;
+    }
+    int length = buffer.getInt();
+    if (length <= 0 || length > buffer.remaining()) {
+      return 0;
+    }
+    return length;
+  }
+
+  /** A segment file opened for appending, written through a memory mapped region. */
+  private static final class Segment {
+    private final Path path;
+    private final String name;
+    private final int mapBytes;
+    private final FileChannel channel;
+    private MappedByteBuffer region;
+    private long regionOffset;
+    // The end of the last record appended.
+    private long end;
+
+    Segment(Path path, String name, int mapBytes) throws IOException {
+      this.path = path;
+      this.name = name;
+      this.mapBytes = mapBytes;
+      this.channel =
+          FileChannel.open(
+              path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      // Continue after the last record if the segment was written before a restart.
+      this.end = findEnd();
+      map(end, mapBytes);
+    }
+
+    void append(byte[] bytes, int length) throws IOException {
+      // Keep room for the zero length which marks the end of the segment.
+      int required = LENGTH_BYTES + length + LENGTH_BYTES;
+      if (region.remaining() < required) {
+        map(regionOffset + region.position(), Math.max(mapBytes, required));
+      }
+      // Write the length last, a record torn by a crash keeps the previous end marker before it.
+      int recordStart = region.position();
+      region.position(recordStart + LENGTH_BYTES);
+      region.put(bytes, 0, length);
+      region.putInt(region.position(), 0);
+      region.putInt(recordStart, length);
+      end = regionOffset + region.position();
+    }
+
+    void close() {
+      try {
+        region.force();
+        channel.close();
+      } catch (IOException e) {
+        LOG.warn("Close Iceberg metrics segment {} failed.", path, e);
+      }
+    }
+
+    private void map(long offset, int size) throws IOException {
+      if (region != null) {
+        region.force();
+      }
+      // Mapping beyond the end of the file extends it with zeros.
+      this.region = channel.map(FileChannel.MapMode.READ_WRITE, offset, size);
+      this.regionOffset = offset;
+    }
+
+    private long findEnd() throws IOException {
+      long size = channel.size();
+      if (size == 0) {
+        return 0;
+      }
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      while (true) {
+        int recordStart = buffer.position();
+        int length = nextRecordLength(buffer);
+        if (length == 0 || isCorrupted(buffer, length)) {
+          // Overwrite the end marker, or a record torn by a crash.
+          return recordStart;
+        }
+        buffer.position(buffer.position() + length);
+      }
+    }
+
+    private boolean isCorrupted(ByteBuffer buffer, int length) {
+      ByteBuffer slice = buffer.slice();
+      slice.limit(length);
+      try {
+        MetricsReportCodec.decode(slice);
+        return false;
+      } catch (IllegalArgumentException e) {
+        LOG.warn("Truncate the corrupted tail of Iceberg metrics segment {}.", path, e);
+        return true;
+      }
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import org.apache.iceberg.metrics.MetricsReport;
+
+/** Decide what to do with an Iceberg metrics report which doesn't fit into the metrics queue. */
+public interface MetricsQueueOverflowPolicy {
+
+  /**
+   * Init the overflow policy.
+   *
+   * @param properties, contains all configurations start with "gravitino.auxService.iceberg-rest.".
+   * @param queue the metrics queue drained by the metrics writer
+   * @param metricsSource the metrics source to register the metrics of the policy
+   * @throws IOException if IO error happens
+   */
+  void init(
+      Map<String, String> properties,
+      BlockingQueue<MetricsReport> queue,
+      MetricsSource metricsSource)
+      throws IOException;
+
+  /**
+   * Handle the report which is rejected by the full queue, called by the request threads
+   * concurrently.
+   *
+   * @param metricsReport the report rejected by the queue
+   * @return true if a report, either the rejected one or a queued one, is dropped
+   */
+  boolean onOverflow(MetricsReport metricsReport);
+
+  /**
+   * Move the reports deferred by the policy back to the queue, called by the metrics writer thread
+   * periodically.
+   */
+  default void replay() {}
+
+  /**
+   * Close the overflow policy.
+   *
+   * @throws IOException if IO error happens
+   */
+  default void close() throws IOException {}
+}
@@ -0,0 +1,493 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.apache.iceberg.expressions.ExpressionParser;
+import org.apache.iceberg.metrics.CommitMetricsResult;
+import org.apache.iceberg.metrics.CommitReport;
+import org.apache.iceberg.metrics.CounterResult;
+import org.apache.iceberg.metrics.ImmutableCommitMetricsResult;
+import org.apache.iceberg.metrics.ImmutableCommitReport;
+import org.apache.iceberg.metrics.ImmutableScanMetricsResult;
+import org.apache.iceberg.metrics.ImmutableScanReport;
+import org.apache.iceberg.metrics.MetricsContext;
+import org.apache.iceberg.metrics.MetricsReport;
+import org.apache.iceberg.metrics.ScanMetricsResult;
+import org.apache.iceberg.metrics.ScanReport;
+import org.apache.iceberg.metrics.TimerResult;
+
+/**
+ * A compact binary encoding of scan and commit reports. Integers are written as variable-length
+ * numbers and only the metrics present in a report are written, which are marked by a bit set in
+ * front of them. Each report starts with the version of the format.
+ */
+final class MetricsReportCodec {
+
+  static final byte FORMAT_VERSION = 1;
+  static final byte SCAN_REPORT = 1;
+  static final byte COMMIT_REPORT = 2;
+
+  private static final MetricsContext.Unit[] UNITS = MetricsContext.Unit.values();
+  private static final TimeUnit[] TIME_UNITS = TimeUnit.values();
+
+  private static final List<Slot<ScanMetricsResult, ImmutableScanMetricsResult.Builder>>
+      SCAN_METRICS =
+          ImmutableList.of(
+              Slot.timer(
+                  ScanMetricsResult::totalPlanningDuration,
+                  ImmutableScanMetricsResult.Builder::totalPlanningDuration),
+              Slot.counter(
+                  ScanMetricsResult::resultDataFiles,
+                  ImmutableScanMetricsResult.Builder::resultDataFiles),
+              Slot.counter(
+                  ScanMetricsResult::resultDeleteFiles,
+                  ImmutableScanMetricsResult.Builder::resultDeleteFiles),
+              Slot.counter(
+                  ScanMetricsResult::totalDataManifests,
+                  ImmutableScanMetricsResult.Builder::totalDataManifests),
+              Slot.counter(
+                  ScanMetricsResult::totalDeleteManifests,
+                  ImmutableScanMetricsResult.Builder::totalDeleteManifests),
+              Slot.counter(
+                  ScanMetricsResult::scannedDataManifests,
+                  ImmutableScanMetricsResult.Builder::scannedDataManifests),
+              Slot.counter(
+                  ScanMetricsResult::skippedDataManifests,
+                  ImmutableScanMetricsResult.Builder::skippedDataManifests),
+              Slot.counter(
+                  ScanMetricsResult::totalFileSizeInBytes,
+                  ImmutableScanMetricsResult.Builder::totalFileSizeInBytes),
+              Slot.counter(
+                  ScanMetricsResult::totalDeleteFileSizeInBytes,
+                  ImmutableScanMetricsResult.Builder::totalDeleteFileSizeInBytes),
+              Slot.counter(
+                  ScanMetricsResult::skippedDataFiles,
+                  ImmutableScanMetricsResult.Builder::skippedDataFiles),
+              Slot.counter(
+                  ScanMetricsResult::skippedDeleteFiles,
+                  ImmutableScanMetricsResult.Builder::skippedDeleteFiles),
+              Slot.counter(
+                  ScanMetricsResult::scannedDeleteManifests,
+                  ImmutableScanMetricsResult.Builder::scannedDeleteManifests),
+              Slot.counter(
+                  ScanMetricsResult::skippedDeleteManifests,
+                  ImmutableScanMetricsResult.Builder::skippedDeleteManifests),
+              Slot.counter(
+                  ScanMetricsResult::indexedDeleteFiles,
+                  ImmutableScanMetricsResult.Builder::indexedDeleteFiles),
+              Slot.counter(
+                  ScanMetricsResult::equalityDeleteFiles,
+                  ImmutableScanMetricsResult.Builder::equalityDeleteFiles),
+              Slot.counter(
+                  ScanMetricsResult::positionalDeleteFiles,
+                  ImmutableScanMetricsResult.Builder::positionalDeleteFiles));
+
+  private static final List<Slot<CommitMetricsResult, ImmutableCommitMetricsResult.Builder>>
+      COMMIT_METRICS =
+          ImmutableList.of(
+              Slot.timer(
+                  CommitMetricsResult::totalDuration,
+                  ImmutableCommitMetricsResult.Builder::totalDuration),
+              Slot.counter(
+                  CommitMetricsResult::attempts, ImmutableCommitMetricsResult.Builder::attempts),
+              Slot.counter(
+                  CommitMetricsResult::addedDataFiles,
+                  ImmutableCommitMetricsResult.Builder::addedDataFiles),
+              Slot.counter(
+                  CommitMetricsResult::removedDataFiles,
+                  ImmutableCommitMetricsResult.Builder::removedDataFiles),
+              Slot.counter(
+                  CommitMetricsResult::totalDataFiles,
+                  ImmutableCommitMetricsResult.Builder::totalDataFiles),
+              Slot.counter(
+                  CommitMetricsResult::addedDeleteFiles,
+                  ImmutableCommitMetricsResult.Builder::addedDeleteFiles),
+              Slot.counter(
+                  CommitMetricsResult::addedEqualityDeleteFiles,
+                  ImmutableCommitMetricsResult.Builder::addedEqualityDeleteFiles),
+              Slot.counter(
+                  CommitMetricsResult::addedPositionalDeleteFiles,
+                  ImmutableCommitMetricsResult.Builder::addedPositionalDeleteFiles),
+              Slot.counter(
+                  CommitMetricsResult::removedDeleteFiles,
+                  ImmutableCommitMetricsResult.Builder::removedDeleteFiles),
+              Slot.counter(
+                  CommitMetricsResult::removedEqualityDeleteFiles,
+                  ImmutableCommitMetricsResult.Builder::removedEqualityDeleteFiles),
+              Slot.counter(
+                  CommitMetricsResult::removedPositionalDeleteFiles,
+                  ImmutableCommitMetricsResult.Builder::removedPositionalDeleteFiles),
+              Slot.counter(
+                  CommitMetricsResult::totalDeleteFiles,
+                  ImmutableCommitMetricsResult.Builder::totalDeleteFiles),
+              Slot.counter(
+                  CommitMetricsResult::addedRecords,
+                  ImmutableCommitMetricsResult.Builder::addedRecords),
+              Slot.counter(
+                  CommitMetricsResult::removedRecords,
+                  ImmutableCommitMetricsResult.Builder::removedRecords),
+              Slot.counter(
+                  CommitMetricsResult::totalRecords,
+                  ImmutableCommitMetricsResult.Builder::totalRecords),
+              Slot.counter(
+                  CommitMetricsResult::addedFilesSizeInBytes,
+                  ImmutableCommitMetricsResult.Builder::addedFilesSizeInBytes),
+              Slot.counter(
+                  CommitMetricsResult::removedFilesSizeInBytes,
+                  ImmutableCommitMetricsResult.Builder::removedFilesSizeInBytes),
+              Slot.counter(
+                  CommitMetricsResult::totalFilesSizeInBytes,
+                  ImmutableCommitMetricsResult.Builder::totalFilesSizeInBytes),
+              Slot.counter(
+                  CommitMetricsResult::addedPositionalDeletes,
+                  ImmutableCommitMetricsResult.Builder::addedPositionalDeletes),
+              Slot.counter(
+                  CommitMetricsResult::removedPositionalDeletes,
+                  ImmutableCommitMetricsResult.Builder::removedPositionalDeletes),
+              Slot.counter(
+                  CommitMetricsResult::totalPositionalDeletes,
+                  ImmutableCommitMetricsResult.Builder::totalPositionalDeletes),
+              Slot.counter(
+                  CommitMetricsResult::addedEqualityDeletes,
+                  ImmutableCommitMetricsResult.Builder::addedEqualityDeletes),
+              Slot.counter(
+                  CommitMetricsResult::removedEqualityDeletes,
+                  ImmutableCommitMetricsResult.Builder::removedEqualityDeletes),
+              Slot.counter(
+                  CommitMetricsResult::totalEqualityDeletes,
+                  ImmutableCommitMetricsResult.Builder::totalEqualityDeletes));
+
+  private MetricsReportCodec() {}
+
+  /** A decoded report with the time it was recorded. */
+  static final class Record {
+    private final long timestampMillis;
+    private final MetricsReport metricsReport;
+
+    Record(long timestampMillis, MetricsReport metricsReport) {
+      this.timestampMillis = timestampMillis;
+      this.metricsReport = metricsReport;
+    }
+
+    long timestampMillis() {
+      return timestampMillis;
+    }
+
+    MetricsReport metricsReport() {
+      return metricsReport;
+    }
+  }
+
+  /**
+   * Whether the report could be encoded, only scan and commit reports are supported.
+   *
+   * @param metricsReport the report to check
+   * @return true if the report could be encoded
+   */
+  static boolean isSupported(MetricsReport metricsReport) {
+    return metricsReport instanceof ScanReport || metricsReport instanceof CommitReport;
+  }
+
+  /**
+   * Encode a report to the output.
+   *
+   * @param metricsReport a scan or commit report
+   * @param timestampMillis the time the report is recorded
+   * @param out the output to write to
+   */
+  static void encode(MetricsReport metricsReport, long timestampMillis, Output out) {
+    if (metricsReport instanceof ScanReport) {
+      ScanReport scanReport = (ScanReport) metricsReport;
+      out.writeByte(FORMAT_VERSION);
+      out.writeByte(SCAN_REPORT);
+      out.writeVarLong(timestampMillis);
+      out.writeString(scanReport.tableName());
+      out.writeLong(scanReport.snapshotId());
+      out.writeVarLong(scanReport.schemaId());
+      out.writeString(ExpressionParser.toJson(scanReport.filter()));
+      out.writeVarLong(scanReport.projectedFieldIds().size());
+      scanReport.projectedFieldIds().forEach(out::writeVarLong);
+      out.writeVarLong(scanReport.projectedFieldNames().size());
+      scanReport.projectedFieldNames().forEach(out::writeString);
+      writeMetrics(scanReport.scanMetrics(), SCAN_METRICS, out);
+      writeMap(scanReport.metadata(), out);
+    } else if (metricsReport instanceof CommitReport) {
+      CommitReport commitReport = (CommitReport) metricsReport;
+      out.writeByte(FORMAT_VERSION);
+      out.writeByte(COMMIT_REPORT);
+      out.writeVarLong(timestampMillis);
+      out.writeString(commitReport.tableName());
+      out.writeLong(commitReport.snapshotId());
+      out.writeLong(commitReport.sequenceNumber());
+      out.writeString(commitReport.operation());
+      writeMetrics(commitReport.commitMetrics(), COMMIT_METRICS, out);
+      writeMap(commitReport.metadata(), out);
+    } else {
+      throw new IllegalArgumentException(
+          "Unsupported Iceberg metrics report " + metricsReport.getClass());
+    }
+  }
+
+  /**
+   * Decode a report encoded by {@link #encode}.
+   *
+   * @param in the buffer positioned at the start of the encoded report
+   * @return the decoded report
+   * @throws IllegalArgumentException if the bytes are not a valid report
+   */
+  static Record decode(ByteBuffer in) {
+    try {
+      byte version = in.get();
+      Preconditions.checkArgument(
+          version == FORMAT_VERSION,
+          "Unsupported Iceberg metrics report format version %s",
+          version);
+      byte type = in.get();
+      long timestampMillis = readVarLong(in);
+      switch (type) {
+        case SCAN_REPORT:
+          return new Record(timestampMillis, decodeScanReport(in));
+        case COMMIT_REPORT:
+          return new Record(timestampMillis, decodeCommitReport(in));
+        default:
+          throw new IllegalArgumentException("Unknown Iceberg metrics report type " + type);
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated Iceberg metrics report", e);
+    } catch (IllegalStateException | UncheckedIOException e) {
+      // The report misses a required field, or the filter isn't a valid expression.
+      throw new IllegalArgumentException("Malformed Iceberg metrics report", e);
+    }
+  }
+
+  private static ScanReport decodeScanReport(ByteBuffer in) {
+    ImmutableScanReport.Builder builder =
+        ImmutableScanReport.builder()
+            .tableName(readString(in))
+            .snapshotId(in.getLong())
+            .schemaId((int) readVarLong(in))
+            .filter(ExpressionParser.fromJson(readString(in)));
+    int fieldIdCount = readLength(in);
+    List<Integer> fieldIds = new ArrayList<>(fieldIdCount);
+    for (int i = 0; i < fieldIdCount; i++) {
+      fieldIds.add((int) readVarLong(in));
+    }
+    int fieldNameCount = readLength(in);
+    List<String> fieldNames = new ArrayList<>(fieldNameCount);
+    for (int i = 0; i < fieldNameCount; i++) {
+      fieldNames.add(readString(in));
+    }
+    ImmutableScanMetricsResult.Builder metrics = ImmutableScanMetricsResult.builder();
+    readMetrics(metrics, SCAN_METRICS, in);
+    return builder
+        .projectedFieldIds(fieldIds)
+        .projectedFieldNames(fieldNames)
+        .scanMetrics(metrics.build())
+        .metadata(readMap(in))
+        .build();
+  }
+
+  private static CommitReport decodeCommitReport(ByteBuffer in) {
+    ImmutableCommitReport.Builder builder =
+        ImmutableCommitReport.builder()
+            .tableName(readString(in))
+            .snapshotId(in.getLong())
+            .sequenceNumber(in.getLong())
+            .operation(readString(in));
+    ImmutableCommitMetricsResult.Builder metrics = ImmutableCommitMetricsResult.builder();
+    readMetrics(metrics, COMMIT_METRICS, in);
+    return builder.commitMetrics(metrics.build()).metadata(readMap(in)).build();
+  }
+
+  private static <R, B> void writeMetrics(R result, List<Slot<R, B>> slots, Output out) {
+    long present = 0;
+    for (int i = 0; i < slots.size(); i++) {
+      if (slots.get(i).getter.apply(result) != null) {
+        present |= 1L << i;
+      }
+    }
+    out.writeVarLong(present);
+    for (int i = 0; i < slots.size(); i++) {
+      Object value = slots.get(i).getter.apply(result);
+      if (value instanceof CounterResult) {
+        CounterResult counter = (CounterResult) value;
+        out.writeByte((byte) counter.unit().ordinal());
+        out.writeVarLong(counter.value());
+      } else if (value instanceof TimerResult) {
+        TimerResult timer = (TimerResult) value;
+        out.writeByte((byte) timer.timeUnit().ordinal());
+        out.writeVarLong(timer.count());
+        out.writeVarLong(timer.totalDuration().toNanos());
+      }
+    }
+  }
+
+  private static <R, B> void readMetrics(B builder, List<Slot<R, B>> slots, ByteBuffer in) {
+    long present = readVarLong(in);
+    for (int i = 0; i < slots.size(); i++) {
+      if ((present & (1L << i)) == 0) {
+        continue;
+      }
+      Slot<R, B> slot = slots.get(i);
+      if (slot.isTimer) {
+        TimeUnit timeUnit = readOrdinal(TIME_UNITS, in);
+        long count = readVarLong(in);
+        Duration totalDuration = Duration.ofNanos(readVarLong(in));
+        slot.setter.accept(builder, TimerResult.of(timeUnit, totalDuration, count));
+      } else {
+        MetricsContext.Unit unit = readOrdinal(UNITS, in);
+        slot.setter.accept(builder, CounterResult.of(unit, readVarLong(in)));
+      }
+    }
+  }
+
+  private static void writeMap(Map<String, String> map, Output out) {
+    out.writeVarLong(map.size());
+    map.forEach(
+        (key, value) -> {
+          out.writeString(key);
+          out.writeString(value);
+        });
+  }
+
+  private static Map<String, String> readMap(ByteBuffer in) {
+    int size = readLength(in);
+    Map<String, String> map = new HashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      map.put(readString(in), readString(in));
+    }
+    return map;
+  }
+
+  private static String readString(ByteBuffer in) {
+    byte[] bytes = new byte[readLength(in)];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  // Each element of a string, list or map takes at least a byte, so a valid length never exceeds
+  // the remaining bytes, which bounds the allocations of a corrupted report.
+  private static int readLength(ByteBuffer in) {
+    long length = readVarLong(in);
+    Preconditions.checkArgument(
+        length >= 0 && length <= in.remaining(),
+        "Invalid length %s in Iceberg metrics report",
+        length);
+    return (int) length;
+  }
+
+  private static <T> T readOrdinal(T[] values, ByteBuffer in) {
+    byte ordinal = in.get();
+    Preconditions.checkArgument(
+        ordinal >= 0 && ordinal < values.length,
+        "Invalid unit ordinal %s in Iceberg metrics report",
+        ordinal);
+    return values[ordinal];
+  }
+
+  private static long readVarLong(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed variable-length number");
+  }
+
+  /** A growable byte output, reused to encode the reports without allocating per report. */
+  static final class Output {
+    private byte[] bytes = new byte[1024];
+    private int size;
+
+    void reset() {
+      size = 0;
+    }
+
+    int size() {
+      return size;
+    }
+
+    byte[] bytes() {
+      return bytes;
+    }
+
+    void writeByte(byte b) {
+      ensureCapacity(1);
+      bytes[size++] = b;
+    }
+
+    void writeLong(long value) {
+      ensureCapacity(Long.BYTES);
+      for (int i = Long.BYTES - 1; i >= 0; i--) {
+        bytes[size++] = (byte) (value >>> (i * 8));
+      }
+    }
+
+    void writeVarLong(long value) {
+      ensureCapacity(10);
+      while ((value & ~0x7FL) != 0) {
+        bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      bytes[size++] = (byte) value;
+    }
+
+    void writeString(String value) {
+      byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(utf8.length);
+      ensureCapacity(utf8.length);
+      System.arraycopy(utf8, 0, bytes, size, utf8.length);
+      size += utf8.length;
+    }
+
+    private void ensureCapacity(int length) {
+      if (size + length > bytes.length) {
+        byte[] newBytes = new byte[Math.max(bytes.length * 2, size + length)];
+        System.arraycopy(bytes, 0, newBytes, 0, size);
+        bytes = newBytes;
+      }
+    }
+  }
+
+  private static final class Slot<R, B> {
+    private final Function<R, Object> getter;
+    private final BiConsumer<B, Object> setter;
+    private final boolean isTimer;
+
+    private Slot(Function<R, Object> getter, BiConsumer<B, Object> setter, boolean isTimer) {
+      this.getter = getter;
+      this.setter = setter;
+      this.isTimer = isTimer;
+    }
+
+    static <R, B> Slot<R, B> counter(
+        Function<R, CounterResult> getter, BiConsumer<B, CounterResult> setter) {
+      return new Slot<>(getter::apply, (b, v) -> setter.accept(b, (CounterResult) v), false);
+    }
+
+    static <R, B> Slot<R, B> timer(
+        Function<R, TimerResult> getter, BiConsumer<B, TimerResult> setter) {
+      return new Slot<>(getter::apply, (b, v) -> setter.accept(b, (TimerResult) v), true);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.iceberg.metrics.MetricsReport;
+
+/**
+ * Keep one of every N reports rejected by the full queue by evicting the oldest queued report for
+ * it, and drop the others. The queue keeps a sample spread over the whole burst instead of only
+ * its beginning.
+ */
+public class SampleOverflowPolicy implements MetricsQueueOverflowPolicy {
+  public static final String SAMPLE_POLICY_NAME = "sample";
+  public static final String ICEBERG_METRICS_QUEUE_SAMPLE_INTERVAL = "metricsQueueSampleInterval";
+
+  private BlockingQueue<MetricsReport> queue;
+  private int sampleInterval;
+  private final AtomicLong overflowCount = new AtomicLong();
+
+  @Override
+  public void init(
+      Map<String, String> properties,
+      BlockingQueue<MetricsReport> queue,
+      MetricsSource metricsSource) {
+    this.queue = queue;
+    this.sampleInterval =
+        new IcebergServerConfig(properties)
+            .get(IcebergServerConfig.ICEBERG_METRICS_QUEUE_SAMPLE_INTERVAL);
+  }
+
+  @Override
+  public boolean onOverflow(MetricsReport metricsReport) {
+    if (overflowCount.getAndIncrement() % sampleInterval == 0) {
+      return DropOldestOverflowPolicy.replaceOldest(queue, metricsReport);
+    }
+    return true;
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.iceberg.metrics.CounterResult;
+import org.apache.iceberg.metrics.ScanMetricsResult;
+import org.apache.iceberg.metrics.ScanReport;
+import org.apache.iceberg.metrics.TimerResult;
+
+/** Aggregate scan reports into {@link ScanMetricsSummary} per table, in memory. */
+class ScanMetricsAggregator {
+
+  private final Map<String, TableAggregation> tables = new HashMap<>();
+
+  void add(ScanReport scanReport) {
+    tables
+        .computeIfAbsent(scanReport.tableName(), TableAggregation::new)
+        .add(scanReport.scanMetrics());
+  }
+
+  ScanMetricsSummary summarize(String tableName) {
+    TableAggregation aggregation = tables.get(tableName);
+    if (aggregation == null) {
+      return ScanMetricsSummary.builder(tableName).build();
+    }
+    return aggregation.summarize();
+  }
+
+  List<ScanMetricsSummary> summarizeTopTables(int limit) {
+    return tables.values().stream()
+        .sorted(
+            Comparator.comparingLong((TableAggregation aggregation) -> aggregation.resultDataFiles)
+                .reversed())
+        .limit(limit)
+        .map(TableAggregation::summarize)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * The nearest-rank percentile of the sorted values.
+   *
+   * @param sortedValues the values in ascending order, not empty
+   * @param percentile the percentile between 0 and 1
+   * @return the smallest value which is greater than or equal to the percentile of the values
+   */
+  static long percentile(long[] sortedValues, double percentile) {
+    int rank = (int) Math.ceil(percentile * sortedValues.length);
+    return sortedValues[Math.max(rank, 1) - 1];
+  }
+
+  private static final class TableAggregation {
+    private final String tableName;
+    private long scanCount;
+    private long[] planningDurations = new long[16];
+    private int planningDurationCount;
+    private long resultDataFiles;
+    private long resultDeleteFiles;
+    private long fileSizeInBytes;
+    private long dataManifests;
+    private long skippedDataManifests;
+
+    TableAggregation(String tableName) {
+      this.tableName = tableName;
+    }
+
+    void add(ScanMetricsResult metrics) {
+      scanCount++;
+      TimerResult planningDuration = metrics.totalPlanningDuration();
+      if (planningDuration != null) {
+        if (planningDurationCount == planningDurations.length) {
+          planningDurations = Arrays.copyOf(planningDurations, planningDurationCount * 2);
+        }
+        planningDurations[planningDurationCount++] = planningDuration.totalDuration().toMillis();
+      }
+      resultDataFiles += valueOf(metrics.resultDataFiles());
+      resultDeleteFiles += valueOf(metrics.resultDeleteFiles());
+      fileSizeInBytes += valueOf(metrics.totalFileSizeInBytes());
+      dataManifests += valueOf(metrics.totalDataManifests());
+      skippedDataManifests += valueOf(metrics.skippedDataManifests());
+    }
+
+    ScanMetricsSummary summarize() {
+      ScanMetricsSummary.Builder builder =
+          ScanMetricsSummary.builder(tableName)
+              .withScanCount(scanCount)
+              .withTotalResultDataFiles(resultDataFiles)
+              .withTotalResultDeleteFiles(resultDeleteFiles)
+              .withTotalFileSizeInBytes(fileSizeInBytes)
+              .withTotalDataManifests(dataManifests)
+              .withTotalSkippedDataManifests(skippedDataManifests);
+      if (planningDurationCount > 0) {
+        long[] sorted = Arrays.copyOf(planningDurations, planningDurationCount);
+        Arrays.sort(sorted);
+        builder.withPlanningDurationPercentiles(
+            percentile(sorted, 0.5),
+            percentile(sorted, 0.9),
+            percentile(sorted, 0.99),
+            sorted[sorted.length - 1]);
+      }
+      return builder.build();
+    }
+
+    private static long valueOf(CounterResult counter) {
+      return counter == null ? 0 : counter.value();
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+/**
+ * The scan metrics of a table aggregated over a time window. The planning duration percentiles use
+ * the nearest-rank method and are null if no scan in the window reported a planning duration, the
+ * totals only sum the scans that reported the metric.
+ */
+public class ScanMetricsSummary {
+
+  private String tableName;
+  private long scanCount;
+  private Long planningDurationP50Ms;
+  private Long planningDurationP90Ms;
+  private Long planningDurationP99Ms;
+  private Long planningDurationMaxMs;
+  private long totalResultDataFiles;
+  private long totalResultDeleteFiles;
+  private long totalFileSizeInBytes;
+  private long totalDataManifests;
+  private long totalSkippedDataManifests;
+
+  // For Jackson deserialization
+  ScanMetricsSummary() {}
+
+  private ScanMetricsSummary(Builder builder) {
+    this.tableName = builder.tableName;
+    this.scanCount = builder.scanCount;
+    this.planningDurationP50Ms = builder.planningDurationP50Ms;
+    this.planningDurationP90Ms = builder.planningDurationP90Ms;
+    this.planningDurationP99Ms = builder.planningDurationP99Ms;
+    this.planningDurationMaxMs = builder.planningDurationMaxMs;
+    this.totalResultDataFiles = builder.totalResultDataFiles;
+    this.totalResultDeleteFiles = builder.totalResultDeleteFiles;
+    this.totalFileSizeInBytes = builder.totalFileSizeInBytes;
+    this.totalDataManifests = builder.totalDataManifests;
+    this.totalSkippedDataManifests = builder.totalSkippedDataManifests;
+  }
+
+  public static Builder builder(String tableName) {
+    return new Builder(tableName);
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  public long getScanCount() {
+    return scanCount;
+  }
+
+  public Long getPlanningDurationP50Ms() {
+    return planningDurationP50Ms;
+  }
+
+  public Long getPlanningDurationP90Ms() {
+    return planningDurationP90Ms;
+  }
+
+  public Long getPlanningDurationP99Ms() {
+    return planningDurationP99Ms;
+  }
+
+  public Long getPlanningDurationMaxMs() {
+    return planningDurationMaxMs;
+  }
+
+  public long getTotalResultDataFiles() {
+    return totalResultDataFiles;
+  }
+
+  public long getTotalResultDeleteFiles() {
+    return totalResultDeleteFiles;
+  }
+
+  public long getTotalFileSizeInBytes() {
+    return totalFileSizeInBytes;
+  }
+
+  public long getTotalDataManifests() {
+    return totalDataManifests;
+  }
+
+  public long getTotalSkippedDataManifests() {
+    return totalSkippedDataManifests;
+  }
+
+  public static class Builder {
+    private final String tableName;
+    private long scanCount;
+    private Long planningDurationP50Ms;
+    private Long planningDurationP90Ms;
+    private Long planningDurationP99Ms;
+    private Long planningDurationMaxMs;
+    private long totalResultDataFiles;
+    private long totalResultDeleteFiles;
+    private long totalFileSizeInBytes;
+    private long totalDataManifests;
+    private long totalSkippedDataManifests;
+
+    private Builder(String tableName) {
+      this.tableName = tableName;
+    }
+
+    public Builder withScanCount(long scanCount) {
+      this.scanCount = scanCount;
+      return this;
+    }
+
+    public Builder withPlanningDurationPercentiles(Long p50Ms, Long p90Ms, Long p99Ms, Long maxMs) {
+      this.planningDurationP50Ms = p50Ms;
+      this.planningDurationP90Ms = p90Ms;
+      this.planningDurationP99Ms = p99Ms;
+      this.planningDurationMaxMs = maxMs;
+      return this;
+    }
+
+    public Builder withTotalResultDataFiles(long totalResultDataFiles) {
+      this.totalResultDataFiles = totalResultDataFiles;
+      return this;
+    }
+
+    public Builder withTotalResultDeleteFiles(long totalResultDeleteFiles) {
+      this.totalResultDeleteFiles = totalResultDeleteFiles;
+      return this;
+    }
+
+    public Builder withTotalFileSizeInBytes(long totalFileSizeInBytes) {
+      this.totalFileSizeInBytes = totalFileSizeInBytes;
+      return this;
+    }
+
+    public Builder withTotalDataManifests(long totalDataManifests) {
+      this.totalDataManifests = totalDataManifests;
+      return this;
+    }
+
+    public Builder withTotalSkippedDataManifests(long totalSkippedDataManifests) {
+      this.totalSkippedDataManifests = totalSkippedDataManifests;
+      return this;
+    }
+
+    public ScanMetricsSummary build() {
+      return new ScanMetricsSummary(this);
+    }
+  }
+}
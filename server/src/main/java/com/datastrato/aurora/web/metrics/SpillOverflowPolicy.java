@@ -0,0 +1,255 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+import com.codahale.metrics.Counter;
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.iceberg.metrics.MetricsReport;
+import org.apache.iceberg.rest.requests.ReportMetricsRequest;
+import org.apache.iceberg.rest.requests.ReportMetricsRequestParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spill the reports rejected by the full queue to local files as JSON lines, and replay them into
+ * the queue once it has drained below half of its capacity. Reports beyond the max spill bytes are
+ * dropped.
+ *
+ * <p>Each report is written to the file when it's spilled, without buffering, so the spilled
+ * reports survive a crash of the server. The replay is at least once, a partly replayed file is
+ * replayed again from its beginning after a restart. The replayed reports are recorded with the
+ * replay time by the metrics store.
+ */
+public class SpillOverflowPolicy implements MetricsQueueOverflowPolicy {
+  private static final Logger LOG = LoggerFactory.getLogger(SpillOverflowPolicy.class);
+  public static final String SPILL_POLICY_NAME = "spill";
+  public static final String ICEBERG_METRICS_QUEUE_SPILL_DIR = "metricsQueueSpillDir";
+  public static final String ICEBERG_METRICS_QUEUE_SPILL_MAX_BYTES = "metricsQueueSpillMaxBytes";
+
+  private static final Pattern SPILL_FILE_PATTERN = Pattern.compile("spill-(\\d{20})\\.jsonl");
+
+  private Path spillDir;
+  private long maxSpillBytes;
+  private BlockingQueue<MetricsReport> queue;
+  private int replayCapacity;
+  private Counter spilledCounter;
+  private Counter replayedCounter;
+
+  // Guarded by this, shared by the request threads spilling reports and the replaying thread.
+  private long nextSequence;
+  private long spilledBytes;
+  private Path writingFile;
+  private OutputStream writer;
+  private final Deque<Path> sealedFiles = new ArrayDeque<>();
+
+  // Only accessed by the metrics writer thread.
+  private Path replayingFile;
+  private BufferedReader reader;
+  private MetricsReport pendingReport;
+
+  @Override
+  public void init(
+      Map<String, String> properties,
+      BlockingQueue<MetricsReport> queue,
+      MetricsSource metricsSource)
+      throws IOException {
+    IcebergServerConfig config = new IcebergServerConfig(properties);
+    this.spillDir = Paths.get(config.get(IcebergServerConfig.ICEBERG_METRICS_QUEUE_SPILL_DIR));
+    this.maxSpillBytes = config.get(IcebergServerConfig.ICEBERG_METRICS_QUEUE_SPILL_MAX_BYTES);
+    this.queue = queue;
+    this.replayCapacity = Math.max(1, (queue.size() + queue.remainingCapacity()) / 2);
+    this.spilledCounter = metricsSource.getCounter(MetricNames.METRICS_QUEUE_SPILLED_COUNT);
+    this.replayedCounter = metricsSource.getCounter(MetricNames.METRICS_QUEUE_REPLAYED_COUNT);
+    metricsSource.registerGauge(MetricNames.METRICS_QUEUE_SPILLED_BYTES, this::getSpilledBytes);
+
+    Files.createDirectories(spillDir);
+    // The files left by the last run are replayed first.
+    List<Path> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDir)) {
+      for (Path file : stream) {
+        Matcher matcher = SPILL_FILE_PATTERN.matcher(file.getFileName().toString());
+        if (matcher.matches()) {
+          files.add(file);
+          nextSequence = Math.max(nextSequence, Long.parseLong(matcher.group(1)) + 1);
+          spilledBytes += Files.size(file);
+        }
+      }
+    }
+    Collections.sort(files);
+    sealedFiles.addAll(files);
+    if (!files.isEmpty()) {
+      LOG.info("Found {} Iceberg metrics spill files to replay in {}.", files.size(), spillDir);
+    }
+  }
+
+  @Override
+  public boolean onOverflow(MetricsReport metricsReport) {
+    // Serialize the report before taking the lock, the other request threads overflow too.
+    byte[] bytes;
+    try {
+      bytes =
+          (ReportMetricsRequestParser.toJson(ReportMetricsRequest.of(metricsReport)) + "\n")
+              .getBytes(StandardCharsets.UTF_8);
+    } catch (RuntimeException e) {
+      LOG.warn("Drop the Iceberg metrics failed to serialize for the spill: {}.", metricsReport, e);
+      return true;
+    }
+    synchronized (this) {
+      if (spilledBytes + bytes.length > maxSpillBytes) {
+        return true;
+      }
+      try {
+        if (writer == null) {
+          writingFile = spillDir.resolve(String.format("spill-%020d.jsonl", nextSequence++));
+          writer = Files.newOutputStream(writingFile);
+        }
+        writer.write(bytes);
+      } catch (IOException e) {
+        LOG.warn("Spill Iceberg metrics to {} failed.", writingFile, e);
+        return true;
+      }
+      spilledBytes += bytes.length;
+    }
+    spilledCounter.inc();
+    return false;
+  }
+
+  @Override
+  public void replay() {
+    while (queue.remainingCapacity() >= replayCapacity) {
+      MetricsReport metricsReport = nextSpilledReport();
+      if (metricsReport == null) {
+        return;
+      }
+      if (queue.offer(metricsReport) == false) {
+        pendingReport = metricsReport;
+        return;
+      }
+      replayedCounter.inc();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    synchronized (this) {
+      sealWritingFile();
+    }
+    if (reader != null) {
+      reader.close();
+      reader = null;
+    }
+  }
+
+  private synchronized long getSpilledBytes() {
+    return spilledBytes;
+  }
+
+  private MetricsReport nextSpilledReport() {
+    if (pendingReport != null) {
+      MetricsReport metricsReport = pendingReport;
+      pendingReport = null;
+      return metricsReport;
+    }
+    while (reader != null || openNextFile()) {
+      String line;
+      try {
+        line = reader.readLine();
+      } catch (IOException e) {
+        LOG.warn("Read Iceberg metrics spill file {} failed, skip the rest.", replayingFile, e);
+        line = null;
+      }
+      if (line == null) {
+        finishReplayingFile();
+        continue;
+      }
+      try {
+        return ReportMetricsRequestParser.fromJson(line).report();
+      } catch (RuntimeException e) {
+        LOG.warn("Skip the corrupted Iceberg metrics in spill file {}.", replayingFile, e);
+      }
+    }
+    return null;
+  }
+
+  private boolean openNextFile() {
+    Path file;
+    synchronized (this) {
+      // Replay the file being written only if all the older files are replayed.
+      if (sealedFiles.isEmpty()) {
+        sealWritingFile();
+      }
+      file = sealedFiles.poll();
+    }
+    if (file == null) {
+      return false;
+    }
+    try {
+      reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+      replayingFile = file;
+      return true;
+    } catch (IOException e) {
+      LOG.warn("Open Iceberg metrics spill file {} failed, skip it.", file, e);
+      deleteSpillFile(file);
+      return openNextFile();
+    }
+  }
+
+  private void finishReplayingFile() {
+    try {
+      reader.close();
+    } catch (IOException e) {
+      LOG.warn("Close Iceberg metrics spill file {} failed.", replayingFile, e);
+    }
+    reader = null;
+    deleteSpillFile(replayingFile);
+    replayingFile = null;
+  }
+
+  private void deleteSpillFile(Path file) {
+    try {
+      long size = Files.size(file);
+      Files.delete(file);
+      synchronized (this) {
+        spilledBytes -= size;
+      }
+    } catch (IOException e) {
+      LOG.warn("Delete Iceberg metrics spill file {} failed.", file, e);
+    }
+  }
+
+  private void sealWritingFile() {
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.close();
+    } catch (IOException e) {
+      LOG.warn("Close Iceberg metrics spill file {} failed.", writingFile, e);
+    }
+    sealedFiles.add(writingFile);
+    writer = null;
+    writingFile = null;
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/** An {@link IcebergMetricsStore} which could aggregate the saved metrics on the server side. */
+public interface SupportsMetricsQuery {
+
+  /**
+   * Aggregate the scan metrics of a table recorded in the time window.
+   *
+   * @param tableName the table name the scan reports were recorded with
+   * @param from the inclusive start of the time window
+   * @param to the exclusive end of the time window
+   * @return the summary, its scan count is 0 if the table has no scan in the window
+   * @throws IOException if IO error happens
+   */
+  ScanMetricsSummary summarizeScanMetrics(String tableName, Instant from, Instant to)
+      throws IOException;
+
+  /**
+   * Aggregate the scan metrics of all tables recorded in the time window, the tables scanning the
+   * most data files come first.
+   *
+   * @param from the inclusive start of the time window
+   * @param to the exclusive end of the time window
+   * @param limit the max number of tables to return
+   * @return the summaries of the tables which have scans in the window
+   * @throws IOException if IO error happens
+   */
+  List<ScanMetricsSummary> summarizeScanMetrics(Instant from, Instant to, int limit)
+      throws IOException;
+}
@@ -0,0 +1,53 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.requests;
+
+import java.util.List;
+import org.apache.iceberg.MetadataUpdate;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.rest.requests.UpdateTableRequest;
+import org.apache.iceberg.rest.requests.UpdateTableRequest.UpdateRequirement;
+
+/** The changes of the tables committed in one transaction. */
+public class CommitTransactionRequest {
+
+  private List<TableChange> tableChanges;
+
+  // For Jackson deserialization
+  public CommitTransactionRequest() {}
+
+  public CommitTransactionRequest(List<TableChange> tableChanges) {
+    this.tableChanges = tableChanges;
+  }
+
+  public List<TableChange> getTableChanges() {
+    return tableChanges;
+  }
+
+  /** The requirements and updates of a table, like the {@link UpdateTableRequest} of the table. */
+  public static class TableChange {
+
+    private TableIdentifier identifier;
+    private List<UpdateRequirement> requirements;
+    private List<MetadataUpdate> updates;
+
+    // For Jackson deserialization
+    public TableChange() {}
+
+    public TableChange(TableIdentifier identifier, UpdateTableRequest updateTableRequest) {
+      this.identifier = identifier;
+      this.requirements = updateTableRequest.requirements();
+      this.updates = updateTableRequest.updates();
+    }
+
+    public TableIdentifier getIdentifier() {
+      return identifier;
+    }
+
+    public UpdateTableRequest toUpdateTableRequest() {
+      return new UpdateTableRequest(requirements, updates);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.requests;
+
+import java.util.List;
+import org.apache.iceberg.catalog.TableIdentifier;
+
+/** The tables to load in one bulk loadTables request. */
+public class LoadTablesRequest {
+
+  private List<TableIdentifier> identifiers;
+
+  // For Jackson deserialization
+  public LoadTablesRequest() {}
+
+  public LoadTablesRequest(List<TableIdentifier> identifiers) {
+    this.identifiers = identifiers;
+  }
+
+  public List<TableIdentifier> getIdentifiers() {
+    return identifiers;
+  }
+}
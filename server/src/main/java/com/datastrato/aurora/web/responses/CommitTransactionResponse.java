@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.responses;
+
+import java.util.List;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.rest.responses.ErrorResponse;
+
+/**
+ * The results of the tables of a transaction, in the order of the table changes. If the transaction
+ * is atomic, either all the tables are committed or all of them have errors.
+ */
+public class CommitTransactionResponse {
+
+  private boolean atomic;
+  private List<CommitTableResult> tables;
+
+  // For Jackson deserialization
+  public CommitTransactionResponse() {}
+
+  public CommitTransactionResponse(boolean atomic, List<CommitTableResult> tables) {
+    this.atomic = atomic;
+    this.tables = tables;
+  }
+
+  public boolean isAtomic() {
+    return atomic;
+  }
+
+  public List<CommitTableResult> getTables() {
+    return tables;
+  }
+
+  /** The new metadata location of a committed table, or the error of the table. */
+  public static class CommitTableResult {
+
+    private TableIdentifier identifier;
+    private String metadataLocation;
+    private ErrorResponse error;
+
+    // For Jackson deserialization
+    public CommitTableResult() {}
+
+    public CommitTableResult(
+        TableIdentifier identifier, String metadataLocation, ErrorResponse error) {
+      this.identifier = identifier;
+      this.metadataLocation = metadataLocation;
+      this.error = error;
+    }
+
+    public TableIdentifier getIdentifier() {
+      return identifier;
+    }
+
+    public String getMetadataLocation() {
+      return metadataLocation;
+    }
+
+    public ErrorResponse getError() {
+      return error;
+    }
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.responses;
+
+import java.util.List;
+import org.apache.iceberg.catalog.Namespace;
+
+/** A page of the child namespaces, the next page token is null on the last page. */
+public class ListNamespacesPageResponse {
+
+  private List<Namespace> namespaces;
+  private String nextPageToken;
+
+  // For Jackson deserialization
+  public ListNamespacesPageResponse() {}
+
+  public ListNamespacesPageResponse(List<Namespace> namespaces, String nextPageToken) {
+    this.namespaces = namespaces;
+    this.nextPageToken = nextPageToken;
+  }
+
+  public List<Namespace> getNamespaces() {
+    return namespaces;
+  }
+
+  public String getNextPageToken() {
+    return nextPageToken;
+  }
+}
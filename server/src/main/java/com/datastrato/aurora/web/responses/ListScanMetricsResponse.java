@@ -0,0 +1,25 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.responses;
+
+import com.datastrato.aurora.web.metrics.ScanMetricsSummary;
+import java.util.List;
+
+/** The scan metrics summaries of the tables, the tables scanning the most data files first. */
+public class ListScanMetricsResponse {
+
+  private List<ScanMetricsSummary> tables;
+
+  // For Jackson deserialization
+  public ListScanMetricsResponse() {}
+
+  public ListScanMetricsResponse(List<ScanMetricsSummary> tables) {
+    this.tables = tables;
+  }
+
+  public List<ScanMetricsSummary> getTables() {
+    return tables;
+  }
+}
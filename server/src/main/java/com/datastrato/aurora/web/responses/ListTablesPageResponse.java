@@ -0,0 +1,31 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.responses;
+
+import java.util.List;
+import org.apache.iceberg.catalog.TableIdentifier;
+
+/** A page of the tables of a namespace, the next page token is null on the last page. */
+public class ListTablesPageResponse {
+
+  private List<TableIdentifier> identifiers;
+  private String nextPageToken;
+
+  // For Jackson deserialization
+  public ListTablesPageResponse() {}
+
+  public ListTablesPageResponse(List<TableIdentifier> identifiers, String nextPageToken) {
+    this.identifiers = identifiers;
+    this.nextPageToken = nextPageToken;
+  }
+
+  public List<TableIdentifier> getIdentifiers() {
+    return identifiers;
+  }
+
+  public String getNextPageToken() {
+    return nextPageToken;
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.responses;
+
+import java.util.List;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.rest.responses.ErrorResponse;
+import org.apache.iceberg.rest.responses.LoadTableResponse;
+
+/** The tables of a bulk loadTables request, in the order of the requested identifiers. */
+public class LoadTablesResponse {
+
+  private List<LoadTableResult> tables;
+
+  // For Jackson deserialization
+  public LoadTablesResponse() {}
+
+  public LoadTablesResponse(List<LoadTableResult> tables) {
+    this.tables = tables;
+  }
+
+  public List<LoadTableResult> getTables() {
+    return tables;
+  }
+
+  /** A loaded table, or the error of the table which failed to load. */
+  public static class LoadTableResult {
+
+    private TableIdentifier identifier;
+    private LoadTableResponse table;
+    private ErrorResponse error;
+
+    // For Jackson deserialization
+    public LoadTableResult() {}
+
+    public LoadTableResult(
+        TableIdentifier identifier, LoadTableResponse table, ErrorResponse error) {
+      this.identifier = identifier;
+      this.table = table;
+      this.error = error;
+    }
+
+    public TableIdentifier getIdentifier() {
+      return identifier;
+    }
+
+    public LoadTableResponse getTable() {
+      return table;
+    }
+
+    public ErrorResponse getError() {
+      return error;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.rest;
+
+import com.codahale.metrics.annotation.ResponseMetered;
+import com.codahale.metrics.annotation.Timed;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.web.IcebergRestUtils;
+import com.datastrato.aurora.web.metrics.IcebergMetricsManager;
+import com.datastrato.aurora.web.responses.ListScanMetricsResponse;
+import com.google.common.base.Preconditions;
+import java.time.Duration;
+import java.time.Instant;
+import javax.inject.Inject;
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/** Query the Iceberg metrics reported by the clients, aggregated by the metrics store. */
+@Path("/v1/{prefix:([^/]*/)?}metrics")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class IcebergMetricsOperations {
+
+  static final Duration DEFAULT_METRICS_WINDOW = Duration.ofDays(1);
+  private static final int MAX_TABLES_LIMIT = 1000;
+
+  private IcebergMetricsManager icebergMetricsManager;
+
+  @SuppressWarnings("UnusedVariable")
+  @Context
+  private HttpServletRequest httpRequest;
+
+  @Inject
+  public IcebergMetricsOperations(IcebergMetricsManager icebergMetricsManager) {
+    this.icebergMetricsManager = icebergMetricsManager;
+  }
+
+  @GET
+  @Path("scan")
+  @Produces(MediaType.APPLICATION_JSON)
+  @Timed(name = "list-scan-metrics." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @ResponseMetered(name = "list-scan-metrics", absolute = true)
+  public Response listScanMetrics(
+      @QueryParam("from") String from,
+      @QueryParam("to") String to,
+      @DefaultValue("100") @QueryParam("limit") int limit) {
+    Preconditions.checkArgument(
+        limit > 0 && limit <= MAX_TABLES_LIMIT,
+        "Invalid limit: %s, should be between 1 and %s",
+        limit,
+        MAX_TABLES_LIMIT);
+    Instant toInstant = IcebergRestUtils.parseInstant("to", to, Instant.now());
+    Instant fromInstant =
+        IcebergRestUtils.parseInstant("from", from, toInstant.minus(DEFAULT_METRICS_WINDOW));
+    checkWindow(fromInstant, toInstant);
+    return IcebergRestUtils.ok(
+        new ListScanMetricsResponse(
+            icebergMetricsManager.summarizeScanMetrics(fromInstant, toInstant, limit)));
+  }
+
+  static void checkWindow(Instant from, Instant to) {
+    Preconditions.checkArgument(
+        from.isBefore(to), "Invalid time window, from %s is not before to %s", from, to);
+  }
+}
@@ -5,10 +5,14 @@
 package com.datastrato.aurora.web.rest;
 
 import com.codahale.metrics.annotation.ResponseMetered;
-import com.codahale.metrics.annotation.Timed;
 import com.datastrato.aurora.iceberg.IcebergTableOps;
+import com.datastrato.aurora.iceberg.ListingPage;
+import com.datastrato.aurora.metrics.AsyncTimed;
 import com.datastrato.aurora.metrics.MetricNames;
 import com.datastrato.aurora.web.IcebergRestUtils;
+import com.datastrato.aurora.web.responses.ListNamespacesPageResponse;
+import java.util.Optional;
+import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.Consumes;
@@ -20,6 +24,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -54,58 +60,108 @@ public class IcebergNamespaceOperations {
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  @Timed(name = "list-namespace." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @AsyncTimed(name = "list-namespace." + MetricNames.HTTP_PROCESS_DURATION)
   @ResponseMetered(name = "list-namespace", absolute = true)
-  public Response listNamespaces(@DefaultValue("") @QueryParam("parent") String parent) {
+  public void listNamespaces(
+      @DefaultValue("") @QueryParam("parent") String parent,
+      @QueryParam("pageToken") String pageToken,
+      @QueryParam("pageSize") Integer pageSize,
+      @Suspended AsyncResponse asyncResponse) {
     Namespace parentNamespace =
         parent.isEmpty() ? Namespace.empty() : RESTUtil.decodeNamespace(parent);
-    ListNamespacesResponse response = icebergTableOps.listNamespace(parentNamespace);
-    return IcebergRestUtils.ok(response);
+    if (pageToken == null && pageSize == null) {
+      resumeAsync(
+          asyncResponse,
+          () -> {
+            ListNamespacesResponse response = icebergTableOps.listNamespace(parentNamespace);
+            return IcebergRestUtils.ok(response);
+          });
+      return;
+    }
+    // The paginated listing starts from the first page with an empty or absent token.
+    resumeAsync(
+        asyncResponse,
+        () -> {
+          ListingPage<Namespace> page =
+              icebergTableOps.listNamespace(
+                  parentNamespace,
+                  pageToken == null ? "" : pageToken,
+                  Optional.ofNullable(pageSize));
+          return IcebergRestUtils.ok(
+              new ListNamespacesPageResponse(
+                  page.getItems(), page.getNextPageToken().orElse(null)));
+        });
   }
 
   @GET
   @Path("{namespace}")
   @Produces(MediaType.APPLICATION_JSON)
-  @Timed(name = "load-namespace." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @AsyncTimed(name = "load-namespace." + MetricNames.HTTP_PROCESS_DURATION)
   @ResponseMetered(name = "load-namespace", absolute = true)
-  public Response loadNamespace(@PathParam("namespace") String namespace) {
-    GetNamespaceResponse getNamespaceResponse =
-        icebergTableOps.loadNamespace(RESTUtil.decodeNamespace(namespace));
-    return IcebergRestUtils.ok(getNamespaceResponse);
+  public void loadNamespace(
+      @PathParam("namespace") String namespace, @Suspended AsyncResponse asyncResponse) {
+    resumeAsync(
+        asyncResponse,
+        () -> {
+          GetNamespaceResponse getNamespaceResponse =
+              icebergTableOps.loadNamespace(RESTUtil.decodeNamespace(namespace));
+          return IcebergRestUtils.ok(getNamespaceResponse);
+        });
   }
 
   @DELETE
   @Path("{namespace}")
   @Produces(MediaType.APPLICATION_JSON)
-  @Timed(name = "drop-namespace." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @AsyncTimed(name = "drop-namespace." + MetricNames.HTTP_PROCESS_DURATION)
   @ResponseMetered(name = "drop-namespace", absolute = true)
-  public Response dropNamespace(@PathParam("namespace") String namespace) {
+  public void dropNamespace(
+      @PathParam("namespace") String namespace, @Suspended AsyncResponse asyncResponse) {
     // todo check if table exists in namespace after table ops is added
     LOG.info("Drop Iceberg namespace: {}", namespace);
-    icebergTableOps.dropNamespace(RESTUtil.decodeNamespace(namespace));
-    return IcebergRestUtils.noContent();
+    resumeAsync(
+        asyncResponse,
+        () -> {
+          icebergTableOps.dropNamespace(RESTUtil.decodeNamespace(namespace));
+          return IcebergRestUtils.noContent();
+        });
   }
 
   @POST
   @Produces(MediaType.APPLICATION_JSON)
-  @Timed(name = "create-namespace." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @AsyncTimed(name = "create-namespace." + MetricNames.HTTP_PROCESS_DURATION)
   @ResponseMetered(name = "create-namespace", absolute = true)
-  public Response createNamespace(CreateNamespaceRequest namespaceRequest) {
+  public void createNamespace(
+      CreateNamespaceRequest namespaceRequest, @Suspended AsyncResponse asyncResponse) {
     LOG.info("Create Iceberg namespace: {}", namespaceRequest);
-    CreateNamespaceResponse response = icebergTableOps.createNamespace(namespaceRequest);
-    return IcebergRestUtils.ok(response);
+    resumeAsync(
+        asyncResponse,
+        () -> {
+          CreateNamespaceResponse response = icebergTableOps.createNamespace(namespaceRequest);
+          return IcebergRestUtils.ok(response);
+        });
   }
 
   @POST
   @Path("{namespace}/properties")
   @Produces(MediaType.APPLICATION_JSON)
-  @Timed(name = "update-namespace." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @AsyncTimed(name = "update-namespace." + MetricNames.HTTP_PROCESS_DURATION)
   @ResponseMetered(name = "update-namespace", absolute = true)
-  public Response updateNamespace(
-      @PathParam("namespace") String namespace, UpdateNamespacePropertiesRequest request) {
+  public void updateNamespace(
+      @PathParam("namespace") String namespace,
+      UpdateNamespacePropertiesRequest request,
+      @Suspended AsyncResponse asyncResponse) {
     LOG.info("Update Iceberg namespace: {}, request: {}", namespace, request);
-    UpdateNamespacePropertiesResponse response =
-        icebergTableOps.updateNamespaceProperties(RESTUtil.decodeNamespace(namespace), request);
-    return IcebergRestUtils.ok(response);
+    resumeAsync(
+        asyncResponse,
+        () -> {
+          UpdateNamespacePropertiesResponse response =
+              icebergTableOps.updateNamespaceProperties(
+                  RESTUtil.decodeNamespace(namespace), request);
+          return IcebergRestUtils.ok(response);
+        });
+  }
+
+  private void resumeAsync(AsyncResponse asyncResponse, Supplier<Response> handler) {
+    IcebergRestUtils.resumeAsync(asyncResponse, icebergTableOps.getBackendExecutor(), handler);
   }
 }
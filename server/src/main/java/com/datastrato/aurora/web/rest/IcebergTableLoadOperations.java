@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.rest;
+
+import com.codahale.metrics.annotation.ResponseMetered;
+import com.datastrato.aurora.iceberg.IcebergTableOps;
+import com.datastrato.aurora.iceberg.SnapshotMode;
+import com.datastrato.aurora.iceberg.TableResult;
+import com.datastrato.aurora.metrics.AsyncTimed;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.web.IcebergRestUtils;
+import com.datastrato.aurora.web.requests.LoadTablesRequest;
+import com.datastrato.aurora.web.responses.LoadTablesResponse;
+import com.datastrato.aurora.web.responses.LoadTablesResponse.LoadTableResult;
+import com.google.common.base.Preconditions;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import org.apache.iceberg.rest.responses.LoadTableResponse;
+
+/**
+ * Load many tables in one request, the query planners resolving the tables of a query save a round
+ * trip per table. Each table has its own result, a table failing to load is reported with the error
+ * response it would get from loadTable.
+ */
+@Path("/v1/{prefix:([^/]*/)?}tables/load")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class IcebergTableLoadOperations {
+
+  @SuppressWarnings("UnusedVariable")
+  @Context
+  private HttpServletRequest httpRequest;
+
+  private IcebergTableOps icebergTableOps;
+
+  @Inject
+  public IcebergTableLoadOperations(IcebergTableOps icebergTableOps) {
+    this.icebergTableOps = icebergTableOps;
+  }
+
+  @POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @AsyncTimed(name = "load-tables." + MetricNames.HTTP_PROCESS_DURATION)
+  @ResponseMetered(name = "load-tables", absolute = true)
+  public void loadTables(
+      LoadTablesRequest loadTablesRequest,
+      @DefaultValue("all") @QueryParam("snapshots") String snapshots,
+      @Suspended AsyncResponse asyncResponse) {
+    SnapshotMode snapshotMode = SnapshotMode.fromString(snapshots);
+    Preconditions.checkArgument(
+        loadTablesRequest != null && loadTablesRequest.getIdentifiers() != null,
+        "Invalid load tables request, the identifiers are missing");
+    IcebergRestUtils.resumeAsync(
+        asyncResponse,
+        icebergTableOps.getBackendExecutor(),
+        () -> {
+          List<LoadTableResult> tables =
+              icebergTableOps.loadTables(loadTablesRequest.getIdentifiers(), snapshotMode).stream()
+                  .map(IcebergTableLoadOperations::toLoadTableResult)
+                  .collect(Collectors.toList());
+          return IcebergRestUtils.ok(new LoadTablesResponse(tables));
+        });
+  }
+
+  private static LoadTableResult toLoadTableResult(TableResult<LoadTableResponse> result) {
+    return result
+        .getFailure()
+        .map(
+            e ->
+                new LoadTableResult(
+                    result.getIdentifier(), null, IcebergRestUtils.toErrorResponse(e)))
+        .orElseGet(
+            () -> new LoadTableResult(result.getIdentifier(), result.getResponse().get(), null));
+  }
+}
@@ -7,12 +7,19 @@ package com.datastrato.aurora.web.rest;
 import com.codahale.metrics.annotation.ResponseMetered;
 import com.codahale.metrics.annotation.Timed;
 import com.datastrato.aurora.iceberg.IcebergTableOps;
+import com.datastrato.aurora.iceberg.ListingPage;
+import com.datastrato.aurora.iceberg.SnapshotMode;
+import com.datastrato.aurora.metrics.AsyncTimed;
 import com.datastrato.aurora.metrics.MetricNames;
 import com.datastrato.aurora.web.IcebergObjectMapper;
 import com.datastrato.aurora.web.IcebergRestUtils;
 import com.datastrato.aurora.web.metrics.IcebergMetricsManager;
+import com.datastrato.aurora.web.responses.ListTablesPageResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.Consumes;
@@ -25,14 +32,25 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.metrics.CommitReport;
+import org.apache.iceberg.metrics.ImmutableCommitReport;
+import org.apache.iceberg.metrics.ImmutableScanReport;
+import org.apache.iceberg.metrics.MetricsReport;
+import org.apache.iceberg.metrics.ScanReport;
 import org.apache.iceberg.rest.RESTUtil;
 import org.apache.iceberg.rest.requests.CreateTableRequest;
 import org.apache.iceberg.rest.requests.ReportMetricsRequest;
 import org.apache.iceberg.rest.requests.UpdateTableRequest;
+import org.apache.iceberg.rest.responses.LoadTableResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,35 +80,64 @@ public class IcebergTableOperations {
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  @Timed(name = "list-table." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @AsyncTimed(name = "list-table." + MetricNames.HTTP_PROCESS_DURATION)
   @ResponseMetered(name = "list-table", absolute = true)
-  public Response listTable(@PathParam("namespace") String namespace) {
-    return IcebergRestUtils.ok(icebergTableOps.listTable(RESTUtil.decodeNamespace(namespace)));
+  public void listTable(
+      @PathParam("namespace") String namespace,
+      @QueryParam("pageToken") String pageToken,
+      @QueryParam("pageSize") Integer pageSize,
+      @Suspended AsyncResponse asyncResponse) {
+    if (pageToken == null && pageSize == null) {
+      resumeAsync(
+          asyncResponse,
+          () ->
+              IcebergRestUtils.ok(icebergTableOps.listTable(RESTUtil.decodeNamespace(namespace))));
+      return;
+    }
+    // The paginated listing starts from the first page with an empty or absent token.
+    resumeAsync(
+        asyncResponse,
+        () -> {
+          ListingPage<TableIdentifier> page =
+              icebergTableOps.listTable(
+                  RESTUtil.decodeNamespace(namespace),
+                  pageToken == null ? "" : pageToken,
+                  Optional.ofNullable(pageSize));
+          return IcebergRestUtils.ok(
+              new ListTablesPageResponse(page.getItems(), page.getNextPageToken().orElse(null)));
+        });
   }
 
   @POST
   @Produces(MediaType.APPLICATION_JSON)
-  @Timed(name = "create-table." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @AsyncTimed(name = "create-table." + MetricNames.HTTP_PROCESS_DURATION)
   @ResponseMetered(name = "create-table", absolute = true)
-  public Response createTable(
-      @PathParam("namespace") String namespace, CreateTableRequest createTableRequest) {
+  public void createTable(
+      @PathParam("namespace") String namespace,
+      CreateTableRequest createTableRequest,
+      @Suspended AsyncResponse asyncResponse) {
     LOG.info(
         "Create Iceberg table, namespace: {}, create table request: {}",
         namespace,
         createTableRequest);
-    return IcebergRestUtils.ok(
-        icebergTableOps.createTable(RESTUtil.decodeNamespace(namespace), createTableRequest));
+    resumeAsync(
+        asyncResponse,
+        () ->
+            IcebergRestUtils.ok(
+                icebergTableOps.createTable(
+                    RESTUtil.decodeNamespace(namespace), createTableRequest)));
   }
 
   @POST
   @Path("{table}")
   @Produces(MediaType.APPLICATION_JSON)
-  @Timed(name = "update-table." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @AsyncTimed(name = "update-table." + MetricNames.HTTP_PROCESS_DURATION)
   @ResponseMetered(name = "update-table", absolute = true)
-  public Response updateTable(
+  public void updateTable(
       @PathParam("namespace") String namespace,
       @PathParam("table") String table,
-      UpdateTableRequest updateTableRequest) {
+      UpdateTableRequest updateTableRequest,
+      @Suspended AsyncResponse asyncResponse) {
     if (LOG.isInfoEnabled()) {
       LOG.info(
           "Update Iceberg table, namespace: {}, table: {}, updateTableRequest: {}",
@@ -100,18 +147,22 @@ public class IcebergTableOperations {
     }
     TableIdentifier tableIdentifier =
         TableIdentifier.of(RESTUtil.decodeNamespace(namespace), table);
-    return IcebergRestUtils.ok(icebergTableOps.updateTable(tableIdentifier, updateTableRequest));
+    resumeAsync(
+        asyncResponse,
+        () ->
+            IcebergRestUtils.ok(icebergTableOps.updateTable(tableIdentifier, updateTableRequest)));
   }
 
   @DELETE
   @Path("{table}")
   @Produces(MediaType.APPLICATION_JSON)
-  @Timed(name = "drop-table." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @AsyncTimed(name = "drop-table." + MetricNames.HTTP_PROCESS_DURATION)
   @ResponseMetered(name = "drop-table", absolute = true)
-  public Response dropTable(
+  public void dropTable(
       @PathParam("namespace") String namespace,
       @PathParam("table") String table,
-      @DefaultValue("false") @QueryParam("purgeRequested") boolean purgeRequested) {
+      @DefaultValue("false") @QueryParam("purgeRequested") boolean purgeRequested,
+      @Suspended AsyncResponse asyncResponse) {
     LOG.info(
         "Drop Iceberg table, namespace: {}, table: {}, purgeRequested: {}",
         namespace,
@@ -119,43 +170,70 @@ public class IcebergTableOperations {
         purgeRequested);
     TableIdentifier tableIdentifier =
         TableIdentifier.of(RESTUtil.decodeNamespace(namespace), table);
-    if (purgeRequested) {
-      icebergTableOps.purgeTable(tableIdentifier);
-    } else {
-      icebergTableOps.dropTable(tableIdentifier);
-    }
-    return IcebergRestUtils.noContent();
+    resumeAsync(
+        asyncResponse,
+        () -> {
+          if (purgeRequested) {
+            icebergTableOps.purgeTable(tableIdentifier);
+          } else {
+            icebergTableOps.dropTable(tableIdentifier);
+          }
+          return IcebergRestUtils.noContent();
+        });
   }
 
   @GET
   @Path("{table}")
   @Produces(MediaType.APPLICATION_JSON)
-  @Timed(name = "load-table." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @AsyncTimed(name = "load-table." + MetricNames.HTTP_PROCESS_DURATION)
   @ResponseMetered(name = "load-table", absolute = true)
-  public Response loadTable(
+  public void loadTable(
       @PathParam("namespace") String namespace,
       @PathParam("table") String table,
-      @DefaultValue("all") @QueryParam("snapshots") String snapshots) {
-    // todo support snapshots
+      @DefaultValue("all") @QueryParam("snapshots") String snapshots,
+      @Context Request request,
+      @Suspended AsyncResponse asyncResponse) {
+    SnapshotMode snapshotMode = SnapshotMode.fromString(snapshots);
     TableIdentifier tableIdentifier =
         TableIdentifier.of(RESTUtil.decodeNamespace(namespace), table);
-    return IcebergRestUtils.ok(icebergTableOps.loadTable(tableIdentifier));
+    resumeAsync(asyncResponse, () -> loadTableResponse(tableIdentifier, snapshotMode, request));
+  }
+
+  private Response loadTableResponse(
+      TableIdentifier tableIdentifier, SnapshotMode snapshotMode, Request request) {
+    LoadTableResponse loadTableResponse = icebergTableOps.loadTable(tableIdentifier, snapshotMode);
+    String metadataLocation = loadTableResponse.tableMetadata().metadataFileLocation();
+    if (metadataLocation == null) {
+      return IcebergRestUtils.ok(loadTableResponse);
+    }
+    EntityTag entityTag = IcebergRestUtils.generateETag(metadataLocation, snapshotMode);
+    ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+    if (notModified != null) {
+      return notModified.build();
+    }
+    return IcebergRestUtils.ok(loadTableResponse, entityTag);
   }
 
   @HEAD
   @Path("{table}")
   @Produces(MediaType.APPLICATION_JSON)
-  @Timed(name = "table-exists." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @AsyncTimed(name = "table-exists." + MetricNames.HTTP_PROCESS_DURATION)
   @ResponseMetered(name = "table-exits", absolute = true)
-  public Response tableExists(
-      @PathParam("namespace") String namespace, @PathParam("table") String table) {
+  public void tableExists(
+      @PathParam("namespace") String namespace,
+      @PathParam("table") String table,
+      @Suspended AsyncResponse asyncResponse) {
     TableIdentifier tableIdentifier =
         TableIdentifier.of(RESTUtil.decodeNamespace(namespace), table);
-    if (icebergTableOps.tableExists(tableIdentifier)) {
-      return IcebergRestUtils.okWithoutContent();
-    } else {
-      return IcebergRestUtils.notExists();
-    }
+    resumeAsync(
+        asyncResponse,
+        () -> {
+          if (icebergTableOps.tableExists(tableIdentifier)) {
+            return IcebergRestUtils.okWithoutContent();
+          } else {
+            return IcebergRestUtils.notExists();
+          }
+        });
   }
 
   @POST
@@ -167,10 +245,52 @@ public class IcebergTableOperations {
       @PathParam("namespace") String namespace,
       @PathParam("table") String table,
       ReportMetricsRequest request) {
-    icebergMetricsManager.recordMetric(request.report());
+    TableIdentifier tableIdentifier =
+        TableIdentifier.of(RESTUtil.decodeNamespace(namespace), table);
+    icebergMetricsManager.recordMetric(withTableName(request.report(), tableIdentifier));
     return IcebergRestUtils.noContent();
   }
 
+  @GET
+  @Path("{table}/metrics/scan")
+  @Produces(MediaType.APPLICATION_JSON)
+  @Timed(name = "get-table-scan-metrics." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @ResponseMetered(name = "get-table-scan-metrics", absolute = true)
+  public Response getTableScanMetrics(
+      @PathParam("namespace") String namespace,
+      @PathParam("table") String table,
+      @QueryParam("from") String from,
+      @QueryParam("to") String to) {
+    TableIdentifier tableIdentifier =
+        TableIdentifier.of(RESTUtil.decodeNamespace(namespace), table);
+    Instant toInstant = IcebergRestUtils.parseInstant("to", to, Instant.now());
+    Instant fromInstant =
+        IcebergRestUtils.parseInstant(
+            "from", from, toInstant.minus(IcebergMetricsOperations.DEFAULT_METRICS_WINDOW));
+    IcebergMetricsOperations.checkWindow(fromInstant, toInstant);
+    return IcebergRestUtils.ok(
+        icebergMetricsManager.summarizeScanMetrics(
+            tableIdentifier.toString(), fromInstant, toInstant));
+  }
+
+  // The clients report the table name with their own catalog name, record the metrics with the
+  // table identifier of this server so they could be queried by the table.
+  private static MetricsReport withTableName(
+      MetricsReport metricsReport, TableIdentifier tableIdentifier) {
+    if (metricsReport instanceof ScanReport) {
+      return ImmutableScanReport.copyOf((ScanReport) metricsReport)
+          .withTableName(tableIdentifier.toString());
+    } else if (metricsReport instanceof CommitReport) {
+      return ImmutableCommitReport.copyOf((CommitReport) metricsReport)
+          .withTableName(tableIdentifier.toString());
+    }
+    return metricsReport;
+  }
+
+  private void resumeAsync(AsyncResponse asyncResponse, Supplier<Response> handler) {
+    IcebergRestUtils.resumeAsync(asyncResponse, icebergTableOps.getBackendExecutor(), handler);
+  }
+
   private String SerializeUpdateTableRequest(UpdateTableRequest updateTableRequest) {
     try {
       return icebergObjectMapper.writeValueAsString(updateTableRequest);
@@ -5,8 +5,8 @@
 package com.datastrato.aurora.web.rest;
 
 import com.codahale.metrics.annotation.ResponseMetered;
-import com.codahale.metrics.annotation.Timed;
 import com.datastrato.aurora.iceberg.IcebergTableOps;
+import com.datastrato.aurora.metrics.AsyncTimed;
 import com.datastrato.aurora.metrics.MetricNames;
 import com.datastrato.aurora.web.IcebergRestUtils;
 import javax.inject.Inject;
@@ -15,9 +15,10 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.Response;
 import org.apache.iceberg.rest.requests.RenameTableRequest;
 
 @Path("/v1/{prefix:([^/]*/)?}tables/rename")
@@ -38,10 +39,16 @@ public class IcebergTableRenameOperations {
 
   @POST
   @Produces(MediaType.APPLICATION_JSON)
-  @Timed(name = "rename-table." + MetricNames.HTTP_PROCESS_DURATION, absolute = true)
+  @AsyncTimed(name = "rename-table." + MetricNames.HTTP_PROCESS_DURATION)
   @ResponseMetered(name = "rename-table", absolute = true)
-  public Response renameTable(RenameTableRequest renameTableRequest) {
-    icebergTableOps.renameTable(renameTableRequest);
-    return IcebergRestUtils.okWithoutContent();
+  public void renameTable(
+      RenameTableRequest renameTableRequest, @Suspended AsyncResponse asyncResponse) {
+    IcebergRestUtils.resumeAsync(
+        asyncResponse,
+        icebergTableOps.getBackendExecutor(),
+        () -> {
+          icebergTableOps.renameTable(renameTableRequest);
+          return IcebergRestUtils.okWithoutContent();
+        });
   }
 }
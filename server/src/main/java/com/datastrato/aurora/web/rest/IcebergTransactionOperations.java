@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.rest;
+
+import com.codahale.metrics.annotation.ResponseMetered;
+import com.datastrato.aurora.iceberg.IcebergTableOps;
+import com.datastrato.aurora.iceberg.TableResult;
+import com.datastrato.aurora.metrics.AsyncTimed;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.web.IcebergRestUtils;
+import com.datastrato.aurora.web.requests.CommitTransactionRequest;
+import com.datastrato.aurora.web.requests.CommitTransactionRequest.TableChange;
+import com.datastrato.aurora.web.responses.CommitTransactionResponse;
+import com.datastrato.aurora.web.responses.CommitTransactionResponse.CommitTableResult;
+import com.google.common.base.Preconditions;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.rest.requests.UpdateTableRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Commit the changes of many tables in one request. The tables are committed atomically on the
+ * backends supporting it, and concurrently on the others. Each table has its own result, with the
+ * new metadata location or the error response it would get from updateTable.
+ */
+@Path("/v1/{prefix:([^/]*/)?}transactions/commit")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class IcebergTransactionOperations {
+
+  private static final Logger LOG = LoggerFactory.getLogger(IcebergTransactionOperations.class);
+
+  @SuppressWarnings("UnusedVariable")
+  @Context
+  private HttpServletRequest httpRequest;
+
+  private IcebergTableOps icebergTableOps;
+
+  @Inject
+  public IcebergTransactionOperations(IcebergTableOps icebergTableOps) {
+    this.icebergTableOps = icebergTableOps;
+  }
+
+  @POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @AsyncTimed(name = "commit-transaction." + MetricNames.HTTP_PROCESS_DURATION)
+  @ResponseMetered(name = "commit-transaction", absolute = true)
+  public void commitTransaction(
+      CommitTransactionRequest commitTransactionRequest, @Suspended AsyncResponse asyncResponse) {
+    Preconditions.checkArgument(
+        commitTransactionRequest != null && commitTransactionRequest.getTableChanges() != null,
+        "Invalid commit transaction request, the table changes are missing");
+    Map<TableIdentifier, UpdateTableRequest> tableChanges = new LinkedHashMap<>();
+    for (TableChange tableChange : commitTransactionRequest.getTableChanges()) {
+      Preconditions.checkArgument(
+          tableChange.getIdentifier() != null, "Invalid table change, the identifier is missing");
+      Preconditions.checkArgument(
+          tableChanges.put(tableChange.getIdentifier(), tableChange.toUpdateTableRequest())
+              == null,
+          "Table %s is changed more than once in the transaction",
+          tableChange.getIdentifier());
+    }
+    LOG.info("Commit Iceberg transaction, tables: {}", tableChanges.keySet());
+    IcebergRestUtils.resumeAsync(
+        asyncResponse,
+        icebergTableOps.getBackendExecutor(),
+        () -> {
+          List<CommitTableResult> tables =
+              icebergTableOps.commitTransaction(tableChanges).stream()
+                  .map(IcebergTransactionOperations::toCommitTableResult)
+                  .collect(Collectors.toList());
+          return IcebergRestUtils.ok(
+              new CommitTransactionResponse(icebergTableOps.isAtomicTransaction(), tables));
+        });
+  }
+
+  private static CommitTableResult toCommitTableResult(TableResult<String> result) {
+    return result
+        .getFailure()
+        .map(
+            e ->
+                new CommitTableResult(
+                    result.getIdentifier(), null, IcebergRestUtils.toErrorResponse(e)))
+        .orElseGet(
+            () -> new CommitTableResult(result.getIdentifier(), result.getResponse().get(), null));
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.iceberg;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import java.io.File;
+import org.apache.iceberg.CatalogProperties;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.MetadataUpdate.AddSchema;
+import org.apache.iceberg.MetadataUpdate.AddSnapshot;
+import org.apache.iceberg.MetadataUpdate.SetCurrentSchema;
+import org.apache.iceberg.MetadataUpdate.SetSnapshotRef;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.SnapshotRef;
+import org.apache.iceberg.SnapshotRefType;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.exceptions.CommitFailedException;
+import org.apache.iceberg.rest.requests.CreateNamespaceRequest;
+import org.apache.iceberg.rest.requests.CreateTableRequest;
+import org.apache.iceberg.rest.requests.UpdateTableRequest;
+import org.apache.iceberg.types.Types.NestedField;
+import org.apache.iceberg.types.Types.StringType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestAppendOnlyCommit {
+
+  private static final Namespace NAMESPACE = Namespace.of("append_ns");
+  private static final TableIdentifier TABLE = TableIdentifier.of(NAMESPACE, "t1");
+  private static final Schema TABLE_SCHEMA =
+      new Schema(NestedField.of(1, false, "foo_string", StringType.get()));
+
+  @TempDir private File tempDir;
+
+  private IcebergTableOps createTableOps(boolean commitRetryEnabled) {
+    IcebergServerConfig config =
+        new IcebergServerConfig(
+            ImmutableMap.<String, String>builder()
+                .put(IcebergServerConfig.CATALOG_BACKEND.getKey(), "jdbc")
+                .put(
+                    CatalogProperties.URI,
+                    "jdbc:sqlite:" + new File(tempDir, "catalog.db").getAbsolutePath())
+                .put(CatalogProperties.WAREHOUSE_LOCATION, tempDir.getAbsolutePath())
+                .put(IcebergServerConfig.JDBC_DRIVER.getKey(), "org.sqlite.JDBC")
+                .put(IcebergServerConfig.JDBC_USER.getKey(), "iceberg")
+                .put(IcebergServerConfig.JDBC_PASSWORD.getKey(), "iceberg")
+                .put(
+                    IcebergServerConfig.COMMIT_RETRY_ENABLED.getKey(),
+                    String.valueOf(commitRetryEnabled))
+                .build());
+    IcebergTableOps icebergTableOps = new IcebergTableOps(config);
+    icebergTableOps.createNamespace(
+        CreateNamespaceRequest.builder().withNamespace(NAMESPACE).build());
+    icebergTableOps.createTable(
+        NAMESPACE,
+        CreateTableRequest.builder().withName(TABLE.name()).withSchema(TABLE_SCHEMA).build());
+    return icebergTableOps;
+  }
+
+  private static DataFile newDataFile(String name) {
+    return DataFiles.builder(PartitionSpec.unpartitioned())
+        .withPath("/path/to/" + name + ".parquet")
+        .withFileSizeInBytes(10)
+        .withRecordCount(1)
+        .withFormat(FileFormat.PARQUET)
+        .build();
+  }
+
+  // Write the snapshot of an append like a client would, without committing it.
+  private static UpdateTableRequest newAppend(IcebergTableOps tableOps, String fileName) {
+    Table table = tableOps.catalog.loadTable(TABLE);
+    TableMetadata base = tableOps.loadTable(TABLE).tableMetadata();
+    Snapshot snapshot = table.newFastAppend().appendFile(newDataFile(fileName)).apply();
+    return UpdateTableRequest.builderFor(base)
+        .update(new AddSnapshot(snapshot))
+        .update(
+            new SetSnapshotRef(
+                SnapshotRef.MAIN_BRANCH,
+                snapshot.snapshotId(),
+                SnapshotRefType.BRANCH,
+                null,
+                null,
+                null))
+        .build();
+  }
+
+  private static int countDataFiles(IcebergTableOps tableOps) {
+    Table table = tableOps.catalog.loadTable(TABLE);
+    return Iterables.size(table.newScan().planFiles());
+  }
+
+  @Test
+  void testRebaseConflictingAppend() throws Exception {
+    try (IcebergTableOps icebergTableOps = createTableOps(true)) {
+      UpdateTableRequest append1 = newAppend(icebergTableOps, "file1");
+      UpdateTableRequest append2 = newAppend(icebergTableOps, "file2");
+      icebergTableOps.updateTable(TABLE, append1);
+      // The second append was written on the same base, it's rebased onto the first one.
+      TableMetadata tableMetadata = icebergTableOps.updateTable(TABLE, append2).tableMetadata();
+      Assertions.assertEquals(2, tableMetadata.snapshots().size());
+      Assertions.assertEquals(2, countDataFiles(icebergTableOps));
+      // The data files are appended in a new snapshot, not the one sent by the client.
+      long clientSnapshotId = ((AddSnapshot) append2.updates().get(0)).snapshot().snapshotId();
+      Assertions.assertNotEquals(clientSnapshotId, tableMetadata.currentSnapshot().snapshotId());
+      Assertions.assertEquals(
+          String.valueOf(clientSnapshotId),
+          tableMetadata.currentSnapshot().summary().get(AppendOnlyCommit.REBASED_SNAPSHOT_ID_PROP));
+    }
+  }
+
+  @Test
+  void testReplayRebasedAppend() throws Exception {
+    try (IcebergTableOps icebergTableOps = createTableOps(true)) {
+      UpdateTableRequest append1 = newAppend(icebergTableOps, "file1");
+      UpdateTableRequest append2 = newAppend(icebergTableOps, "file2");
+      icebergTableOps.updateTable(TABLE, append1);
+      icebergTableOps.updateTable(TABLE, append2);
+      UpdateTableRequest append3 = newAppend(icebergTableOps, "file3");
+      icebergTableOps.updateTable(TABLE, append3);
+
+      // A retry of the rebased append conflicts again, but it's found under its rebased snapshot.
+      Assertions.assertThrows(
+          CommitFailedException.class, () -> icebergTableOps.updateTable(TABLE, append2));
+      Assertions.assertEquals(3, countDataFiles(icebergTableOps));
+    }
+  }
+
+  @Test
+  void testConflictWithoutRetry() throws Exception {
+    try (IcebergTableOps icebergTableOps = createTableOps(false)) {
+      UpdateTableRequest append1 = newAppend(icebergTableOps, "file1");
+      UpdateTableRequest append2 = newAppend(icebergTableOps, "file2");
+      icebergTableOps.updateTable(TABLE, append1);
+      Assertions.assertThrows(
+          CommitFailedException.class, () -> icebergTableOps.updateTable(TABLE, append2));
+      Assertions.assertEquals(1, countDataFiles(icebergTableOps));
+    }
+  }
+
+  @Test
+  void testOnlyAppendsAreRebased() throws Exception {
+    try (IcebergTableOps icebergTableOps = createTableOps(true)) {
+      Assertions.assertTrue(AppendOnlyCommit.of(newAppend(icebergTableOps, "file1")).isPresent());
+
+      TableMetadata base = icebergTableOps.loadTable(TABLE).tableMetadata();
+      Schema newSchema = new Schema(NestedField.of(2, false, "foo_string1", StringType.get()));
+      UpdateTableRequest schemaChange =
+          UpdateTableRequest.builderFor(base)
+              .update(new AddSchema(newSchema, base.lastColumnId()))
+              .update(new SetCurrentSchema(1))
+              .build();
+      Assertions.assertFalse(AppendOnlyCommit.of(schemaChange).isPresent());
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.iceberg;
+
+import com.codahale.metrics.Gauge;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.IcebergCatalogMetricsSource;
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestIcebergBackendExecutor {
+
+  @Test
+  void testRunInCallingThread() throws Exception {
+    try (IcebergBackendExecutor executor = new IcebergBackendExecutor("memory")) {
+      AtomicReference<Thread> thread = new AtomicReference<>();
+      executor.execute(() -> thread.set(Thread.currentThread()));
+      Assertions.assertSame(Thread.currentThread(), thread.get());
+    }
+  }
+
+  @Test
+  void testRejectWhenQueueFull() throws Exception {
+    MetricsSource metricsSource = new IcebergCatalogMetricsSource();
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch finished = new CountDownLatch(2);
+    try (IcebergBackendExecutor executor =
+        new IcebergBackendExecutor("hive", 1, 1, metricsSource)) {
+      AtomicReference<String> threadName = new AtomicReference<>();
+      executor.execute(
+          () -> {
+            threadName.set(Thread.currentThread().getName());
+            running.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+          });
+      Assertions.assertTrue(running.await(10, TimeUnit.SECONDS));
+      executor.execute(finished::countDown);
+      Assertions.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+
+      Assertions.assertEquals("iceberg-backend-hive-0", threadName.get());
+      Assertions.assertEquals(
+          1, getGaugeValue(metricsSource, MetricNames.BACKEND_EXECUTOR_QUEUE_DEPTH));
+      Assertions.assertEquals(
+          1L, getGaugeValue(metricsSource, MetricNames.BACKEND_EXECUTOR_REJECTED_COUNT));
+      release.countDown();
+      Assertions.assertTrue(finished.await(10, TimeUnit.SECONDS));
+    }
+  }
+
+  private static Object getGaugeValue(MetricsSource metricsSource, String name) {
+    Gauge gauge = metricsSource.getMetricRegistry().getGauges().get(name);
+    return gauge.getValue();
+  }
+}
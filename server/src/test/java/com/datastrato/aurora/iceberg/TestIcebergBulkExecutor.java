@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.iceberg;
+
+import com.codahale.metrics.Gauge;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.IcebergCatalogMetricsSource;
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.exceptions.NoSuchTableException;
+import org.apache.iceberg.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestIcebergBulkExecutor {
+
+  private static final TableIdentifier TABLE_A = TableIdentifier.of("db", "a");
+  private static final TableIdentifier TABLE_B = TableIdentifier.of("db", "b");
+  private static final TableIdentifier TABLE_C = TableIdentifier.of("db", "c");
+
+  private static IcebergBulkExecutor newExecutor(
+      int threads, int queueSize, MetricsSource metricsSource) {
+    return new IcebergBulkExecutor(
+        "bulk-load",
+        threads,
+        queueSize,
+        metricsSource,
+        MetricNames.BULK_LOAD_QUEUE_DEPTH,
+        MetricNames.BULK_LOAD_REJECTED_COUNT);
+  }
+
+  @Test
+  void testRunTablesIndependently() throws Exception {
+    try (IcebergBulkExecutor executor = newExecutor(2, 10, new IcebergCatalogMetricsSource())) {
+      List<TableResult<String>> results =
+          executor.run(
+              ImmutableList.of(TABLE_A, TABLE_B),
+              tableIdentifier -> {
+                if (tableIdentifier.equals(TABLE_B)) {
+                  throw new NoSuchTableException("Table does not exist: %s", tableIdentifier);
+                }
+                return tableIdentifier.name();
+              });
+      Assertions.assertEquals(2, results.size());
+      Assertions.assertEquals("a", results.get(0).getResponse().get());
+      Assertions.assertFalse(results.get(1).getResponse().isPresent());
+      Assertions.assertTrue(results.get(1).getFailure().get() instanceof NoSuchTableException);
+    }
+  }
+
+  @Test
+  void testRejectRequestNotFittingIntoQueue() throws Exception {
+    MetricsSource metricsSource = new IcebergCatalogMetricsSource();
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try (IcebergBulkExecutor executor = newExecutor(1, 2, metricsSource)) {
+      CompletableFuture<List<TableResult<String>>> blocked =
+          CompletableFuture.supplyAsync(
+              () ->
+                  executor.run(
+                      ImmutableList.of(TABLE_A),
+                      tableIdentifier -> {
+                        running.countDown();
+                        try {
+                          release.await();
+                        } catch (InterruptedException e) {
+                          Thread.currentThread().interrupt();
+                        }
+                        return tableIdentifier.name();
+                      }));
+      Assertions.assertTrue(running.await(10, TimeUnit.SECONDS));
+
+      // One table is in flight, a request of two tables doesn't fit and none of them runs.
+      Assertions.assertThrows(
+          ServiceUnavailableException.class,
+          () ->
+              executor.run(
+                  ImmutableList.of(TABLE_B, TABLE_C),
+                  tableIdentifier -> Assertions.fail("The rejected tables shouldn't run")));
+      Assertions.assertEquals(
+          1L, getGaugeValue(metricsSource, MetricNames.BULK_LOAD_REJECTED_COUNT));
+
+      release.countDown();
+      Assertions.assertEquals("a", blocked.get(10, TimeUnit.SECONDS).get(0).getResponse().get());
+      // The finished tables give back their room in the queue.
+      List<TableResult<String>> results =
+          executor.run(ImmutableList.of(TABLE_B, TABLE_C), TableIdentifier::name);
+      Assertions.assertEquals("c", results.get(1).getResponse().get());
+      Assertions.assertEquals(0, getGaugeValue(metricsSource, MetricNames.BULK_LOAD_QUEUE_DEPTH));
+    }
+  }
+
+  private static Object getGaugeValue(MetricsSource metricsSource, String name) {
+    Gauge gauge = metricsSource.getMetricRegistry().getGauges().get(name);
+    return gauge.getValue();
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.iceberg;
+
+import com.codahale.metrics.Gauge;
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.HasTableOperations;
+import org.apache.iceberg.MetadataUpdate;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.catalog.Catalog;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.exceptions.NoSuchTableException;
+import org.apache.iceberg.rest.requests.CreateNamespaceRequest;
+import org.apache.iceberg.rest.requests.CreateTableRequest;
+import org.apache.iceberg.rest.requests.UpdateTableRequest;
+import org.apache.iceberg.rest.responses.LoadTableResponse;
+import org.apache.iceberg.types.Types.NestedField;
+import org.apache.iceberg.types.Types.StringType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class TestIcebergTableOps {
+
+  private static final Namespace NAMESPACE = Namespace.of("test_ns");
+  private static final Schema TABLE_SCHEMA =
+      new Schema(NestedField.of(1, false, "foo_string", StringType.get()));
+
+  private IcebergTableOps icebergTableOps;
+
+  @BeforeEach
+  void init() {
+    IcebergServerConfig config =
+        new IcebergServerConfig(
+            ImmutableMap.of(IcebergServerConfig.TABLE_METADATA_CACHE_ENABLED.getKey(), "true"));
+    icebergTableOps = new IcebergTableOps(config);
+    icebergTableOps.createNamespace(
+        CreateNamespaceRequest.builder().withNamespace(NAMESPACE).build());
+  }
+
+  @AfterEach
+  void close() throws Exception {
+    icebergTableOps.close();
+  }
+
+  private TableIdentifier createTable(String name) {
+    icebergTableOps.createTable(
+        NAMESPACE,
+        CreateTableRequest.builder().withName(name).withSchema(TABLE_SCHEMA).build());
+    return TableIdentifier.of(NAMESPACE, name);
+  }
+
+  private long getGaugeValue(String name) {
+    Gauge gauge = icebergTableOps.getMetricsSource().getMetricRegistry().getGauges().get(name);
+    return (Long) gauge.getValue();
+  }
+
+  @Test
+  void testLoadTableFromCache() {
+    TableIdentifier tableIdentifier = createTable("cache_foo1");
+    TableMetadata first = icebergTableOps.loadTable(tableIdentifier).tableMetadata();
+    TableMetadata second = icebergTableOps.loadTable(tableIdentifier).tableMetadata();
+
+    Assertions.assertSame(first, second);
+    Assertions.assertEquals(2, getGaugeValue(MetricNames.TABLE_METADATA_CACHE_HIT_COUNT));
+    Assertions.assertEquals(1, getGaugeValue(MetricNames.TABLE_METADATA_CACHE_SIZE));
+  }
+
+  @Test
+  void testUpdateTableRefreshCache() {
+    TableIdentifier tableIdentifier = createTable("cache_foo2");
+    TableMetadata base = icebergTableOps.loadTable(tableIdentifier).tableMetadata();
+    UpdateTableRequest updateTableRequest =
+        UpdateTableRequest.builderFor(base)
+            .update(new MetadataUpdate.SetProperties(ImmutableMap.of("k1", "v1")))
+            .build();
+    TableMetadata updated =
+        icebergTableOps.updateTable(tableIdentifier, updateTableRequest).tableMetadata();
+
+    TableMetadata loaded = icebergTableOps.loadTable(tableIdentifier).tableMetadata();
+    Assertions.assertEquals(updated.metadataFileLocation(), loaded.metadataFileLocation());
+    Assertions.assertEquals("v1", loaded.properties().get("k1"));
+  }
+
+  @Test
+  void testDropTableInvalidateCache() {
+    TableIdentifier tableIdentifier = createTable("cache_foo3");
+    icebergTableOps.loadTable(tableIdentifier);
+    icebergTableOps.dropTable(tableIdentifier);
+
+    Assertions.assertThrowsExactly(
+        NoSuchTableException.class, () -> icebergTableOps.loadTable(tableIdentifier));
+    Assertions.assertEquals(0, getGaugeValue(MetricNames.TABLE_METADATA_CACHE_SIZE));
+  }
+
+  @Test
+  void testDropTableWhileLoading() throws Exception {
+    TableIdentifier tableIdentifier = createTable("cache_foo4");
+    CountDownLatch loaded = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Catalog catalog = Mockito.spy(icebergTableOps.catalog);
+    // The load reads the metadata, then waits for the drop before it caches the metadata.
+    Mockito.doAnswer(
+            invocation -> {
+              Object table = invocation.callRealMethod();
+              loaded.countDown();
+              release.await();
+              return table;
+            })
+        .when(catalog)
+        .loadTable(tableIdentifier);
+    icebergTableOps.catalog = catalog;
+
+    CompletableFuture<LoadTableResponse> load =
+        CompletableFuture.supplyAsync(() -> icebergTableOps.loadTable(tableIdentifier));
+    Assertions.assertTrue(loaded.await(10, TimeUnit.SECONDS));
+    icebergTableOps.dropTable(tableIdentifier);
+    release.countDown();
+    load.get(10, TimeUnit.SECONDS);
+
+    Assertions.assertThrowsExactly(
+        NoSuchTableException.class, () -> icebergTableOps.loadTable(tableIdentifier));
+    Assertions.assertEquals(0, getGaugeValue(MetricNames.TABLE_METADATA_CACHE_SIZE));
+  }
+
+  private void appendFile(Table table, String name) {
+    table
+        .newFastAppend()
+        .appendFile(
+            DataFiles.builder(PartitionSpec.unpartitioned())
+                .withPath(table.location() + "/data/" + name + ".parquet")
+                .withFileSizeInBytes(10)
+                .withRecordCount(1)
+                .build())
+        .commit();
+  }
+
+  @Test
+  void testLoadTableWithRefSnapshots() {
+    TableIdentifier tableIdentifier = createTable("refs_foo1");
+    Table table = icebergTableOps.catalog.loadTable(tableIdentifier);
+    appendFile(table, "a");
+    long taggedSnapshotId = table.currentSnapshot().snapshotId();
+    table.manageSnapshots().createTag("tag1", taggedSnapshotId).commit();
+    appendFile(table, "b");
+    appendFile(table, "c");
+    long currentSnapshotId = table.currentSnapshot().snapshotId();
+
+    TableMetadata allSnapshots = ((HasTableOperations) table).operations().refresh();
+    Assertions.assertEquals(3, allSnapshots.snapshots().size());
+
+    TableMetadata refSnapshots = IcebergTableOps.retainRefSnapshots(allSnapshots);
+    Assertions.assertEquals(
+        ImmutableSet.of(taggedSnapshotId, currentSnapshotId),
+        refSnapshots.snapshots().stream()
+            .map(Snapshot::snapshotId)
+            .collect(Collectors.toSet()));
+    Assertions.assertEquals(
+        allSnapshots.metadataFileLocation(), refSnapshots.metadataFileLocation());
+    Assertions.assertEquals(currentSnapshotId, refSnapshots.currentSnapshot().snapshotId());
+    Assertions.assertEquals(allSnapshots.refs(), refSnapshots.refs());
+
+    Assertions.assertSame(refSnapshots, IcebergTableOps.retainRefSnapshots(refSnapshots));
+
+    // Commit through the server so it serves the metadata with all the snapshots.
+    icebergTableOps.updateTable(
+        tableIdentifier,
+        UpdateTableRequest.builderFor(allSnapshots)
+            .update(new MetadataUpdate.SetProperties(ImmutableMap.of("k1", "v1")))
+            .build());
+    // The trimmed metadata is computed once per metadata file.
+    TableMetadata loaded =
+        icebergTableOps.loadTable(tableIdentifier, SnapshotMode.REFS).tableMetadata();
+    Assertions.assertEquals(2, loaded.snapshots().size());
+    Assertions.assertSame(
+        loaded, icebergTableOps.loadTable(tableIdentifier, SnapshotMode.REFS).tableMetadata());
+  }
+
+  @Test
+  void testListNamespaceByPage() {
+    for (String name : new String[] {"page_ns2", "page_ns1"}) {
+      icebergTableOps.createNamespace(
+          CreateNamespaceRequest.builder().withNamespace(Namespace.of(name)).build());
+    }
+
+    ListingPage<Namespace> firstPage =
+        icebergTableOps.listNamespace(Namespace.empty(), "", Optional.of(2));
+    Assertions.assertEquals(
+        Arrays.asList(Namespace.of("page_ns1"), Namespace.of("page_ns2")), firstPage.getItems());
+    Assertions.assertTrue(firstPage.getNextPageToken().isPresent());
+
+    ListingPage<Namespace> lastPage =
+        icebergTableOps.listNamespace(
+            Namespace.empty(), firstPage.getNextPageToken().get(), Optional.of(2));
+    Assertions.assertEquals(Arrays.asList(NAMESPACE), lastPage.getItems());
+    Assertions.assertFalse(lastPage.getNextPageToken().isPresent());
+
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> icebergTableOps.listNamespace(Namespace.empty(), "not base64!", Optional.empty()));
+    // The token of a page of namespaces doesn't list the tables, nor the children of another one.
+    String token = firstPage.getNextPageToken().get();
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> icebergTableOps.listTable(Namespace.empty(), token, Optional.empty()));
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> icebergTableOps.listNamespace(NAMESPACE, token, Optional.empty()));
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.iceberg;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.iceberg.CatalogProperties;
+import org.apache.iceberg.MetadataUpdate.AddSchema;
+import org.apache.iceberg.MetadataUpdate.SetCurrentSchema;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.exceptions.CommitFailedException;
+import org.apache.iceberg.exceptions.CommitStateUnknownException;
+import org.apache.iceberg.jdbc.JdbcCatalog;
+import org.apache.iceberg.jdbc.JdbcClientPool;
+import org.apache.iceberg.rest.requests.CreateNamespaceRequest;
+import org.apache.iceberg.rest.requests.CreateTableRequest;
+import org.apache.iceberg.rest.requests.UpdateTableRequest;
+import org.apache.iceberg.types.Types.NestedField;
+import org.apache.iceberg.types.Types.StringType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestJdbcTransactionCommitter {
+
+  private static final Namespace NAMESPACE = Namespace.of("txn_ns");
+  private static final TableIdentifier TABLE1 = TableIdentifier.of(NAMESPACE, "t1");
+  private static final TableIdentifier TABLE2 = TableIdentifier.of(NAMESPACE, "t2");
+  private static final Schema TABLE_SCHEMA =
+      new Schema(NestedField.of(1, false, "foo_string", StringType.get()));
+  private static final Schema NEW_TABLE_SCHEMA =
+      new Schema(NestedField.of(2, false, "foo_string1", StringType.get()));
+
+  @TempDir private File tempDir;
+
+  private IcebergTableOps createTableOps() {
+    IcebergServerConfig config =
+        new IcebergServerConfig(
+            ImmutableMap.<String, String>builder()
+                .put(IcebergServerConfig.CATALOG_BACKEND.getKey(), "jdbc")
+                .put(
+                    CatalogProperties.URI,
+                    "jdbc:sqlite:" + new File(tempDir, "catalog.db").getAbsolutePath())
+                .put(CatalogProperties.WAREHOUSE_LOCATION, tempDir.getAbsolutePath())
+                .put(IcebergServerConfig.JDBC_DRIVER.getKey(), "org.sqlite.JDBC")
+                .put(IcebergServerConfig.JDBC_USER.getKey(), "iceberg")
+                .put(IcebergServerConfig.JDBC_PASSWORD.getKey(), "iceberg")
+                .build());
+    IcebergTableOps icebergTableOps = new IcebergTableOps(config);
+    icebergTableOps.createNamespace(
+        CreateNamespaceRequest.builder().withNamespace(NAMESPACE).build());
+    for (TableIdentifier table : new TableIdentifier[] {TABLE1, TABLE2}) {
+      icebergTableOps.createTable(
+          NAMESPACE,
+          CreateTableRequest.builder().withName(table.name()).withSchema(TABLE_SCHEMA).build());
+    }
+    return icebergTableOps;
+  }
+
+  private static UpdateTableRequest newSchemaChange(TableMetadata base) {
+    return UpdateTableRequest.builderFor(base)
+        .update(new AddSchema(NEW_TABLE_SCHEMA, base.lastColumnId()))
+        .update(new SetCurrentSchema(1))
+        .build();
+  }
+
+  private static TableMetadata loadMetadata(IcebergTableOps tableOps, TableIdentifier table) {
+    return tableOps.loadTable(table).tableMetadata();
+  }
+
+  @Test
+  void testCommitAtomically() throws Exception {
+    try (IcebergTableOps icebergTableOps = createTableOps()) {
+      Assertions.assertTrue(icebergTableOps.isAtomicTransaction());
+      TableMetadata base1 = loadMetadata(icebergTableOps, TABLE1);
+      TableMetadata base2 = loadMetadata(icebergTableOps, TABLE2);
+
+      Map<TableIdentifier, UpdateTableRequest> tableChanges = new LinkedHashMap<>();
+      tableChanges.put(TABLE1, newSchemaChange(base1));
+      tableChanges.put(TABLE2, newSchemaChange(base2));
+      List<TableResult<String>> results = icebergTableOps.commitTransaction(tableChanges);
+
+      for (TableResult<String> result : results) {
+        TableMetadata tableMetadata = loadMetadata(icebergTableOps, result.getIdentifier());
+        Assertions.assertEquals(NEW_TABLE_SCHEMA.columns(), tableMetadata.schema().columns());
+        Assertions.assertEquals(
+            tableMetadata.metadataFileLocation(), result.getResponse().orElse(null));
+        // The new metadata file has the next version, like the files written by the catalog.
+        int previousVersion =
+            JdbcTransactionCommitter.parseVersion(tableMetadata.previousFiles().get(0).file());
+        Assertions.assertEquals(
+            previousVersion + 1,
+            JdbcTransactionCommitter.parseVersion(tableMetadata.metadataFileLocation()));
+      }
+    }
+  }
+
+  // The transaction is committed, but the connection breaks before the commit is acknowledged.
+  private static Connection breakOnCommit(Connection connection) {
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              try {
+                Object result = method.invoke(connection, args);
+                if ("commit".equals(method.getName())) {
+                  throw new SQLNonTransientConnectionException("Connection reset");
+                }
+                return result;
+              } catch (InvocationTargetException e) {
+                throw e.getCause();
+              }
+            });
+  }
+
+  private static class BreakOnCommitPool extends JdbcClientPool {
+    BreakOnCommitPool(String dbUrl) {
+      super(1, dbUrl, ImmutableMap.of());
+    }
+
+    @Override
+    public <R> R run(Action<R, Connection, SQLException> action, boolean retry)
+        throws SQLException, InterruptedException {
+      return super.run(connection -> action.run(breakOnCommit(connection)), retry);
+    }
+  }
+
+  @Test
+  void testCommitStateUnknown() throws Exception {
+    try (IcebergTableOps icebergTableOps = createTableOps();
+        JdbcClientPool brokenPool =
+            new BreakOnCommitPool(
+                "jdbc:sqlite:" + new File(tempDir, "catalog.db").getAbsolutePath())) {
+      JdbcTransactionCommitter committer =
+          new JdbcTransactionCommitter((JdbcCatalog) icebergTableOps.catalog, brokenPool);
+      Map<TableIdentifier, UpdateTableRequest> tableChanges = new LinkedHashMap<>();
+      tableChanges.put(TABLE1, newSchemaChange(loadMetadata(icebergTableOps, TABLE1)));
+      tableChanges.put(TABLE2, newSchemaChange(loadMetadata(icebergTableOps, TABLE2)));
+      List<TableResult<String>> results = committer.commit(tableChanges);
+
+      Assertions.assertEquals(2, results.size());
+      for (TableResult<String> result : results) {
+        Assertions.assertTrue(
+            result.getFailure().get() instanceof CommitStateUnknownException,
+            "Table " + result.getIdentifier() + " should have an unknown commit state");
+        // The transaction was committed, the new metadata of every table must be kept.
+        Assertions.assertEquals(
+            NEW_TABLE_SCHEMA.columns(),
+            icebergTableOps.catalog.loadTable(result.getIdentifier()).schema().columns());
+      }
+    }
+  }
+
+  @Test
+  void testAbortOnConflict() throws Exception {
+    try (IcebergTableOps icebergTableOps = createTableOps()) {
+      TableMetadata base1 = loadMetadata(icebergTableOps, TABLE1);
+      TableMetadata base2 = loadMetadata(icebergTableOps, TABLE2);
+      // Another writer changes the second table.
+      icebergTableOps.updateTable(TABLE2, newSchemaChange(base2));
+      String table2Location = loadMetadata(icebergTableOps, TABLE2).metadataFileLocation();
+
+      Map<TableIdentifier, UpdateTableRequest> tableChanges = new LinkedHashMap<>();
+      tableChanges.put(TABLE1, newSchemaChange(base1));
+      tableChanges.put(TABLE2, newSchemaChange(base2));
+      List<TableResult<String>> results = icebergTableOps.commitTransaction(tableChanges);
+
+      Assertions.assertEquals(2, results.size());
+      for (TableResult<String> result : results) {
+        Assertions.assertFalse(result.getResponse().isPresent());
+        Assertions.assertTrue(result.getFailure().get() instanceof CommitFailedException);
+      }
+      Assertions.assertEquals(
+          base1.metadataFileLocation(),
+          loadMetadata(icebergTableOps, TABLE1).metadataFileLocation());
+      Assertions.assertEquals(
+          table2Location, loadMetadata(icebergTableOps, TABLE2).metadataFileLocation());
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.iceberg;
+
+import com.codahale.metrics.Gauge;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.IcebergCatalogMetricsSource;
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.hive.metastore.IMetaStoreClient;
+import org.apache.iceberg.ClientPool;
+import org.apache.thrift.TException;
+import org.apache.thrift.transport.TTransportException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestMeteredHiveClientPool {
+
+  @Test
+  void testCheckoutMetrics() throws Exception {
+    MetricsSource metricsSource = new IcebergCatalogMetricsSource();
+    MeteredHiveClientPool pool =
+        new MeteredHiveClientPool(new FakeClientPool(1), 1, metricsSource);
+    CountDownLatch holding = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<Integer> holder =
+          executor.submit(
+              () ->
+                  pool.run(
+                      client -> {
+                        holding.countDown();
+                        awaitQuietly(release);
+                        return 1;
+                      }));
+      Assertions.assertTrue(holding.await(10, TimeUnit.SECONDS));
+      Assertions.assertEquals(
+          1, getGaugeValue(metricsSource, MetricNames.HIVE_CLIENT_POOL_IN_USE_NUM));
+
+      Future<Integer> waiter = executor.submit(() -> pool.run(client -> 2));
+      while ((Integer) getGaugeValue(metricsSource, MetricNames.HIVE_CLIENT_POOL_WAITING_NUM) < 1) {
+        Thread.sleep(10);
+      }
+      release.countDown();
+
+      Assertions.assertEquals(1, holder.get(10, TimeUnit.SECONDS));
+      Assertions.assertEquals(2, waiter.get(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assertions.assertEquals(
+        1, metricsSource.getCounter(MetricNames.HIVE_CLIENT_POOL_EXHAUSTED_COUNT).getCount());
+    Assertions.assertEquals(
+        2, metricsSource.getTimer(MetricNames.HIVE_CLIENT_POOL_CHECKOUT_WAIT).getCount());
+    Assertions.assertEquals(
+        0, getGaugeValue(metricsSource, MetricNames.HIVE_CLIENT_POOL_IN_USE_NUM));
+    Assertions.assertEquals(
+        0, getGaugeValue(metricsSource, MetricNames.HIVE_CLIENT_POOL_WAITING_NUM));
+  }
+
+  @Test
+  void testCheckoutFailure() {
+    MetricsSource metricsSource = new IcebergCatalogMetricsSource();
+    ClientPool<IMetaStoreClient, TException> failingPool =
+        new FakeClientPool(1) {
+          @Override
+          public <R> R run(Action<R, IMetaStoreClient, TException> action) throws TException {
+            throw new TTransportException("Could not connect to meta store");
+          }
+        };
+    MeteredHiveClientPool pool = new MeteredHiveClientPool(failingPool, 1, metricsSource);
+
+    Assertions.assertThrows(TTransportException.class, () -> pool.run(client -> 1));
+    Assertions.assertEquals(
+        0, getGaugeValue(metricsSource, MetricNames.HIVE_CLIENT_POOL_WAITING_NUM));
+    Assertions.assertEquals(
+        0, metricsSource.getTimer(MetricNames.HIVE_CLIENT_POOL_CHECKOUT_WAIT).getCount());
+  }
+
+  @Test
+  void testWarmUp() {
+    FakeClientPool delegate = new FakeClientPool(3);
+    MeteredHiveClientPool pool =
+        new MeteredHiveClientPool(delegate, 3, new IcebergCatalogMetricsSource());
+    pool.warmUp(3, TimeUnit.SECONDS.toMillis(10));
+    Assertions.assertEquals(3, delegate.maxInUse.get());
+  }
+
+  private static Object getGaugeValue(MetricsSource metricsSource, String name) {
+    Gauge gauge = metricsSource.getMetricRegistry().getGauges().get(name);
+    return gauge.getValue();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** A pool of fake clients, which blocks the checkouts when all the clients are in use. */
+  private static class FakeClientPool implements ClientPool<IMetaStoreClient, TException> {
+    private final Semaphore clients;
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger maxInUse = new AtomicInteger();
+
+    FakeClientPool(int poolSize) {
+      this.clients = new Semaphore(poolSize);
+    }
+
+    @Override
+    public <R> R run(Action<R, IMetaStoreClient, TException> action)
+        throws TException, InterruptedException {
+      clients.acquire();
+      try {
+        maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+        return action.run(null);
+      } finally {
+        inUse.decrementAndGet();
+        clients.release();
+      }
+    }
+
+    @Override
+    public <R> R run(Action<R, IMetaStoreClient, TException> action, boolean retry)
+        throws TException, InterruptedException {
+      return run(action);
+    }
+  }
+}
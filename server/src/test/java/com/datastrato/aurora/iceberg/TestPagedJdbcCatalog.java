@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.iceberg;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.apache.iceberg.CatalogProperties;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.exceptions.NoSuchNamespaceException;
+import org.apache.iceberg.types.Types.NestedField;
+import org.apache.iceberg.types.Types.StringType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestPagedJdbcCatalog {
+
+  private static final Namespace NAMESPACE = Namespace.of("paged_ns");
+
+  @TempDir private File tempDir;
+
+  private String getUri() {
+    return "jdbc:sqlite:" + new File(tempDir, "catalog.db").getAbsolutePath();
+  }
+
+  private Map<String, String> createProperties() {
+    return ImmutableMap.<String, String>builder()
+        .put(CatalogProperties.URI, getUri())
+        .put(CatalogProperties.WAREHOUSE_LOCATION, tempDir.getAbsolutePath())
+        .put(IcebergServerConfig.JDBC_DRIVER.getKey(), "org.sqlite.JDBC")
+        .put(IcebergServerConfig.JDBC_USER.getKey(), "iceberg")
+        .put(IcebergServerConfig.JDBC_PASSWORD.getKey(), "iceberg")
+        .put(IcebergServerConfig.JDBC_PAGED_LISTING_ENABLED.getKey(), "true")
+        .build();
+  }
+
+  private static List<String> tableNames(List<TableIdentifier> tables) {
+    return tables.stream().map(TableIdentifier::name).collect(Collectors.toList());
+  }
+
+  @Test
+  void testListTablesByKeyset() throws Exception {
+    PagedJdbcCatalog catalog =
+        (PagedJdbcCatalog) IcebergCatalogUtil.loadCatalogBackend("jdbc", createProperties());
+    try {
+      catalog.createNamespace(NAMESPACE);
+      Schema schema = new Schema(NestedField.of(1, false, "foo_string", StringType.get()));
+      for (String name : Arrays.asList("t3", "t1", "t4", "t2")) {
+        catalog.createTable(TableIdentifier.of(NAMESPACE, name), schema);
+      }
+
+      Assertions.assertEquals(
+          Arrays.asList("t1", "t2", "t3"),
+          tableNames(catalog.listTables(NAMESPACE, Optional.empty(), 3)));
+      Assertions.assertEquals(
+          Arrays.asList("t3", "t4"),
+          tableNames(catalog.listTables(NAMESPACE, Optional.of("t2"), 3)));
+      Assertions.assertTrue(catalog.listTables(NAMESPACE, Optional.of("t4"), 3).isEmpty());
+      Assertions.assertThrows(
+          NoSuchNamespaceException.class,
+          () -> catalog.listTables(Namespace.of("missing"), Optional.empty(), 3));
+    } finally {
+      catalog.close();
+    }
+  }
+
+  @Test
+  void testCreateListingIndex() throws Exception {
+    // A catalog table without a primary key, like one created by hand.
+    try (Connection connection = DriverManager.getConnection(getUri());
+        Statement statement = connection.createStatement()) {
+      statement.execute(
+          "CREATE TABLE iceberg_tables (catalog_name VARCHAR(255), table_namespace VARCHAR(255),"
+              + " table_name VARCHAR(255), metadata_location VARCHAR(1000),"
+              + " previous_metadata_location VARCHAR(1000))");
+    }
+
+    for (int i = 0; i < 2; i++) {
+      // The index is created only once.
+      PagedJdbcCatalog catalog = new PagedJdbcCatalog(null, false, true);
+      catalog.initialize("jdbc", createProperties());
+      catalog.close();
+    }
+
+    try (Connection connection = DriverManager.getConnection(getUri());
+        ResultSet resultSet =
+            connection.getMetaData().getIndexInfo(null, null, "iceberg_tables", false, false)) {
+      int indexColumns = 0;
+      while (resultSet.next()) {
+        if (PagedJdbcCatalog.LISTING_INDEX_NAME.equals(resultSet.getString("INDEX_NAME"))) {
+          indexColumns++;
+        }
+      }
+      Assertions.assertEquals(3, indexColumns);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.iceberg;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.IcebergCatalogMetricsSource;
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import org.apache.iceberg.CatalogProperties;
+import org.apache.iceberg.catalog.Catalog;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.catalog.SupportsNamespaces;
+import org.apache.iceberg.jdbc.JdbcCatalog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestPooledJdbcClientPool {
+
+  @TempDir private File tempDir;
+
+  private Map<String, String> createProperties() {
+    String uri = "jdbc:sqlite:" + new File(tempDir, "catalog.db").getAbsolutePath();
+    return ImmutableMap.<String, String>builder()
+        .put(CatalogProperties.URI, uri)
+        .put(CatalogProperties.WAREHOUSE_LOCATION, tempDir.getAbsolutePath())
+        .put(IcebergServerConfig.JDBC_DRIVER.getKey(), "org.sqlite.JDBC")
+        .put(IcebergServerConfig.JDBC_USER.getKey(), "iceberg")
+        .put(IcebergServerConfig.JDBC_PASSWORD.getKey(), "iceberg")
+        .put(IcebergServerConfig.JDBC_POOL_ENABLED.getKey(), "true")
+        .put(IcebergServerConfig.JDBC_POOL_MAX_TOTAL.getKey(), "2")
+        .put(IcebergServerConfig.JDBC_POOL_VALIDATION_QUERY.getKey(), "SELECT 1")
+        .build();
+  }
+
+  @Test
+  void testReturnConnectionAfterAction() throws Exception {
+    Map<String, String> properties = createProperties();
+    MetricsSource metricsSource = new IcebergCatalogMetricsSource();
+    try (PooledJdbcClientPool pool =
+        new PooledJdbcClientPool(
+            properties.get(CatalogProperties.URI),
+            properties,
+            new IcebergServerConfig(properties),
+            metricsSource)) {
+      for (int i = 0; i < 3; i++) {
+        int value =
+            pool.run(
+                connection -> {
+                  try (Statement statement = connection.createStatement();
+                      ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+                    resultSet.next();
+                    return resultSet.getInt(1);
+                  }
+                });
+        Assertions.assertEquals(1, value);
+      }
+
+      Assertions.assertEquals(0, pool.getDataSource().getNumActive());
+      Assertions.assertEquals(1, pool.getDataSource().getNumIdle());
+      Assertions.assertEquals(
+          3, metricsSource.getTimer(MetricNames.JDBC_POOL_CHECKOUT_WAIT).getCount());
+      Assertions.assertEquals(
+          0, metricsSource.getCounter(MetricNames.JDBC_POOL_BORROW_FAILURE_COUNT).getCount());
+    }
+  }
+
+  @Test
+  void testJdbcCatalogWithPool() throws Exception {
+    MetricsSource metricsSource = new IcebergCatalogMetricsSource();
+    Catalog catalog =
+        IcebergCatalogUtil.loadCatalogBackend("jdbc", createProperties(), metricsSource);
+    try {
+      SupportsNamespaces namespaces = (SupportsNamespaces) catalog;
+      namespaces.createNamespace(Namespace.of("db"));
+      Assertions.assertTrue(namespaces.listNamespaces().contains(Namespace.of("db")));
+      Assertions.assertTrue(
+          metricsSource.getTimer(MetricNames.JDBC_POOL_CHECKOUT_WAIT).getCount() > 0);
+    } finally {
+      ((JdbcCatalog) catalog).close();
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.iceberg;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.iceberg.exceptions.NoSuchTableException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestSingleFlight {
+
+  @Test
+  void testCoalesceConcurrentCalls() throws Exception {
+    SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    int callers = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      results.add(
+          executor.submit(
+              () ->
+                  singleFlight.execute(
+                      "t",
+                      () -> {
+                        loading.countDown();
+                        awaitQuietly(release);
+                        return loads.incrementAndGet();
+                      })));
+      loading.await();
+      for (int i = 1; i < callers; i++) {
+        results.add(executor.submit(() -> singleFlight.execute("t", loads::incrementAndGet)));
+      }
+      // Wait until all the followers joined the call in flight.
+      while (singleFlight.getCoalescedCount() < callers - 1) {
+        Thread.sleep(10);
+      }
+      release.countDown();
+
+      for (Future<Integer> result : results) {
+        Assertions.assertEquals(1, result.get(10, TimeUnit.SECONDS));
+      }
+      Assertions.assertEquals(1, loads.get());
+      Assertions.assertEquals(callers - 1, singleFlight.getCoalescedCount());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // The finished call isn't shared.
+    Assertions.assertEquals(2, singleFlight.execute("t", loads::incrementAndGet));
+  }
+
+  @Test
+  void testShareException() throws Exception {
+    SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<Integer> leader =
+          executor.submit(
+              () ->
+                  singleFlight.execute(
+                      "t",
+                      () -> {
+                        loading.countDown();
+                        awaitQuietly(release);
+                        throw new NoSuchTableException("Table does not exist: t");
+                      }));
+      loading.await();
+      Future<Integer> follower = executor.submit(() -> singleFlight.execute("t", () -> 1));
+      while (singleFlight.getCoalescedCount() < 1) {
+        Thread.sleep(10);
+      }
+      release.countDown();
+
+      for (Future<Integer> result : Arrays.asList(leader, follower)) {
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, result::get);
+        Assertions.assertTrue(e.getCause() instanceof NoSuchTableException);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testForget() {
+    SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+    int value =
+        singleFlight.execute(
+            "t",
+            () -> {
+              singleFlight.forget("t");
+              // A call after forgetting doesn't share the call in flight.
+              return singleFlight.execute("t", () -> 2) + 1;
+            });
+    Assertions.assertEquals(3, value);
+    Assertions.assertEquals(0, singleFlight.getCoalescedCount());
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -49,5 +49,12 @@ public class TestExtractMetricNameAndLabel {
             + "_"
             + Collector.sanitizeMetricName(MetricNames.HTTP_PROCESS_DURATION),
         ImmutableMap.of("operation", "update-table"));
+
+    checkResult(
+        MetricsSource.RATE_LIMIT_METRIC_NAME
+            + "."
+            + String.format(MetricNames.RATE_LIMIT_THROTTLED_COUNT_FORMAT, "client", "10_0_0_1"),
+        Collector.sanitizeMetricName(MetricsSource.RATE_LIMIT_METRIC_NAME + "_throttled_count"),
+        ImmutableMap.of("scope", "client", "key", "10_0_0_1"));
   }
 }
@@ -104,4 +104,14 @@ public class TestMetricsSource extends MetricsSource {
     // Assertions.assertEquals(94.0, snapshot.get95thPercentile());
     Assertions.assertEquals(100, snapshot.size());
   }
+
+  @Test
+  void testEscapeRateLimitKey() {
+    Assertions.assertEquals("db-1", RateLimitMetricsSource.escapeKey("db-1"));
+    Assertions.assertEquals("10_2e0_2e0_2e1", RateLimitMetricsSource.escapeKey("10.0.0.1"));
+    Assertions.assertEquals("10_5f0_5f0_5f1", RateLimitMetricsSource.escapeKey("10_0_0_1"));
+    Assertions.assertNotEquals(
+        RateLimitMetricsSource.getThrottledCounterName("namespace", "a.b"),
+        RateLimitMetricsSource.getThrottledCounterName("namespace", "a_b"));
+  }
 }
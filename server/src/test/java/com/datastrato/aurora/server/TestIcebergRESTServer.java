@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.server;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.config.JettyServerConfig;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.security.Principal;
+import java.util.Map;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestIcebergRESTServer {
+
+  private static final String USER_HEADER = "X-Test-User";
+
+  /** An authentication filter taking the principal from a header. */
+  public static class HeaderAuthenticationFilter implements Filter {
+    @Override
+    public void init(FilterConfig filterConfig) {}
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+        throws IOException, ServletException {
+      HttpServletRequest httpRequest = (HttpServletRequest) request;
+      String user = httpRequest.getHeader(USER_HEADER);
+      if (user == null) {
+        chain.doFilter(request, response);
+        return;
+      }
+      Principal principal = () -> user;
+      chain.doFilter(
+          new HttpServletRequestWrapper(httpRequest) {
+            @Override
+            public Principal getUserPrincipal() {
+              return principal;
+            }
+          },
+          response);
+    }
+
+    @Override
+    public void destroy() {}
+  }
+
+  private static int getConfig(int port, String user) throws IOException {
+    URL url = new URL("http://127.0.0.1:" + port + "/iceberg/v1/config");
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    try {
+      connection.setRequestProperty(USER_HEADER, user);
+      return connection.getResponseCode();
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  @Test
+  void testRateLimitByAuthenticatedPrincipal() throws Exception {
+    Map<String, String> configs =
+        ImmutableMap.<String, String>builder()
+            .put(JettyServerConfig.WEBSERVER_HTTP_PORT.getKey(), "0")
+            .put(
+                JettyServerConfig.CUSTOM_FILTERS.getKey(),
+                HeaderAuthenticationFilter.class.getName())
+            .put(JettyServerConfig.ENABLE_RATE_LIMIT.getKey(), "true")
+            .put(JettyServerConfig.RATE_LIMIT_CLIENT_PERMITS_PER_SECOND.getKey(), "1")
+            .put(JettyServerConfig.RATE_LIMIT_CLIENT_BURST.getKey(), "1")
+            .build();
+    IcebergRESTServer server = new IcebergRESTServer(new IcebergServerConfig(configs));
+    server.initialize();
+    server.start();
+    try {
+      int port = server.getLocalPort();
+      Assertions.assertEquals(HttpURLConnection.HTTP_OK, getConfig(port, "alice"));
+      Assertions.assertEquals(429, getConfig(port, "alice"));
+      // The clients share the remote address, but each principal has its own bucket.
+      Assertions.assertEquals(HttpURLConnection.HTTP_OK, getConfig(port, "bob"));
+    } finally {
+      server.stop();
+    }
+  }
+}
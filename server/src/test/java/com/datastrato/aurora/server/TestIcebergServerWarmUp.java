@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.server;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.iceberg.IcebergTableOps;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.util.ArrayList;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.rest.requests.CreateNamespaceRequest;
+import org.apache.iceberg.rest.requests.CreateTableRequest;
+import org.apache.iceberg.types.Types.NestedField;
+import org.apache.iceberg.types.Types.StringType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestIcebergServerWarmUp {
+
+  private static final Namespace NAMESPACE = Namespace.of("warmup_ns");
+  private static final Schema TABLE_SCHEMA =
+      new Schema(NestedField.of(1, false, "foo_string", StringType.get()));
+
+  @TempDir private File tempDir;
+
+  private IcebergServerConfig createConfig() {
+    return new IcebergServerConfig(
+        ImmutableMap.of(
+            IcebergServerConfig.WARMUP_TABLES.getKey(),
+            "warmup_ns.configured, warmup_ns.missing",
+            IcebergServerConfig.WARMUP_HOT_TABLES_FILE.getKey(),
+            new File(tempDir, "hot-tables").getAbsolutePath(),
+            IcebergServerConfig.WARMUP_HOT_TABLES_NUM.getKey(),
+            "2"));
+  }
+
+  private static TableIdentifier createTable(IcebergTableOps icebergTableOps, String name) {
+    icebergTableOps.createTable(
+        NAMESPACE, CreateTableRequest.builder().withName(name).withSchema(TABLE_SCHEMA).build());
+    return TableIdentifier.of(NAMESPACE, name);
+  }
+
+  private static IcebergTableOps createTableOps(IcebergServerConfig config, String... tables) {
+    IcebergTableOps icebergTableOps = new IcebergTableOps(config);
+    icebergTableOps.createNamespace(
+        CreateNamespaceRequest.builder().withNamespace(NAMESPACE).build());
+    for (String table : tables) {
+      createTable(icebergTableOps, table);
+    }
+    return icebergTableOps;
+  }
+
+  @Test
+  void testWarmUpRecordedHotTables() throws Exception {
+    IcebergServerConfig config = createConfig();
+    try (IcebergTableOps lastRun = createTableOps(config, "hot", "warm", "cold")) {
+      for (int i = 0; i < 3; i++) {
+        lastRun.loadTable(TableIdentifier.of(NAMESPACE, "hot"));
+      }
+      lastRun.loadTable(TableIdentifier.of(NAMESPACE, "warm"));
+      lastRun.loadTable(TableIdentifier.of(NAMESPACE, "warm"));
+      lastRun.loadTable(TableIdentifier.of(NAMESPACE, "cold"));
+    }
+
+    try (IcebergTableOps icebergTableOps =
+        createTableOps(config, "configured", "hot", "warm", "cold")) {
+      Assertions.assertEquals(
+          ImmutableList.of(
+              TableIdentifier.of(NAMESPACE, "hot"), TableIdentifier.of(NAMESPACE, "warm")),
+          icebergTableOps.getRecordedHotTables());
+
+      IcebergServerWarmUp warmUp = new IcebergServerWarmUp(icebergTableOps, config);
+      Assertions.assertEquals(
+          ImmutableList.of(
+              TableIdentifier.of(NAMESPACE, "configured"),
+              TableIdentifier.of(NAMESPACE, "missing"),
+              TableIdentifier.of(NAMESPACE, "hot"),
+              TableIdentifier.of(NAMESPACE, "warm")),
+          new ArrayList<>(warmUp.getTables()));
+
+      // The missing table doesn't fail the warm-up.
+      Assertions.assertEquals(3, warmUp.run());
+    }
+  }
+}
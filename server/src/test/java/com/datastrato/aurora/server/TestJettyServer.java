@@ -0,0 +1,240 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.server;
+
+import com.datastrato.aurora.config.ConfigEntry;
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.config.JettyServerConfig;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpURI;
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http.MetaData;
+import org.eclipse.jetty.http2.api.Session;
+import org.eclipse.jetty.http2.api.Stream;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.frames.DataFrame;
+import org.eclipse.jetty.http2.frames.HeadersFrame;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.FuturePromise;
+import org.eclipse.jetty.util.Promise;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestJettyServer {
+
+  // Larger than the min size to compress, and compressible.
+  private static final String BODY = "{\"values\":[" + Strings.repeat("\"value\",", 1000) + "0]}";
+
+  private JettyServer server;
+
+  /** Responds the same JSON body to every request. */
+  public static class JsonServlet extends HttpServlet {
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+      response.setContentType("application/json");
+      response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private void startServer(ConfigEntry<?>... enabledFeatures) {
+    Map<String, String> configs = new HashMap<>();
+    configs.put(JettyServerConfig.WEBSERVER_HTTP_PORT.getKey(), "0");
+    for (ConfigEntry<?> feature : enabledFeatures) {
+      configs.put(feature.getKey(), "true");
+    }
+    server = new JettyServer();
+    server.initialize(new IcebergServerConfig(configs), "test", null);
+    server.addServlet(new JsonServlet(), "/json");
+    server.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    if (server != null) {
+      server.stop();
+    }
+  }
+
+  @Test
+  void testGzipResponse() throws Exception {
+    startServer(JettyServerConfig.ENABLE_COMPRESSION);
+    HttpURLConnection connection = get("gzip");
+    try {
+      Assertions.assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+      Assertions.assertEquals("gzip", connection.getHeaderField("Content-Encoding"));
+      byte[] compressed = readBody(connection);
+      Assertions.assertTrue(compressed.length < BODY.length());
+      try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+        Assertions.assertEquals(
+            BODY, new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8));
+      }
+
+      // The bytes are counted once the last write to the network returns.
+      waitForValue(1, server::getCompressedResponses);
+      Assertions.assertEquals(BODY.length(), server.getUncompressedBytes());
+      Assertions.assertEquals(compressed.length, server.getCompressedBytes());
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  @Test
+  void testIdentityResponse() throws Exception {
+    startServer(JettyServerConfig.ENABLE_COMPRESSION);
+    HttpURLConnection connection = get("identity");
+    try {
+      Assertions.assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+      Assertions.assertNull(connection.getHeaderField("Content-Encoding"));
+      Assertions.assertEquals(BODY, new String(readBody(connection), StandardCharsets.UTF_8));
+      Assertions.assertEquals(0, server.getCompressedResponses());
+      Assertions.assertEquals(0, server.getUncompressedBytes());
+      Assertions.assertEquals(0, server.getCompressedBytes());
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  @Test
+  void testHttp2CleartextWithPriorKnowledge() throws Exception {
+    startServer(JettyServerConfig.ENABLE_HTTP2_CLEARTEXT);
+    Assertions.assertEquals(
+        ImmutableList.of("http/1.1", "h2c"), server.getConnector().getProtocols());
+
+    HTTP2Client client = new HTTP2Client();
+    client.start();
+    try {
+      // The client speaks HTTP/2 right away on a cleartext connection, without the upgrade.
+      FuturePromise<Session> sessionPromise = new FuturePromise<>();
+      client.connect(
+          new InetSocketAddress("127.0.0.1", server.getLocalPort()),
+          new Session.Listener.Adapter(),
+          sessionPromise);
+      Session session = sessionPromise.get(10, TimeUnit.SECONDS);
+
+      MetaData.Request request =
+          new MetaData.Request(
+              HttpMethod.GET.asString(),
+              new HttpURI("http://127.0.0.1:" + server.getLocalPort() + "/json"),
+              HttpVersion.HTTP_2,
+              new HttpFields());
+      CompletableFuture<MetaData.Response> response = new CompletableFuture<>();
+      ByteArrayOutputStream body = new ByteArrayOutputStream();
+      CompletableFuture<String> completedBody = new CompletableFuture<>();
+      session.newStream(
+          new HeadersFrame(request, null, true),
+          new Promise.Adapter<>(),
+          new Stream.Listener.Adapter() {
+            @Override
+            public void onHeaders(Stream stream, HeadersFrame frame) {
+              response.complete((MetaData.Response) frame.getMetaData());
+            }
+
+            @Override
+            public void onData(Stream stream, DataFrame frame, Callback callback) {
+              ByteBuffer data = frame.getData();
+              byte[] bytes = new byte[data.remaining()];
+              data.get(bytes);
+              body.write(bytes, 0, bytes.length);
+              callback.succeeded();
+              if (frame.isEndStream()) {
+                completedBody.complete(new String(body.toByteArray(), StandardCharsets.UTF_8));
+              }
+            }
+          });
+
+      Assertions.assertEquals(
+          HttpServletResponse.SC_OK, response.get(10, TimeUnit.SECONDS).getStatus());
+      Assertions.assertEquals(BODY, completedBody.get(10, TimeUnit.SECONDS));
+    } finally {
+      client.stop();
+    }
+  }
+
+  @Test
+  void testHttp2CleartextDisabledByDefault() {
+    startServer();
+    Assertions.assertEquals(ImmutableList.of("http/1.1"), server.getConnector().getProtocols());
+  }
+
+  @Test
+  void testHttp2OverTlsNegotiatedByAlpn() {
+    server = new JettyServer();
+    server.initialize(
+        new IcebergServerConfig(
+            ImmutableMap.<String, String>builder()
+                .put(JettyServerConfig.ENABLE_HTTPS.getKey(), "true")
+                .put(JettyServerConfig.WEBSERVER_HTTPS_PORT.getKey(), "0")
+                .put(JettyServerConfig.SSL_KEYSTORE_PATH.getKey(), "/tmp/keystore.jks")
+                .put(JettyServerConfig.SSL_KEYSTORE_PASSWORD.getKey(), "password")
+                .put(JettyServerConfig.SSL_MANAGER_PASSWORD.getKey(), "password")
+                .put(JettyServerConfig.ENABLE_HTTP2.getKey(), "true")
+                .build()),
+        "test",
+        null);
+
+    // The key store is only loaded when the server starts.
+    ServerConnector connector = server.getConnector();
+    Assertions.assertEquals(
+        ImmutableList.of("ssl", "alpn", "h2", "http/1.1"), connector.getProtocols());
+    SslConnectionFactory sslConnectionFactory =
+        connector.getConnectionFactory(SslConnectionFactory.class);
+    Assertions.assertSame(sslConnectionFactory, connector.getDefaultConnectionFactory());
+    Assertions.assertEquals("alpn", sslConnectionFactory.getNextProtocol());
+    ALPNServerConnectionFactory alpnConnectionFactory =
+        connector.getConnectionFactory(ALPNServerConnectionFactory.class);
+    // The clients not negotiating h2 fall back to HTTP/1.1.
+    Assertions.assertEquals("http/1.1", alpnConnectionFactory.getDefaultProtocol());
+  }
+
+  private HttpURLConnection get(String acceptEncoding) throws IOException {
+    URL url = new URL("http://127.0.0.1:" + server.getLocalPort() + "/json");
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setRequestProperty("Accept-Encoding", acceptEncoding);
+    return connection;
+  }
+
+  private static byte[] readBody(HttpURLConnection connection) throws IOException {
+    try (InputStream in = connection.getInputStream()) {
+      return ByteStreams.toByteArray(in);
+    }
+  }
+
+  private static void waitForValue(long expected, LongSupplier value) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10 * 1000L;
+    while (value.getAsLong() != expected && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assertions.assertEquals(expected, value.getAsLong());
+  }
+}
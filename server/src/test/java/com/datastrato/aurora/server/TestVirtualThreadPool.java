@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.server;
+
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.config.JettyServerConfig;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+public class TestVirtualThreadPool {
+
+  private static final long STOP_TIMEOUT_MS = 10 * 1000L;
+
+  /** Responds whether the request is handled in a virtual thread. */
+  public static class VirtualThreadServlet extends HttpServlet {
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+      response.getWriter().write(String.valueOf(isVirtual(Thread.currentThread())));
+    }
+  }
+
+  @Test
+  void testRunTasksInVirtualThreads() throws Exception {
+    Assumptions.assumeTrue(VirtualThreadPool.isSupported(), "Requires Java 21 or later");
+    VirtualThreadPool threadPool = new VirtualThreadPool("test", STOP_TIMEOUT_MS);
+    threadPool.start();
+    try {
+      CompletableFuture<Thread> thread = new CompletableFuture<>();
+      threadPool.execute(() -> thread.complete(Thread.currentThread()));
+      Thread taskThread = thread.get(10, TimeUnit.SECONDS);
+      Assertions.assertTrue(isVirtual(taskThread));
+      Assertions.assertTrue(taskThread.getName().startsWith("test-virtual-"));
+      Assertions.assertEquals(0, threadPool.getIdleThreads());
+    } finally {
+      threadPool.stop();
+    }
+  }
+
+  @Test
+  void testServeRequestsInVirtualExecutionMode() throws Exception {
+    Assumptions.assumeTrue(VirtualThreadPool.isSupported(), "Requires Java 21 or later");
+    JettyServer server = new JettyServer();
+    server.initialize(virtualExecutionModeConfig(), "test", null);
+    server.addServlet(new VirtualThreadServlet(), "/virtual");
+    server.start();
+    try {
+      Assertions.assertTrue(server.getThreadPool() instanceof VirtualThreadPool);
+      URL url = new URL("http://127.0.0.1:" + server.getLocalPort() + "/virtual");
+      HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+      try {
+        Assertions.assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        Assertions.assertEquals("true", new String(readBody(connection), StandardCharsets.UTF_8));
+      } finally {
+        connection.disconnect();
+      }
+    } finally {
+      server.stop();
+    }
+  }
+
+  @Test
+  void testRejectVirtualExecutionModeBeforeJava21() {
+    Assumptions.assumeFalse(VirtualThreadPool.isSupported(), "Requires a JVM older than Java 21");
+    JettyServer server = new JettyServer();
+    IllegalArgumentException exception =
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> server.initialize(virtualExecutionModeConfig(), "test", null));
+    Assertions.assertTrue(exception.getMessage().contains("requires Java 21 or later"));
+  }
+
+  @Test
+  void testEnableConcurrencyLimitInVirtualExecutionMode() {
+    JettyServerConfig config = JettyServerConfig.fromConfig(virtualExecutionModeConfig());
+    Assertions.assertEquals(JettyServerConfig.ExecutionMode.VIRTUAL, config.getExecutionMode());
+    Assertions.assertTrue(config.isEnableConcurrencyLimit());
+
+    config = JettyServerConfig.fromConfig(new IcebergServerConfig(ImmutableMap.of()));
+    Assertions.assertEquals(JettyServerConfig.ExecutionMode.PLATFORM, config.getExecutionMode());
+    Assertions.assertFalse(config.isEnableConcurrencyLimit());
+  }
+
+  private static IcebergServerConfig virtualExecutionModeConfig() {
+    return new IcebergServerConfig(
+        ImmutableMap.of(
+            JettyServerConfig.WEBSERVER_HTTP_PORT.getKey(), "0",
+            JettyServerConfig.WEBSERVER_EXECUTION_MODE.getKey(), "virtual"));
+  }
+
+  private static byte[] readBody(HttpURLConnection connection) throws IOException {
+    try (InputStream in = connection.getInputStream()) {
+      return ByteStreams.toByteArray(in);
+    }
+  }
+
+  private static boolean isVirtual(Thread thread) {
+    try {
+      return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    } catch (ReflectiveOperationException e) {
+      return false;
+    }
+  }
+}
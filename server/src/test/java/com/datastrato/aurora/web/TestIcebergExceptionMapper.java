@@ -46,4 +46,12 @@ public class TestIcebergExceptionMapper {
     checkExceptionStatus(new ServiceUnavailableException(""), 503);
     checkExceptionStatus(new RuntimeException(), 500);
   }
+
+  @Test
+  public void testRetryAfterOfServiceUnavailable() {
+    Response response = icebergExceptionMapper.toResponse(new ServiceUnavailableException(""));
+    Assertions.assertEquals("1", response.getHeaderString("Retry-After"));
+    response = icebergExceptionMapper.toResponse(new CommitFailedException(""));
+    Assertions.assertNull(response.getHeaderString("Retry-After"));
+  }
 }
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.filter;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastrato.aurora.web.filter.AdmissionControlFilter.OperationClass;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestAdmissionControlFilter {
+
+  private static HttpServletRequest createRequest(String method, String uri) {
+    HttpServletRequest request = mock(HttpServletRequest.class);
+    when(request.getMethod()).thenReturn(method);
+    when(request.getRequestURI()).thenReturn(uri);
+    return request;
+  }
+
+  private static HttpServletResponse createResponse() throws Exception {
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    when(response.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+    return response;
+  }
+
+  @Test
+  void testClassify() {
+    String table = "/iceberg/v1/namespaces/ns/tables/t";
+    Assertions.assertEquals(
+        OperationClass.READ, AdmissionControlFilter.classify(createRequest("GET", table)));
+    Assertions.assertEquals(
+        OperationClass.READ, AdmissionControlFilter.classify(createRequest("HEAD", table)));
+    Assertions.assertEquals(
+        OperationClass.READ,
+        AdmissionControlFilter.classify(createRequest("POST", table + "/metrics")));
+    Assertions.assertEquals(
+        OperationClass.COMMIT, AdmissionControlFilter.classify(createRequest("POST", table)));
+    Assertions.assertEquals(
+        OperationClass.COMMIT, AdmissionControlFilter.classify(createRequest("DELETE", table)));
+    Assertions.assertEquals(
+        OperationClass.READ,
+        AdmissionControlFilter.classify(createRequest("POST", "/iceberg/v1/tables/load")));
+    Assertions.assertEquals(
+        OperationClass.READ,
+        AdmissionControlFilter.classify(createRequest("POST", "/iceberg/v1/prefix/tables/load")));
+    // The table named "load" is updated by a POST too.
+    Assertions.assertEquals(
+        OperationClass.COMMIT,
+        AdmissionControlFilter.classify(
+            createRequest("POST", "/iceberg/v1/namespaces/ns/tables/load")));
+  }
+
+  @Test
+  void testReadsDoNotStarveCommits() throws Exception {
+    AdmissionControlFilter filter = new AdmissionControlFilter(1, 1, 3);
+    String table = "/iceberg/v1/namespaces/ns/tables/t";
+    HttpServletResponse rejectedRead = createResponse();
+    HttpServletResponse admittedCommit = createResponse();
+    AtomicReference<Integer> commitsInFlight = new AtomicReference<>();
+
+    // While a read is in flight, another read is rejected but a commit is admitted.
+    FilterChain readChain =
+        (request, response) -> {
+          filter.doFilter(createRequest("GET", table), rejectedRead, mock(FilterChain.class));
+          filter.doFilter(
+              createRequest("POST", table),
+              admittedCommit,
+              (req, resp) ->
+                  commitsInFlight.set(filter.getInFlightRequests(OperationClass.COMMIT)));
+        };
+    filter.doFilter(createRequest("GET", table), createResponse(), readChain);
+
+    verify(rejectedRead).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    verify(rejectedRead).setHeader("Retry-After", "3");
+    verify(admittedCommit, never()).setStatus(anyInt());
+    Assertions.assertEquals(1, commitsInFlight.get());
+    Assertions.assertEquals(1, filter.getRejectedCount(OperationClass.READ));
+    Assertions.assertEquals(0, filter.getRejectedCount(OperationClass.COMMIT));
+    Assertions.assertEquals(0, filter.getInFlightRequests(OperationClass.READ));
+    Assertions.assertEquals(0, filter.getInFlightRequests(OperationClass.COMMIT));
+  }
+}
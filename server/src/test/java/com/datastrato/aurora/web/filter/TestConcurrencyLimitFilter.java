@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.filter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class TestConcurrencyLimitFilter {
+
+  @Test
+  void testRejectWhenLimitReached() throws Exception {
+    ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, 0);
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    FilterChain blockingChain =
+        (request, response) -> {
+          entered.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+    CompletableFuture<Void> first =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                filter.doFilter(
+                    mock(ServletRequest.class), mock(HttpServletResponse.class), blockingChain);
+              } catch (Exception e) {
+                throw new RuntimeException(e);
+              }
+            });
+    Assertions.assertTrue(entered.await(10, TimeUnit.SECONDS));
+    Assertions.assertEquals(1, filter.getInFlightRequests());
+
+    HttpServletResponse rejected = mock(HttpServletResponse.class);
+    when(rejected.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+    FilterChain chain = mock(FilterChain.class);
+    filter.doFilter(mock(ServletRequest.class), rejected, chain);
+    verify(rejected).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    verify(chain, never()).doFilter(any(), any());
+
+    release.countDown();
+    first.get(10, TimeUnit.SECONDS);
+    Assertions.assertEquals(0, filter.getInFlightRequests());
+
+    // The permit is released after the first request is done.
+    HttpServletResponse accepted = mock(HttpServletResponse.class);
+    filter.doFilter(mock(ServletRequest.class), accepted, chain);
+    verify(chain).doFilter(any(), any());
+    verify(accepted, never()).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+  }
+
+  @Test
+  void testReleaseAfterAsyncResponseComplete() throws Exception {
+    ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, 0);
+    ServletRequest asyncRequest = mock(ServletRequest.class);
+    AsyncContext asyncContext = mock(AsyncContext.class);
+    when(asyncRequest.isAsyncStarted()).thenReturn(true);
+    when(asyncRequest.getAsyncContext()).thenReturn(asyncContext);
+    filter.doFilter(asyncRequest, mock(HttpServletResponse.class), mock(FilterChain.class));
+
+    // The chain returned, but the response is completed later by the backend executor.
+    Assertions.assertEquals(1, filter.getInFlightRequests());
+    HttpServletResponse rejected = mock(HttpServletResponse.class);
+    when(rejected.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+    filter.doFilter(mock(ServletRequest.class), rejected, mock(FilterChain.class));
+    verify(rejected).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+
+    ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+    verify(asyncContext).addListener(listener.capture());
+    listener.getValue().onComplete(mock(AsyncEvent.class));
+    listener.getValue().onError(mock(AsyncEvent.class));
+    Assertions.assertEquals(0, filter.getInFlightRequests());
+
+    HttpServletResponse accepted = mock(HttpServletResponse.class);
+    filter.doFilter(mock(ServletRequest.class), accepted, mock(FilterChain.class));
+    verify(accepted, never()).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+  }
+}
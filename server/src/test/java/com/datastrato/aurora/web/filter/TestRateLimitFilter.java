@@ -0,0 +1,145 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+package com.datastrato.aurora.web.filter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.RateLimitMetricsSource;
+import com.datastrato.aurora.web.filter.RateLimitFilter.KeyScope;
+import com.google.common.base.Ticker;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestRateLimitFilter {
+
+  private static class ManualTicker extends Ticker {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Override
+    public long read() {
+      return nanos.get();
+    }
+
+    void advance(long time, TimeUnit unit) {
+      nanos.addAndGet(unit.toNanos(time));
+    }
+  }
+
+  private static HttpServletRequest createRequest(String remoteAddr, String uri) {
+    HttpServletRequest request = mock(HttpServletRequest.class);
+    when(request.getRemoteAddr()).thenReturn(remoteAddr);
+    when(request.getRequestURI()).thenReturn(uri);
+    return request;
+  }
+
+  private static HttpServletResponse createResponse() throws Exception {
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    when(response.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+    return response;
+  }
+
+  @Test
+  void testGetNamespaceKey() {
+    Assertions.assertEquals(
+        "db",
+        RateLimitFilter.getNamespaceKey(
+            createRequest("127.0.0.1", "/iceberg/v1/namespaces/db/tables")));
+    Assertions.assertEquals(
+        "catalog/db",
+        RateLimitFilter.getNamespaceKey(
+            createRequest("127.0.0.1", "/iceberg/v1/catalog/namespaces/db%1Fschema/tables/t")));
+    Assertions.assertNull(
+        RateLimitFilter.getNamespaceKey(createRequest("127.0.0.1", "/iceberg/v1/namespaces")));
+    Assertions.assertNull(
+        RateLimitFilter.getNamespaceKey(createRequest("127.0.0.1", "/iceberg/v1/config")));
+  }
+
+  @Test
+  void testTokenBucket() {
+    TokenBucket bucket = new TokenBucket(10, 2, 0);
+    Assertions.assertEquals(0, bucket.tryAcquire(0));
+    Assertions.assertEquals(0, bucket.tryAcquire(0));
+    Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.tryAcquire(0));
+    // A token is refilled every 100 milliseconds.
+    Assertions.assertEquals(0, bucket.tryAcquire(TimeUnit.MILLISECONDS.toNanos(100)));
+    Assertions.assertTrue(bucket.tryAcquire(TimeUnit.MILLISECONDS.toNanos(100)) > 0);
+    // The tokens don't pile up beyond the burst after being idle.
+    long later = TimeUnit.SECONDS.toNanos(10);
+    Assertions.assertEquals(0, bucket.tryAcquire(later));
+    Assertions.assertEquals(0, bucket.tryAcquire(later));
+    Assertions.assertTrue(bucket.tryAcquire(later) > 0);
+  }
+
+  @Test
+  void testThrottleClient() throws Exception {
+    ManualTicker ticker = new ManualTicker();
+    RateLimitMetricsSource metricsSource = new RateLimitMetricsSource();
+    RateLimitFilter filter = new RateLimitFilter(1, 2, 100, 100, 10, 60, metricsSource, ticker);
+    FilterChain chain = mock(FilterChain.class);
+    String uri = "/iceberg/v1/namespaces/db/tables";
+
+    filter.doFilter(createRequest("10.0.0.1", uri), createResponse(), chain);
+    filter.doFilter(createRequest("10.0.0.1", uri), createResponse(), chain);
+    HttpServletResponse throttled = createResponse();
+    filter.doFilter(createRequest("10.0.0.1", uri), throttled, chain);
+    // Another client isn't throttled.
+    HttpServletResponse admitted = createResponse();
+    filter.doFilter(createRequest("10.0.0.2", uri), admitted, chain);
+
+    verify(chain, times(3)).doFilter(any(), any());
+    verify(throttled).setStatus(429);
+    verify(throttled).setHeader("Retry-After", "1");
+    verify(admitted, never()).setStatus(anyInt());
+    Assertions.assertEquals(
+        1,
+        metricsSource
+            .getCounter(
+                String.format(
+                    MetricNames.RATE_LIMIT_THROTTLED_COUNT_FORMAT,
+                    KeyScope.CLIENT.getName(),
+                    "10_2e0_2e0_2e1"))
+            .getCount());
+
+    // The idle clients are evicted with their throttled counters.
+    ticker.advance(2, TimeUnit.MINUTES);
+    filter.doFilter(createRequest("10.0.0.3", uri), createResponse(), chain);
+    Assertions.assertEquals(1, filter.getTrackedKeys(KeyScope.CLIENT));
+    Assertions.assertTrue(metricsSource.getMetricRegistry().getCounters().isEmpty());
+  }
+
+  @Test
+  void testThrottleNamespace() throws Exception {
+    RateLimitFilter filter =
+        new RateLimitFilter(
+            100, 100, 1, 1, 10, 60, new RateLimitMetricsSource(), new ManualTicker());
+    FilterChain chain = mock(FilterChain.class);
+
+    filter.doFilter(
+        createRequest("10.0.0.1", "/iceberg/v1/namespaces/db/tables"), createResponse(), chain);
+    HttpServletResponse throttled = createResponse();
+    filter.doFilter(
+        createRequest("10.0.0.2", "/iceberg/v1/namespaces/db%1Fschema/tables"), throttled, chain);
+    HttpServletResponse admitted = createResponse();
+    filter.doFilter(
+        createRequest("10.0.0.2", "/iceberg/v1/namespaces/other/tables"), admitted, chain);
+
+    verify(chain, times(2)).doFilter(any(), any());
+    verify(throttled).setStatus(429);
+    verify(admitted, never()).setStatus(anyInt());
+  }
+}
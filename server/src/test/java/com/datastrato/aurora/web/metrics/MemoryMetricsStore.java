@@ -5,8 +5,11 @@
 
 package com.datastrato.aurora.web.metrics;
 
+import java.io.IOException;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.iceberg.metrics.MetricsReport;
 
 /** Store Iceberg metrics in memory, used for test */
@@ -14,6 +17,8 @@ public class MemoryMetricsStore implements IcebergMetricsStore {
   private MetricsReport metricsReport;
   private Instant recordTime = Instant.now();
   private Map<String, String> properties;
+  private final AtomicInteger recordedCount = new AtomicInteger();
+  private final AtomicInteger batchCount = new AtomicInteger();
 
   @Override
   public void init(Map<String, String> properties) {
@@ -24,6 +29,13 @@ public class MemoryMetricsStore implements IcebergMetricsStore {
   public void recordMetric(MetricsReport metricsReport) {
     this.metricsReport = metricsReport;
     this.recordTime = Instant.now();
+    recordedCount.incrementAndGet();
+  }
+
+  @Override
+  public void recordMetrics(List<MetricsReport> metricsReports) throws IOException {
+    IcebergMetricsStore.super.recordMetrics(metricsReports);
+    batchCount.incrementAndGet();
   }
 
   @Override
@@ -40,6 +52,14 @@ public class MemoryMetricsStore implements IcebergMetricsStore {
     return metricsReport;
   }
 
+  int getRecordedCount() {
+    return recordedCount.get();
+  }
+
+  int getBatchCount() {
+    return batchCount.get();
+  }
+
   Map<String, String> getProperties() {
     return properties;
   }
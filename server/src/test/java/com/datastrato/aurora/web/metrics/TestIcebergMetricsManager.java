@@ -9,7 +9,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
 
 import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.metrics.MetricNames;
 import com.google.common.collect.ImmutableMap;
+import java.io.File;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import org.apache.iceberg.metrics.ImmutableCommitMetricsResult;
@@ -17,15 +19,22 @@ import org.apache.iceberg.metrics.ImmutableCommitReport;
 import org.apache.iceberg.metrics.MetricsReport;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class TestIcebergMetricsManager {
 
+  @TempDir private File tempDir;
+
   private MetricsReport createMetricsReport() {
+    return createMetricsReport("a");
+  }
+
+  private MetricsReport createMetricsReport(String tableName) {
     ImmutableCommitMetricsResult commitMetricsResult =
         ImmutableCommitMetricsResult.builder().build();
     MetricsReport metricsReport =
         ImmutableCommitReport.builder()
-            .tableName("a")
+            .tableName(tableName)
             .snapshotId(1)
             .sequenceNumber(1)
             .operation("select")
@@ -88,4 +97,175 @@ public class TestIcebergMetricsManager {
 
     icebergMetricsManager.close();
   }
+
+  @Test
+  void testIcebergMetricsManagerWriteInBatch() {
+    Map<String, String> properties =
+        ImmutableMap.of(
+            IcebergMetricsManager.ICEBERG_METRICS_STORE,
+            "com.datastrato.aurora.web.metrics.MemoryMetricsStore",
+            IcebergMetricsManager.ICEBERG_METRICS_WRITE_BATCH_SIZE,
+            "10",
+            IcebergMetricsManager.ICEBERG_METRICS_WRITE_LINGER_MS,
+            "100");
+    IcebergServerConfig icebergConfig = new IcebergServerConfig(properties);
+    IcebergMetricsManager icebergMetricsManager = new IcebergMetricsManager(icebergConfig);
+
+    // Queue the reports before starting the writer, so they are drained as full batches.
+    for (int i = 0; i < 25; i++) {
+      icebergMetricsManager.recordMetric(createMetricsReport());
+    }
+    icebergMetricsManager.start();
+
+    MemoryMetricsStore memoryMetricsStore =
+        (MemoryMetricsStore) icebergMetricsManager.getIcebergMetricsStore();
+    await()
+        .atMost(20, TimeUnit.SECONDS)
+        .pollInterval(100, TimeUnit.MILLISECONDS)
+        .untilAsserted(() -> Assertions.assertEquals(3, memoryMetricsStore.getBatchCount()));
+    Assertions.assertEquals(25, memoryMetricsStore.getRecordedCount());
+
+    icebergMetricsManager.close();
+  }
+
+  private IcebergMetricsManager createManagerWithOverflowPolicy(
+      String overflowPolicy, Map<String, String> extraProperties) {
+    Map<String, String> properties =
+        ImmutableMap.<String, String>builder()
+            .put(
+                IcebergMetricsManager.ICEBERG_METRICS_STORE,
+                "com.datastrato.aurora.web.metrics.MemoryMetricsStore")
+            .put(IcebergMetricsManager.ICEBERG_METRICS_QUEUE_CAPACITY, "2")
+            .put(IcebergMetricsManager.ICEBERG_METRICS_QUEUE_OVERFLOW_POLICY, overflowPolicy)
+            .putAll(extraProperties)
+            .build();
+    return new IcebergMetricsManager(new IcebergServerConfig(properties));
+  }
+
+  private long getDroppedCount(IcebergMetricsManager icebergMetricsManager) {
+    return icebergMetricsManager
+        .getMetricsSource()
+        .getCounter(MetricNames.METRICS_QUEUE_DROPPED_COUNT)
+        .getCount();
+  }
+
+  @Test
+  void testDropOverflowMetrics() {
+    IcebergMetricsManager dropNewest =
+        createManagerWithOverflowPolicy(
+            DropNewestOverflowPolicy.DROP_NEWEST_POLICY_NAME, ImmutableMap.of());
+    IcebergMetricsManager dropOldest =
+        createManagerWithOverflowPolicy(
+            DropOldestOverflowPolicy.DROP_OLDEST_POLICY_NAME, ImmutableMap.of());
+    for (String tableName : new String[] {"a", "b", "c"}) {
+      dropNewest.recordMetric(createMetricsReport(tableName));
+      dropOldest.recordMetric(createMetricsReport(tableName));
+    }
+    Assertions.assertEquals(1, getDroppedCount(dropNewest));
+    Assertions.assertEquals(1, getDroppedCount(dropOldest));
+
+    dropNewest.start();
+    dropOldest.start();
+    MemoryMetricsStore dropNewestStore = (MemoryMetricsStore) dropNewest.getIcebergMetricsStore();
+    MemoryMetricsStore dropOldestStore = (MemoryMetricsStore) dropOldest.getIcebergMetricsStore();
+    await()
+        .atMost(20, TimeUnit.SECONDS)
+        .pollInterval(100, TimeUnit.MILLISECONDS)
+        .untilAsserted(
+            () -> {
+              Assertions.assertEquals(2, dropNewestStore.getRecordedCount());
+              Assertions.assertEquals(2, dropOldestStore.getRecordedCount());
+            });
+    Assertions.assertEquals(createMetricsReport("b"), dropNewestStore.getMetricsReport());
+    Assertions.assertEquals(createMetricsReport("c"), dropOldestStore.getMetricsReport());
+
+    dropNewest.close();
+    dropOldest.close();
+  }
+
+  @Test
+  void testSampleOverflowMetrics() {
+    IcebergMetricsManager sample =
+        createManagerWithOverflowPolicy(
+            SampleOverflowPolicy.SAMPLE_POLICY_NAME,
+            ImmutableMap.of(SampleOverflowPolicy.ICEBERG_METRICS_QUEUE_SAMPLE_INTERVAL, "3"));
+    for (String tableName : new String[] {"a", "b", "c", "d", "e", "f", "g", "h"}) {
+      sample.recordMetric(createMetricsReport(tableName));
+    }
+    // Of the 6 overflowing reports, "c" and "f" are kept by evicting "a" and "b", the others are
+    // dropped, so each overflowing report drops one.
+    Assertions.assertEquals(6, getDroppedCount(sample));
+
+    sample.start();
+    MemoryMetricsStore sampleStore = (MemoryMetricsStore) sample.getIcebergMetricsStore();
+    await()
+        .atMost(20, TimeUnit.SECONDS)
+        .pollInterval(100, TimeUnit.MILLISECONDS)
+        .untilAsserted(() -> Assertions.assertEquals(2, sampleStore.getRecordedCount()));
+    Assertions.assertEquals(createMetricsReport("f"), sampleStore.getMetricsReport());
+
+    sample.close();
+  }
+
+  @Test
+  void testSpillAndReplayOverflowMetrics() {
+    IcebergMetricsManager icebergMetricsManager =
+        createManagerWithOverflowPolicy(
+            SpillOverflowPolicy.SPILL_POLICY_NAME,
+            ImmutableMap.of(
+                SpillOverflowPolicy.ICEBERG_METRICS_QUEUE_SPILL_DIR, tempDir.getAbsolutePath()));
+    for (int i = 0; i < 10; i++) {
+      icebergMetricsManager.recordMetric(createMetricsReport("t" + i));
+    }
+    Assertions.assertEquals(0, getDroppedCount(icebergMetricsManager));
+    Assertions.assertEquals(
+        8,
+        icebergMetricsManager
+            .getMetricsSource()
+            .getCounter(MetricNames.METRICS_QUEUE_SPILLED_COUNT)
+            .getCount());
+
+    icebergMetricsManager.start();
+    MemoryMetricsStore memoryMetricsStore =
+        (MemoryMetricsStore) icebergMetricsManager.getIcebergMetricsStore();
+    await()
+        .atMost(20, TimeUnit.SECONDS)
+        .pollInterval(100, TimeUnit.MILLISECONDS)
+        .untilAsserted(
+            () -> {
+              Assertions.assertEquals(10, memoryMetricsStore.getRecordedCount());
+              // The replayed spill files are deleted.
+              Assertions.assertEquals(0, tempDir.list().length);
+            });
+    Assertions.assertEquals(createMetricsReport("t9"), memoryMetricsStore.getMetricsReport());
+
+    icebergMetricsManager.close();
+  }
+  @Test
+  void testReplaySpilledMetricsAfterCrash() {
+    Map<String, String> spillProperties =
+        ImmutableMap.of(
+            SpillOverflowPolicy.ICEBERG_METRICS_QUEUE_SPILL_DIR, tempDir.getAbsolutePath());
+    IcebergMetricsManager crashed =
+        createManagerWithOverflowPolicy(SpillOverflowPolicy.SPILL_POLICY_NAME, spillProperties);
+    for (int i = 0; i < 10; i++) {
+      crashed.recordMetric(createMetricsReport("t" + i));
+    }
+
+    // The spill file isn't closed by the crashed server, the next server replays it.
+    IcebergMetricsManager restarted =
+        createManagerWithOverflowPolicy(SpillOverflowPolicy.SPILL_POLICY_NAME, spillProperties);
+    restarted.start();
+    MemoryMetricsStore memoryMetricsStore =
+        (MemoryMetricsStore) restarted.getIcebergMetricsStore();
+    await()
+        .atMost(20, TimeUnit.SECONDS)
+        .pollInterval(100, TimeUnit.MILLISECONDS)
+        .untilAsserted(() -> Assertions.assertEquals(8, memoryMetricsStore.getRecordedCount()));
+    Assertions.assertEquals(createMetricsReport("t9"), memoryMetricsStore.getMetricsReport());
+
+    restarted.close();
+    crashed.close();
+  }
+
 }
@@ -0,0 +1,226 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.metrics.CounterResult;
+import org.apache.iceberg.metrics.ImmutableCommitMetricsResult;
+import org.apache.iceberg.metrics.ImmutableCommitReport;
+import org.apache.iceberg.metrics.ImmutableScanMetricsResult;
+import org.apache.iceberg.metrics.ImmutableScanReport;
+import org.apache.iceberg.metrics.MetricsContext;
+import org.apache.iceberg.metrics.MetricsReport;
+import org.apache.iceberg.metrics.TimerResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestJdbcMetricsStore {
+
+  @TempDir private File tempDir;
+
+  private String jdbcUri;
+  private JdbcMetricsStore jdbcMetricsStore;
+
+  @BeforeEach
+  void init() throws IOException {
+    jdbcUri = "jdbc:sqlite:" + new File(tempDir, "metrics.db").getAbsolutePath();
+    jdbcMetricsStore = new JdbcMetricsStore();
+    jdbcMetricsStore.init(
+        ImmutableMap.of(JdbcMetricsStore.ICEBERG_METRICS_STORE_JDBC_URI, jdbcUri));
+  }
+
+  @AfterEach
+  void close() throws IOException {
+    jdbcMetricsStore.close();
+  }
+
+  private MetricsReport createScanReport(String tableName) {
+    return ImmutableScanReport.builder()
+        .tableName(tableName)
+        .snapshotId(1)
+        .filter(Expressions.alwaysTrue())
+        .schemaId(0)
+        .projectedFieldIds(ImmutableList.of(1))
+        .projectedFieldNames(ImmutableList.of("a"))
+        .scanMetrics(ImmutableScanMetricsResult.builder().build())
+        .build();
+  }
+
+  private MetricsReport createScanReport(
+      String tableName, long planningMillis, long resultDataFiles) {
+    return ImmutableScanReport.builder()
+        .from(createScanReport(tableName))
+        .scanMetrics(
+            ImmutableScanMetricsResult.builder()
+                .totalPlanningDuration(
+                    TimerResult.of(TimeUnit.NANOSECONDS, Duration.ofMillis(planningMillis), 1))
+                .resultDataFiles(CounterResult.of(MetricsContext.Unit.COUNT, resultDataFiles))
+                .build())
+        .build();
+  }
+
+  private MetricsReport createCommitReport(String tableName) {
+    return ImmutableCommitReport.builder()
+        .tableName(tableName)
+        .snapshotId(1)
+        .sequenceNumber(1)
+        .operation("append")
+        .commitMetrics(ImmutableCommitMetricsResult.builder().build())
+        .build();
+  }
+
+  private long countRows(String table) throws SQLException {
+    try (Connection connection = DriverManager.getConnection(jdbcUri);
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+      resultSet.next();
+      return resultSet.getLong(1);
+    }
+  }
+
+  @Test
+  void testRecordMetrics() throws Exception {
+    jdbcMetricsStore.recordMetrics(
+        ImmutableList.of(createScanReport("a"), createScanReport("b"), createCommitReport("a")),
+        Instant.parse("2024-01-01T10:00:00Z"));
+    jdbcMetricsStore.recordMetric(createCommitReport("b"));
+
+    Assertions.assertEquals(2, countRows("iceberg_scan_metrics_20240101"));
+    Assertions.assertEquals(1, countRows("iceberg_commit_metrics_20240101"));
+    Assertions.assertEquals(4, jdbcMetricsStore.listPartitionTables().size());
+  }
+
+  @Test
+  void testCleanDropsExpiredPartitions() throws Exception {
+    jdbcMetricsStore.recordMetrics(
+        ImmutableList.of(createScanReport("a"), createCommitReport("a")),
+        Instant.parse("2024-01-01T10:00:00Z"));
+    jdbcMetricsStore.recordMetrics(
+        ImmutableList.of(createScanReport("a"), createCommitReport("a")),
+        Instant.parse("2024-01-02T10:00:00Z"));
+
+    // The partition of 2024-01-02 is only partly expired, so it's kept.
+    jdbcMetricsStore.clean(Instant.parse("2024-01-02T12:00:00Z"));
+    Assertions.assertEquals(
+        ImmutableList.of("iceberg_commit_metrics_20240102", "iceberg_scan_metrics_20240102"),
+        ImmutableList.sortedCopyOf(jdbcMetricsStore.listPartitionTables()));
+
+    // The dropped partition is recreated if metrics of that day arrive again.
+    jdbcMetricsStore.recordMetrics(
+        ImmutableList.of(createScanReport("a")), Instant.parse("2024-01-01T11:00:00Z"));
+    Assertions.assertEquals(1, countRows("iceberg_scan_metrics_20240101"));
+  }
+
+  @Test
+  void testUpperCaseIdentifiers() throws Exception {
+    // H2 keeps the unquoted names in upper case.
+    JdbcMetricsStore h2MetricsStore = new JdbcMetricsStore();
+    h2MetricsStore.init(
+        ImmutableMap.of(
+            JdbcMetricsStore.ICEBERG_METRICS_STORE_JDBC_URI,
+            "jdbc:h2:" + new File(tempDir, "metrics").getAbsolutePath()));
+    try {
+      h2MetricsStore.recordMetrics(
+          ImmutableList.of(createScanReport("a"), createCommitReport("a")),
+          Instant.parse("2024-01-01T10:00:00Z"));
+      h2MetricsStore.recordMetrics(
+          ImmutableList.of(createScanReport("a")), Instant.parse("2024-01-02T10:00:00Z"));
+      Assertions.assertEquals(3, h2MetricsStore.listPartitionTables().size());
+      Assertions.assertEquals(
+          2,
+          h2MetricsStore
+              .summarizeScanMetrics(
+                  "a", Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-03T00:00:00Z"))
+              .getScanCount());
+
+      h2MetricsStore.clean(Instant.parse("2024-01-02T12:00:00Z"));
+      Assertions.assertEquals(
+          ImmutableList.of("iceberg_scan_metrics_20240102"), h2MetricsStore.listPartitionTables());
+    } finally {
+      h2MetricsStore.close();
+    }
+  }
+
+  @Test
+  void testSummarizeScanMetrics() throws Exception {
+    ImmutableList.Builder<MetricsReport> reports = ImmutableList.builder();
+    for (int i = 1; i <= 100; i++) {
+      reports.add(createScanReport("a", i, 1));
+    }
+    reports.add(createScanReport("b", 5, 200));
+    reports.add(createCommitReport("a"));
+    jdbcMetricsStore.recordMetrics(reports.build(), Instant.parse("2024-01-01T23:00:00Z"));
+    jdbcMetricsStore.recordMetrics(
+        ImmutableList.of(createScanReport("a", 1000, 1)), Instant.parse("2024-01-02T01:00:00Z"));
+
+    ScanMetricsSummary summary =
+        jdbcMetricsStore.summarizeScanMetrics(
+            "a", Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-02T00:00:00Z"));
+    Assertions.assertEquals(100, summary.getScanCount());
+    Assertions.assertEquals(100, summary.getTotalResultDataFiles());
+    Assertions.assertEquals(50L, summary.getPlanningDurationP50Ms());
+    Assertions.assertEquals(90L, summary.getPlanningDurationP90Ms());
+    Assertions.assertEquals(99L, summary.getPlanningDurationP99Ms());
+    Assertions.assertEquals(100L, summary.getPlanningDurationMaxMs());
+
+    // The window spans two daily partitions.
+    List<ScanMetricsSummary> summaries =
+        jdbcMetricsStore.summarizeScanMetrics(
+            Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-03T00:00:00Z"), 10);
+    Assertions.assertEquals(2, summaries.size());
+    Assertions.assertEquals("b", summaries.get(0).getTableName());
+    Assertions.assertEquals("a", summaries.get(1).getTableName());
+    Assertions.assertEquals(101, summaries.get(1).getScanCount());
+    Assertions.assertEquals(1000L, summaries.get(1).getPlanningDurationMaxMs());
+
+    Assertions.assertEquals(
+        0,
+        jdbcMetricsStore
+            .summarizeScanMetrics(
+                "c", Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-02T00:00:00Z"))
+            .getScanCount());
+  }
+
+  @Test
+  void testQueryWithoutWriterLock() throws Exception {
+    jdbcMetricsStore.recordMetrics(
+        ImmutableList.of(createScanReport("a", 10, 1)), Instant.parse("2024-01-01T10:00:00Z"));
+    // The writer holds its lock, the query runs on its own connection.
+    synchronized (jdbcMetricsStore) {
+      ScanMetricsSummary summary =
+          CompletableFuture.supplyAsync(
+                  () -> {
+                    try {
+                      return jdbcMetricsStore.summarizeScanMetrics(
+                          "a",
+                          Instant.parse("2024-01-01T00:00:00Z"),
+                          Instant.parse("2024-01-02T00:00:00Z"));
+                    } catch (IOException e) {
+                      throw new RuntimeException(e);
+                    }
+                  })
+              .get(10, TimeUnit.SECONDS);
+      Assertions.assertEquals(1, summary.getScanCount());
+    }
+  }
+}
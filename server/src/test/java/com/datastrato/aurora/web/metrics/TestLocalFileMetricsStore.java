@@ -0,0 +1,300 @@
+/*
+ *  Copyright 2024 Datastrato Pvt Ltd.
+ *  This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.metrics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.metrics.CommitReport;
+import org.apache.iceberg.metrics.CounterResult;
+import org.apache.iceberg.metrics.ImmutableCommitMetricsResult;
+import org.apache.iceberg.metrics.ImmutableCommitReport;
+import org.apache.iceberg.metrics.ImmutableScanMetricsResult;
+import org.apache.iceberg.metrics.ImmutableScanReport;
+import org.apache.iceberg.metrics.MetricsContext;
+import org.apache.iceberg.metrics.MetricsReport;
+import org.apache.iceberg.metrics.ScanReport;
+import org.apache.iceberg.metrics.TimerResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestLocalFileMetricsStore {
+
+  private static final Instant RECORD_TIME = Instant.parse("2024-01-01T10:15:00Z");
+
+  @TempDir private File tempDir;
+
+  private LocalFileMetricsStore createStore(int mapBytes) throws IOException {
+    Map<String, String> properties =
+        ImmutableMap.of(
+            LocalFileMetricsStore.ICEBERG_METRICS_STORE_LOCAL_DIR,
+            tempDir.getAbsolutePath(),
+            LocalFileMetricsStore.ICEBERG_METRICS_STORE_LOCAL_MAP_BYTES,
+            String.valueOf(mapBytes));
+    LocalFileMetricsStore store = new LocalFileMetricsStore();
+    store.init(properties);
+    return store;
+  }
+
+  private ScanReport createScanReport(String tableName) {
+    return ImmutableScanReport.builder()
+        .tableName(tableName)
+        .snapshotId(Long.MAX_VALUE)
+        .filter(Expressions.alwaysTrue())
+        .schemaId(2)
+        .projectedFieldIds(ImmutableList.of(1, 2))
+        .projectedFieldNames(ImmutableList.of("id", "data"))
+        .scanMetrics(
+            ImmutableScanMetricsResult.builder()
+                .totalPlanningDuration(
+                    TimerResult.of(TimeUnit.NANOSECONDS, Duration.ofMillis(12), 1))
+                .resultDataFiles(CounterResult.of(MetricsContext.Unit.COUNT, 3))
+                .totalFileSizeInBytes(CounterResult.of(MetricsContext.Unit.BYTES, 1 << 20))
+                .build())
+        .metadata(ImmutableMap.of("engine", "spark"))
+        .build();
+  }
+
+  private CommitReport createCommitReport(String tableName) {
+    return ImmutableCommitReport.builder()
+        .tableName(tableName)
+        .snapshotId(1)
+        .sequenceNumber(2)
+        .operation("append")
+        .commitMetrics(
+            ImmutableCommitMetricsResult.builder()
+                .attempts(CounterResult.of(MetricsContext.Unit.COUNT, 1))
+                .addedRecords(CounterResult.of(MetricsContext.Unit.COUNT, 100))
+                .build())
+        .build();
+  }
+
+  @Test
+  void testRecordAndReadMetrics() throws IOException {
+    LocalFileMetricsStore store = createStore(1024);
+    List<MetricsReport> reports =
+        ImmutableList.of(createScanReport("a"), createCommitReport("b"), createScanReport("c"));
+    store.recordMetrics(reports, RECORD_TIME);
+    store.recordMetrics(reports, RECORD_TIME.plus(Duration.ofHours(1)));
+
+    List<MetricsReportCodec.Record> records = store.readMetrics();
+    Assertions.assertEquals(6, records.size());
+    Assertions.assertEquals(RECORD_TIME.toEpochMilli(), records.get(0).timestampMillis());
+    Assertions.assertEquals(
+        reports,
+        records.subList(0, 3).stream()
+            .map(MetricsReportCodec.Record::metricsReport)
+            .collect(Collectors.toList()));
+    store.close();
+  }
+
+  @Test
+  void testRemapWhenRegionIsFull() throws IOException {
+    // A tiny mapped region forces remapping for nearly every record.
+    LocalFileMetricsStore store = createStore(64);
+    for (int i = 0; i < 100; i++) {
+      store.recordMetrics(ImmutableList.of(createScanReport("t" + i)), RECORD_TIME);
+    }
+    Assertions.assertEquals(100, store.readMetrics().size());
+    store.close();
+  }
+
+  @Test
+  void testAppendAfterReopen() throws IOException {
+    LocalFileMetricsStore store = createStore(1024);
+    store.recordMetrics(ImmutableList.of(createScanReport("a")), RECORD_TIME);
+    store.close();
+
+    store = createStore(1024);
+    store.recordMetrics(ImmutableList.of(createCommitReport("b")), RECORD_TIME);
+    List<MetricsReportCodec.Record> records = store.readMetrics();
+    Assertions.assertEquals(2, records.size());
+    Assertions.assertEquals(createCommitReport("b"), records.get(1).metricsReport());
+    store.close();
+  }
+
+  @Test
+  void testAppendAfterTornRecord() throws IOException {
+    LocalFileMetricsStore store = createStore(1024);
+    store.recordMetrics(ImmutableList.of(createScanReport("a")), RECORD_TIME);
+    store.close();
+
+    // A crash left the length of a record whose payload isn't written.
+    Path path = tempDir.toPath().resolve(LocalFileMetricsStore.segmentName(RECORD_TIME));
+    try (FileChannel channel =
+        FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+      channel.read(length, 0);
+      length.flip();
+      ByteBuffer tornLength = ByteBuffer.allocate(Integer.BYTES).putInt(0, 64);
+      channel.write(tornLength, Integer.BYTES + length.getInt());
+    }
+
+    store = createStore(1024);
+    store.recordMetrics(ImmutableList.of(createCommitReport("b")), RECORD_TIME);
+    store.close();
+    store = createStore(1024);
+    store.recordMetrics(ImmutableList.of(createScanReport("c")), RECORD_TIME);
+    Assertions.assertEquals(
+        ImmutableList.of(createScanReport("a"), createCommitReport("b"), createScanReport("c")),
+        store.readMetrics().stream()
+            .map(MetricsReportCodec.Record::metricsReport)
+            .collect(Collectors.toList()));
+    store.close();
+  }
+
+  @Test
+  void testRecordWhileReading() throws Exception {
+    LocalFileMetricsStore store = createStore(1024);
+    store.recordMetrics(ImmutableList.of(createScanReport("a")), RECORD_TIME);
+
+    List<MetricsReportCodec.Record> records = new ArrayList<>();
+    store.readMetrics(
+        Instant.MIN,
+        Instant.MAX,
+        record -> {
+          records.add(record);
+          // The writer isn't blocked by the query decoding the segment.
+          try {
+            CompletableFuture.runAsync(
+                    () -> {
+                      try {
+                        store.recordMetrics(
+                            ImmutableList.of(createCommitReport("b")), RECORD_TIME);
+                      } catch (IOException e) {
+                        throw new RuntimeException(e);
+                      }
+                    })
+                .get(10, TimeUnit.SECONDS);
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+        });
+    // The query only reads the records appended before it started.
+    Assertions.assertEquals(1, records.size());
+    Assertions.assertEquals(2, store.readMetrics().size());
+    store.close();
+  }
+
+  @Test
+  void testCleanDeletesExpiredSegments() throws IOException {
+    LocalFileMetricsStore store = createStore(1024);
+    store.recordMetrics(ImmutableList.of(createScanReport("a")), RECORD_TIME);
+    store.recordMetrics(
+        ImmutableList.of(createScanReport("b")), RECORD_TIME.plus(Duration.ofHours(1)));
+
+    // The segment of 11:00 is only partly expired, so it's kept.
+    store.clean(RECORD_TIME.plus(Duration.ofHours(1)));
+    Assertions.assertFalse(
+        new File(tempDir, LocalFileMetricsStore.segmentName(RECORD_TIME)).exists());
+    List<MetricsReportCodec.Record> records = store.readMetrics();
+    Assertions.assertEquals(1, records.size());
+    Assertions.assertEquals("b", ((ScanReport) records.get(0).metricsReport()).tableName());
+
+    // The current segment could be deleted too, the next write recreates it.
+    store.clean(RECORD_TIME.plus(Duration.ofHours(2)));
+    Assertions.assertEquals(0, store.readMetrics().size());
+    store.recordMetrics(
+        ImmutableList.of(createScanReport("c")), RECORD_TIME.plus(Duration.ofHours(1)));
+    Assertions.assertEquals(1, store.readMetrics().size());
+    store.close();
+  }
+
+  @Test
+  void testSummarizeScanMetrics() throws IOException {
+    LocalFileMetricsStore store = createStore(1024);
+    store.recordMetrics(
+        ImmutableList.of(createScanReport("a"), createScanReport("a"), createCommitReport("a")),
+        RECORD_TIME);
+    store.recordMetrics(
+        ImmutableList.of(createScanReport("b")), RECORD_TIME.plus(Duration.ofHours(1)));
+
+    ScanMetricsSummary summary =
+        store.summarizeScanMetrics("a", RECORD_TIME, RECORD_TIME.plus(Duration.ofHours(2)));
+    Assertions.assertEquals(2, summary.getScanCount());
+    Assertions.assertEquals(6, summary.getTotalResultDataFiles());
+    Assertions.assertEquals(2L << 20, summary.getTotalFileSizeInBytes());
+    Assertions.assertEquals(12L, summary.getPlanningDurationP99Ms());
+
+    // The end of the window is exclusive.
+    List<ScanMetricsSummary> summaries =
+        store.summarizeScanMetrics(RECORD_TIME, RECORD_TIME.plus(Duration.ofHours(1)), 10);
+    Assertions.assertEquals(1, summaries.size());
+    Assertions.assertEquals("a", summaries.get(0).getTableName());
+    store.close();
+  }
+
+  @Test
+  void testDecodeMalformedReport() {
+    MetricsReportCodec.Output out = new MetricsReportCodec.Output();
+    MetricsReportCodec.encode(createCommitReport("a"), RECORD_TIME.toEpochMilli(), out);
+    byte[] encoded = Arrays.copyOf(out.bytes(), out.size());
+    Assertions.assertEquals(
+        createCommitReport("a"),
+        MetricsReportCodec.decode(ByteBuffer.wrap(encoded)).metricsReport());
+
+    // A report of another format version.
+    byte[] otherVersion = encoded.clone();
+    otherVersion[0] = MetricsReportCodec.FORMAT_VERSION + 1;
+    assertMalformed(otherVersion);
+    assertMalformed(Arrays.copyOf(encoded, encoded.length - 1));
+
+    // A negative length of the table name.
+    out.reset();
+    writeCommitReportHeader(out);
+    out.writeVarLong(-1);
+    assertMalformed(Arrays.copyOf(out.bytes(), out.size()));
+
+    // An unknown unit of the attempts counter.
+    out.reset();
+    writeCommitReportHeader(out);
+    out.writeString("a");
+    out.writeLong(1);
+    out.writeLong(2);
+    out.writeString("append");
+    out.writeVarLong(1L << 1);
+    out.writeByte((byte) MetricsContext.Unit.values().length);
+    out.writeVarLong(1);
+    out.writeVarLong(0);
+    assertMalformed(Arrays.copyOf(out.bytes(), out.size()));
+  }
+
+  private static void writeCommitReportHeader(MetricsReportCodec.Output out) {
+    out.writeByte(MetricsReportCodec.FORMAT_VERSION);
+    out.writeByte(MetricsReportCodec.COMMIT_REPORT);
+    out.writeVarLong(RECORD_TIME.toEpochMilli());
+  }
+
+  private static void assertMalformed(byte[] bytes) {
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> MetricsReportCodec.decode(ByteBuffer.wrap(bytes)));
+  }
+
+  @Test
+  void testPercentile() {
+    long[] values = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+    Assertions.assertEquals(1, ScanMetricsAggregator.percentile(values, 0));
+    Assertions.assertEquals(5, ScanMetricsAggregator.percentile(values, 0.5));
+    Assertions.assertEquals(9, ScanMetricsAggregator.percentile(values, 0.9));
+    Assertions.assertEquals(10, ScanMetricsAggregator.percentile(values, 0.99));
+  }
+}
@@ -28,6 +28,8 @@ public class IcebergRestTestUtil {
   public static final String TEST_NAMESPACE_NAME = "gravitino-test";
   public static final String TABLE_PATH = NAMESPACE_PATH + "/" + TEST_NAMESPACE_NAME + "/tables";
   public static final String RENAME_TABLE_PATH = V_1 + "/tables/rename";
+  public static final String LOAD_TABLES_PATH = V_1 + "/tables/load";
+  public static final String COMMIT_TRANSACTION_PATH = V_1 + "/transactions/commit";
   public static final String REPORT_METRICS_POSTFIX = "metrics";
 
   public static final boolean DEBUG_SERVER_LOG_ENABLED = true;
@@ -52,18 +54,28 @@ public class IcebergRestTestUtil {
     }
 
     if (bindIcebergTableOps) {
-      IcebergTableOps icebergTableOps = new IcebergTableOps();
-      IcebergMetricsManager icebergMetricsManager =
-          new IcebergMetricsManager(new IcebergServerConfig());
-      resourceConfig.register(
-          new AbstractBinder() {
-            @Override
-            protected void configure() {
-              bind(icebergTableOps).to(IcebergTableOps.class).ranked(2);
-              bind(icebergMetricsManager).to(IcebergMetricsManager.class).ranked(2);
-            }
-          });
+      bindIcebergTableOps(resourceConfig, new IcebergTableOps());
     }
     return resourceConfig;
   }
+
+  public static ResourceConfig getIcebergResourceConfig(Class c, IcebergTableOps icebergTableOps) {
+    ResourceConfig resourceConfig = getIcebergResourceConfig(c, false);
+    bindIcebergTableOps(resourceConfig, icebergTableOps);
+    return resourceConfig;
+  }
+
+  private static void bindIcebergTableOps(
+      ResourceConfig resourceConfig, IcebergTableOps icebergTableOps) {
+    IcebergMetricsManager icebergMetricsManager =
+        new IcebergMetricsManager(new IcebergServerConfig());
+    resourceConfig.register(
+        new AbstractBinder() {
+          @Override
+          protected void configure() {
+            bind(icebergTableOps).to(IcebergTableOps.class).ranked(2);
+            bind(icebergMetricsManager).to(IcebergMetricsManager.class).ranked(2);
+          }
+        });
+  }
 }
@@ -40,6 +40,14 @@ public class IcebergTestBase extends JerseyTest {
     return getIcebergClientBuilder(IcebergRestTestUtil.RENAME_TABLE_PATH, Optional.empty());
   }
 
+  public Invocation.Builder getLoadTablesClientBuilder() {
+    return getIcebergClientBuilder(IcebergRestTestUtil.LOAD_TABLES_PATH, Optional.empty());
+  }
+
+  public Invocation.Builder getCommitTransactionClientBuilder() {
+    return getIcebergClientBuilder(IcebergRestTestUtil.COMMIT_TRANSACTION_PATH, Optional.empty());
+  }
+
   public Invocation.Builder getTableClientBuilder() {
     return getTableClientBuilder(Optional.empty());
   }
@@ -5,12 +5,27 @@
 
 package com.datastrato.aurora.web.rest;
 
+import com.datastrato.aurora.iceberg.ListingPage;
+import com.datastrato.aurora.web.requests.CommitTransactionRequest;
+import com.datastrato.aurora.web.requests.CommitTransactionRequest.TableChange;
+import com.datastrato.aurora.web.requests.LoadTablesRequest;
+import com.datastrato.aurora.web.responses.CommitTransactionResponse;
+import com.datastrato.aurora.web.responses.CommitTransactionResponse.CommitTableResult;
+import com.datastrato.aurora.web.responses.ListTablesPageResponse;
+import com.datastrato.aurora.web.responses.LoadTablesResponse;
+import com.datastrato.aurora.web.responses.LoadTablesResponse.LoadTableResult;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.Application;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -42,11 +57,16 @@ public class TestIcebergTableOperations extends TestIcebergNamespaceOperations {
 
   @Override
   protected Application configure() {
-    ResourceConfig resourceConfig =
-        IcebergRestTestUtil.getIcebergResourceConfig(IcebergTableOperations.class);
+    return registerTableResources(
+        IcebergRestTestUtil.getIcebergResourceConfig(IcebergTableOperations.class));
+  }
+
+  protected static ResourceConfig registerTableResources(ResourceConfig resourceConfig) {
     // create namespace before each table test
     resourceConfig.register(IcebergNamespaceOperations.class);
     resourceConfig.register(IcebergTableRenameOperations.class);
+    resourceConfig.register(IcebergTableLoadOperations.class);
+    resourceConfig.register(IcebergTransactionOperations.class);
 
     return resourceConfig;
   }
@@ -213,6 +233,33 @@ public class TestIcebergTableOperations extends TestIcebergNamespaceOperations {
     verifyLoadTableFail("load_foo2", 404);
   }
 
+  @Test
+  void testLoadTableWithETag() {
+    verifyCreateNamespaceSucc(IcebergRestTestUtil.TEST_NAMESPACE_NAME);
+    verifyCreateTableSucc("etag_foo1");
+
+    Response response = doLoadTable("etag_foo1");
+    Assertions.assertEquals(Status.OK.getStatusCode(), response.getStatus());
+    EntityTag entityTag = response.getEntityTag();
+    Assertions.assertNotNull(entityTag);
+
+    response =
+        getTableClientBuilder(Optional.of("etag_foo1"))
+            .header(HttpHeaders.IF_NONE_MATCH, entityTag.toString())
+            .get();
+    Assertions.assertEquals(Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+    Assertions.assertEquals(entityTag, response.getEntityTag());
+
+    TableMetadata metadata = getTableMeta("etag_foo1");
+    verifyUpdateSucc("etag_foo1", metadata);
+    response =
+        getTableClientBuilder(Optional.of("etag_foo1"))
+            .header(HttpHeaders.IF_NONE_MATCH, entityTag.toString())
+            .get();
+    Assertions.assertEquals(Status.OK.getStatusCode(), response.getStatus());
+    Assertions.assertNotEquals(entityTag, response.getEntityTag());
+  }
+
   @Test
   void testDropTable() {
     verifyDropTableFail("drop_foo1", 404);
@@ -256,6 +303,146 @@ public class TestIcebergTableOperations extends TestIcebergNamespaceOperations {
     verifyListTableSucc(ImmutableSet.of("list_foo1", "list_foo2"));
   }
 
+  @Test
+  void testListTablesByPage() {
+    verifyCreateNamespaceSucc(IcebergRestTestUtil.TEST_NAMESPACE_NAME);
+    verifyCreateTableSucc("page_foo3");
+    verifyCreateTableSucc("page_foo1");
+    verifyCreateTableSucc("page_foo2");
+
+    ListTablesPageResponse firstPage = doListTableByPage("", 2);
+    Assertions.assertEquals(Arrays.asList("page_foo1", "page_foo2"), tableNames(firstPage));
+    Assertions.assertNotNull(firstPage.getNextPageToken());
+
+    ListTablesPageResponse lastPage = doListTableByPage(firstPage.getNextPageToken(), 2);
+    Assertions.assertEquals(Arrays.asList("page_foo3"), tableNames(lastPage));
+    Assertions.assertNull(lastPage.getNextPageToken());
+
+    Response response =
+        getIcebergClientBuilder(
+                IcebergRestTestUtil.TABLE_PATH, Optional.of(ImmutableMap.of("pageSize", "0")))
+            .get();
+    Assertions.assertEquals(400, response.getStatus());
+
+    // The token of listing another namespace is rejected.
+    String otherNamespaceToken =
+        ListingPage.encodePageToken(
+            ListingPage.Kind.TABLES, Namespace.of("other_namespace"), "page_foo1");
+    response =
+        getIcebergClientBuilder(
+                IcebergRestTestUtil.TABLE_PATH,
+                Optional.of(ImmutableMap.of("pageToken", otherNamespaceToken)))
+            .get();
+    Assertions.assertEquals(400, response.getStatus());
+  }
+
+  private static List<String> tableNames(ListTablesPageResponse page) {
+    return page.getIdentifiers().stream().map(TableIdentifier::name).collect(Collectors.toList());
+  }
+
+  private ListTablesPageResponse doListTableByPage(String pageToken, int pageSize) {
+    Response response =
+        getIcebergClientBuilder(
+                IcebergRestTestUtil.TABLE_PATH,
+                Optional.of(
+                    ImmutableMap.of("pageToken", pageToken, "pageSize", String.valueOf(pageSize))))
+            .get();
+    Assertions.assertEquals(Status.OK.getStatusCode(), response.getStatus());
+    return response.readEntity(ListTablesPageResponse.class);
+  }
+
+  @Test
+  void testLoadTables() {
+    verifyCreateNamespaceSucc(IcebergRestTestUtil.TEST_NAMESPACE_NAME);
+    verifyCreateTableSucc("bulk_foo1");
+    verifyCreateTableSucc("bulk_foo2");
+
+    Namespace namespace = Namespace.of(IcebergRestTestUtil.TEST_NAMESPACE_NAME);
+    List<TableIdentifier> identifiers =
+        Arrays.asList(
+            TableIdentifier.of(namespace, "bulk_foo2"),
+            TableIdentifier.of(namespace, "bulk_missing"),
+            TableIdentifier.of(namespace, "bulk_foo1"));
+    Response response =
+        getLoadTablesClientBuilder()
+            .post(
+                Entity.entity(
+                    new LoadTablesRequest(identifiers), MediaType.APPLICATION_JSON_TYPE));
+    Assertions.assertEquals(Status.OK.getStatusCode(), response.getStatus());
+
+    List<LoadTableResult> tables = response.readEntity(LoadTablesResponse.class).getTables();
+    Assertions.assertEquals(
+        identifiers,
+        tables.stream().map(LoadTableResult::getIdentifier).collect(Collectors.toList()));
+    Assertions.assertEquals(
+        tableSchema.columns(), tables.get(0).getTable().tableMetadata().schema().columns());
+    Assertions.assertNull(tables.get(0).getError());
+    Assertions.assertNull(tables.get(1).getTable());
+    Assertions.assertEquals(404, tables.get(1).getError().code());
+    Assertions.assertNotNull(tables.get(2).getTable());
+
+    response =
+        getLoadTablesClientBuilder()
+            .post(
+                Entity.entity(
+                    new LoadTablesRequest(Collections.emptyList()),
+                    MediaType.APPLICATION_JSON_TYPE));
+    Assertions.assertEquals(400, response.getStatus());
+  }
+
+  @Test
+  void testCommitTransaction() {
+    verifyCreateNamespaceSucc(IcebergRestTestUtil.TEST_NAMESPACE_NAME);
+    verifyCreateTableSucc("txn_foo1");
+    verifyCreateTableSucc("txn_foo2");
+
+    List<TableChange> tableChanges =
+        Arrays.asList(
+            newSchemaChange("txn_foo1", doGetTableMetaData("txn_foo1")),
+            newSchemaChange("txn_foo2", doGetTableMetaData("txn_foo2")),
+            newSchemaChange("txn_missing", doGetTableMetaData("txn_foo2")));
+    Response response =
+        getCommitTransactionClientBuilder()
+            .post(
+                Entity.entity(
+                    new CommitTransactionRequest(tableChanges), MediaType.APPLICATION_JSON_TYPE));
+    Assertions.assertEquals(Status.OK.getStatusCode(), response.getStatus());
+
+    // The memory backend commits the tables independently.
+    CommitTransactionResponse commitTransactionResponse =
+        response.readEntity(CommitTransactionResponse.class);
+    Assertions.assertFalse(commitTransactionResponse.isAtomic());
+    List<CommitTableResult> tables = commitTransactionResponse.getTables();
+    Assertions.assertEquals(3, tables.size());
+    for (int i = 0; i < 2; i++) {
+      TableMetadata tableMetadata = doGetTableMetaData(tables.get(i).getIdentifier().name());
+      Assertions.assertEquals(newTableSchema.columns(), tableMetadata.schema().columns());
+      Assertions.assertEquals(
+          tableMetadata.metadataFileLocation(), tables.get(i).getMetadataLocation());
+    }
+    Assertions.assertNull(tables.get(2).getMetadataLocation());
+    Assertions.assertEquals(404, tables.get(2).getError().code());
+
+    // A table changed twice is rejected before committing any table.
+    response =
+        getCommitTransactionClientBuilder()
+            .post(
+                Entity.entity(
+                    new CommitTransactionRequest(
+                        Arrays.asList(tableChanges.get(0), tableChanges.get(0))),
+                    MediaType.APPLICATION_JSON_TYPE));
+    Assertions.assertEquals(400, response.getStatus());
+  }
+
+  private static TableChange newSchemaChange(String name, TableMetadata base) {
+    return new TableChange(
+        TableIdentifier.of(Namespace.of(IcebergRestTestUtil.TEST_NAMESPACE_NAME), name),
+        UpdateTableRequest.builderFor(base)
+            .update(new AddSchema(newTableSchema, base.lastColumnId()))
+            .update(new SetCurrentSchema(1))
+            .build());
+  }
+
   @Test
   void testTableExits() {
     verifyTableExistsStatusCode("exists_foo2", 404);
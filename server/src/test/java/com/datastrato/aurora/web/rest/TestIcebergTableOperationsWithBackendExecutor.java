@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024 Datastrato Pvt Ltd.
+ * This software is licensed under the Apache License version 2.
+ */
+
+package com.datastrato.aurora.web.rest;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Timer;
+import com.datastrato.aurora.config.IcebergServerConfig;
+import com.datastrato.aurora.iceberg.IcebergTableOps;
+import com.datastrato.aurora.metrics.AsyncTimedApplicationListener;
+import com.datastrato.aurora.metrics.MetricNames;
+import com.datastrato.aurora.metrics.source.IcebergCatalogMetricsSource;
+import com.datastrato.aurora.metrics.source.MetricsSource;
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import org.apache.iceberg.exceptions.ServiceUnavailableException;
+import org.apache.iceberg.rest.responses.ErrorResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Run the table and namespace tests with the backend executor, so the requests are resumed in the
+ * executor threads and the exceptions are mapped after {@code AsyncResponse.resume}.
+ */
+public class TestIcebergTableOperationsWithBackendExecutor extends TestIcebergTableOperations {
+
+  // Assigned by configure, which is called by the constructor of JerseyTest.
+  private IcebergTableOps icebergTableOps;
+  private MetricsSource metricsSource;
+
+  @Override
+  protected Application configure() {
+    icebergTableOps =
+        new IcebergTableOps(
+            new IcebergServerConfig(
+                ImmutableMap.of(
+                    IcebergServerConfig.BACKEND_EXECUTOR_ENABLED.getKey(), "true",
+                    IcebergServerConfig.BACKEND_EXECUTOR_THREADS.getKey(), "1",
+                    IcebergServerConfig.BACKEND_EXECUTOR_QUEUE_SIZE.getKey(), "1")));
+    metricsSource = new IcebergCatalogMetricsSource();
+    ResourceConfig resourceConfig =
+        IcebergRestTestUtil.getIcebergResourceConfig(
+            IcebergTableOperations.class, icebergTableOps);
+    resourceConfig.register(new AsyncTimedApplicationListener(metricsSource, Clock.defaultClock()));
+    return registerTableResources(resourceConfig);
+  }
+
+  @AfterEach
+  void closeTableOps() throws Exception {
+    icebergTableOps.close();
+  }
+
+  @Test
+  void testRejectWhenBackendExecutorIsFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Runnable blocked =
+        () -> {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+    // One operation runs in the only thread and another one fills the queue.
+    icebergTableOps.getBackendExecutor().execute(blocked);
+    icebergTableOps.getBackendExecutor().execute(blocked);
+    try {
+      Response response = getNamespaceClientBuilder().get();
+      Assertions.assertEquals(Status.SERVICE_UNAVAILABLE.getStatusCode(), response.getStatus());
+      Assertions.assertNotNull(response.getHeaderString(HttpHeaders.RETRY_AFTER));
+      Assertions.assertEquals(
+          ServiceUnavailableException.class.getSimpleName(),
+          response.readEntity(ErrorResponse.class).type());
+    } finally {
+      release.countDown();
+    }
+    Assertions.assertEquals(
+        Status.OK.getStatusCode(), getNamespaceClientBuilder().get().getStatus());
+  }
+
+  @Test
+  void testTimeUntilResponseIsWritten() {
+    // The request waits for the operation running in the only thread of the executor.
+    icebergTableOps
+        .getBackendExecutor()
+        .execute(
+            () -> {
+              try {
+                Thread.sleep(200);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    Assertions.assertEquals(
+        Status.OK.getStatusCode(), getNamespaceClientBuilder().get().getStatus());
+
+    Timer timer = metricsSource.getTimer("list-namespace." + MetricNames.HTTP_PROCESS_DURATION);
+    Assertions.assertEquals(1, timer.getCount());
+    Assertions.assertTrue(timer.getSnapshot().getMax() >= TimeUnit.MILLISECONDS.toNanos(100));
+  }
+}
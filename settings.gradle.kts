@@ -5,3 +5,4 @@
 
 rootProject.name = "aurora"
 include("server")
+include("benchmarks")